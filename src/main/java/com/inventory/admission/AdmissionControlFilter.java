@@ -0,0 +1,71 @@
+package com.inventory.admission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final AdmissionLimiter limiter;
+    private final ObjectMapper objectMapper;
+    public AdmissionControlFilter(AdmissionLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpoint = EndpointClass.classify(request.getMethod(), request.getRequestURI());
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(principalOf(request), endpoint);
+        if (waitNanos > 0) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, (waitNanos + 999_999_999L) / 1_000_000_000L,
+                    "Rate limit exceeded for " + endpoint.getKey() + " requests");
+            return;
+        }
+        if (!limiter.enterBulkhead(endpoint)) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Too many concurrent " + endpoint.getKey() + " requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.leaveBulkhead(endpoint);
+        }
+    }
+    private String principalOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
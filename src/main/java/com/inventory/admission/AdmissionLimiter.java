@@ -0,0 +1,70 @@
+package com.inventory.admission;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+public class AdmissionLimiter {
+    private final Map<EndpointClass, Limits> limits;
+    private final Map<EndpointClass, Semaphore> bulkheads = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, AtomicLong> rejections = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long bulkheadWaitMs;
+    private final int maxTrackedKeys;
+    public AdmissionLimiter(Map<EndpointClass, Limits> limits, long bulkheadWaitMs, int maxTrackedKeys) {
+        this.limits = new EnumMap<>(limits);
+        this.bulkheadWaitMs = Math.max(0, bulkheadWaitMs);
+        this.maxTrackedKeys = Math.max(1, maxTrackedKeys);
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            bulkheads.put(endpoint, new Semaphore(Math.max(1, this.limits.get(endpoint).maxConcurrent())));
+            rejections.put(endpoint, new AtomicLong());
+        }
+    }
+    public long tryAcquire(String principal, EndpointClass endpoint) {
+        long now = System.nanoTime();
+        BucketKey key = new BucketKey(principal, endpoint);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxTrackedKeys) {
+                buckets.values().removeIf(candidate -> candidate.isIdle(now));
+            }
+            Limits endpointLimits = limits.get(endpoint);
+            bucket = buckets.computeIfAbsent(key,
+                    ignored -> new TokenBucket(endpointLimits.ratePerSecond(), endpointLimits.burst(), now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejections.get(endpoint).incrementAndGet();
+        }
+        return waitNanos;
+    }
+    public boolean enterBulkhead(EndpointClass endpoint) {
+        try {
+            boolean entered = bulkheads.get(endpoint).tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+            if (!entered) {
+                rejections.get(endpoint).incrementAndGet();
+            }
+            return entered;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    public void leaveBulkhead(EndpointClass endpoint) {
+        bulkheads.get(endpoint).release();
+    }
+    public int availablePermits(EndpointClass endpoint) {
+        return bulkheads.get(endpoint).availablePermits();
+    }
+    public long getRejections(EndpointClass endpoint) {
+        return rejections.get(endpoint).get();
+    }
+    public int getTrackedKeys() {
+        return buckets.size();
+    }
+    public record Limits(double ratePerSecond, int burst, int maxConcurrent) {
+    }
+    private record BucketKey(String principal, EndpointClass endpoint) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.inventory.admission;
+public enum EndpointClass {
+    WRITE("write", 50, 100, 64),
+    READ("read", 100, 200, 64),
+    REPORT("report", 5, 10, 8);
+    private final String key;
+    private final double defaultRatePerSecond;
+    private final int defaultBurst;
+    private final int defaultMaxConcurrent;
+    EndpointClass(String key, double defaultRatePerSecond, int defaultBurst, int defaultMaxConcurrent) {
+        this.key = key;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.defaultBurst = defaultBurst;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+    }
+    public static EndpointClass classify(String method, String path) {
+        if (path == null || !path.startsWith("/api/") || path.startsWith("/api/inventory/stream")) {
+            return null;
+        }
+        if (path.startsWith("/api/reports/") || path.startsWith("/api/analytics/") || path.startsWith("/api/admin/")) {
+            return REPORT;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method) || "/api/products/lookup".equals(path)) {
+            return READ;
+        }
+        return WRITE;
+    }
+    public String getKey() {
+        return key;
+    }
+    public double getDefaultRatePerSecond() {
+        return defaultRatePerSecond;
+    }
+    public int getDefaultBurst() {
+        return defaultBurst;
+    }
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+}
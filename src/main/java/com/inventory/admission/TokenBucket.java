@@ -0,0 +1,28 @@
+package com.inventory.admission;
+import java.util.concurrent.atomic.AtomicLong;
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    public TokenBucket(double ratePerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+    public long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    public boolean isIdle(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
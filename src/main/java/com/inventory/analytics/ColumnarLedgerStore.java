@@ -0,0 +1,433 @@
+package com.inventory.analytics;
+import com.inventory.archive.ArchiveFilter;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerSegment;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+@Component
+public class ColumnarLedgerStore {
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarLedgerStore.class);
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int LOAD_BATCH = 10_000;
+    private static final int MIN_PARTITION_ROWS = 1 << 20;
+    private static final int MAX_TIME_BUCKETS = 200_000;
+    private static final String LOAD_BATCH_SQL = "SELECT t.id, t.product_id, t.transaction_type, t.quantity, "
+            + "t.transaction_date, t.created_by FROM inventory_transactions t JOIN products p ON p.id = t.product_id "
+            + "WHERE t.id > ? AND p.deleted_at IS NULL ORDER BY t.id LIMIT " + LOAD_BATCH;
+    private static final String SELECT_LIVE_PRODUCTS = "SELECT id FROM products WHERE deleted_at IS NULL";
+    private final LedgerArchive ledgerArchive;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ledger-columnar-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Integer> userCodes = new ConcurrentHashMap<>();
+    private final List<StockMovementEvent> pendingEvents = new ArrayList<>();
+    private final List<Long> pendingRetractions = new ArrayList<>();
+    private final AtomicBoolean catchUpQueued = new AtomicBoolean();
+    private volatile String[] userDictionary = new String[0];
+    private volatile LedgerSnapshot snapshot = emptySnapshot();
+    private volatile boolean ready;
+    private boolean loading;
+    private BitSet loadedIds = new BitSet();
+    private long highWaterId;
+    public ColumnarLedgerStore(LedgerArchive ledgerArchive, JdbcTemplate jdbcTemplate,
+            @Value("${inventory.analytics.ledger.enabled:true}") boolean enabled) {
+        this.ledgerArchive = ledgerArchive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+    @Scheduled(fixedDelayString = "${inventory.analytics.ledger.catch-up-interval-ms:30000}")
+    public void scheduledCatchUp() {
+        if (enabled && ready && catchUpQueued.compareAndSet(false, true)) {
+            loader.submit(() -> {
+                catchUpQueued.set(false);
+                catchUp();
+            });
+        }
+    }
+    @Scheduled(fixedDelayString = "${inventory.analytics.ledger.rebuild-interval-ms:3600000}",
+            initialDelayString = "${inventory.analytics.ledger.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        if (enabled && ready) {
+            requestRebuild();
+        }
+    }
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockMovement(StockMovementEvent event) {
+        synchronized (this) {
+            if (loading) {
+                pendingEvents.add(event);
+            }
+            if (ready) {
+                appendEvent(event);
+            }
+        }
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (!event.isDeleted()) {
+            return;
+        }
+        synchronized (this) {
+            if (loading) {
+                pendingRetractions.add(event.productId());
+            }
+            if (ready) {
+                snapshot = without(snapshot, Math.toIntExact(event.productId()));
+            }
+        }
+    }
+    public boolean isReady() {
+        return ready;
+    }
+    public long size() {
+        return snapshot.size();
+    }
+    public int dictionarySize() {
+        return userDictionary.length;
+    }
+    public long estimatedBytes() {
+        LedgerSnapshot current = snapshot;
+        return current.columns().capacity() * current.columns().bytesPerRow();
+    }
+    public String decodeUser(int code) {
+        String[] dictionary = userDictionary;
+        return code >= 0 && code < dictionary.length ? dictionary[code] : null;
+    }
+    public LedgerAggregate aggregate(LedgerGroupBy groupBy, LocalDateTime from, LocalDateTime to,
+            TransactionType type, Long productId) {
+        if (!ready) {
+            throw new IllegalStateException("The columnar ledger is still loading");
+        }
+        LedgerSnapshot current = snapshot;
+        LedgerColumns columns = current.columns();
+        int size = current.size();
+        int fromMinute = from != null ? toMinute(from) : Integer.MIN_VALUE;
+        int toMinute = to != null ? toMinute(to) : Integer.MAX_VALUE;
+        int typeCode = type != null ? type.ordinal() : -1;
+        int productFilter = productId != null ? Math.toIntExact(productId) : -1;
+        int bucketWidth = groupBy == LedgerGroupBy.HOUR ? 60 : 1440;
+        int baseMinute = 0;
+        int bucketCount;
+        switch (groupBy) {
+            case TYPE -> bucketCount = TYPES.length;
+            case USER -> bucketCount = userDictionary.length;
+            case PRODUCT -> bucketCount = current.maxProductId() + 1;
+            default -> {
+                int[] span = minuteSpan(columns, size, fromMinute, toMinute);
+                baseMinute = Math.floorDiv(span[0], bucketWidth) * bucketWidth;
+                long buckets = (long) (span[1] - baseMinute) / bucketWidth + 1;
+                if (buckets > MAX_TIME_BUCKETS) {
+                    throw new IllegalArgumentException("Time range too wide for " + groupBy + " grouping; narrow 'from' and 'to'");
+                }
+                bucketCount = span[1] < span[0] ? 0 : (int) buckets;
+            }
+        }
+        int partitions = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_PARTITION_ROWS));
+        int partitionSize = (size + partitions - 1) / Math.max(1, partitions);
+        int finalBucketCount = bucketCount;
+        int finalBaseMinute = baseMinute;
+        long[][] merged = IntStream.range(0, partitions).parallel()
+                .mapToObj(partition -> scan(columns, partition * partitionSize,
+                        Math.min(size, (partition + 1) * partitionSize), groupBy, finalBucketCount, finalBaseMinute,
+                        bucketWidth, fromMinute, toMinute, typeCode, productFilter))
+                .reduce(ColumnarLedgerStore::merge)
+                .orElseGet(() -> new long[][] {new long[finalBucketCount], new long[finalBucketCount]});
+        List<LedgerGroup> groups = new ArrayList<>();
+        long matched = 0;
+        for (int bucket = 0; bucket < finalBucketCount; bucket++) {
+            long count = merged[1][bucket];
+            if (count == 0) {
+                continue;
+            }
+            matched += count;
+            long key = groupBy == LedgerGroupBy.HOUR || groupBy == LedgerGroupBy.DAY
+                    ? (long) finalBaseMinute + (long) bucket * bucketWidth
+                    : bucket;
+            groups.add(new LedgerGroup(key, merged[0][bucket], count));
+        }
+        if (groupBy != LedgerGroupBy.HOUR && groupBy != LedgerGroupBy.DAY) {
+            groups.sort(Comparator.comparingLong(LedgerGroup::quantity).reversed());
+        }
+        return new LedgerAggregate(groupBy, size, matched, groups);
+    }
+    public static LocalDateTime fromMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+    private static long[][] scan(LedgerColumns columns, int start, int end, LedgerGroupBy groupBy, int bucketCount,
+            int baseMinute, int bucketWidth, int fromMinute, int toMinute, int typeCode, int productFilter) {
+        long[] quantities = new long[bucketCount];
+        long[] counts = new long[bucketCount];
+        int[] productIds = columns.productIds;
+        byte[] types = columns.types;
+        int[] rowQuantities = columns.quantities;
+        int[] minutes = columns.minutes;
+        int[] users = columns.users;
+        for (int i = start; i < end; i++) {
+            int minute = minutes[i];
+            if (minute < fromMinute || minute > toMinute
+                    || (typeCode >= 0 && types[i] != typeCode)
+                    || (productFilter >= 0 && productIds[i] != productFilter)) {
+                continue;
+            }
+            int bucket = switch (groupBy) {
+                case TYPE -> types[i];
+                case PRODUCT -> productIds[i];
+                case USER -> users[i];
+                case HOUR, DAY -> (minute - baseMinute) / bucketWidth;
+            };
+            if (bucket < 0 || bucket >= bucketCount) {
+                continue;
+            }
+            quantities[bucket] += rowQuantities[i];
+            counts[bucket]++;
+        }
+        return new long[][] {quantities, counts};
+    }
+    private static long[][] merge(long[][] left, long[][] right) {
+        for (int i = 0; i < left[0].length; i++) {
+            left[0][i] += right[0][i];
+            left[1][i] += right[1][i];
+        }
+        return left;
+    }
+    private static int[] minuteSpan(LedgerColumns columns, int size, int fromMinute, int toMinute) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int[] minutes = columns.minutes;
+        for (int i = 0; i < size; i++) {
+            int minute = minutes[i];
+            if (minute >= fromMinute && minute <= toMinute) {
+                min = Math.min(min, minute);
+                max = Math.max(max, minute);
+            }
+        }
+        return new int[] {min, max};
+    }
+    public void rebuild() {
+        synchronized (this) {
+            loading = true;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            BitSet ids = new BitSet();
+            BitSet liveProducts = new BitSet();
+            jdbcTemplate.query(SELECT_LIVE_PRODUCTS, rs -> {
+                liveProducts.set(Math.toIntExact(rs.getLong("id")));
+            });
+            AtomicReference<LedgerSnapshot> archived = new AtomicReference<>(emptySnapshot());
+            for (LedgerSegment segment : ledgerArchive.getSegments()) {
+                segment.forEach(ArchiveFilter.all(), row -> {
+                    if (liveProducts.get(Math.toIntExact(row.productId()))) {
+                        markLoaded(ids, row.id());
+                        archived.set(append(archived.get(), row));
+                    }
+                });
+            }
+            LedgerSnapshot building = archived.get();
+            long lastId = 0;
+            for (List<ArchivedTransaction> batch = readBatch(lastId); !batch.isEmpty(); batch = readBatch(lastId)) {
+                for (ArchivedTransaction row : batch) {
+                    if (!ids.get(Math.toIntExact(row.id()))) {
+                        markLoaded(ids, row.id());
+                        building = append(building, row);
+                    }
+                }
+                lastId = batch.get(batch.size() - 1).id();
+            }
+            synchronized (this) {
+                for (StockMovementEvent event : pendingEvents) {
+                    if (event.transactionId() == null || !ids.get(Math.toIntExact(event.transactionId()))) {
+                        if (event.transactionId() != null) {
+                            markLoaded(ids, event.transactionId());
+                        }
+                        building = append(building, event);
+                    }
+                }
+                for (Long productId : pendingRetractions) {
+                    building = without(building, Math.toIntExact(productId));
+                }
+                pendingEvents.clear();
+                pendingRetractions.clear();
+                snapshot = building;
+                loadedIds = ids;
+                highWaterId = lastId;
+                loading = false;
+                ready = true;
+            }
+            logger.info("Columnar ledger loaded {} rows in {} ms", snapshot.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingEvents.clear();
+                pendingRetractions.clear();
+                loading = false;
+            }
+            logger.error("Failed to load columnar ledger: {}", e.getMessage(), e);
+        }
+    }
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        long appended = 0;
+        try {
+            long lastId;
+            synchronized (this) {
+                lastId = Math.max(0, highWaterId - LOAD_BATCH);
+            }
+            for (List<ArchivedTransaction> batch = readBatch(lastId); !batch.isEmpty(); batch = readBatch(lastId)) {
+                synchronized (this) {
+                    for (ArchivedTransaction row : batch) {
+                        if (!loadedIds.get(Math.toIntExact(row.id()))) {
+                            markLoaded(loadedIds, row.id());
+                            snapshot = append(snapshot, row);
+                            appended++;
+                        }
+                    }
+                    lastId = batch.get(batch.size() - 1).id();
+                    highWaterId = Math.max(highWaterId, lastId);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Columnar ledger catch-up stopped after {} rows: {}", appended, e.getMessage());
+        }
+        if (appended > 0) {
+            logger.debug("Columnar ledger caught up {} rows from the database", appended);
+        }
+    }
+    private void requestRebuild() {
+        synchronized (this) {
+            if (loading) {
+                return;
+            }
+            loading = true;
+        }
+        loader.submit(this::rebuild);
+    }
+    private List<ArchivedTransaction> readBatch(long afterId) {
+        return jdbcTemplate.query(LOAD_BATCH_SQL, (rs, rowNum) -> new ArchivedTransaction(
+                rs.getLong("id"),
+                rs.getLong("product_id"),
+                TransactionType.valueOf(rs.getString("transaction_type")),
+                rs.getInt("quantity"),
+                null,
+                null,
+                rs.getTimestamp("transaction_date").toLocalDateTime(),
+                rs.getString("created_by")), afterId);
+    }
+    private void appendEvent(StockMovementEvent event) {
+        if (event.transactionId() != null) {
+            if (loadedIds.get(Math.toIntExact(event.transactionId()))) {
+                return;
+            }
+            markLoaded(loadedIds, event.transactionId());
+        }
+        snapshot = append(snapshot, event);
+    }
+    private LedgerSnapshot append(LedgerSnapshot current, StockMovementEvent event) {
+        LocalDateTime occurredAt = LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault());
+        return append(current, event.productId(), event.type(), event.quantity(), toMinute(occurredAt),
+                event.createdBy());
+    }
+    private LedgerSnapshot append(LedgerSnapshot current, ArchivedTransaction row) {
+        return append(current, row.productId(), row.transactionType(), row.quantity(),
+                toMinute(row.transactionDate()), row.createdBy());
+    }
+    private LedgerSnapshot append(LedgerSnapshot current, long productId, TransactionType type, int quantity,
+            int minute, String createdBy) {
+        int size = current.size();
+        LedgerColumns columns = current.columns();
+        if (size == columns.capacity()) {
+            columns = columns.grow(size + 1);
+        }
+        int product = Math.toIntExact(productId);
+        columns.productIds[size] = product;
+        columns.types[size] = (byte) type.ordinal();
+        columns.quantities[size] = quantity;
+        columns.minutes[size] = minute;
+        columns.users[size] = encodeUser(createdBy);
+        return new LedgerSnapshot(columns, size + 1, Math.max(current.maxProductId(), product));
+    }
+    private static LedgerSnapshot without(LedgerSnapshot current, int productId) {
+        LedgerColumns source = current.columns();
+        LedgerColumns kept = new LedgerColumns(source.capacity());
+        int size = 0;
+        for (int i = 0; i < current.size(); i++) {
+            if (source.productIds[i] == productId) {
+                continue;
+            }
+            kept.productIds[size] = source.productIds[i];
+            kept.types[size] = source.types[i];
+            kept.quantities[size] = source.quantities[i];
+            kept.minutes[size] = source.minutes[i];
+            kept.users[size] = source.users[i];
+            size++;
+        }
+        return size == current.size() ? current : new LedgerSnapshot(kept, size, current.maxProductId());
+    }
+    private static LedgerSnapshot emptySnapshot() {
+        return new LedgerSnapshot(new LedgerColumns(1024), 0, 0);
+    }
+    private synchronized int encodeUser(String createdBy) {
+        String user = createdBy != null ? createdBy : "";
+        Integer code = userCodes.get(user);
+        if (code != null) {
+            return code;
+        }
+        String[] dictionary = userDictionary;
+        String[] extended = Arrays.copyOf(dictionary, dictionary.length + 1);
+        extended[dictionary.length] = user;
+        userDictionary = extended;
+        userCodes.put(user, dictionary.length);
+        return dictionary.length;
+    }
+    private static void markLoaded(BitSet loadedIds, long id) {
+        loadedIds.set(Math.toIntExact(id));
+    }
+    private static int toMinute(LocalDateTime dateTime) {
+        return Math.toIntExact(dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+    private record LedgerSnapshot(LedgerColumns columns, int size, int maxProductId) {
+    }
+}
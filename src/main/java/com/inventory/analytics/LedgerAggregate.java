@@ -0,0 +1,4 @@
+package com.inventory.analytics;
+import java.util.List;
+public record LedgerAggregate(LedgerGroupBy groupBy, long rowsScanned, long rowsMatched, List<LedgerGroup> groups) {
+}
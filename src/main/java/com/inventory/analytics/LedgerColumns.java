@@ -0,0 +1,36 @@
+package com.inventory.analytics;
+import java.util.Arrays;
+final class LedgerColumns {
+    final int[] productIds;
+    final byte[] types;
+    final int[] quantities;
+    final int[] minutes;
+    final int[] users;
+    LedgerColumns(int capacity) {
+        this.productIds = new int[capacity];
+        this.types = new byte[capacity];
+        this.quantities = new int[capacity];
+        this.minutes = new int[capacity];
+        this.users = new int[capacity];
+    }
+    private LedgerColumns(LedgerColumns source, int capacity) {
+        this.productIds = Arrays.copyOf(source.productIds, capacity);
+        this.types = Arrays.copyOf(source.types, capacity);
+        this.quantities = Arrays.copyOf(source.quantities, capacity);
+        this.minutes = Arrays.copyOf(source.minutes, capacity);
+        this.users = Arrays.copyOf(source.users, capacity);
+    }
+    int capacity() {
+        return productIds.length;
+    }
+    LedgerColumns grow(int minimumCapacity) {
+        int capacity = capacity();
+        while (capacity < minimumCapacity) {
+            capacity = capacity > (Integer.MAX_VALUE - 8) / 2 ? Integer.MAX_VALUE - 8 : capacity * 2;
+        }
+        return new LedgerColumns(this, capacity);
+    }
+    long bytesPerRow() {
+        return Integer.BYTES * 4L + Byte.BYTES;
+    }
+}
@@ -0,0 +1,3 @@
+package com.inventory.analytics;
+public record LedgerGroup(long key, long quantity, long count) {
+}
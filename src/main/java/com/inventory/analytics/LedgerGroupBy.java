@@ -0,0 +1,8 @@
+package com.inventory.analytics;
+public enum LedgerGroupBy {
+    TYPE,
+    PRODUCT,
+    USER,
+    HOUR,
+    DAY
+}
@@ -0,0 +1,82 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import java.time.LocalDateTime;
+public interface ArchiveFilter {
+    boolean mayMatch(SegmentBlock block);
+    long indexedCount(SegmentBlock block);
+    boolean matches(ArchivedTransaction transaction);
+    default Long productId() {
+        return null;
+    }
+    static ArchiveFilter all() {
+        return new ArchiveFilter() {
+            @Override
+            public boolean mayMatch(SegmentBlock block) {
+                return true;
+            }
+            @Override
+            public long indexedCount(SegmentBlock block) {
+                return block.rowCount();
+            }
+            @Override
+            public boolean matches(ArchivedTransaction transaction) {
+                return true;
+            }
+        };
+    }
+    static ArchiveFilter byProduct(Long productId) {
+        return new ArchiveFilter() {
+            @Override
+            public boolean mayMatch(SegmentBlock block) {
+                return block.productId() == productId;
+            }
+            @Override
+            public long indexedCount(SegmentBlock block) {
+                return block.rowCount();
+            }
+            @Override
+            public boolean matches(ArchivedTransaction transaction) {
+                return transaction.productId() == productId;
+            }
+            @Override
+            public Long productId() {
+                return productId;
+            }
+        };
+    }
+    static ArchiveFilter byType(TransactionType type) {
+        return new ArchiveFilter() {
+            @Override
+            public boolean mayMatch(SegmentBlock block) {
+                return block.typeCount(type.ordinal()) > 0;
+            }
+            @Override
+            public long indexedCount(SegmentBlock block) {
+                return block.typeCount(type.ordinal());
+            }
+            @Override
+            public boolean matches(ArchivedTransaction transaction) {
+                return transaction.transactionType() == type;
+            }
+        };
+    }
+    static ArchiveFilter byDateRange(LocalDateTime start, LocalDateTime end) {
+        long startMillis = ArchivedTransaction.toEpochMillis(start);
+        long endMillis = ArchivedTransaction.toEpochMillis(end);
+        return new ArchiveFilter() {
+            @Override
+            public boolean mayMatch(SegmentBlock block) {
+                return block.maxMillis() >= startMillis && block.minMillis() <= endMillis;
+            }
+            @Override
+            public long indexedCount(SegmentBlock block) {
+                return block.minMillis() >= startMillis && block.maxMillis() <= endMillis ? block.rowCount() : -1;
+            }
+            @Override
+            public boolean matches(ArchivedTransaction transaction) {
+                long millis = ArchivedTransaction.toEpochMillis(transaction.transactionDate());
+                return millis >= startMillis && millis <= endMillis;
+            }
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package com.inventory.archive;
+import java.util.List;
+public record ArchivePage(List<ArchivedTransaction> rows, long total) {
+}
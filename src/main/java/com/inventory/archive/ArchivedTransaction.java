@@ -0,0 +1,14 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+public record ArchivedTransaction(long id, long productId, TransactionType transactionType, int quantity,
+        String referenceNumber, String notes, LocalDateTime transactionDate, String createdBy) {
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    public static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,98 @@
+package com.inventory.archive;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+@Component
+public class LedgerArchive {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerArchive.class);
+    private static final Comparator<ArchivedTransaction> NEWEST_FIRST = Comparator
+            .comparing(ArchivedTransaction::transactionDate)
+            .thenComparingLong(ArchivedTransaction::id)
+            .reversed();
+    private final Path directory;
+    private volatile List<LedgerSegment> segments = List.of();
+    public LedgerArchive(@Value("${inventory.archive.directory:data/archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<LedgerSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path file : files) {
+                try {
+                    loaded.add(LedgerSegment.open(file));
+                } catch (IOException e) {
+                    logger.error("Skipping unreadable ledger segment {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to list ledger archive directory {}: {}", directory, e.getMessage());
+        }
+        loaded.sort(Comparator.comparing(LedgerSegment::getWindowStart).reversed());
+        segments = List.copyOf(loaded);
+        logger.info("Loaded {} ledger archive segments from {}", loaded.size(), directory);
+    }
+    public synchronized void register(LedgerSegment segment) {
+        List<LedgerSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        updated.sort(Comparator.comparing(LedgerSegment::getWindowStart).reversed());
+        segments = List.copyOf(updated);
+    }
+    public boolean hasSegments() {
+        return !segments.isEmpty();
+    }
+    public List<LedgerSegment> getSegments() {
+        return segments;
+    }
+    public LocalDateTime getArchivedUntil() {
+        return segments.stream().map(LedgerSegment::getWindowEnd).max(Comparator.naturalOrder()).orElse(null);
+    }
+    public Optional<LedgerSegment> findSegment(LocalDateTime windowStart) {
+        return segments.stream().filter(segment -> segment.getWindowStart().equals(windowStart)).findFirst();
+    }
+    public Path getDirectory() {
+        return directory;
+    }
+    public long count(ArchiveFilter filter) {
+        return segments.stream().mapToLong(segment -> segment.count(filter)).sum();
+    }
+    public ArchivePage find(ArchiveFilter filter, long offset, int limit) {
+        List<LedgerSegment> current = segments;
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        long total = 0;
+        long skip = offset;
+        for (LedgerSegment segment : current) {
+            long segmentCount = segment.count(filter);
+            total += segmentCount;
+            if (rows.size() >= limit || segmentCount == 0) {
+                continue;
+            }
+            if (skip >= segmentCount) {
+                skip -= segmentCount;
+                continue;
+            }
+            List<ArchivedTransaction> matches = segment.read(filter);
+            matches.sort(NEWEST_FIRST);
+            int from = (int) skip;
+            int to = (int) Math.min(matches.size(), from + (long) (limit - rows.size()));
+            rows.addAll(matches.subList(from, to));
+            skip = 0;
+        }
+        return new ArchivePage(rows, total);
+    }
+}
@@ -0,0 +1,168 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import com.inventory.lock.ClusterJobLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+@Component
+public class LedgerArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerArchiver.class);
+    private static final String LOCK_NAME = "ledger-archive";
+    private static final String SELECT_MONTH_BATCH = "SELECT id, product_id, transaction_type, quantity, "
+            + "reference_number, notes, transaction_date, created_by FROM inventory_transactions "
+            + "WHERE transaction_date >= ? AND transaction_date < ? AND (product_id > ? OR (product_id = ? "
+            + "AND (transaction_date > ? OR (transaction_date = ? AND id > ?)))) "
+            + "ORDER BY product_id, transaction_date, id LIMIT ?";
+    private static final String DELETE_ARCHIVED = "DELETE FROM inventory_transactions "
+            + "WHERE id BETWEEN ? AND ? AND transaction_date >= ? AND transaction_date < ?";
+    private final LedgerArchive archive;
+    private final LedgerSegmentRegistry segmentRegistry;
+    private final ClusterJobLock jobLock;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int blockRows;
+    private final long purgeChunkSize;
+    private final int exportBatchSize;
+    public LedgerArchiver(LedgerArchive archive,
+            LedgerSegmentRegistry segmentRegistry,
+            ClusterJobLock jobLock,
+            DataSource dataSource,
+            @Value("${inventory.archive.enabled:false}") boolean enabled,
+            @Value("${inventory.archive.retention-days:365}") int retentionDays,
+            @Value("${inventory.archive.block-rows:4096}") int blockRows,
+            @Value("${inventory.archive.purge-chunk-size:5000}") long purgeChunkSize,
+            @Value("${inventory.archive.export-batch-size:10000}") int exportBatchSize) {
+        this.archive = archive;
+        this.segmentRegistry = segmentRegistry;
+        this.jobLock = jobLock;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.blockRows = blockRows;
+        this.purgeChunkSize = Math.max(1, purgeChunkSize);
+        this.exportBatchSize = Math.max(1, exportBatchSize);
+    }
+    @Scheduled(cron = "${inventory.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run(defaultCutoff());
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled ledger archive run: {}", e.getMessage());
+        }
+    }
+    public LocalDate defaultCutoff() {
+        return LocalDate.now().minusDays(retentionDays).withDayOfMonth(1);
+    }
+    public ArchiveRun run(LocalDate requestedCutoff) {
+        return jobLock.tryRun(LOCK_NAME, () -> archiveBefore(requestedCutoff.withDayOfMonth(1)))
+                .orElseThrow(() -> new IllegalStateException("A ledger archive run is already in progress"));
+    }
+    private ArchiveRun archiveBefore(LocalDate cutoff) {
+        long start = System.currentTimeMillis();
+        segmentRegistry.recordLocalSegments();
+        segmentRegistry.requireComplete("purge archived ledger rows");
+        long purged = 0;
+        for (LedgerSegment segment : archive.getSegments()) {
+            purged += purge(segment);
+        }
+        int written = 0;
+        long archived = 0;
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(transaction_date) FROM inventory_transactions WHERE transaction_date < ?",
+                Timestamp.class, Timestamp.valueOf(cutoff.atStartOfDay()));
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+                    month.atDay(1).isBefore(cutoff); month = month.plusMonths(1)) {
+                if (archive.findSegment(month.atDay(1).atStartOfDay()).isPresent()) {
+                    continue;
+                }
+                LedgerSegment segment = writeSegment(month);
+                if (segment == null) {
+                    continue;
+                }
+                segmentRegistry.register(segment);
+                written++;
+                archived += segment.getRowCount();
+                purged += purge(segment);
+            }
+        }
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Ledger archive run before {} wrote {} segments with {} rows and purged {} rows ({} ms)",
+                cutoff, written, archived, purged, duration);
+        return new ArchiveRun(cutoff, written, archived, purged, duration);
+    }
+    private LedgerSegment writeSegment(YearMonth month) {
+        LocalDateTime windowStart = month.atDay(1).atStartOfDay();
+        LocalDateTime windowEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path target = archive.getDirectory().resolve("ledger-" + month + ".seg");
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(target,
+                ArchivedTransaction.toEpochMillis(windowStart), ArchivedTransaction.toEpochMillis(windowEnd), blockRows)) {
+            long lastProductId = 0;
+            Timestamp lastDate = Timestamp.valueOf(windowStart);
+            long lastId = 0;
+            List<ArchivedTransaction> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_MONTH_BATCH, (rs, rowNum) -> new ArchivedTransaction(
+                        rs.getLong("id"),
+                        rs.getLong("product_id"),
+                        TransactionType.valueOf(rs.getString("transaction_type")),
+                        rs.getInt("quantity"),
+                        rs.getString("reference_number"),
+                        rs.getString("notes"),
+                        rs.getTimestamp("transaction_date").toLocalDateTime(),
+                        rs.getString("created_by")),
+                        Timestamp.valueOf(windowStart), Timestamp.valueOf(windowEnd),
+                        lastProductId, lastProductId, lastDate, lastDate, lastId, exportBatchSize);
+                for (ArchivedTransaction row : batch) {
+                    writer.append(row);
+                    lastProductId = row.productId();
+                    lastDate = Timestamp.valueOf(row.transactionDate());
+                    lastId = row.id();
+                }
+            } while (batch.size() == exportBatchSize);
+            if (writer.getRowCount() == 0) {
+                return null;
+            }
+            return LedgerSegment.open(writer.finish());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ledger segment " + target, e);
+        }
+    }
+    private long purge(LedgerSegment segment) {
+        if (segment.getRowCount() == 0) {
+            return 0;
+        }
+        Timestamp windowStart = Timestamp.valueOf(segment.getWindowStart());
+        Timestamp windowEnd = Timestamp.valueOf(segment.getWindowEnd());
+        Long remaining = jdbcTemplate.queryForObject("SELECT MIN(id) FROM inventory_transactions "
+                + "WHERE transaction_date >= ? AND transaction_date < ?", Long.class, windowStart, windowEnd);
+        if (remaining == null) {
+            return 0;
+        }
+        long purged = 0;
+        for (long fromId = segment.getMinId(); fromId <= segment.getMaxId(); fromId += purgeChunkSize) {
+            long toId = Math.min(segment.getMaxId(), fromId + purgeChunkSize - 1);
+            purged += jdbcTemplate.update(DELETE_ARCHIVED, fromId, toId, windowStart, windowEnd);
+        }
+        return purged;
+    }
+    public record ArchiveRun(LocalDate cutoff, int segmentsWritten, long rowsArchived, long rowsPurged,
+            long durationMs) {
+    }
+}
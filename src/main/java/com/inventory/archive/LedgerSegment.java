@@ -0,0 +1,206 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+public final class LedgerSegment {
+    static final int MAGIC = 0x4C534547;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 6;
+    private static final int TRAILER_SIZE = 6 * Long.BYTES + 3 * Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final SegmentBlock[] blocks;
+    private final long windowStartMillis;
+    private final long windowEndMillis;
+    private final long minId;
+    private final long maxId;
+    private final long rowCount;
+    private final long sizeBytes;
+    private LedgerSegment(Path path, MappedByteBuffer buffer, SegmentBlock[] blocks, long windowStartMillis,
+            long windowEndMillis, long minId, long maxId, long rowCount, long sizeBytes) {
+        this.path = path;
+        this.buffer = buffer;
+        this.blocks = blocks;
+        this.windowStartMillis = windowStartMillis;
+        this.windowEndMillis = windowEndMillis;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.rowCount = rowCount;
+        this.sizeBytes = sizeBytes;
+    }
+    public static LedgerSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid segment size " + size + " for " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+                throw new IOException("Unsupported segment header in " + path);
+            }
+            ByteBuffer trailer = buffer.slice((int) size - TRAILER_SIZE, TRAILER_SIZE);
+            long windowStart = trailer.getLong();
+            long windowEnd = trailer.getLong();
+            long minId = trailer.getLong();
+            long maxId = trailer.getLong();
+            long rowCount = trailer.getLong();
+            long indexOffset = trailer.getLong();
+            int blockCount = trailer.getInt();
+            int typeCount = trailer.getInt();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Truncated segment " + path);
+            }
+            ByteBuffer index = buffer.slice((int) indexOffset, (int) (size - TRAILER_SIZE - indexOffset));
+            SegmentBlock[] blocks = new SegmentBlock[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                long productId = index.getLong();
+                long offset = index.getLong();
+                int compressedLength = index.getInt();
+                int uncompressedLength = index.getInt();
+                int blockRows = index.getInt();
+                long minMillis = index.getLong();
+                long maxMillis = index.getLong();
+                int[] typeCounts = new int[typeCount];
+                for (int t = 0; t < typeCount; t++) {
+                    typeCounts[t] = index.getInt();
+                }
+                blocks[i] = new SegmentBlock(productId, offset, compressedLength, uncompressedLength, blockRows,
+                        minMillis, maxMillis, typeCounts);
+            }
+            return new LedgerSegment(path, buffer, blocks, windowStart, windowEnd, minId, maxId, rowCount, size);
+        }
+    }
+    public long count(ArchiveFilter filter) {
+        long count = 0;
+        for (int i = firstBlock(filter); i < blocks.length; i++) {
+            SegmentBlock block = blocks[i];
+            if (filter.productId() != null && block.productId() != filter.productId()) {
+                break;
+            }
+            if (!filter.mayMatch(block)) {
+                continue;
+            }
+            long indexed = filter.indexedCount(block);
+            if (indexed >= 0) {
+                count += indexed;
+            } else {
+                long[] matched = new long[1];
+                decode(block, transaction -> {
+                    if (filter.matches(transaction)) {
+                        matched[0]++;
+                    }
+                });
+                count += matched[0];
+            }
+        }
+        return count;
+    }
+    public List<ArchivedTransaction> read(ArchiveFilter filter) {
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        forEach(filter, rows::add);
+        return rows;
+    }
+    public void forEach(ArchiveFilter filter, Consumer<ArchivedTransaction> action) {
+        for (int i = firstBlock(filter); i < blocks.length; i++) {
+            SegmentBlock block = blocks[i];
+            if (filter.productId() != null && block.productId() != filter.productId()) {
+                break;
+            }
+            if (!filter.mayMatch(block)) {
+                continue;
+            }
+            decode(block, transaction -> {
+                if (filter.matches(transaction)) {
+                    action.accept(transaction);
+                }
+            });
+        }
+    }
+    public Path getPath() {
+        return path;
+    }
+    public int getBlockCount() {
+        return blocks.length;
+    }
+    public LocalDateTime getWindowStart() {
+        return ArchivedTransaction.fromEpochMillis(windowStartMillis);
+    }
+    public LocalDateTime getWindowEnd() {
+        return ArchivedTransaction.fromEpochMillis(windowEndMillis);
+    }
+    public long getMinId() {
+        return minId;
+    }
+    public long getMaxId() {
+        return maxId;
+    }
+    public long getRowCount() {
+        return rowCount;
+    }
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    private int firstBlock(ArchiveFilter filter) {
+        Long productId = filter.productId();
+        if (productId == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = blocks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid].productId() < productId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    private void decode(SegmentBlock block, Consumer<ArchivedTransaction> action) {
+        byte[] raw = new byte[block.uncompressedLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) block.offset(), block.compressedLength()));
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            for (int i = 0; i < block.rowCount(); i++) {
+                long id = in.readLong();
+                TransactionType type = TYPES[in.readByte()];
+                int quantity = in.readInt();
+                long millis = in.readLong();
+                String referenceNumber = readNullable(in);
+                String notes = readNullable(in);
+                String createdBy = readNullable(in);
+                action.accept(new ArchivedTransaction(id, block.productId(), type, quantity, referenceNumber, notes,
+                        ArchivedTransaction.fromEpochMillis(millis), createdBy));
+            }
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupt block at offset " + block.offset() + " in " + path, e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.archive;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+@Component
+public class LedgerSegmentRegistry {
+    private static final String INSERT_SEGMENT = "INSERT IGNORE INTO ledger_segments "
+            + "(window_start, window_end, row_count, min_id, max_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_SEGMENTS = "SELECT window_start, row_count FROM ledger_segments";
+    private final LedgerArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    public LedgerSegmentRegistry(LedgerArchive archive, DataSource dataSource) {
+        this.archive = archive;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    public void register(LedgerSegment segment) {
+        record(segment);
+        archive.register(segment);
+    }
+    public void recordLocalSegments() {
+        archive.getSegments().forEach(this::record);
+    }
+    public List<Long> findMissingSegments() {
+        Map<Long, LedgerSegment> local = archive.getSegments().stream().collect(Collectors.toMap(
+                segment -> ArchivedTransaction.toEpochMillis(segment.getWindowStart()), Function.identity()));
+        return jdbcTemplate.query(SELECT_SEGMENTS, (rs, rowNum) -> {
+            LedgerSegment segment = local.get(rs.getLong("window_start"));
+            return segment != null && segment.getRowCount() == rs.getLong("row_count")
+                    ? null
+                    : rs.getLong("window_start");
+        }).stream().filter(Objects::nonNull).sorted().toList();
+    }
+    public void requireComplete(String action) {
+        List<Long> missing = findMissingSegments();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Cannot " + action + ": " + missing.size() + " archived ledger segments "
+                    + "are not available in " + archive.getDirectory().toAbsolutePath()
+                    + "; point inventory.archive.directory at the shared archive");
+        }
+    }
+    private void record(LedgerSegment segment) {
+        jdbcTemplate.update(INSERT_SEGMENT,
+                ArchivedTransaction.toEpochMillis(segment.getWindowStart()),
+                ArchivedTransaction.toEpochMillis(segment.getWindowEnd()),
+                segment.getRowCount(), segment.getMinId(), segment.getMaxId());
+    }
+}
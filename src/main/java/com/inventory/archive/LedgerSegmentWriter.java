@@ -0,0 +1,143 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+public final class LedgerSegmentWriter implements Closeable {
+    private final Path target;
+    private final Path temp;
+    private final FileOutputStream fileOut;
+    private final DataOutputStream out;
+    private final long windowStartMillis;
+    private final long windowEndMillis;
+    private final int blockRows;
+    private final int typeCount = TransactionType.values().length;
+    private final List<SegmentBlock> blocks = new ArrayList<>();
+    private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream blockOut = new DataOutputStream(blockBuffer);
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+    private long position;
+    private long blockProductId = -1;
+    private int blockRowCount;
+    private long blockMinMillis;
+    private long blockMaxMillis;
+    private int[] blockTypeCounts;
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private long rowCount;
+    private boolean finished;
+    public LedgerSegmentWriter(Path target, long windowStartMillis, long windowEndMillis, int blockRows)
+            throws IOException {
+        this.target = target;
+        this.windowStartMillis = windowStartMillis;
+        this.windowEndMillis = windowEndMillis;
+        this.blockRows = Math.max(1, blockRows);
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        this.temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        this.fileOut = new FileOutputStream(temp.toFile());
+        this.out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+        out.writeInt(LedgerSegment.MAGIC);
+        out.writeShort(LedgerSegment.VERSION);
+        position = LedgerSegment.HEADER_SIZE;
+    }
+    public void append(ArchivedTransaction transaction) throws IOException {
+        if (blockRowCount > 0 && (transaction.productId() != blockProductId || blockRowCount >= blockRows)) {
+            flushBlock();
+        }
+        long millis = ArchivedTransaction.toEpochMillis(transaction.transactionDate());
+        if (blockRowCount == 0) {
+            blockProductId = transaction.productId();
+            blockMinMillis = millis;
+            blockMaxMillis = millis;
+            blockTypeCounts = new int[typeCount];
+        }
+        blockOut.writeLong(transaction.id());
+        blockOut.writeByte(transaction.transactionType().ordinal());
+        blockOut.writeInt(transaction.quantity());
+        blockOut.writeLong(millis);
+        writeNullable(transaction.referenceNumber());
+        writeNullable(transaction.notes());
+        writeNullable(transaction.createdBy());
+        blockRowCount++;
+        blockMinMillis = Math.min(blockMinMillis, millis);
+        blockMaxMillis = Math.max(blockMaxMillis, millis);
+        blockTypeCounts[transaction.transactionType().ordinal()]++;
+        minId = Math.min(minId, transaction.id());
+        maxId = Math.max(maxId, transaction.id());
+        rowCount++;
+    }
+    public long getRowCount() {
+        return rowCount;
+    }
+    public Path finish() throws IOException {
+        if (blockRowCount > 0) {
+            flushBlock();
+        }
+        long indexOffset = position;
+        for (SegmentBlock block : blocks) {
+            out.writeLong(block.productId());
+            out.writeLong(block.offset());
+            out.writeInt(block.compressedLength());
+            out.writeInt(block.uncompressedLength());
+            out.writeInt(block.rowCount());
+            out.writeLong(block.minMillis());
+            out.writeLong(block.maxMillis());
+            for (int count : block.typeCounts()) {
+                out.writeInt(count);
+            }
+        }
+        out.writeLong(windowStartMillis);
+        out.writeLong(windowEndMillis);
+        out.writeLong(rowCount > 0 ? minId : 0);
+        out.writeLong(rowCount > 0 ? maxId : 0);
+        out.writeLong(rowCount);
+        out.writeLong(indexOffset);
+        out.writeInt(blocks.size());
+        out.writeInt(typeCount);
+        out.writeInt(LedgerSegment.MAGIC);
+        out.flush();
+        fileOut.getFD().sync();
+        out.close();
+        deflater.end();
+        finished = true;
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            deflater.end();
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+    private void flushBlock() throws IOException {
+        blockOut.flush();
+        byte[] raw = blockBuffer.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int compressed = 0;
+        while (!deflater.finished()) {
+            int length = deflater.deflate(deflateBuffer);
+            out.write(deflateBuffer, 0, length);
+            compressed += length;
+        }
+        blocks.add(new SegmentBlock(blockProductId, position, compressed, raw.length, blockRowCount,
+                blockMinMillis, blockMaxMillis, blockTypeCounts));
+        position += compressed;
+        blockBuffer.reset();
+        blockRowCount = 0;
+    }
+    private void writeNullable(String value) throws IOException {
+        blockOut.writeBoolean(value != null);
+        if (value != null) {
+            blockOut.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.inventory.archive;
+public record SegmentBlock(long productId, long offset, int compressedLength, int uncompressedLength, int rowCount,
+        long minMillis, long maxMillis, int[] typeCounts) {
+    public int typeCount(int ordinal) {
+        return ordinal < typeCounts.length ? typeCounts[ordinal] : 0;
+    }
+}
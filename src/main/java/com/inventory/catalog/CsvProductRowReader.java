@@ -0,0 +1,87 @@
+package com.inventory.catalog;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+public class CsvProductRowReader extends ProductRowReader {
+    private static final Set<String> COLUMNS = Set.of(SKU, NAME, DESCRIPTION, CATEGORY, SUPPLIER, UNIT_PRICE,
+            INITIAL_STOCK, REORDER_LEVEL);
+    private String[] header;
+    public CsvProductRowReader(Reader reader, int chunkSize) {
+        super(reader, chunkSize);
+    }
+    @Override
+    protected Map<String, String> parse(String line) throws IOException {
+        List<String> values = split(line);
+        if (header == null) {
+            header = readHeader(values);
+            return null;
+        }
+        if (values.size() > header.length) {
+            throw new InvalidRowException("Row has " + values.size() + " fields but the header has " + header.length);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (header[i] != null) {
+                fields.put(header[i], values.get(i));
+            }
+        }
+        return fields;
+    }
+    private static String[] readHeader(List<String> values) {
+        String[] columns = new String[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            String column = column(values.get(i));
+            columns[i] = COLUMNS.contains(column) ? column : null;
+        }
+        if (!Arrays.asList(columns).contains(SKU)) {
+            throw new IllegalArgumentException("CSV header must include a sku column");
+        }
+        return columns;
+    }
+    private List<String> split(String line) throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        String current = line;
+        int i = 0;
+        while (true) {
+            if (i == current.length()) {
+                if (!quoted) {
+                    break;
+                }
+                current = nextLine();
+                if (current == null) {
+                    throw new InvalidRowException("Unterminated quoted field");
+                }
+                value.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = current.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i < current.length() && current.charAt(i) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
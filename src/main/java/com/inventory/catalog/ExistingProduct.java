@@ -0,0 +1,9 @@
+package com.inventory.catalog;
+import com.inventory.event.ProductState;
+import java.math.BigDecimal;
+public record ExistingProduct(Long id, String sku, String name, String description, Long categoryId, Long supplierId,
+        BigDecimal unitPrice, Integer currentStock, Integer reorderLevel, Long stockVersion) {
+    public ProductState toState() {
+        return new ProductState(id, sku, categoryId, supplierId, unitPrice, currentStock, reorderLevel, stockVersion);
+    }
+}
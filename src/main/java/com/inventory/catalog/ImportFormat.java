@@ -0,0 +1,5 @@
+package com.inventory.catalog;
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
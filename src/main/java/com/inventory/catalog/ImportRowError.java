@@ -0,0 +1,3 @@
+package com.inventory.catalog;
+public record ImportRowError(long lineNumber, String sku, String message) {
+}
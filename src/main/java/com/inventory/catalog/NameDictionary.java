@@ -0,0 +1,56 @@
+package com.inventory.catalog;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+public class NameDictionary {
+    private static final Long MISSING = -1L;
+    private static final Long AMBIGUOUS = -2L;
+    private final String label;
+    private final Function<Collection<String>, List<NamedId>> loader;
+    private final Map<String, Long> ids = new HashMap<>();
+    public NameDictionary(String label, Function<Collection<String>, List<NamedId>> loader) {
+        this.label = label;
+        this.loader = loader;
+    }
+    public void load(Collection<String> names) {
+        Set<String> unknown = new TreeSet<>();
+        for (String name : names) {
+            if (name != null && !ids.containsKey(key(name))) {
+                unknown.add(key(name));
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        for (NamedId named : loader.apply(unknown)) {
+            ids.merge(key(named.name()), named.id(), (existing, id) -> existing.equals(id) ? existing : AMBIGUOUS);
+        }
+        for (String name : unknown) {
+            ids.putIfAbsent(name, MISSING);
+        }
+    }
+    public Long resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        Long id = ids.get(key(name));
+        if (id == null || MISSING.equals(id)) {
+            throw new ProductRowReader.InvalidRowException("Unknown " + label + " '" + name + "'");
+        }
+        if (AMBIGUOUS.equals(id)) {
+            throw new ProductRowReader.InvalidRowException("More than one " + label + " is named '" + name + "'");
+        }
+        return id;
+    }
+    public int size() {
+        return ids.size();
+    }
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
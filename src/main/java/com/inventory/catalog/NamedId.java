@@ -0,0 +1,3 @@
+package com.inventory.catalog;
+public record NamedId(Long id, String name) {
+}
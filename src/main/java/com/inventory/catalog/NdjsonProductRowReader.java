@@ -0,0 +1,37 @@
+package com.inventory.catalog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+public class NdjsonProductRowReader extends ProductRowReader {
+    private final ObjectReader jsonReader;
+    public NdjsonProductRowReader(Reader reader, int chunkSize, ObjectMapper objectMapper) {
+        super(reader, chunkSize);
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+    @Override
+    protected Map<String, String> parse(String line) {
+        JsonNode node;
+        try {
+            node = jsonReader.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRowException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidRowException("Each line must be a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!field.getValue().isNull()) {
+                fields.put(column(field.getKey()), field.getValue().asText());
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,5 @@
+package com.inventory.catalog;
+import java.math.BigDecimal;
+public record ProductImportRow(long lineNumber, String sku, String name, String description, String category,
+        String supplier, BigDecimal unitPrice, Integer initialStock, Integer reorderLevel) {
+}
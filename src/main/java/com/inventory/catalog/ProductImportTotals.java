@@ -0,0 +1,9 @@
+package com.inventory.catalog;
+public record ProductImportTotals(long created, long updated, long unchanged) {
+    public static final ProductImportTotals EMPTY = new ProductImportTotals(0, 0, 0);
+    public ProductImportTotals plus(ProductImportTotals other) {
+        return new ProductImportTotals(created + other.created,
+                updated + other.updated,
+                unchanged + other.unchanged);
+    }
+}
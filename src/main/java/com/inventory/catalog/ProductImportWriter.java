@@ -0,0 +1,88 @@
+package com.inventory.catalog;
+import com.inventory.entity.Product;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+@Component
+public class ProductImportWriter {
+    private static final String INSERT_PRODUCT = "INSERT INTO products "
+            + "(name, sku, description, category_id, supplier_id, unit_price, current_stock, reorder_level, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PRODUCT = "UPDATE products SET name = ?, description = ?, category_id = ?, "
+            + "supplier_id = ?, unit_price = ?, reorder_level = ?, updated_at = ? WHERE id = ?";
+    private final JdbcTemplate jdbcTemplate;
+    public ProductImportWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    public void insert(List<Product> products, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Product product = products.get(i);
+                        statement.setString(1, product.getName());
+                        statement.setString(2, product.getSku());
+                        statement.setString(3, product.getDescription());
+                        setReference(statement, 4, product.getCategory() != null ? product.getCategory().getId() : null);
+                        setReference(statement, 5, product.getSupplier() != null ? product.getSupplier().getId() : null);
+                        statement.setBigDecimal(6, product.getUnitPrice());
+                        statement.setInt(7, product.getCurrentStock());
+                        statement.setInt(8, product.getReorderLevel());
+                        statement.setTimestamp(9, timestamp);
+                        statement.setTimestamp(10, timestamp);
+                    }
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < products.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            Product product = products.get(i);
+            product.setId(((Number) key).longValue());
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+        }
+    }
+    public void update(List<Product> products, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPDATE_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Product product = products.get(i);
+                statement.setString(1, product.getName());
+                statement.setString(2, product.getDescription());
+                setReference(statement, 3, product.getCategory() != null ? product.getCategory().getId() : null);
+                setReference(statement, 4, product.getSupplier() != null ? product.getSupplier().getId() : null);
+                statement.setBigDecimal(5, product.getUnitPrice());
+                statement.setInt(6, product.getReorderLevel());
+                statement.setTimestamp(7, timestamp);
+                statement.setLong(8, product.getId());
+            }
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+    }
+    private static void setReference(PreparedStatement statement, int index, Long id) throws SQLException {
+        if (id != null) {
+            statement.setLong(index, id);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
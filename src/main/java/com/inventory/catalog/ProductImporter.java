@@ -0,0 +1,241 @@
+package com.inventory.catalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
+import com.inventory.entity.Product;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.location.LocationKey;
+import com.inventory.location.StockLocations;
+import com.inventory.location.StockTransferWriter;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+@Component
+@SuppressWarnings("null")
+public class ProductImporter {
+    private static final Logger logger = LoggerFactory.getLogger(ProductImporter.class);
+    private static final int DEFAULT_REORDER_LEVEL = 10;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductImportWriter importWriter;
+    private final StockTransferWriter stockWriter;
+    private final StockLocations stockLocations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTemplate;
+    private final int chunkSize;
+    private final int maxReported;
+    public ProductImporter(ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            SupplierRepository supplierRepository,
+            ProductImportWriter importWriter,
+            StockTransferWriter stockWriter,
+            StockLocations stockLocations,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.product-import.chunk-size:2000}") int chunkSize,
+            @Value("${inventory.product-import.max-reported:1000}") int maxReported) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.importWriter = importWriter;
+        this.stockWriter = stockWriter;
+        this.stockLocations = stockLocations;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReported = Math.max(0, maxReported);
+    }
+    public ProductImportRun importProducts(ImportFormat format, Reader source, String createdBy) {
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(createdBy,
+                new NameDictionary("category", categoryRepository::findIdsByLowerNameIn),
+                new NameDictionary("supplier", supplierRepository::findIdsByLowerCompanyNameIn),
+                new ArrayList<>(), new AtomicLong());
+        ProductRowReader reader = ProductRowReader.of(format, source, chunkSize, objectMapper);
+        ProductImportTotals totals = ProductImportTotals.EMPTY;
+        List<ProductImportRow> chunk;
+        while (!(chunk = reader.nextChunk(error -> reject(error, context))).isEmpty()) {
+            List<ProductImportRow> rows = chunk;
+            List<ImportRowError> rowErrors = new ArrayList<>();
+            try {
+                ProductImportTotals applied = writeTemplate.execute(status -> applyChunk(rows, context, rowErrors));
+                totals = totals.plus(applied != null ? applied : ProductImportTotals.EMPTY);
+                rowErrors.forEach(error -> reject(error, context));
+            } catch (DataAccessException e) {
+                String reason = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                logger.warn("Product import chunk of {} rows starting at line {} failed: {}", rows.size(),
+                        rows.get(0).lineNumber(), reason);
+                for (ProductImportRow row : rows) {
+                    reject(new ImportRowError(row.lineNumber(), row.sku(), reason), context);
+                }
+            }
+        }
+        context.errors().sort(Comparator.comparingLong(ImportRowError::lineNumber));
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Product import read {} rows: {} created, {} updated, {} unchanged, {} failed ({} ms)",
+                reader.getRowsRead(), totals.created(), totals.updated(), totals.unchanged(),
+                context.errorCount().get(), duration);
+        return new ProductImportRun(reader.getRowsRead(), totals, context.errorCount().get(), context.errors(),
+                duration);
+    }
+    private ProductImportTotals applyChunk(List<ProductImportRow> rows, ImportContext context,
+            List<ImportRowError> rowErrors) {
+        Map<String, ProductImportRow> bySku = new LinkedHashMap<>();
+        for (ProductImportRow row : rows) {
+            bySku.put(row.sku(), row);
+        }
+        context.categories().load(bySku.values().stream().map(ProductImportRow::category).toList());
+        context.suppliers().load(bySku.values().stream().map(ProductImportRow::supplier).toList());
+        Map<String, ExistingProduct> existing = productRepository.findExistingBySkuIn(bySku.keySet()).stream()
+                .collect(Collectors.toMap(ExistingProduct::sku, Function.identity()));
+        List<Product> inserts = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        Map<Long, ProductState> before = new LinkedHashMap<>();
+        long unchanged = 0;
+        for (ProductImportRow row : bySku.values()) {
+            try {
+                Long categoryId = context.categories().resolve(row.category());
+                Long supplierId = context.suppliers().resolve(row.supplier());
+                ExistingProduct current = existing.get(row.sku());
+                if (current == null) {
+                    inserts.add(newProduct(row, categoryId, supplierId));
+                    continue;
+                }
+                Product merged = merge(current, row, categoryId, supplierId);
+                if (isUnchanged(current, merged)) {
+                    unchanged++;
+                } else {
+                    updates.add(merged);
+                    before.put(current.id(), current.toState());
+                }
+            } catch (ProductRowReader.InvalidRowException e) {
+                rowErrors.add(new ImportRowError(row.lineNumber(), row.sku(), e.getMessage()));
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!inserts.isEmpty()) {
+            importWriter.insert(inserts, now);
+            recordInitialStock(inserts, context.createdBy(), now);
+        }
+        if (!updates.isEmpty()) {
+            importWriter.update(updates, now);
+        }
+        for (Product product : inserts) {
+            eventPublisher.publishEvent(ProductStateChangedEvent.created(ProductState.of(product)));
+        }
+        for (Product product : updates) {
+            eventPublisher.publishEvent(ProductStateChangedEvent.changed(before.get(product.getId()),
+                    ProductState.of(product)));
+        }
+        return new ProductImportTotals(inserts.size(), updates.size(), unchanged);
+    }
+    private Product newProduct(ProductImportRow row, Long categoryId, Long supplierId) {
+        if (row.name() == null) {
+            throw new ProductRowReader.InvalidRowException("Name is required for a new product");
+        }
+        if (row.unitPrice() == null) {
+            throw new ProductRowReader.InvalidRowException("Unit price is required for a new product");
+        }
+        return Product.builder()
+                .name(row.name())
+                .sku(row.sku())
+                .description(row.description())
+                .category(categoryId != null ? categoryRepository.getReferenceById(categoryId) : null)
+                .supplier(supplierId != null ? supplierRepository.getReferenceById(supplierId) : null)
+                .unitPrice(row.unitPrice())
+                .currentStock(row.initialStock() != null ? row.initialStock() : 0)
+                .reorderLevel(row.reorderLevel() != null ? row.reorderLevel() : DEFAULT_REORDER_LEVEL)
+                .build();
+    }
+    private Product merge(ExistingProduct current, ProductImportRow row, Long categoryId, Long supplierId) {
+        Long mergedCategory = categoryId != null ? categoryId : current.categoryId();
+        Long mergedSupplier = supplierId != null ? supplierId : current.supplierId();
+        return Product.builder()
+                .id(current.id())
+                .sku(current.sku())
+                .name(row.name() != null ? row.name() : current.name())
+                .description(row.description() != null ? row.description() : current.description())
+                .category(mergedCategory != null ? categoryRepository.getReferenceById(mergedCategory) : null)
+                .supplier(mergedSupplier != null ? supplierRepository.getReferenceById(mergedSupplier) : null)
+                .unitPrice(row.unitPrice() != null ? row.unitPrice() : current.unitPrice())
+                .currentStock(current.currentStock())
+                .stockVersion(current.stockVersion())
+                .reorderLevel(row.reorderLevel() != null ? row.reorderLevel() : current.reorderLevel())
+                .build();
+    }
+    private boolean isUnchanged(ExistingProduct current, Product merged) {
+        return ProductState.of(merged).equals(current.toState())
+                && Objects.equals(merged.getName(), current.name())
+                && Objects.equals(merged.getDescription(), current.description());
+    }
+    private void recordInitialStock(List<Product> products, String createdBy, LocalDateTime now) {
+        Location location = stockLocations.resolve(null);
+        SortedMap<LocationKey, Integer> levels = new TreeMap<>();
+        List<InventoryTransaction> ledger = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getCurrentStock() > 0) {
+                levels.put(new LocationKey(product.getId(), location.getId()), product.getCurrentStock());
+                ledger.add(InventoryTransaction.builder()
+                        .product(product)
+                        .location(location)
+                        .transactionType(TransactionType.ADJUSTMENT)
+                        .quantity(product.getCurrentStock())
+                        .notes("Initial stock")
+                        .transactionDate(now)
+                        .createdBy(createdBy)
+                        .build());
+            }
+        }
+        if (ledger.isEmpty()) {
+            return;
+        }
+        stockWriter.applyLevels(levels);
+        stockWriter.insertLedger(ledger);
+        stockWriter.recordMovements(ledger);
+        for (InventoryTransaction transaction : ledger) {
+            eventPublisher.publishEvent(StockMovementEvent.of(transaction, now, 0, transaction.getQuantity(), 0));
+        }
+    }
+    private void reject(ImportRowError error, ImportContext context) {
+        if (context.errorCount().getAndIncrement() < maxReported) {
+            context.errors().add(error);
+        }
+    }
+    public record ProductImportRun(long rowsRead, ProductImportTotals totals, long failed, List<ImportRowError> errors,
+            long durationMs) {
+    }
+    private record ImportContext(String createdBy, NameDictionary categories, NameDictionary suppliers,
+            List<ImportRowError> errors, AtomicLong errorCount) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory.catalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+public abstract class ProductRowReader implements Closeable {
+    static final String SKU = "sku";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String SUPPLIER = "supplier";
+    static final String UNIT_PRICE = "unitprice";
+    static final String INITIAL_STOCK = "initialstock";
+    static final String REORDER_LEVEL = "reorderlevel";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final BigDecimal MAX_PRICE = new BigDecimal("100000000");
+    private final BufferedReader reader;
+    private final int chunkSize;
+    private long lineNumber;
+    private long rowsRead;
+    protected ProductRowReader(Reader reader, int chunkSize) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+    public static ProductRowReader of(ImportFormat format, Reader reader, int chunkSize, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvProductRowReader(reader, chunkSize);
+            case NDJSON -> new NdjsonProductRowReader(reader, chunkSize, objectMapper);
+        };
+    }
+    public List<ProductImportRow> nextChunk(Consumer<ImportRowError> rejected) {
+        List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            String line;
+            while (chunk.size() < chunkSize && (line = nextLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long rowLine = lineNumber;
+                Map<String, String> fields;
+                try {
+                    fields = parse(line);
+                } catch (InvalidRowException e) {
+                    rowsRead++;
+                    rejected.accept(new ImportRowError(rowLine, null, e.getMessage()));
+                    continue;
+                }
+                if (fields == null) {
+                    continue;
+                }
+                rowsRead++;
+                try {
+                    chunk.add(toRow(rowLine, fields));
+                } catch (InvalidRowException e) {
+                    rejected.accept(new ImportRowError(rowLine, fields.get(SKU), e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import at line " + (lineNumber + 1), e);
+        }
+        return chunk;
+    }
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    protected abstract Map<String, String> parse(String line) throws IOException;
+    protected String nextLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null && ++lineNumber == 1 && line.startsWith(BYTE_ORDER_MARK)) {
+            line = line.substring(1);
+        }
+        return line;
+    }
+    static String column(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "").replace(" ", "");
+    }
+    private static ProductImportRow toRow(long lineNumber, Map<String, String> fields) {
+        String sku = text(fields, SKU, "SKU", 50);
+        if (sku == null) {
+            throw new InvalidRowException("SKU is required");
+        }
+        return new ProductImportRow(lineNumber, sku,
+                text(fields, NAME, "Name", 200),
+                text(fields, DESCRIPTION, "Description", 1000),
+                text(fields, CATEGORY, "Category", 100),
+                text(fields, SUPPLIER, "Supplier", 200),
+                price(fields.get(UNIT_PRICE)),
+                count(fields.get(INITIAL_STOCK), "Initial stock"),
+                count(fields.get(REORDER_LEVEL), "Reorder level"));
+    }
+    private static String text(Map<String, String> fields, String column, String label, int maxLength) {
+        String value = fields.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() > maxLength) {
+            throw new InvalidRowException(label + " must be at most " + maxLength + " characters");
+        }
+        return trimmed;
+    }
+    private static BigDecimal price(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException("Unit price '" + value.trim() + "' is not a number");
+        }
+        if (price.signum() < 0 || price.compareTo(MAX_PRICE) >= 0 || price.stripTrailingZeros().scale() > 2) {
+            throw new InvalidRowException("Unit price must be between 0 and 99999999.99 with at most 2 decimals");
+        }
+        return price.setScale(2);
+    }
+    private static Integer count(String value, String label) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(label + " '" + value.trim() + "' is not a whole number");
+        }
+        if (count < 0) {
+            throw new InvalidRowException(label + " must be non-negative");
+        }
+        return count;
+    }
+    static class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.inventory.catalog;
+import com.inventory.event.ProductStateChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+@Component
+public class SkuIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SkuIndex.class);
+    private static final long MIN_CAPACITY = 10_000;
+    private static final String COUNT_SKUS = "SELECT COUNT(*) FROM products";
+    private static final String SELECT_SKUS = "SELECT sku FROM products";
+    private static final String SELECT_CREATED_SKUS = "SELECT p.sku FROM product_changes c "
+            + "JOIN products p ON p.id = c.product_id WHERE c.change_type = 'CREATED' AND c.changed_at >= ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final double headroom;
+    private final long syncOverlapMs;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sku-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder possibleMatches = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile SkuBloomFilter filter;
+    private volatile SkuBloomFilter building;
+    private volatile LocalDateTime builtAt;
+    private LocalDateTime syncedFrom;
+    public SkuIndex(JdbcTemplate jdbcTemplate,
+            @Value("${inventory.sku-index.enabled:true}") boolean enabled,
+            @Value("${inventory.sku-index.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${inventory.sku-index.headroom:2.0}") double headroom,
+            @Value("${inventory.sku-index.sync-overlap-ms:10000}") long syncOverlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.falsePositiveRate = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        this.headroom = Math.max(1.0, headroom);
+        this.syncOverlapMs = Math.max(0, syncOverlapMs);
+    }
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuilding() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+    @EventListener
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (event.before() != null || event.after() == null || event.after().sku() == null) {
+            return;
+        }
+        String sku = event.after().sku();
+        SkuBloomFilter current = filter;
+        SkuBloomFilter next = building;
+        if (next != null) {
+            next.put(sku);
+        }
+        if (current != null) {
+            current.put(sku);
+            if (current.isSaturated()) {
+                requestRebuild();
+            }
+        }
+    }
+    public <T> Optional<T> find(String sku, Function<String, Optional<T>> lookup) {
+        SkuBloomFilter current = filter;
+        if (current != null && !current.mightContain(sku)) {
+            definitelyAbsent.increment();
+            return Optional.empty();
+        }
+        Optional<T> found = lookup.apply(sku);
+        if (current != null) {
+            possibleMatches.increment();
+            if (found.isEmpty()) {
+                falsePositives.increment();
+            }
+        }
+        return found;
+    }
+    public boolean exists(String sku, Predicate<String> lookup) {
+        return find(sku, key -> lookup.test(key) ? Optional.of(key) : Optional.empty()).isPresent();
+    }
+    public void requestRebuild() {
+        if (enabled && rebuildQueued.compareAndSet(false, true)) {
+            builder.submit(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+    @Scheduled(fixedDelayString = "${inventory.sku-index.rebuild-interval-ms:3600000}",
+            initialDelayString = "${inventory.sku-index.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+    @Scheduled(fixedDelayString = "${inventory.sku-index.sync-interval-ms:2000}")
+    public synchronized void syncCreated() {
+        SkuBloomFilter current = filter;
+        if (current == null || syncedFrom == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Timestamp since = Timestamp.valueOf(syncedFrom.minusNanos(syncOverlapMs * 1_000_000));
+        try {
+            jdbcTemplate.query(SELECT_CREATED_SKUS, (RowCallbackHandler) rs -> current.put(rs.getString(1)), since);
+            syncedFrom = startedAt;
+        } catch (RuntimeException e) {
+            logger.warn("SKU index sync failed: {}", e.getMessage());
+        }
+    }
+    public SkuIndexStats stats() {
+        SkuBloomFilter current = filter;
+        if (current == null) {
+            return new SkuIndexStats(false, 0, 0, 0, 0, falsePositiveRate, 0, definitelyAbsent.sum(),
+                    possibleMatches.sum(), falsePositives.sum(), null);
+        }
+        return new SkuIndexStats(true, current.getInsertions(), current.getExpectedInsertions(),
+                current.getBitCount(), current.getHashFunctions(), falsePositiveRate,
+                current.expectedFalsePositiveRate(), definitelyAbsent.sum(), possibleMatches.sum(),
+                falsePositives.sum(), builtAt);
+    }
+    private synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            Long count = jdbcTemplate.queryForObject(COUNT_SKUS, Long.class);
+            SkuBloomFilter next = new SkuBloomFilter(
+                    Math.max(MIN_CAPACITY, (long) Math.ceil((count != null ? count : 0) * headroom)), falsePositiveRate);
+            building = next;
+            jdbcTemplate.query(SELECT_SKUS, (RowCallbackHandler) rs -> next.put(rs.getString(1)));
+            filter = next;
+            builtAt = startedAt;
+            syncedFrom = startedAt;
+            logger.info("Built SKU index over {} SKUs ({} bits, {} hash functions) in {} ms", next.getInsertions(),
+                    next.getBitCount(), next.getHashFunctions(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.warn("SKU index build failed; lookups fall through to the database: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+        syncCreated();
+    }
+}
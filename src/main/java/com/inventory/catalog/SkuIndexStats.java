@@ -0,0 +1,10 @@
+package com.inventory.catalog;
+import java.time.LocalDateTime;
+public record SkuIndexStats(boolean ready, long insertions, long expectedInsertions, long bitCount, int hashFunctions,
+        double targetFalsePositiveRate, double expectedFalsePositiveRate, long definitelyAbsent, long possibleMatches,
+        long falsePositives, LocalDateTime builtAt) {
+    public double observedFalsePositiveRate() {
+        long absent = definitelyAbsent + falsePositives;
+        return absent == 0 ? 0 : (double) falsePositives / absent;
+    }
+}
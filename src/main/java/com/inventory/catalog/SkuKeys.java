@@ -0,0 +1,20 @@
+package com.inventory.catalog;
+import java.text.Normalizer;
+import java.util.Locale;
+public final class SkuKeys {
+    private SkuKeys() {
+    }
+    public static String normalize(String sku) {
+        int end = sku.length();
+        while (end > 0 && sku.charAt(end - 1) == ' ') {
+            end--;
+        }
+        String key = sku.substring(0, end).toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0x7f) {
+                return Normalizer.normalize(key, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,171 @@
+package com.inventory.changes;
+import com.inventory.entity.ProductChange;
+import com.inventory.entity.ProductChangeType;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.exception.ChangeTokenExpiredException;
+import com.inventory.repository.ProductChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+@Component
+public class ProductChangeLog {
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeLog.class);
+    private static final String INSERT_CHANGE = "INSERT INTO product_changes (product_id, change_type, changed_at) "
+            + "VALUES (?, ?, ?)";
+    private final ProductChangeRepository changeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final long pruneChunkSize;
+    private final long gapGraceMs;
+    public ProductChangeLog(ProductChangeRepository changeRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.changes.retention-days:30}") int retentionDays,
+            @Value("${inventory.changes.prune-chunk-size:5000}") long pruneChunkSize,
+            @Value("${inventory.changes.gap-grace-ms:5000}") long gapGraceMs) {
+        this.changeRepository = changeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = Math.max(1, retentionDays);
+        this.pruneChunkSize = Math.max(1, pruneChunkSize);
+        this.gapGraceMs = Math.max(0, gapGraceMs);
+    }
+    public long head() {
+        return changeRepository.findHead();
+    }
+    public ChangeBatch read(long since, int limit) {
+        Long tail = changeRepository.findTail();
+        if (tail != null && since < tail - 1) {
+            throw new ChangeTokenExpiredException(since);
+        }
+        List<ProductChange> rows = changeRepository.findAfter(since, PageRequest.of(0, limit + 1));
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(gapGraceMs * 1_000_000);
+        List<ProductChange> settled = new ArrayList<>();
+        long expected = since + 1;
+        for (ProductChange row : rows) {
+            if (settled.size() == limit) {
+                break;
+            }
+            if (row.getId() != expected && row.getChangedAt().isAfter(settledBefore)) {
+                return new ChangeBatch(settled, expected - 1, true);
+            }
+            settled.add(row);
+            expected = row.getId() + 1;
+        }
+        return new ChangeBatch(settled, expected - 1, rows.size() > limit);
+    }
+    @EventListener
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeRepository.save(ProductChange.builder()
+                    .productId(event.productId())
+                    .changeType(changeType(event))
+                    .changedAt(LocalDateTime.now())
+                    .build());
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(new PendingChange(event.productId(), changeType(event)));
+    }
+    @Scheduled(cron = "${inventory.changes.prune-cron:0 15 2 * * *}")
+    public void prune() {
+        Long tail = changeRepository.findTail();
+        Long cutoffId = changeRepository.findMaxIdBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (tail == null || cutoffId == null) {
+            return;
+        }
+        long deleted = 0;
+        for (long fromId = tail; fromId <= cutoffId; fromId += pruneChunkSize) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(cutoffId, fromId + pruneChunkSize - 1);
+            Integer removed = transactionTemplate.execute(status -> changeRepository.deleteByIdRange(chunkFrom, chunkTo));
+            deleted += removed != null ? removed : 0;
+        }
+        logger.info("Pruned {} product changes up to sequence {}", deleted, cutoffId);
+    }
+    private ProductChangeType changeType(ProductStateChangedEvent event) {
+        ProductState before = event.before();
+        ProductState after = event.after();
+        if (after == null) {
+            return ProductChangeType.DELETED;
+        }
+        if (before == null) {
+            return ProductChangeType.CREATED;
+        }
+        boolean onlyStock = Objects.equals(before.sku(), after.sku())
+                && Objects.equals(before.categoryId(), after.categoryId())
+                && Objects.equals(before.supplierId(), after.supplierId())
+                && Objects.equals(before.unitPrice(), after.unitPrice())
+                && Objects.equals(before.reorderLevel(), after.reorderLevel());
+        return onlyStock && !Objects.equals(before.currentStock(), after.currentStock())
+                ? ProductChangeType.STOCK
+                : ProductChangeType.UPDATED;
+    }
+    private void insertAll(List<PendingChange> changes) {
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                PendingChange change = changes.get(i);
+                statement.setLong(1, change.productId());
+                statement.setString(2, change.changeType().name());
+                statement.setTimestamp(3, changedAt);
+            }
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+    public record ChangeBatch(List<ProductChange> changes, long nextToken, boolean hasMore) {
+    }
+    private record PendingChange(Long productId, ProductChangeType changeType) {
+    }
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<PendingChange> changes = new ArrayList<>();
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductChangeLog.this);
+        }
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ProductChangeLog.this, this);
+        }
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!changes.isEmpty()) {
+                insertAll(changes);
+                changes.clear();
+            }
+        }
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductChangeLog.this);
+        }
+    }
+}
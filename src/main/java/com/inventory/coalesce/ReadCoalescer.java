@@ -0,0 +1,128 @@
+package com.inventory.coalesce;
+import com.inventory.datasource.CommittedWrites;
+import com.inventory.datasource.ConsistencyTokens;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+@Component
+public class ReadCoalescer {
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final TransactionTemplate readTemplate;
+    private final CommittedWrites committedWrites;
+    private final long resultTtlMs;
+    private final int maxKeys;
+    public ReadCoalescer(PlatformTransactionManager transactionManager,
+            CommittedWrites committedWrites,
+            @Value("${inventory.coalescing.result-ttl-ms:0}") long resultTtlMs,
+            @Value("${inventory.coalescing.max-keys:1000}") int maxKeys) {
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.committedWrites = committedWrites;
+        this.resultTtlMs = Math.max(0, resultTtlMs);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        Long token = ConsistencyTokens.requested();
+        long required = token != null ? token : committedWrites.lastCommittedAt();
+        while (true) {
+            long now = System.currentTimeMillis();
+            Flight flight = flights.get(key);
+            if (flight != null && flight.isUsable(required, now, resultTtlMs)) {
+                Object value = flight.await();
+                if (flight.covers(required)) {
+                    shared.increment();
+                    return (T) value;
+                }
+            }
+            Flight own = new Flight(committedWrites.now());
+            boolean claimed = flight == null ? flights.putIfAbsent(key, own) == null : flights.replace(key, flight, own);
+            if (claimed) {
+                return lead(key, own, loader);
+            }
+        }
+    }
+    public long getExecutions() {
+        return executions.sum();
+    }
+    public long getShared() {
+        return shared.sum();
+    }
+    private <T> T lead(String key, Flight flight, Supplier<T> loader) {
+        if (flights.size() > maxKeys) {
+            long now = System.currentTimeMillis();
+            flights.values().removeIf(candidate -> candidate.isExpired(now, resultTtlMs));
+        }
+        executions.increment();
+        try {
+            T value = ConsistencyTokens.observeReads(flight::servedUpTo,
+                    () -> readTemplate.execute(status -> loader.get()));
+            flight.complete(value);
+            if (resultTtlMs == 0) {
+                flights.remove(key, flight);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.fail(e);
+            flights.remove(key, flight);
+            throw e;
+        }
+    }
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicLong observedUpTo;
+        private volatile long completedAt;
+        private Flight(long startedAt) {
+            this.observedUpTo = new AtomicLong(startedAt);
+        }
+        private void servedUpTo(long watermark) {
+            observedUpTo.accumulateAndGet(watermark, Math::min);
+        }
+        private boolean covers(long required) {
+            return observedUpTo.get() >= required;
+        }
+        private boolean isUsable(long required, long now, long ttlMs) {
+            if (!covers(required)) {
+                return false;
+            }
+            return !result.isDone() || (!result.isCompletedExceptionally() && now - completedAt < ttlMs);
+        }
+        private boolean isExpired(long now, long ttlMs) {
+            return result.isDone() && now - completedAt >= ttlMs;
+        }
+        private void complete(Object value) {
+            completedAt = System.currentTimeMillis();
+            result.complete(value);
+        }
+        private void fail(Throwable error) {
+            completedAt = System.currentTimeMillis();
+            result.completeExceptionally(error);
+        }
+        private Object await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
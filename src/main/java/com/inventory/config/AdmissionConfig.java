@@ -0,0 +1,41 @@
+package com.inventory.config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.admission.AdmissionControlFilter;
+import com.inventory.admission.AdmissionLimiter;
+import com.inventory.admission.EndpointClass;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import java.util.EnumMap;
+import java.util.Map;
+@Configuration
+@ConditionalOnProperty(name = "inventory.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+    @Bean
+    public AdmissionLimiter admissionLimiter(Environment environment,
+            @Value("${inventory.admission.bulkhead-wait-ms:100}") long bulkheadWaitMs,
+            @Value("${inventory.admission.max-tracked-keys:100000}") int maxTrackedKeys) {
+        Map<EndpointClass, AdmissionLimiter.Limits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            String prefix = "inventory.admission." + endpoint.getKey() + ".";
+            limits.put(endpoint, new AdmissionLimiter.Limits(
+                    environment.getProperty(prefix + "rate-per-second", Double.class, endpoint.getDefaultRatePerSecond()),
+                    environment.getProperty(prefix + "burst", Integer.class, endpoint.getDefaultBurst()),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, endpoint.getDefaultMaxConcurrent())));
+        }
+        return new AdmissionLimiter(limits, bulkheadWaitMs, maxTrackedKeys);
+    }
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionLimiter admissionLimiter,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.config;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+    private static final String LAZY_PACKAGE = "org.springdoc.";
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdoc(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+    private static boolean isSpringdoc(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+            return false;
+        }
+        String className = definition.getBeanClassName();
+        String factoryBean = definition.getFactoryBeanName();
+        if (className == null && factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)) {
+            className = beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        return className != null && className.startsWith(LAZY_PACKAGE);
+    }
+}
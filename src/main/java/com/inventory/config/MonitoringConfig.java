@@ -0,0 +1,37 @@
+package com.inventory.config;
+import com.inventory.monitoring.QueryStatisticsCollector;
+import com.inventory.monitoring.QueryStatisticsFilter;
+import com.inventory.monitoring.QueryStatisticsInspector;
+import com.inventory.monitoring.QueryStatisticsSessionListener;
+import com.inventory.monitoring.RepositoryInstrumentationPostProcessor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+@Configuration
+public class MonitoringConfig {
+    @Bean
+    @ConditionalOnProperty(name = "inventory.jfr.repository-events", havingValue = "true", matchIfMissing = true)
+    public static RepositoryInstrumentationPostProcessor repositoryInstrumentationPostProcessor() {
+        return new RepositoryInstrumentationPostProcessor();
+    }
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatisticsInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    QueryStatisticsSessionListener.class.getName());
+        };
+    }
+    @Bean
+    public FilterRegistrationBean<QueryStatisticsFilter> queryStatisticsFilter(QueryStatisticsCollector collector) {
+        FilterRegistrationBean<QueryStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatisticsFilter(collector));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
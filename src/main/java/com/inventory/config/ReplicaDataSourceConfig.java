@@ -0,0 +1,55 @@
+package com.inventory.config;
+import com.inventory.datasource.ReadWriteRoutingDataSource;
+import com.inventory.datasource.ReplicaWatermark;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+@Configuration
+@ConditionalOnProperty(name = "inventory.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    @Bean
+    @ConfigurationProperties("inventory.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${inventory.datasource.replica.url}") String url,
+            @Value("${inventory.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    @Bean
+    public ReplicaWatermark replicaWatermark(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${inventory.datasource.replica.heartbeat-interval-ms:250}") long heartbeatIntervalMs,
+            @Value("${inventory.datasource.replica.max-wait-ms:50}") long maxWaitMs,
+            @Value("${inventory.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        return new ReplicaWatermark(primary, replica, heartbeatIntervalMs, maxWaitMs, maxLagMs);
+    }
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaWatermark replicaWatermark) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, replicaWatermark));
+    }
+}
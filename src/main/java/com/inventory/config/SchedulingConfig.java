@@ -0,0 +1,9 @@
+package com.inventory.config;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "inventory.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,41 @@
+package com.inventory.controller;
+import com.inventory.analytics.LedgerGroupBy;
+import com.inventory.dto.LedgerStoreStatusDTO;
+import com.inventory.dto.LedgerTotalsDTO;
+import com.inventory.entity.TransactionType;
+import com.inventory.service.interfaces.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+@RestController
+@RequestMapping("/api/analytics/ledger")
+@Tag(name = "Analytics", description = "Ledger analytics APIs")
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+    @GetMapping("/totals")
+    @Operation(summary = "Get ledger totals", description = "Aggregates transaction quantity and count by type, product, user, hour or day from the in-memory columnar ledger")
+    @ApiResponse(responseCode = "200", description = "Totals computed")
+    @ApiResponse(responseCode = "400", description = "Invalid grouping or range")
+    @ApiResponse(responseCode = "409", description = "Columnar ledger still loading")
+    public ResponseEntity<LedgerTotalsDTO> getTotals(
+            @RequestParam(defaultValue = "TYPE") LedgerGroupBy groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(analyticsService.getLedgerTotals(groupBy, from, to, type, productId, limit));
+    }
+    @GetMapping("/status")
+    @Operation(summary = "Get columnar ledger status", description = "Returns load state, row count and memory footprint of the columnar ledger")
+    public ResponseEntity<LedgerStoreStatusDTO> getStatus() {
+        return ResponseEntity.ok(analyticsService.getLedgerStatus());
+    }
+}
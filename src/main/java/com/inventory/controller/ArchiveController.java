@@ -0,0 +1,38 @@
+package com.inventory.controller;
+import com.inventory.dto.ArchiveRunResultDTO;
+import com.inventory.dto.ArchiveSegmentDTO;
+import com.inventory.service.interfaces.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+@RestController
+@RequestMapping("/api/admin/archive")
+@Tag(name = "Administration", description = "Operational diagnostics APIs")
+public class ArchiveController {
+    private final ArchiveService archiveService;
+    public ArchiveController(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get archive segments", description = "Returns the compressed ledger segments holding archived transactions")
+    public ResponseEntity<List<ArchiveSegmentDTO>> getSegments() {
+        return ResponseEntity.ok(archiveService.getSegments());
+    }
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Archive old transactions", description = "Moves whole months of transactions older than the cutoff into archive segments")
+    @ApiResponse(responseCode = "200", description = "Archive run completed")
+    @ApiResponse(responseCode = "400", description = "Invalid cutoff")
+    @ApiResponse(responseCode = "409", description = "An archive run is already in progress")
+    public ResponseEntity<ArchiveRunResultDTO> archive(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+        return ResponseEntity.ok(archiveService.archive(before));
+    }
+}
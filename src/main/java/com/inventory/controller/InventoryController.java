@@ -1,8 +1,15 @@
 ﻿package com.inventory.controller;
 import com.inventory.dto.*;
 import com.inventory.entity.TransactionType;
+import com.inventory.projection.FieldSelection;
+import com.inventory.projection.SparseFields;
+import com.inventory.service.interfaces.CycleCountService;
+import com.inventory.service.interfaces.DemandForecastService;
 import com.inventory.service.interfaces.InventoryService;
+import com.inventory.service.interfaces.StockStreamService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -10,9 +17,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 @RestController
@@ -20,8 +30,15 @@ import java.util.List;
 @Tag(name = "Inventory", description = "Inventory management APIs")
 public class InventoryController {
     private final InventoryService inventoryService;
-    public InventoryController(InventoryService inventoryService) {
+    private final DemandForecastService demandForecastService;
+    private final StockStreamService stockStreamService;
+    private final CycleCountService cycleCountService;
+    public InventoryController(InventoryService inventoryService, DemandForecastService demandForecastService,
+            StockStreamService stockStreamService, CycleCountService cycleCountService) {
         this.inventoryService = inventoryService;
+        this.demandForecastService = demandForecastService;
+        this.stockStreamService = stockStreamService;
+        this.cycleCountService = cycleCountService;
     }
     @PostMapping("/stock-in")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -40,10 +57,47 @@ public class InventoryController {
     public ResponseEntity<ProductDTO> stockOut(@Valid @RequestBody StockAdjustmentDTO dto) {
         return ResponseEntity.ok(inventoryService.removeStock(dto));
     }
+    @PostMapping("/transfer")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Transfer stock", description = "Move stock of a product between two locations in one transaction")
+    @ApiResponse(responseCode = "200", description = "Stock transferred; returns the product's per-location levels")
+    @ApiResponse(responseCode = "400", description = "Insufficient stock at the source location")
+    @ApiResponse(responseCode = "404", description = "Product or location not found")
+    public ResponseEntity<List<LocationStockDTO>> transfer(@Valid @RequestBody StockTransferDTO dto) {
+        return ResponseEntity.ok(inventoryService.transferStock(dto));
+    }
+    @PostMapping("/transfers")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Transfer stock in bulk", description = "Apply many transfers atomically; all succeed or none do")
+    @ApiResponse(responseCode = "200", description = "All transfers applied")
+    @ApiResponse(responseCode = "400", description = "Invalid batch or insufficient stock at a source location")
+    @ApiResponse(responseCode = "404", description = "Product or location not found")
+    public ResponseEntity<StockTransferResultDTO> transferAll(@Valid @RequestBody StockTransferBatchDTO dto) {
+        return ResponseEntity.ok(inventoryService.transferStock(dto.getTransfers()));
+    }
+    @PostMapping(value = "/cycle-counts", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Apply a cycle count", description = "Streams a 'sku,quantity' count file, diffs each SKU against stock on hand at the location and writes only the non-zero differences as ADJUSTMENT transactions")
+    @ApiResponse(responseCode = "200", description = "Count applied; unknown, malformed and duplicate lines are reported")
+    @ApiResponse(responseCode = "404", description = "Location not found")
+    public ResponseEntity<CycleCountResultDTO> applyCycleCount(InputStream counts,
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(required = false) String reference) {
+        return ResponseEntity.ok(cycleCountService.applyCount(counts, locationId, reference));
+    }
     @GetMapping("/low-stock")
     @Operation(summary = "Get low stock products", description = "Returns products below reorder level")
-    public ResponseEntity<List<ProductDTO>> getLowStockProducts() {
-        return ResponseEntity.ok(inventoryService.getLowStockProducts());
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
+    public ResponseEntity<List<ProductDTO>> getLowStockProducts(
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
+        return ResponseEntity.ok(inventoryService.getLowStockProducts(fields));
+    }
+    @GetMapping("/running-out")
+    @Operation(summary = "Get products running out", description = "Returns products whose stock covers less than the given number of days at their recent consumption rate")
+    @ApiResponse(responseCode = "200", description = "Products retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid number of days")
+    public ResponseEntity<List<DemandForecastDTO>> getRunningOut(@RequestParam(defaultValue = "14") int days) {
+        return ResponseEntity.ok(demandForecastService.findRunningOut(days));
     }
     @GetMapping("/check-low-stock/{productId}")
     @Operation(summary = "Check if product has low stock", description = "Returns true if stock is below reorder level")
@@ -52,49 +106,69 @@ public class InventoryController {
     }
     @GetMapping("/transactions")
     @Operation(summary = "Get all transactions", description = "Returns paginated list of all transactions")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated InventoryTransactionDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<InventoryTransactionDTO>> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "transactionDate") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(hidden = true) @SparseFields(InventoryTransactionDTO.class) FieldSelection fields) {
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(inventoryService.findAllTransactions(pageable));
+        return ResponseEntity.ok(inventoryService.findAllTransactions(pageable, fields));
     }
     @GetMapping("/transactions/product/{productId}")
     @Operation(summary = "Get transactions by product", description = "Returns transactions for a specific product")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated InventoryTransactionDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<InventoryTransactionDTO>> getTransactionsByProduct(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @SparseFields(InventoryTransactionDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        return ResponseEntity.ok(inventoryService.findTransactionsByProduct(productId, pageable));
+        return ResponseEntity.ok(inventoryService.findTransactionsByProduct(productId, pageable, fields));
     }
     @GetMapping("/transactions/type/{type}")
     @Operation(summary = "Get transactions by type", description = "Returns transactions of a specific type")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated InventoryTransactionDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<InventoryTransactionDTO>> getTransactionsByType(
             @PathVariable TransactionType type,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @SparseFields(InventoryTransactionDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        return ResponseEntity.ok(inventoryService.findTransactionsByType(type, pageable));
+        return ResponseEntity.ok(inventoryService.findTransactionsByType(type, pageable, fields));
     }
     @GetMapping("/transactions/date-range")
     @Operation(summary = "Get transactions by date range", description = "Returns transactions within a date range")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated InventoryTransactionDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<InventoryTransactionDTO>> getTransactionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @SparseFields(InventoryTransactionDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        return ResponseEntity.ok(inventoryService.findTransactionsByDateRange(start, end, pageable));
+        return ResponseEntity.ok(inventoryService.findTransactionsByDateRange(start, end, pageable, fields));
     }
     @GetMapping("/product/{productId}/history")
     @Operation(summary = "Get product transaction history", description = "Returns transaction history for a product")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated InventoryTransactionDTO properties to include; omit for all")
     public ResponseEntity<List<InventoryTransactionDTO>> getProductTransactionHistory(
-            @PathVariable Long productId) {
-        return ResponseEntity.ok(inventoryService.getProductTransactions(productId));
+            @PathVariable Long productId,
+            @Parameter(hidden = true) @SparseFields(InventoryTransactionDTO.class) FieldSelection fields) {
+        return ResponseEntity.ok(inventoryService.getProductTransactions(productId, fields));
+    }
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream stock changes", description = "Server-sent events carrying the latest stock level of changed products, optionally filtered by product or category")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "404", description = "Product or category not found")
+    @ApiResponse(responseCode = "409", description = "Subscriber limit reached")
+    public ResponseEntity<SseEmitter> streamStock(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(stockStreamService.subscribe(productId, categoryId));
     }
 }
@@ -0,0 +1,44 @@
+package com.inventory.controller;
+import com.inventory.dto.LocationCreateDTO;
+import com.inventory.dto.LocationDTO;
+import com.inventory.dto.LocationStockDTO;
+import com.inventory.service.interfaces.LocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+@RestController
+@RequestMapping("/api/locations")
+@Tag(name = "Locations", description = "Stock location APIs")
+public class LocationController {
+    private final LocationService locationService;
+    public LocationController(LocationService locationService) {
+        this.locationService = locationService;
+    }
+    @GetMapping
+    @Operation(summary = "Get all locations", description = "Returns all stock locations ordered by code")
+    public ResponseEntity<List<LocationDTO>> getAllLocations() {
+        return ResponseEntity.ok(locationService.findAll());
+    }
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create a location", description = "Creates a new stock location")
+    @ApiResponse(responseCode = "201", description = "Location created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "Location with this code already exists")
+    public ResponseEntity<LocationDTO> createLocation(@Valid @RequestBody LocationCreateDTO dto) {
+        return new ResponseEntity<>(locationService.create(dto), HttpStatus.CREATED);
+    }
+    @GetMapping("/stock/product/{productId}")
+    @Operation(summary = "Get stock per location", description = "Returns the stock held at each location for a product")
+    @ApiResponse(responseCode = "200", description = "Stock levels retrieved")
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    public ResponseEntity<List<LocationStockDTO>> getProductStockLevels(@PathVariable Long productId) {
+        return ResponseEntity.ok(locationService.findStockLevels(productId));
+    }
+}
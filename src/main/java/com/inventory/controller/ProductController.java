@@ -1,45 +1,77 @@
 ﻿package com.inventory.controller;
+import com.inventory.catalog.ImportFormat;
 import com.inventory.dto.*;
+import com.inventory.projection.FieldSelection;
+import com.inventory.projection.SparseFields;
+import com.inventory.service.interfaces.ProductImportService;
 import com.inventory.service.interfaces.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 @RestController
 @RequestMapping("/api/products")
 @Tag(name = "Products", description = "Product management APIs")
 public class ProductController {
     private final ProductService productService;
-    public ProductController(ProductService productService) {
+    private final ProductImportService productImportService;
+    public ProductController(ProductService productService, ProductImportService productImportService) {
         this.productService = productService;
+        this.productImportService = productImportService;
     }
     @GetMapping
     @Operation(summary = "Get all products", description = "Returns paginated list of products")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<ProductDTO>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(productService.findAll(pageable));
+        return ResponseEntity.ok(productService.findAll(pageable, fields));
+    }
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up products", description = "Resolves a batch of product ids and/or SKUs in one call and reports the keys that were not found")
+    @ApiResponse(responseCode = "200", description = "Lookup completed")
+    @ApiResponse(responseCode = "400", description = "No keys or too many keys")
+    public ResponseEntity<ProductLookupResultDTO> lookupProducts(@Valid @RequestBody ProductLookupDTO dto) {
+        return ResponseEntity.ok(productService.lookup(dto));
+    }
+    @GetMapping("/changes")
+    @Operation(summary = "Get product changes", description = "Returns products created, updated, restocked or deleted since a change token, in bounded batches; without a token returns the current head token")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid batch limit")
+    @ApiResponse(responseCode = "410", description = "Change token has expired")
+    public ResponseEntity<ProductChangesDTO> getProductChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(productService.findChanges(since, limit));
     }
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID", description = "Returns a single product")
+    @Operation(summary = "Get product by ID", description = "Returns a single product, optionally with its stock as of a past point in time")
     @ApiResponse(responseCode = "200", description = "Product found")
+    @ApiResponse(responseCode = "400", description = "Point in time is in the future")
     @ApiResponse(responseCode = "404", description = "Product not found")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findById(id));
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(asOf != null ? productService.findById(id, asOf) : productService.findById(id));
     }
     @GetMapping("/sku/{sku}")
     @Operation(summary = "Get product by SKU", description = "Returns a single product by SKU")
@@ -50,35 +82,43 @@ public class ProductController {
     }
     @GetMapping("/search")
     @Operation(summary = "Search products by name", description = "Search products containing the given name")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<ProductDTO>> searchProducts(
             @RequestParam String name,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.searchByName(name, pageable));
+        return ResponseEntity.ok(productService.searchByName(name, pageable, fields));
     }
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category", description = "Returns products in a specific category")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<ProductDTO>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.findByCategory(categoryId, pageable));
+        return ResponseEntity.ok(productService.findByCategory(categoryId, pageable, fields));
     }
     @GetMapping("/supplier/{supplierId}")
     @Operation(summary = "Get products by supplier", description = "Returns products from a specific supplier")
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
     public ResponseEntity<PagedResponse<ProductDTO>> getProductsBySupplier(
             @PathVariable Long supplierId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.findBySupplier(supplierId, pageable));
+        return ResponseEntity.ok(productService.findBySupplier(supplierId, pageable, fields));
     }
     @GetMapping("/low-stock")
     @Operation(summary = "Get low stock products", description = "Returns products below reorder level")
-    public ResponseEntity<List<ProductDTO>> getLowStockProducts() {
-        return ResponseEntity.ok(productService.findLowStock());
+    @Parameter(name = FieldSelection.PARAMETER, in = ParameterIn.QUERY, description = "Comma-separated ProductDTO properties to include; omit for all")
+    public ResponseEntity<List<ProductDTO>> getLowStockProducts(
+            @Parameter(hidden = true) @SparseFields(ProductDTO.class) FieldSelection fields) {
+        return ResponseEntity.ok(productService.findLowStock(fields));
     }
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -90,6 +130,21 @@ public class ProductController {
         ProductDTO created = productService.create(dto);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Import products from CSV", description = "Streams a CSV file with a header row and upserts products by SKU; category and supplier are given by name, blank cells keep the current value and initialStock applies only to new SKUs")
+    @ApiResponse(responseCode = "200", description = "Import completed; rejected rows are reported with their line numbers")
+    @ApiResponse(responseCode = "400", description = "Missing or invalid header row")
+    public ResponseEntity<ProductImportResultDTO> importProductsCsv(InputStream source) {
+        return ResponseEntity.ok(productImportService.importProducts(source, ImportFormat.CSV));
+    }
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Import products from NDJSON", description = "Streams one JSON product object per line and upserts products by SKU; category and supplier are given by name, missing fields keep the current value and initialStock applies only to new SKUs")
+    @ApiResponse(responseCode = "200", description = "Import completed; rejected rows are reported with their line numbers")
+    public ResponseEntity<ProductImportResultDTO> importProductsNdjson(InputStream source) {
+        return ResponseEntity.ok(productImportService.importProducts(source, ImportFormat.NDJSON));
+    }
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @Operation(summary = "Update a product", description = "Updates an existing product")
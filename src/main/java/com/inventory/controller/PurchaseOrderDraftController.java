@@ -0,0 +1,56 @@
+package com.inventory.controller;
+import com.inventory.dto.PagedResponse;
+import com.inventory.dto.PurchaseOrderDraftDTO;
+import com.inventory.dto.PurchaseOrderDraftLineDTO;
+import com.inventory.dto.ReorderRunResultDTO;
+import com.inventory.service.interfaces.PurchaseOrderDraftService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+@RestController
+@RequestMapping("/api/purchase-orders/drafts")
+@Tag(name = "Purchase Orders", description = "Suggested purchase order drafts")
+public class PurchaseOrderDraftController {
+    private final PurchaseOrderDraftService draftService;
+    public PurchaseOrderDraftController(PurchaseOrderDraftService draftService) {
+        this.draftService = draftService;
+    }
+    @GetMapping
+    @Operation(summary = "Get draft purchase orders", description = "Returns the draft purchase orders of the latest reorder run, one per supplier")
+    public ResponseEntity<PagedResponse<PurchaseOrderDraftDTO>> getAllDrafts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(draftService.findAll(
+                PageRequest.of(page, size, Sort.by("estimatedCost").descending())));
+    }
+    @GetMapping("/{id}")
+    @Operation(summary = "Get draft purchase order", description = "Returns a draft purchase order summary")
+    @ApiResponse(responseCode = "200", description = "Draft found")
+    @ApiResponse(responseCode = "404", description = "Draft not found")
+    public ResponseEntity<PurchaseOrderDraftDTO> getDraft(@PathVariable Long id) {
+        return ResponseEntity.ok(draftService.findById(id));
+    }
+    @GetMapping("/{id}/lines")
+    @Operation(summary = "Get draft purchase order lines", description = "Returns the suggested lines of a draft purchase order")
+    @ApiResponse(responseCode = "200", description = "Lines retrieved")
+    @ApiResponse(responseCode = "404", description = "Draft not found")
+    public ResponseEntity<PagedResponse<PurchaseOrderDraftLineDTO>> getDraftLines(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(draftService.findLines(id, PageRequest.of(page, size, Sort.by("sku"))));
+    }
+    @PostMapping("/generate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(summary = "Generate draft purchase orders", description = "Runs the reorder suggestion engine and replaces the current drafts")
+    @ApiResponse(responseCode = "200", description = "Drafts generated")
+    @ApiResponse(responseCode = "409", description = "A run is already in progress")
+    public ResponseEntity<ReorderRunResultDTO> generateDrafts() {
+        return ResponseEntity.ok(draftService.generate());
+    }
+}
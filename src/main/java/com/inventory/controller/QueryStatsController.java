@@ -0,0 +1,73 @@
+package com.inventory.controller;
+import com.inventory.dto.*;
+import com.inventory.monitoring.EndpointQueryStats;
+import com.inventory.monitoring.QueryStatisticsCollector;
+import com.inventory.monitoring.SlowQuery;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+@RestController
+@RequestMapping("/api/admin/query-stats")
+@Tag(name = "Administration", description = "Operational diagnostics APIs")
+public class QueryStatsController {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private final QueryStatisticsCollector collector;
+    public QueryStatsController(QueryStatisticsCollector collector) {
+        this.collector = collector;
+    }
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get query statistics", description = "Returns sampled per-endpoint query counts and captured slow queries")
+    public ResponseEntity<QueryStatsDTO> getQueryStats() {
+        List<EndpointQueryStatsDTO> endpoints = collector.getEndpoints().entrySet().stream()
+                .map(this::mapToEndpointDTO)
+                .sorted(Comparator.comparingLong(EndpointQueryStatsDTO::getQueries).reversed())
+                .toList();
+        List<SlowQueryDTO> slowQueries = collector.getSlowQueries().snapshot().stream()
+                .map(this::mapToSlowQueryDTO)
+                .toList();
+        return ResponseEntity.ok(QueryStatsDTO.builder()
+                .sampleRate(collector.getSampleRate())
+                .slowThresholdMs(collector.getSlowThresholdMs())
+                .sampledRequests(collector.getSampledRequests())
+                .slowQueriesCaptured(collector.getSlowQueries().totalCaptured())
+                .endpoints(endpoints)
+                .slowQueries(slowQueries)
+                .build());
+    }
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reset query statistics", description = "Clears endpoint statistics and the slow query log")
+    public ResponseEntity<Void> resetQueryStats() {
+        collector.reset();
+        return ResponseEntity.noContent().build();
+    }
+    private EndpointQueryStatsDTO mapToEndpointDTO(Map.Entry<String, EndpointQueryStats> entry) {
+        EndpointQueryStats stats = entry.getValue();
+        long requests = Math.max(1, stats.getRequests());
+        return EndpointQueryStatsDTO.builder()
+                .endpoint(entry.getKey())
+                .requests(stats.getRequests())
+                .queries(stats.getQueries())
+                .avgQueriesPerRequest((double) stats.getQueries() / requests)
+                .maxQueriesPerRequest(stats.getMaxQueriesPerRequest())
+                .avgQueryTimeMs(stats.getQueryNanos() / NANOS_PER_MILLI / requests)
+                .avgRequestTimeMs(stats.getRequestNanos() / NANOS_PER_MILLI / requests)
+                .build();
+    }
+    private SlowQueryDTO mapToSlowQueryDTO(SlowQuery query) {
+        return SlowQueryDTO.builder()
+                .sql(query.getSql())
+                .parameterCount(query.getParameterCount())
+                .durationMs(query.getDurationNanos() / NANOS_PER_MILLI)
+                .endpoint(query.getEndpoint())
+                .capturedAt(query.getCapturedAt())
+                .plan(query.getPlan())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.inventory.controller;
+import com.inventory.dto.ReconciliationReportDTO;
+import com.inventory.service.interfaces.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+@Tag(name = "Administration", description = "Operational diagnostics APIs")
+public class ReconciliationController {
+    private final ReconciliationService reconciliationService;
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconcile stock against the ledger", description = "Compares every product's current stock with its ledger net and optionally writes corrective adjustments")
+    @ApiResponse(responseCode = "200", description = "Reconciliation completed")
+    @ApiResponse(responseCode = "409", description = "A reconciliation run is already in progress")
+    public ResponseEntity<ReconciliationReportDTO> reconcile(@RequestParam(defaultValue = "false") boolean correct) {
+        return ResponseEntity.ok(reconciliationService.reconcile(correct));
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.controller;
+import com.inventory.dto.DailyMovementDTO;
+import com.inventory.dto.RollupBackfillResultDTO;
+import com.inventory.dto.ValuationReportDTO;
+import com.inventory.service.interfaces.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+@RestController
+@RequestMapping("/api/reports")
+@Tag(name = "Reports", description = "Inventory reporting APIs")
+public class ReportController {
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private final ReportService reportService;
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+    @GetMapping("/movements/product/{productId}")
+    @Operation(summary = "Get daily product movements", description = "Returns daily quantity and transaction count per type for a product")
+    @ApiResponse(responseCode = "200", description = "Movements retrieved")
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    public ResponseEntity<List<DailyMovementDTO>> getProductMovements(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(reportService.getProductMovements(productId, start, end));
+    }
+    @GetMapping("/movements/category/{categoryId}")
+    @Operation(summary = "Get daily category movements", description = "Returns daily quantity and transaction count per type summed over a category")
+    @ApiResponse(responseCode = "200", description = "Movements retrieved")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    public ResponseEntity<List<DailyMovementDTO>> getCategoryMovements(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(reportService.getCategoryMovements(categoryId, start, end));
+    }
+    @PostMapping("/movements/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild daily movements", description = "Rebuilds the daily movement rollup from the transaction ledger, keeping days already archived")
+    @ApiResponse(responseCode = "200", description = "Rollup rebuilt")
+    public ResponseEntity<RollupBackfillResultDTO> backfillMovements() {
+        return ResponseEntity.ok(reportService.backfillDailyMovements());
+    }
+    @GetMapping("/valuation")
+    @Operation(summary = "Get inventory valuation", description = "Computes stock value per category and supplier plus the grand total, optionally as of a past point in time")
+    @ApiResponse(responseCode = "200", description = "Valuation computed")
+    @ApiResponse(responseCode = "400", description = "Point in time is in the future")
+    public ResponseEntity<ValuationReportDTO> getValuation(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(asOf != null ? reportService.getValuation(asOf) : reportService.getValuation());
+    }
+    @GetMapping("/valuation/live")
+    @Operation(summary = "Get live inventory valuation", description = "Returns the incrementally maintained stock value per category and supplier")
+    @ApiResponse(responseCode = "200", description = "Valuation retrieved")
+    public ResponseEntity<ValuationReportDTO> getLiveValuation() {
+        return ResponseEntity.ok(reportService.getLiveValuation());
+    }
+}
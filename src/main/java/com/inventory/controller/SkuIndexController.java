@@ -0,0 +1,45 @@
+package com.inventory.controller;
+import com.inventory.catalog.SkuIndex;
+import com.inventory.catalog.SkuIndexStats;
+import com.inventory.dto.SkuIndexStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+@RestController
+@RequestMapping("/api/admin/sku-index")
+@Tag(name = "Administration", description = "Operational diagnostics APIs")
+public class SkuIndexController {
+    private final SkuIndex skuIndex;
+    public SkuIndexController(SkuIndex skuIndex) {
+        this.skuIndex = skuIndex;
+    }
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get SKU index statistics", description = "Returns the SKU Bloom filter size and its expected and observed false-positive rates")
+    public ResponseEntity<SkuIndexStatsDTO> getStats() {
+        SkuIndexStats stats = skuIndex.stats();
+        return ResponseEntity.ok(SkuIndexStatsDTO.builder()
+                .ready(stats.ready())
+                .insertions(stats.insertions())
+                .expectedInsertions(stats.expectedInsertions())
+                .bitCount(stats.bitCount())
+                .hashFunctions(stats.hashFunctions())
+                .targetFalsePositiveRate(stats.targetFalsePositiveRate())
+                .expectedFalsePositiveRate(stats.expectedFalsePositiveRate())
+                .observedFalsePositiveRate(stats.observedFalsePositiveRate())
+                .definitelyAbsent(stats.definitelyAbsent())
+                .possibleMatches(stats.possibleMatches())
+                .falsePositives(stats.falsePositives())
+                .builtAt(stats.builtAt())
+                .build());
+    }
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the SKU index", description = "Rescans all SKUs in the background, e.g. after products were loaded directly into the database")
+    public ResponseEntity<Void> rebuild() {
+        skuIndex.requestRebuild();
+        return ResponseEntity.accepted().build();
+    }
+}
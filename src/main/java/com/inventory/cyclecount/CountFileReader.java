@@ -0,0 +1,89 @@
+package com.inventory.cyclecount;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+public class CountFileReader implements Closeable {
+    private static final String HEADER_SKU = "sku";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private final BufferedReader reader;
+    private final int chunkSize;
+    private final Set<String> seen = new HashSet<>();
+    private long lineNumber;
+    private long linesRead;
+    public CountFileReader(Reader reader, int chunkSize) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+    public List<CountLine> nextChunk(Consumer<CountRejection> rejected) {
+        List<CountLine> chunk = new ArrayList<>(chunkSize);
+        try {
+            String line;
+            while (chunk.size() < chunkSize && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith(BYTE_ORDER_MARK)) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                linesRead++;
+                CountLine parsed = parse(line, rejected);
+                if (parsed != null) {
+                    chunk.add(parsed);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read count file at line " + (lineNumber + 1), e);
+        }
+        return chunk;
+    }
+    public long getLinesRead() {
+        return linesRead;
+    }
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    private CountLine parse(String line, Consumer<CountRejection> rejected) {
+        int comma = line.lastIndexOf(',');
+        String sku = unquote(comma < 0 ? line : line.substring(0, comma));
+        if (comma < 0 || sku.isEmpty()) {
+            rejected.accept(new CountRejection(lineNumber, sku, "Expected 'sku,quantity'"));
+            return null;
+        }
+        int quantity;
+        try {
+            quantity = Integer.parseInt(unquote(line.substring(comma + 1)));
+        } catch (NumberFormatException e) {
+            rejected.accept(new CountRejection(lineNumber, sku, "Counted quantity is not a whole number"));
+            return null;
+        }
+        if (quantity < 0) {
+            rejected.accept(new CountRejection(lineNumber, sku, "Counted quantity cannot be negative"));
+            return null;
+        }
+        if (!seen.add(sku)) {
+            rejected.accept(new CountRejection(lineNumber, sku, "SKU already counted earlier in this file"));
+            return null;
+        }
+        return new CountLine(lineNumber, sku, quantity);
+    }
+    private static boolean isHeader(String line) {
+        int comma = line.indexOf(',');
+        return unquote(comma < 0 ? line : line.substring(0, comma)).equalsIgnoreCase(HEADER_SKU);
+    }
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+}
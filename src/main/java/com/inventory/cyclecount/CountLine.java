@@ -0,0 +1,3 @@
+package com.inventory.cyclecount;
+public record CountLine(long lineNumber, String sku, int quantity) {
+}
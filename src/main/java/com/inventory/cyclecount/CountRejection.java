@@ -0,0 +1,3 @@
+package com.inventory.cyclecount;
+public record CountRejection(long lineNumber, String sku, String reason) {
+}
@@ -0,0 +1,3 @@
+package com.inventory.cyclecount;
+public record CountedProduct(Long id, String sku) {
+}
@@ -0,0 +1,188 @@
+package com.inventory.cyclecount;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
+import com.inventory.entity.LocationStock;
+import com.inventory.entity.Product;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.location.LocationKey;
+import com.inventory.location.StockLocations;
+import com.inventory.location.StockTransferWriter;
+import com.inventory.repository.LocationStockRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.InventoryNotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+@Component
+@SuppressWarnings("null")
+public class CycleCountApplier {
+    private static final Logger logger = LoggerFactory.getLogger(CycleCountApplier.class);
+    private final ProductRepository productRepository;
+    private final LocationStockRepository locationStockRepository;
+    private final StockLocations stockLocations;
+    private final StockTransferWriter stockWriter;
+    private final InventoryNotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTemplate;
+    private final int chunkSize;
+    private final int maxReported;
+    public CycleCountApplier(ProductRepository productRepository,
+            LocationStockRepository locationStockRepository,
+            StockLocations stockLocations,
+            StockTransferWriter stockWriter,
+            InventoryNotificationService notificationService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.cycle-count.chunk-size:5000}") int chunkSize,
+            @Value("${inventory.cycle-count.max-reported:500}") int maxReported) {
+        this.productRepository = productRepository;
+        this.locationStockRepository = locationStockRepository;
+        this.stockLocations = stockLocations;
+        this.stockWriter = stockWriter;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReported = Math.max(0, maxReported);
+    }
+    public CycleCountRun apply(Reader counts, Long locationId, String reference, String createdBy) {
+        long start = System.currentTimeMillis();
+        Location location = stockLocations.resolve(locationId);
+        RunContext context = new RunContext(location, reference, createdBy, new ArrayList<>(), new AtomicLong());
+        CycleCountTotals totals = CycleCountTotals.EMPTY;
+        CountFileReader reader = new CountFileReader(counts, chunkSize);
+        List<CountLine> chunk;
+        while (!(chunk = reader.nextChunk(rejection -> reject(rejection, context))).isEmpty()) {
+            List<CountLine> lines = chunk;
+            CycleCountTotals applied = writeTemplate.execute(status -> applyChunk(lines, context));
+            totals = totals.plus(applied != null ? applied : CycleCountTotals.EMPTY);
+        }
+        context.rejections().sort(Comparator.comparingLong(CountRejection::lineNumber));
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Cycle count {} at location {} read {} lines, counted {} products, wrote {} adjustments (net {}), "
+                + "rejected {} lines ({} ms)", reference, location.getId(), reader.getLinesRead(),
+                totals.productsCounted(), totals.adjustments(), totals.netAdjustment(), context.rejectedCount().get(),
+                duration);
+        return new CycleCountRun(reference, location.getId(), reader.getLinesRead(), totals,
+                context.rejectedCount().get(), context.rejections(), duration);
+    }
+    private CycleCountTotals applyChunk(List<CountLine> lines, RunContext context) {
+        Map<String, CountLine> bySku = new LinkedHashMap<>();
+        for (CountLine line : lines) {
+            bySku.put(line.sku(), line);
+        }
+        Map<Long, CountLine> counted = new TreeMap<>();
+        for (CountedProduct product : productRepository.findCountedProducts(bySku.keySet())) {
+            counted.put(product.id(), bySku.remove(product.sku()));
+        }
+        for (CountLine unknown : bySku.values()) {
+            reject(new CountRejection(unknown.lineNumber(), unknown.sku(), "Unknown SKU"), context);
+        }
+        if (counted.isEmpty()) {
+            return CycleCountTotals.EMPTY;
+        }
+        Long locationId = context.location().getId();
+        Map<Long, Integer> onHand = lockLevels(locationId, counted.keySet());
+        Set<Long> unlocated = new TreeSet<>(counted.keySet());
+        unlocated.removeAll(onHand.keySet());
+        if (!unlocated.isEmpty() && adoptUnallocatedStock(unlocated)) {
+            onHand.putAll(lockLevels(locationId, unlocated));
+        }
+        SortedMap<LocationKey, Integer> levels = new TreeMap<>();
+        SortedMap<Long, Integer> totals = new TreeMap<>();
+        for (Map.Entry<Long, CountLine> entry : counted.entrySet()) {
+            int delta = entry.getValue().quantity() - onHand.getOrDefault(entry.getKey(), 0);
+            if (delta != 0) {
+                levels.put(new LocationKey(entry.getKey(), locationId), delta);
+                totals.put(entry.getKey(), delta);
+            }
+        }
+        if (totals.isEmpty()) {
+            return new CycleCountTotals(counted.size(), 0, counted.size(), 0);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        stockWriter.applyLevels(levels);
+        Map<Long, InventoryTransaction> ledger = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : totals.entrySet()) {
+            Long productId = entry.getKey();
+            ledger.put(productId, InventoryTransaction.builder()
+                    .product(productRepository.getReferenceById(productId))
+                    .location(context.location())
+                    .transactionType(TransactionType.ADJUSTMENT)
+                    .quantity(entry.getValue())
+                    .referenceNumber(context.reference())
+                    .notes("Cycle count: counted " + counted.get(productId).quantity() + ", expected "
+                            + onHand.getOrDefault(productId, 0))
+                    .transactionDate(now)
+                    .createdBy(context.createdBy())
+                    .build());
+        }
+        List<InventoryTransaction> entries = new ArrayList<>(ledger.values());
+        stockWriter.insertLedger(entries);
+        stockWriter.recordMovements(entries);
+        List<Product> products = productRepository.findAllByIdForUpdate(totals.keySet());
+        stockWriter.applyTotals(totals, now);
+        long net = 0;
+        for (Product product : products) {
+            InventoryTransaction transaction = ledger.get(product.getId());
+            int previousStock = product.getCurrentStock();
+            int newStock = previousStock + transaction.getQuantity();
+            net += transaction.getQuantity();
+            long stockVersion = product.getStockVersion() + 1;
+            ProductState before = ProductState.of(product);
+            eventPublisher.publishEvent(ProductStateChangedEvent.changed(before, before.withStock(newStock, stockVersion)));
+            eventPublisher.publishEvent(StockMovementEvent.of(transaction, now, previousStock, newStock, stockVersion));
+            if (newStock <= product.getReorderLevel() && previousStock > product.getReorderLevel()) {
+                notificationService.notifyLowStock(product.getId(), product.getName(), newStock,
+                        product.getReorderLevel());
+            }
+        }
+        return new CycleCountTotals(counted.size(), entries.size(), counted.size() - entries.size(), net);
+    }
+    private Map<Long, Integer> lockLevels(Long locationId, Set<Long> productIds) {
+        Map<Long, Integer> levels = new HashMap<>();
+        for (LocationStock level : locationStockRepository.findAtLocationForUpdate(locationId, productIds)) {
+            levels.put(level.getProductId(), level.getQuantity());
+        }
+        return levels;
+    }
+    private boolean adoptUnallocatedStock(Set<Long> productIds) {
+        Set<Long> unallocated = new TreeSet<>(productIds);
+        unallocated.removeAll(locationStockRepository.findAllocatedProductIds(productIds));
+        return !unallocated.isEmpty()
+                && locationStockRepository.adoptUnallocatedStock(unallocated, stockLocations.defaultLocationId()) > 0;
+    }
+    private void reject(CountRejection rejection, RunContext context) {
+        if (context.rejectedCount().getAndIncrement() < maxReported) {
+            context.rejections().add(rejection);
+        }
+    }
+    public record CycleCountRun(String reference, Long locationId, long linesRead, CycleCountTotals totals,
+            long rejectedLines, List<CountRejection> rejections, long durationMs) {
+    }
+    private record RunContext(Location location, String reference, String createdBy, List<CountRejection> rejections,
+            AtomicLong rejectedCount) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.cyclecount;
+public record CycleCountTotals(long productsCounted, long adjustments, long unchanged, long netAdjustment) {
+    public static final CycleCountTotals EMPTY = new CycleCountTotals(0, 0, 0, 0);
+    public CycleCountTotals plus(CycleCountTotals other) {
+        return new CycleCountTotals(productsCounted + other.productsCounted,
+                adjustments + other.adjustments,
+                unchanged + other.unchanged,
+                netAdjustment + other.netAdjustment);
+    }
+}
@@ -0,0 +1,28 @@
+package com.inventory.datasource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+@Component
+public class CommittedWrites implements TransactionExecutionListener {
+    private final LongSupplier clock;
+    private final AtomicLong lastCommittedAt = new AtomicLong();
+    public CommittedWrites(ObjectProvider<ReplicaWatermark> replicaWatermark) {
+        ReplicaWatermark watermark = replicaWatermark.getIfAvailable();
+        this.clock = watermark != null ? watermark::primaryNow : System::currentTimeMillis;
+    }
+    public long now() {
+        return clock.getAsLong();
+    }
+    public long lastCommittedAt() {
+        return lastCommittedAt.get();
+    }
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.hasTransaction() && !transaction.isReadOnly()) {
+            lastCommittedAt.accumulateAndGet(now(), Math::max);
+        }
+    }
+}
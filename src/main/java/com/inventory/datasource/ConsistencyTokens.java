@@ -0,0 +1,56 @@
+package com.inventory.datasource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+public final class ConsistencyTokens {
+    public static final String HEADER = "X-Consistency-Token";
+    private static final ThreadLocal<LongConsumer> READ_OBSERVER = new ThreadLocal<>();
+    private ConsistencyTokens() {
+    }
+    public static Long requested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return null;
+        }
+        String header = servlet.getRequest().getHeader(HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    public static void issue(long token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(token));
+            }
+        }
+    }
+    public static <T> T observeReads(LongConsumer observer, Supplier<T> reader) {
+        LongConsumer previous = READ_OBSERVER.get();
+        READ_OBSERVER.set(observer);
+        try {
+            return reader.get();
+        } finally {
+            if (previous != null) {
+                READ_OBSERVER.set(previous);
+            } else {
+                READ_OBSERVER.remove();
+            }
+        }
+    }
+    public static void servedFromReplica(long watermark) {
+        LongConsumer observer = READ_OBSERVER.get();
+        if (observer != null) {
+            observer.accept(watermark);
+        }
+    }
+}
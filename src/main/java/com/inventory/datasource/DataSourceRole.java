@@ -0,0 +1,5 @@
+package com.inventory.datasource;
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,80 @@
+package com.inventory.datasource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final Object WRITE_MARKER = ReadWriteRoutingDataSource.class.getName() + ".write";
+    private final ReplicaWatermark watermark;
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaWatermark watermark) {
+        this.watermark = watermark;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+    @Override
+    public Connection getConnection() throws SQLException {
+        return remember(super.getConnection());
+    }
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return remember(super.getConnection(username, password));
+    }
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!watermark.canServe(ConsistencyTokens.requested())) {
+            return DataSourceRole.PRIMARY;
+        }
+        ConsistencyTokens.servedFromReplica(watermark.getWatermark());
+        return DataSourceRole.REPLICA;
+    }
+    private Connection remember(Connection connection) {
+        if (TransactionSynchronizationManager.getResource(WRITE_MARKER) instanceof WriteTracker tracker
+                && tracker.connection == null) {
+            tracker.connection = connection;
+        }
+        return connection;
+    }
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        WriteTracker tracker = new WriteTracker();
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, tracker);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ConsistencyTokens.issue(commitToken(tracker.connection));
+            }
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+    private long commitToken(Connection connection) {
+        if (connection != null) {
+            try {
+                return ReplicaWatermark.primaryClock(connection);
+            } catch (SQLException e) {
+                logger.warn("Could not read the primary clock after commit, issuing a local token: {}", e.getMessage());
+            }
+        }
+        return System.currentTimeMillis();
+    }
+    private static final class WriteTracker {
+        private Connection connection;
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.datasource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+public class ReplicaWatermark implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaWatermark.class);
+    private static final String PRIMARY_CLOCK = "SELECT ROUND(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000.0)";
+    private static final String BEAT = "UPDATE replication_heartbeat SET beat_at = GREATEST(beat_at, ?) WHERE id = 1";
+    private static final String SEED = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String READ = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxWaitMs;
+    private final long maxLagMs;
+    private final ScheduledExecutorService heartbeat;
+    private final Object advanced = new Object();
+    private volatile long watermark;
+    private volatile long primaryClockAt;
+    private volatile long primaryClockNanos;
+    private volatile boolean stale = true;
+    public ReplicaWatermark(DataSource primary, DataSource replica, long intervalMs, long maxWaitMs, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.maxLagMs = Math.max(intervalMs, maxLagMs);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(10, intervalMs);
+        this.heartbeat.scheduleWithFixedDelay(this::beat, 0, interval, TimeUnit.MILLISECONDS);
+    }
+    public boolean canServe(Long token) {
+        if (!isHealthy()) {
+            return false;
+        }
+        if (token == null || watermark >= token) {
+            return true;
+        }
+        if (maxWaitMs == 0) {
+            return false;
+        }
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        synchronized (advanced) {
+            long remaining;
+            while (watermark < token && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    advanced.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return watermark >= token;
+    }
+    public boolean isHealthy() {
+        return !stale && primaryNow() - watermark <= maxLagMs;
+    }
+    public long getWatermark() {
+        return watermark;
+    }
+    public long getLagMs() {
+        return watermark == 0 ? -1 : Math.max(0, primaryNow() - watermark);
+    }
+    static long primaryClock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(PRIMARY_CLOCK);
+                ResultSet result = statement.executeQuery()) {
+            if (!result.next()) {
+                throw new SQLException("Primary clock query returned no row");
+            }
+            return result.getLong(1);
+        }
+    }
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+    }
+    public long primaryNow() {
+        return primaryClockAt + (System.nanoTime() - primaryClockNanos) / 1_000_000;
+    }
+    private void beat() {
+        try {
+            long now = primary.execute(ReplicaWatermark::primaryClock);
+            primaryClockNanos = System.nanoTime();
+            primaryClockAt = now;
+            if (primary.update(BEAT, now) == 0) {
+                primary.update(SEED, now);
+            }
+            List<Long> seen = replica.queryForList(READ, Long.class);
+            if (!seen.isEmpty() && seen.get(0) > watermark) {
+                watermark = seen.get(0);
+                synchronized (advanced) {
+                    advanced.notifyAll();
+                }
+            }
+            if (stale) {
+                logger.info("Replica reachable, watermark {}", watermark);
+            }
+            stale = false;
+        } catch (DataAccessException e) {
+            if (!stale) {
+                logger.warn("Replica heartbeat failed, routing reads to the primary: {}", e.getMessage());
+            }
+            stale = true;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.inventory.demand;
+public record DemandSnapshot(long productId, int currentStock, double dailyVelocity) {
+    public double daysOfCover() {
+        return dailyVelocity > 0 ? currentStock / dailyVelocity : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,199 @@
+package com.inventory.demand;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+@Component
+public class DemandVelocityStore {
+    private static final Logger logger = LoggerFactory.getLogger(DemandVelocityStore.class);
+    private static final int CHECKPOINT_MAGIC = 0x44454D31;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+    private static final int INITIAL_CAPACITY = 1024;
+    private final double tauDays;
+    private final Path checkpointPath;
+    private double[] rates = new double[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private long[] stockVersions = new long[INITIAL_CAPACITY];
+    private boolean dirty;
+    public DemandVelocityStore(@Value("${inventory.demand.half-life-days:14}") double halfLifeDays,
+            @Value("${inventory.demand.checkpoint-path:data/demand-velocity.bin}") String checkpointPath) {
+        this.tauDays = Math.max(0.1, halfLifeDays) / Math.log(2);
+        this.checkpointPath = Paths.get(checkpointPath);
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockMovement(StockMovementEvent event) {
+        record(event.productId(), event.type(), event.quantity(), event.newStock(), event.stockVersion(),
+                event.occurredAt().toEpochMilli());
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (event.isDeleted()) {
+            clear(event.productId());
+        }
+    }
+    public synchronized void record(long productId, TransactionType type, int quantity, int newStock, long stockVersion,
+            long atMillis) {
+        int slot = slot(productId);
+        ensureCapacity(slot);
+        if (type == TransactionType.STOCK_OUT) {
+            rates[slot] = decayed(slot, atMillis) + quantity / tauDays;
+            updatedAt[slot] = Math.max(updatedAt[slot], atMillis);
+        }
+        boolean transfer = type == TransactionType.TRANSFER_IN || type == TransactionType.TRANSFER_OUT;
+        if (!transfer && stockVersion >= stockVersions[slot]) {
+            stock[slot] = newStock;
+            stockVersions[slot] = stockVersion;
+        }
+        dirty = true;
+    }
+    public synchronized void clear(long productId) {
+        int slot = slot(productId);
+        if (slot < rates.length) {
+            rates[slot] = 0;
+            updatedAt[slot] = 0;
+            stock[slot] = 0;
+            stockVersions[slot] = 0;
+            dirty = true;
+        }
+    }
+    public synchronized DemandSnapshot get(long productId, long nowMillis) {
+        int slot = slot(productId);
+        if (slot >= rates.length || updatedAt[slot] == 0) {
+            return null;
+        }
+        return new DemandSnapshot(productId, stock[slot], decayed(slot, nowMillis));
+    }
+    public synchronized List<DemandSnapshot> findRunningOut(double withinDays, long nowMillis) {
+        List<DemandSnapshot> result = new ArrayList<>();
+        for (int slot = 0; slot < rates.length; slot++) {
+            if (updatedAt[slot] == 0) {
+                continue;
+            }
+            double velocity = decayed(slot, nowMillis);
+            if (velocity > 0 && stock[slot] < velocity * withinDays) {
+                result.add(new DemandSnapshot(slot, stock[slot], velocity));
+            }
+        }
+        result.sort(Comparator.comparingDouble(DemandSnapshot::daysOfCover));
+        return result;
+    }
+    @PostConstruct
+    public void restore() {
+        if (!Files.isRegularFile(checkpointPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)))) {
+            int magic = in.readInt();
+            if (magic != CHECKPOINT_MAGIC) {
+                logger.warn("Ignoring demand checkpoint {} with unknown format", checkpointPath);
+                return;
+            }
+            int count = in.readInt();
+            synchronized (this) {
+                for (int i = 0; i < count; i++) {
+                    int slot = in.readInt();
+                    ensureCapacity(slot);
+                    rates[slot] = in.readDouble();
+                    updatedAt[slot] = in.readLong();
+                    stock[slot] = in.readInt();
+                    stockVersions[slot] = in.readLong();
+                }
+            }
+            logger.info("Restored demand velocity for {} products from {}", count, checkpointPath);
+        } catch (IOException e) {
+            logger.warn("Failed to restore demand checkpoint {}: {}", checkpointPath, e.getMessage());
+        }
+    }
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${inventory.demand.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        double[] rateCopy;
+        long[] updatedCopy;
+        int[] stockCopy;
+        long[] versionCopy;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            rateCopy = Arrays.copyOf(rates, rates.length);
+            updatedCopy = Arrays.copyOf(updatedAt, updatedAt.length);
+            stockCopy = Arrays.copyOf(stock, stock.length);
+            versionCopy = Arrays.copyOf(stockVersions, stockVersions.length);
+            dirty = false;
+        }
+        int count = 0;
+        for (long value : updatedCopy) {
+            if (value != 0) {
+                count++;
+            }
+        }
+        try {
+            Path parent = checkpointPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "demand-velocity", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(count);
+                for (int slot = 0; slot < updatedCopy.length; slot++) {
+                    if (updatedCopy[slot] != 0) {
+                        out.writeInt(slot);
+                        out.writeDouble(rateCopy[slot]);
+                        out.writeLong(updatedCopy[slot]);
+                        out.writeInt(stockCopy[slot]);
+                        out.writeLong(versionCopy[slot]);
+                    }
+                }
+            }
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            logger.warn("Failed to write demand checkpoint {}: {}", checkpointPath, e.getMessage());
+        }
+    }
+    private double decayed(int slot, long nowMillis) {
+        if (updatedAt[slot] == 0) {
+            return 0;
+        }
+        double elapsedDays = Math.max(0, nowMillis - updatedAt[slot]) / MILLIS_PER_DAY;
+        return rates[slot] * Math.exp(-elapsedDays / tauDays);
+    }
+    private int slot(long productId) {
+        if (productId <= 0 || productId > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Product id out of range for demand store: " + productId);
+        }
+        return (int) productId;
+    }
+    private void ensureCapacity(int slot) {
+        if (slot < rates.length) {
+            return;
+        }
+        int capacity = rates.length;
+        while (capacity <= slot) {
+            capacity = capacity > (Integer.MAX_VALUE - 8) / 2 ? Integer.MAX_VALUE - 8 : capacity * 2;
+        }
+        rates = Arrays.copyOf(rates, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+        stockVersions = Arrays.copyOf(stockVersions, capacity);
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDate;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveRunResultDTO {
+    private LocalDate cutoff;
+    private int segmentsWritten;
+    private long rowsArchived;
+    private long rowsPurged;
+    private long durationMs;
+}
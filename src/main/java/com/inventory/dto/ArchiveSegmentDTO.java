@@ -0,0 +1,18 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveSegmentDTO {
+    private String file;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private long rowCount;
+    private int blockCount;
+    private long sizeBytes;
+    private long minTransactionId;
+    private long maxTransactionId;
+}
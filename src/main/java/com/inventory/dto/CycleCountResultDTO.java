@@ -0,0 +1,20 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CycleCountResultDTO {
+    private String reference;
+    private Long locationId;
+    private long linesRead;
+    private long productsCounted;
+    private long adjustments;
+    private long unchanged;
+    private long netAdjustment;
+    private long rejectedLines;
+    private List<CountRejectionDTO> rejections;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import com.inventory.entity.TransactionType;
+import lombok.*;
+import java.time.LocalDate;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyMovementDTO {
+    private LocalDate date;
+    private TransactionType transactionType;
+    private Long quantity;
+    private Long transactionCount;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandForecastDTO {
+    private Long productId;
+    private String sku;
+    private String name;
+    private Integer currentStock;
+    private double dailyVelocity;
+    private double daysOfCover;
+}
@@ -0,0 +1,16 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointQueryStatsDTO {
+    private String endpoint;
+    private long requests;
+    private long queries;
+    private double avgQueriesPerRequest;
+    private long maxQueriesPerRequest;
+    private double avgQueryTimeMs;
+    private double avgRequestTimeMs;
+}
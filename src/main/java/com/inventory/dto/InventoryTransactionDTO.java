@@ -1,4 +1,5 @@
 ﻿package com.inventory.dto;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.inventory.entity.TransactionType;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -7,11 +8,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter("transactionFields")
 public class InventoryTransactionDTO {
     private Long id;
     private Long productId;
     private String productName;
     private String productSku;
+    private Long locationId;
+    private String locationCode;
     private TransactionType transactionType;
     private Integer quantity;
     private String referenceNumber;
@@ -0,0 +1,12 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerGroupTotalDTO {
+    private String key;
+    private long quantity;
+    private long transactionCount;
+}
@@ -0,0 +1,13 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerStoreStatusDTO {
+    private boolean ready;
+    private long rows;
+    private int distinctUsers;
+    private long estimatedBytes;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerTotalsDTO {
+    private String groupBy;
+    private long rowsScanned;
+    private long rowsMatched;
+    private double tookMs;
+    private List<LedgerGroupTotalDTO> groups;
+}
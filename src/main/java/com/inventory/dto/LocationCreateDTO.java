@@ -0,0 +1,19 @@
+package com.inventory.dto;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationCreateDTO {
+    @NotBlank(message = "Location code is required")
+    @Size(max = 20, message = "Location code must be less than 20 characters")
+    @Pattern(regexp = "[A-Z0-9_-]+", message = "Location code may only contain upper-case letters, digits, '-' and '_'")
+    private String code;
+    @NotBlank(message = "Location name is required")
+    @Size(max = 100, message = "Location name must be less than 100 characters")
+    private String name;
+}
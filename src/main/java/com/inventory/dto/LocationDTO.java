@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationDTO {
+    private Long id;
+    private String code;
+    private String name;
+    private boolean defaultLocation;
+    private LocalDateTime createdAt;
+}
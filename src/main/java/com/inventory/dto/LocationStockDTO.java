@@ -0,0 +1,13 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationStockDTO {
+    private Long locationId;
+    private String locationCode;
+    private String locationName;
+    private Integer quantity;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import com.inventory.entity.ProductChangeType;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangeDTO {
+    private Long sequence;
+    private Long productId;
+    private ProductChangeType changeType;
+    private boolean deleted;
+    private ProductDTO product;
+}
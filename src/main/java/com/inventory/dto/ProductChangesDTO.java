@@ -0,0 +1,13 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangesDTO {
+    private List<ProductChangeDTO> changes;
+    private Long nextToken;
+    private boolean hasMore;
+}
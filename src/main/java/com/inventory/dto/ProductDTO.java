@@ -1,4 +1,5 @@
 ﻿package com.inventory.dto;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter("productFields")
 public class ProductDTO {
     private Long id;
     private String name;
@@ -0,0 +1,12 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportErrorDTO {
+    private long line;
+    private String sku;
+    private String message;
+}
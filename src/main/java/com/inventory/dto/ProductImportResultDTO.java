@@ -0,0 +1,17 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResultDTO {
+    private long rowsRead;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private List<ProductImportErrorDTO> errors;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductLookupDTO {
+    @Size(max = 500, message = "At most 500 ids can be looked up at once")
+    private List<Long> ids;
+    @Size(max = 500, message = "At most 500 SKUs can be looked up at once")
+    private List<String> skus;
+}
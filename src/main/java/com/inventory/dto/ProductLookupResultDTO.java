@@ -0,0 +1,13 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductLookupResultDTO {
+    private List<ProductDTO> products;
+    private List<Long> missingIds;
+    private List<String> missingSkus;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+import com.inventory.entity.PurchaseOrderDraftStatus;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderDraftDTO {
+    private Long id;
+    private Long supplierId;
+    private String supplierName;
+    private PurchaseOrderDraftStatus status;
+    private Integer lineCount;
+    private Long totalQuantity;
+    private BigDecimal estimatedCost;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,19 @@
+package com.inventory.dto;
+import lombok.*;
+import java.math.BigDecimal;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderDraftLineDTO {
+    private Long id;
+    private Long productId;
+    private String sku;
+    private Integer currentStock;
+    private Integer reorderLevel;
+    private Long recentOutflow;
+    private Integer suggestedQuantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+}
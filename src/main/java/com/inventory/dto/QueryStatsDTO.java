@@ -0,0 +1,16 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueryStatsDTO {
+    private double sampleRate;
+    private long slowThresholdMs;
+    private long sampledRequests;
+    private long slowQueriesCaptured;
+    private List<EndpointQueryStatsDTO> endpoints;
+    private List<SlowQueryDTO> slowQueries;
+}
@@ -0,0 +1,17 @@
+package com.inventory.dto;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationReportDTO {
+    private long productsChecked;
+    private long discrepancyCount;
+    private long netDifference;
+    private boolean corrected;
+    private long correctionsWritten;
+    private List<StockDiscrepancyDTO> discrepancies;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReorderRunResultDTO {
+    private String runId;
+    private long productsScanned;
+    private long linesSuggested;
+    private int draftsCreated;
+    private long unassignedProducts;
+    private long durationMs;
+}
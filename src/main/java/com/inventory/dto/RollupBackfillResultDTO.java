@@ -0,0 +1,12 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupBackfillResultDTO {
+    private int chunks;
+    private long rowsWritten;
+    private long durationMs;
+}
@@ -0,0 +1,22 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkuIndexStatsDTO {
+    private boolean ready;
+    private long insertions;
+    private long expectedInsertions;
+    private long bitCount;
+    private int hashFunctions;
+    private double targetFalsePositiveRate;
+    private double expectedFalsePositiveRate;
+    private double observedFalsePositiveRate;
+    private long definitelyAbsent;
+    private long possibleMatches;
+    private long falsePositives;
+    private LocalDateTime builtAt;
+}
@@ -0,0 +1,16 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQueryDTO {
+    private String sql;
+    private int parameterCount;
+    private double durationMs;
+    private String endpoint;
+    private LocalDateTime capturedAt;
+    private String plan;
+}
@@ -11,6 +11,7 @@ import lombok.*;
 public class StockAdjustmentDTO {
     @NotNull(message = "Product ID is required")
     private Long productId;
+    private Long locationId;
     @NotNull(message = "Quantity is required")
     @Min(value = 1, message = "Quantity must be at least 1")
     private Integer quantity;
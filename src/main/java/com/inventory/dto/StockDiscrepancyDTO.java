@@ -0,0 +1,14 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockDiscrepancyDTO {
+    private Long productId;
+    private String sku;
+    private int currentStock;
+    private long ledgerNet;
+    private long difference;
+}
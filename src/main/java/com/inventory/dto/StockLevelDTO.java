@@ -0,0 +1,19 @@
+package com.inventory.dto;
+import lombok.*;
+import java.time.LocalDateTime;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelDTO {
+    private Long productId;
+    private String sku;
+    private Long categoryId;
+    private Integer currentStock;
+    private Integer reorderLevel;
+    private Long stockVersion;
+    private boolean lowStock;
+    private boolean deleted;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,17 @@
+package com.inventory.dto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferBatchDTO {
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = 10000, message = "At most 10000 transfers can be submitted at once")
+    private List<@Valid @NotNull StockTransferDTO> transfers;
+}
@@ -0,0 +1,25 @@
+package com.inventory.dto;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferDTO {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+    @NotNull(message = "Source location ID is required")
+    private Long fromLocationId;
+    @NotNull(message = "Destination location ID is required")
+    private Long toLocationId;
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    @Size(max = 50, message = "Reference number must be less than 50 characters")
+    private String referenceNumber;
+    @Size(max = 500, message = "Notes must be less than 500 characters")
+    private String notes;
+}
@@ -0,0 +1,13 @@
+package com.inventory.dto;
+import lombok.*;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTransferResultDTO {
+    private int transfers;
+    private long quantity;
+    private int locationRows;
+    private int ledgerEntries;
+}
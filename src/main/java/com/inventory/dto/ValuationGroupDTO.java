@@ -0,0 +1,15 @@
+package com.inventory.dto;
+import lombok.*;
+import java.math.BigDecimal;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ValuationGroupDTO {
+    private Long id;
+    private String name;
+    private long productCount;
+    private long totalUnits;
+    private BigDecimal totalValue;
+}
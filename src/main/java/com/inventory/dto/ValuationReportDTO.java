@@ -0,0 +1,20 @@
+package com.inventory.dto;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ValuationReportDTO {
+    private String source;
+    private BigDecimal totalValue;
+    private long totalUnits;
+    private long productCount;
+    private List<ValuationGroupDTO> categories;
+    private List<ValuationGroupDTO> suppliers;
+    private LocalDateTime asOf;
+    private long durationMs;
+}
@@ -0,0 +1,30 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+@Entity
+@Table(name = "daily_movements", uniqueConstraints = @UniqueConstraint(name = "uq_daily_movement",
+        columnNames = {"product_id", "movement_date", "transaction_type"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyMovement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    @Column(name = "movement_date", nullable = false)
+    private LocalDate movementDate;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+    @Column(name = "total_quantity", nullable = false)
+    @Builder.Default
+    private Long totalQuantity = 0L;
+    @Column(name = "transaction_count", nullable = false)
+    @Builder.Default
+    private Long transactionCount = 0L;
+}
@@ -21,6 +21,9 @@ public class InventoryTransaction {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    private Location location;
     @NotNull(message = "Transaction type is required")
     @Enumerated(EnumType.STRING)
     @Column(name = "transaction_type", nullable = false)
@@ -0,0 +1,15 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock {
+    @Id
+    @Column(length = 50)
+    private String name;
+}
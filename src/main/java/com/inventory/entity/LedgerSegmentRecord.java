@@ -0,0 +1,23 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+@Entity
+@Table(name = "ledger_segments")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerSegmentRecord {
+    @Id
+    @Column(name = "window_start")
+    private Long windowStart;
+    @Column(name = "window_end", nullable = false)
+    private Long windowEnd;
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+    @Column(name = "min_id", nullable = false)
+    private Long minId;
+    @Column(name = "max_id", nullable = false)
+    private Long maxId;
+}
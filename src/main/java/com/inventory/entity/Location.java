@@ -0,0 +1,30 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+@Entity
+@Table(name = "locations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Location {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @NotBlank(message = "Location code is required")
+    @Size(max = 20, message = "Location code must be less than 20 characters")
+    @Column(nullable = false, unique = true, length = 20)
+    private String code;
+    @NotBlank(message = "Location name is required")
+    @Size(max = 100, message = "Location name must be less than 100 characters")
+    @Column(nullable = false, length = 100)
+    private String name;
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+@Entity
+@Table(name = "location_stock", uniqueConstraints = @UniqueConstraint(name = "uq_location_stock",
+        columnNames = {"product_id", "location_id"}),
+        indexes = @Index(name = "idx_location_stock_location", columnList = "location_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationStock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer quantity = 0;
+}
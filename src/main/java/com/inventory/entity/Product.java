@@ -2,7 +2,9 @@
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 @Entity
 @Table(name = "products")
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,7 +51,11 @@ public class Product {
     @Column(name = "reorder_level", nullable = false)
     @Builder.Default
     private Integer reorderLevel = 10;
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ColumnDefault("0")
+    @Column(name = "stock_version", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long stockVersion = 0L;
+    @OneToMany(mappedBy = "product", fetch = FetchType.LAZY)
     @Builder.Default
     private List<InventoryTransaction> transactions = new ArrayList<>();
     @CreationTimestamp
@@ -57,6 +64,8 @@ public class Product {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
     public boolean isLowStock() {
         return currentStock != null && reorderLevel != null && currentStock <= reorderLevel;
     }
@@ -0,0 +1,23 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+@Entity
+@Table(name = "product_changes", indexes = @Index(name = "idx_product_change_at", columnList = "changed_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ProductChangeType changeType;
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
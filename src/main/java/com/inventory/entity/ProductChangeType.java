@@ -0,0 +1,7 @@
+package com.inventory.entity;
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    STOCK,
+    DELETED
+}
@@ -0,0 +1,45 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+@Entity
+@Table(name = "purchase_order_drafts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderDraft {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", nullable = false)
+    private Supplier supplier;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private PurchaseOrderDraftStatus status = PurchaseOrderDraftStatus.GENERATING;
+    @Column(name = "run_id", nullable = false, length = 36)
+    private String runId;
+    @Column(name = "line_count", nullable = false)
+    @Builder.Default
+    private Integer lineCount = 0;
+    @Column(name = "total_quantity", nullable = false)
+    @Builder.Default
+    private Long totalQuantity = 0L;
+    @Column(name = "estimated_cost", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal estimatedCost = BigDecimal.ZERO;
+    @OneToMany(mappedBy = "draft", fetch = FetchType.LAZY)
+    @OrderBy("id")
+    @Builder.Default
+    private List<PurchaseOrderDraftLine> lines = new ArrayList<>();
+    @CreationTimestamp
+    @Column(name = "generated_at", updatable = false)
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,33 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+@Entity
+@Table(name = "purchase_order_draft_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurchaseOrderDraftLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "draft_id", nullable = false)
+    private PurchaseOrderDraft draft;
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    @Column(nullable = false, length = 50)
+    private String sku;
+    @Column(name = "current_stock", nullable = false)
+    private Integer currentStock;
+    @Column(name = "reorder_level", nullable = false)
+    private Integer reorderLevel;
+    @Column(name = "recent_outflow", nullable = false)
+    private Long recentOutflow;
+    @Column(name = "suggested_quantity", nullable = false)
+    private Integer suggestedQuantity;
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+}
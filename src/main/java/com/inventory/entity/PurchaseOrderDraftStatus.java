@@ -0,0 +1,5 @@
+package com.inventory.entity;
+public enum PurchaseOrderDraftStatus {
+    GENERATING,
+    DRAFT
+}
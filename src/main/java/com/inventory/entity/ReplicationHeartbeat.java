@@ -0,0 +1,16 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+@Entity
+@Table(name = "replication_heartbeat")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicationHeartbeat {
+    @Id
+    private Integer id;
+    @Column(name = "beat_at", nullable = false)
+    private Long beatAt;
+}
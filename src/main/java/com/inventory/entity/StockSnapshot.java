@@ -0,0 +1,24 @@
+package com.inventory.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = @UniqueConstraint(name = "uq_stock_snapshot",
+        columnNames = {"product_id", "snapshot_at"}),
+        indexes = @Index(name = "idx_stock_snapshot_at", columnList = "snapshot_at, product_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+    @Column(nullable = false)
+    private Integer stock;
+}
@@ -2,5 +2,7 @@
 public enum TransactionType {
     STOCK_IN,
     STOCK_OUT,
-    ADJUSTMENT
+    ADJUSTMENT,
+    TRANSFER_OUT,
+    TRANSFER_IN
 }
@@ -0,0 +1,9 @@
+package com.inventory.event;
+public record CatalogEntryDeletedEvent(String entity, Long id, int productsDeleted) {
+    public static CatalogEntryDeletedEvent category(Long id, int productsDeleted) {
+        return new CatalogEntryDeletedEvent("category", id, productsDeleted);
+    }
+    public static CatalogEntryDeletedEvent supplier(Long id, int productsDeleted) {
+        return new CatalogEntryDeletedEvent("supplier", id, productsDeleted);
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.event;
+import com.inventory.entity.Product;
+import java.math.BigDecimal;
+public record ProductState(Long id, String sku, Long categoryId, Long supplierId, BigDecimal unitPrice,
+        Integer currentStock, Integer reorderLevel, Long stockVersion) {
+    public static ProductState of(Product product) {
+        return new ProductState(
+                product.getId(),
+                product.getSku(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getSupplier() != null ? product.getSupplier().getId() : null,
+                product.getUnitPrice(),
+                product.getCurrentStock(),
+                product.getReorderLevel(),
+                product.getStockVersion());
+    }
+    public ProductState withStock(Integer stock, Long version) {
+        return new ProductState(id, sku, categoryId, supplierId, unitPrice, stock, reorderLevel, version);
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.event;
+public record ProductStateChangedEvent(Long productId, ProductState before, ProductState after) {
+    public static ProductStateChangedEvent created(ProductState after) {
+        return new ProductStateChangedEvent(after.id(), null, after);
+    }
+    public static ProductStateChangedEvent changed(ProductState before, ProductState after) {
+        return new ProductStateChangedEvent(after.id(), before, after);
+    }
+    public static ProductStateChangedEvent deleted(Long productId) {
+        return new ProductStateChangedEvent(productId, null, null);
+    }
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.event;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.TransactionType;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+public record StockMovementEvent(Long productId, Long transactionId, TransactionType type, int quantity,
+        int previousStock, int newStock, long stockVersion, String createdBy, Instant occurredAt) {
+    public static StockMovementEvent of(InventoryTransaction transaction, LocalDateTime occurredAt,
+            int previousStock, int newStock, long stockVersion) {
+        return new StockMovementEvent(transaction.getProduct().getId(), transaction.getId(),
+                transaction.getTransactionType(), transaction.getQuantity(), previousStock, newStock, stockVersion,
+                transaction.getCreatedBy(), occurredAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
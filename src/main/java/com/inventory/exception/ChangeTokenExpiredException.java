@@ -0,0 +1,14 @@
+package com.inventory.exception;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenExpiredException extends RuntimeException {
+    private final Long token;
+    public ChangeTokenExpiredException(Long token) {
+        super(String.format("Change token %d has expired; perform a full resync", token));
+        this.token = token;
+    }
+    public Long getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventory.history;
+import java.time.LocalDateTime;
+import java.util.Map;
+public record StockAnchor(LocalDateTime asOf, LocalDateTime snapshotAt, Map<Long, Long> archivedDeltas) {
+    public boolean isForward() {
+        return snapshotAt != null && !snapshotAt.isAfter(asOf);
+    }
+    public LocalDateTime windowStart() {
+        return isForward() ? snapshotAt : asOf;
+    }
+    public LocalDateTime windowEnd() {
+        return isForward() ? asOf : snapshotAt;
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventory.history;
+import com.inventory.archive.ArchiveFilter;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerSegment;
+import com.inventory.entity.Product;
+import com.inventory.entity.StockSnapshot;
+import com.inventory.entity.TransactionType;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockSnapshotRepository;
+import com.inventory.valuation.ValuationRow;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+@Component
+public class StockHistory {
+    private final StockSnapshotRepository snapshotRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    private final ProductRepository productRepository;
+    private final LedgerArchive ledgerArchive;
+    public StockHistory(StockSnapshotRepository snapshotRepository,
+            InventoryTransactionRepository transactionRepository,
+            ProductRepository productRepository,
+            LedgerArchive ledgerArchive) {
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.productRepository = productRepository;
+        this.ledgerArchive = ledgerArchive;
+    }
+    public static long signedQuantity(TransactionType type, int quantity) {
+        return type == TransactionType.STOCK_OUT || type == TransactionType.TRANSFER_OUT ? -quantity : quantity;
+    }
+    public int stockAt(Product product, LocalDateTime asOf) {
+        requirePast(asOf);
+        if (product.getCreatedAt() != null && !product.getCreatedAt().isBefore(asOf)) {
+            return 0;
+        }
+        Long productId = product.getId();
+        Optional<StockSnapshot> floor = snapshotRepository
+                .findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(productId, asOf);
+        if (floor.isPresent()) {
+            return (int) (floor.get().getStock() + delta(productId, floor.get().getSnapshotAt(), asOf));
+        }
+        Optional<StockSnapshot> ceiling = snapshotRepository
+                .findFirstByProductIdAndSnapshotAtGreaterThanOrderBySnapshotAtAsc(productId, asOf);
+        if (ceiling.isPresent()) {
+            return (int) (ceiling.get().getStock() - delta(productId, asOf, ceiling.get().getSnapshotAt()));
+        }
+        return (int) (product.getCurrentStock() - delta(productId, asOf, null));
+    }
+    public StockAnchor anchor(LocalDateTime asOf) {
+        requirePast(asOf);
+        LocalDateTime snapshotAt = snapshotRepository.findLatestSnapshotAtOrBefore(asOf);
+        if (snapshotAt == null) {
+            snapshotAt = snapshotRepository.findEarliestSnapshotAfter(asOf);
+        }
+        StockAnchor anchor = new StockAnchor(asOf, snapshotAt, Map.of());
+        return new StockAnchor(asOf, snapshotAt,
+                archivedDeltas(null, anchor.windowStart(), anchor.windowEnd()));
+    }
+    public List<ValuationRow> valuationRowsAt(StockAnchor anchor, long fromId, long toId) {
+        List<ValuationRow> rows = productRepository.findValuationRowsCreatedBefore(fromId, toId, anchor.asOf());
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<Long, Long> base = new HashMap<>();
+        if (anchor.snapshotAt() != null) {
+            for (StockSnapshot snapshot : snapshotRepository.findBySnapshotAtAndProductIdBetween(
+                    anchor.snapshotAt(), fromId, toId)) {
+                base.put(snapshot.getProductId(), (long) snapshot.getStock());
+            }
+        } else {
+            for (ValuationRow row : rows) {
+                base.put(row.id(), row.units());
+            }
+        }
+        Map<Long, Long> deltas = new HashMap<>(anchor.archivedDeltas());
+        LocalDateTime hotStart = hotStart(anchor.windowStart());
+        LocalDateTime end = anchor.windowEnd();
+        if (end == null || hotStart.isBefore(end)) {
+            List<StockPoint> points = end == null
+                    ? transactionRepository.sumSignedQuantityByProductRangeSince(fromId, toId, hotStart)
+                    : transactionRepository.sumSignedQuantityByProductRange(fromId, toId, hotStart, end);
+            for (StockPoint point : points) {
+                deltas.merge(point.productId(), point.quantity(), Long::sum);
+            }
+        }
+        long direction = anchor.isForward() ? 1 : -1;
+        List<ValuationRow> result = new ArrayList<>(rows.size());
+        for (ValuationRow row : rows) {
+            long stock = base.getOrDefault(row.id(), 0L) + direction * deltas.getOrDefault(row.id(), 0L);
+            result.add(new ValuationRow(row.id(), row.categoryId(), row.supplierId(), row.unitPrice(), (int) stock));
+        }
+        return result;
+    }
+    private long delta(Long productId, LocalDateTime from, LocalDateTime to) {
+        long archived = archivedDeltas(productId, from, to).getOrDefault(productId, 0L);
+        LocalDateTime hotStart = hotStart(from);
+        if (to != null && !hotStart.isBefore(to)) {
+            return archived;
+        }
+        Long hot = to == null
+                ? transactionRepository.sumSignedQuantitySince(productId, hotStart)
+                : transactionRepository.sumSignedQuantity(productId, hotStart, to);
+        return archived + (hot != null ? hot : 0);
+    }
+    private Map<Long, Long> archivedDeltas(Long productId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime archivedUntil = ledgerArchive.getArchivedUntil();
+        if (archivedUntil == null || !from.isBefore(archivedUntil)) {
+            return Map.of();
+        }
+        LocalDateTime end = to == null || to.isAfter(archivedUntil) ? archivedUntil : to;
+        ArchiveFilter filter = productId != null ? ArchiveFilter.byProduct(productId) : ArchiveFilter.byDateRange(from, end);
+        Map<Long, Long> deltas = new HashMap<>();
+        for (LedgerSegment segment : ledgerArchive.getSegments()) {
+            if (!segment.getWindowEnd().isAfter(from) || !segment.getWindowStart().isBefore(end)) {
+                continue;
+            }
+            segment.forEach(filter, row -> {
+                LocalDateTime date = row.transactionDate();
+                if (!date.isBefore(from) && date.isBefore(end)) {
+                    deltas.merge(row.productId(), signedQuantity(row.transactionType(), row.quantity()), Long::sum);
+                }
+            });
+        }
+        return deltas;
+    }
+    private LocalDateTime hotStart(LocalDateTime from) {
+        LocalDateTime archivedUntil = ledgerArchive.getArchivedUntil();
+        return archivedUntil != null && archivedUntil.isAfter(from) ? archivedUntil : from;
+    }
+    private void requirePast(LocalDateTime asOf) {
+        if (asOf.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("'asOf' must not be in the future");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.inventory.history;
+public record StockPoint(Long productId, Long quantity) {
+}
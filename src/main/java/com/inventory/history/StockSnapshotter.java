@@ -0,0 +1,110 @@
+package com.inventory.history;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+@Component
+public class StockSnapshotter {
+    private static final Logger logger = LoggerFactory.getLogger(StockSnapshotter.class);
+    private static final String LOCK_NAME = "stock-snapshot";
+    private final StockSnapshotRepository snapshotRepository;
+    private final ProductRepository productRepository;
+    private final LedgerArchive ledgerArchive;
+    private final ClusterJobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+    private final int retentionDays;
+    public StockSnapshotter(StockSnapshotRepository snapshotRepository,
+            ProductRepository productRepository,
+            LedgerArchive ledgerArchive,
+            ClusterJobLock jobLock,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.snapshots.chunk-size:5000}") long chunkSize,
+            @Value("${inventory.snapshots.retention-days:90}") int retentionDays) {
+        this.snapshotRepository = snapshotRepository;
+        this.productRepository = productRepository;
+        this.ledgerArchive = ledgerArchive;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.retentionDays = Math.max(1, retentionDays);
+    }
+    @Scheduled(cron = "${inventory.snapshots.cron:0 5 0 * * *}")
+    public void scheduledRun() {
+        try {
+            run(LocalDate.now().atStartOfDay());
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled stock snapshot: {}", e.getMessage());
+        }
+    }
+    public SnapshotRun run(LocalDateTime snapshotAt) {
+        return jobLock.tryRun(LOCK_NAME, () -> snapshot(snapshotAt))
+                .orElseThrow(() -> new IllegalStateException("A stock snapshot run is already in progress"));
+    }
+    private SnapshotRun snapshot(LocalDateTime snapshotAt) {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        boolean rolledForward = false;
+        if (!snapshotRepository.existsBySnapshotAt(snapshotAt)) {
+            LocalDateTime previousAt = snapshotRepository.findLatestSnapshotAtBefore(snapshotAt);
+            LocalDateTime archivedUntil = ledgerArchive.getArchivedUntil();
+            rolledForward = previousAt != null && (archivedUntil == null || !previousAt.isBefore(archivedUntil));
+            rows = capture(rolledForward ? previousAt : null, snapshotAt);
+        }
+        int pruned = prune(snapshotAt.toLocalDate().minusDays(retentionDays).atStartOfDay());
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Stock snapshot at {} wrote {} rows (rolled forward: {}), pruned {} snapshots ({} ms)",
+                snapshotAt, rows, rolledForward, pruned, duration);
+        return new SnapshotRun(snapshotAt, rolledForward, rows, pruned, duration);
+    }
+    private long capture(LocalDateTime previousAt, LocalDateTime snapshotAt) {
+        Long minId = productRepository.findMinId();
+        Long maxId = productRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        long rows = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(maxId, fromId + chunkSize - 1);
+            Integer written = transactionTemplate.execute(status -> previousAt != null
+                    ? snapshotRepository.rollForward(previousAt, snapshotAt, chunkFrom, chunkTo)
+                    : snapshotRepository.captureFromCurrent(snapshotAt, chunkFrom, chunkTo));
+            rows += written != null ? written : 0;
+        }
+        return rows;
+    }
+    private int prune(LocalDateTime before) {
+        int pruned = 0;
+        for (LocalDateTime snapshotAt : snapshotRepository.findSnapshotTimesBefore(before)) {
+            if (snapshotAt.getDayOfMonth() == 1) {
+                continue;
+            }
+            Long minId = snapshotRepository.findMinProductId(snapshotAt);
+            Long maxId = snapshotRepository.findMaxProductId(snapshotAt);
+            if (minId == null || maxId == null) {
+                continue;
+            }
+            for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                long chunkFrom = fromId;
+                long chunkTo = Math.min(maxId, fromId + chunkSize - 1);
+                transactionTemplate.executeWithoutResult(status ->
+                        snapshotRepository.deleteBySnapshotAtAndProductIdRange(snapshotAt, chunkFrom, chunkTo));
+            }
+            pruned++;
+        }
+        return pruned;
+    }
+    public record SnapshotRun(LocalDateTime snapshotAt, boolean rolledForward, long rows, int prunedSnapshots,
+            long durationMs) {
+    }
+}
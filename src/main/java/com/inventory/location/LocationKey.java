@@ -0,0 +1,10 @@
+package com.inventory.location;
+import java.util.Comparator;
+public record LocationKey(Long productId, Long locationId) implements Comparable<LocationKey> {
+    private static final Comparator<LocationKey> LOCK_ORDER = Comparator.comparing(LocationKey::productId)
+            .thenComparing(LocationKey::locationId);
+    @Override
+    public int compareTo(LocationKey other) {
+        return LOCK_ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,67 @@
+package com.inventory.location;
+import com.inventory.entity.Location;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+@Component
+@SuppressWarnings("null")
+public class StockLocations {
+    private static final Logger logger = LoggerFactory.getLogger(StockLocations.class);
+    private final LocationRepository locationRepository;
+    private final String defaultCode;
+    private final String defaultName;
+    private volatile Long defaultLocationId;
+    public StockLocations(LocationRepository locationRepository,
+            @Value("${inventory.locations.default-code:MAIN}") String defaultCode,
+            @Value("${inventory.locations.default-name:Main warehouse}") String defaultName) {
+        this.locationRepository = locationRepository;
+        this.defaultCode = defaultCode;
+        this.defaultName = defaultName;
+    }
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void ensureDefaultLocation() {
+        Location location = locationRepository.findByCode(defaultCode).orElseGet(() -> {
+            logger.info("Creating default stock location {}", defaultCode);
+            return locationRepository.save(Location.builder().code(defaultCode).name(defaultName).build());
+        });
+        defaultLocationId = location.getId();
+    }
+    public Location resolve(Long locationId) {
+        if (locationId == null) {
+            return locationRepository.getReferenceById(defaultLocationId());
+        }
+        return locationRepository.findById(locationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Location", "id", locationId));
+    }
+    public Map<Long, Location> resolveAll(Collection<Long> locationIds) {
+        Map<Long, Location> locations = locationRepository.findAllById(locationIds).stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+        for (Long locationId : locationIds) {
+            if (!locations.containsKey(locationId)) {
+                throw new ResourceNotFoundException("Location", "id", locationId);
+            }
+        }
+        return locations;
+    }
+    public Long defaultLocationId() {
+        Long id = defaultLocationId;
+        if (id == null) {
+            id = locationRepository.findByCode(defaultCode)
+                    .map(Location::getId)
+                    .orElseThrow(() -> new IllegalStateException("Default location " + defaultCode + " does not exist"));
+            defaultLocationId = id;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,138 @@
+package com.inventory.location;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.TransactionType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+@Component
+public class StockTransferWriter {
+    private static final String APPLY_LEVEL = "INSERT INTO location_stock (product_id, location_id, quantity) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE quantity = quantity + ?";
+    private static final String APPLY_TOTAL = "UPDATE products SET current_stock = current_stock + ?, "
+            + "stock_version = stock_version + 1, updated_at = ? WHERE id = ?";
+    private static final String INSERT_LEDGER = "INSERT INTO inventory_transactions "
+            + "(product_id, location_id, transaction_type, quantity, reference_number, notes, transaction_date, created_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RECORD_MOVEMENT = "INSERT INTO daily_movements "
+            + "(product_id, movement_date, transaction_type, total_quantity, transaction_count) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + ?, transaction_count = transaction_count + ?";
+    private static final Comparator<MovementKey> MOVEMENT_ORDER = Comparator.comparing(MovementKey::productId)
+            .thenComparing(MovementKey::day)
+            .thenComparing(MovementKey::type);
+    private final JdbcTemplate jdbcTemplate;
+    public StockTransferWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    public void applyLevels(SortedMap<LocationKey, Integer> deltas) {
+        List<Map.Entry<LocationKey, Integer>> rows = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(APPLY_LEVEL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Map.Entry<LocationKey, Integer> row = rows.get(i);
+                statement.setLong(1, row.getKey().productId());
+                statement.setLong(2, row.getKey().locationId());
+                statement.setInt(3, row.getValue());
+                statement.setInt(4, row.getValue());
+            }
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+    public void applyTotals(SortedMap<Long, Integer> deltas, LocalDateTime now) {
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(deltas.entrySet());
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(APPLY_TOTAL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Map.Entry<Long, Integer> row = rows.get(i);
+                statement.setInt(1, row.getValue());
+                statement.setTimestamp(2, updatedAt);
+                statement.setLong(3, row.getKey());
+            }
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+    public void insertLedger(List<InventoryTransaction> transactions) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_LEDGER, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        InventoryTransaction transaction = transactions.get(i);
+                        statement.setLong(1, transaction.getProduct().getId());
+                        if (transaction.getLocation() != null) {
+                            statement.setLong(2, transaction.getLocation().getId());
+                        } else {
+                            statement.setNull(2, Types.BIGINT);
+                        }
+                        statement.setString(3, transaction.getTransactionType().name());
+                        statement.setInt(4, transaction.getQuantity());
+                        statement.setString(5, transaction.getReferenceNumber());
+                        statement.setString(6, transaction.getNotes());
+                        statement.setTimestamp(7, Timestamp.valueOf(transaction.getTransactionDate()));
+                        statement.setString(8, transaction.getCreatedBy());
+                    }
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < transactions.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            transactions.get(i).setId(((Number) key).longValue());
+        }
+    }
+    public void recordMovements(List<InventoryTransaction> transactions) {
+        SortedMap<MovementKey, long[]> totals = new TreeMap<>(MOVEMENT_ORDER);
+        for (InventoryTransaction transaction : transactions) {
+            long[] total = totals.computeIfAbsent(new MovementKey(transaction.getProduct().getId(),
+                    transaction.getTransactionDate().toLocalDate(), transaction.getTransactionType()),
+                    key -> new long[2]);
+            total[0] += transaction.getQuantity();
+            total[1]++;
+        }
+        List<Map.Entry<MovementKey, long[]>> rows = new ArrayList<>(totals.entrySet());
+        jdbcTemplate.batchUpdate(RECORD_MOVEMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                MovementKey key = rows.get(i).getKey();
+                long[] total = rows.get(i).getValue();
+                statement.setLong(1, key.productId());
+                statement.setDate(2, Date.valueOf(key.day()));
+                statement.setString(3, key.type().name());
+                statement.setLong(4, total[0]);
+                statement.setLong(5, total[1]);
+                statement.setLong(6, total[0]);
+                statement.setLong(7, total[1]);
+            }
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+    private record MovementKey(Long productId, LocalDate day, TransactionType type) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventory.lock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+@Component
+public class ClusterJobLock {
+    private static final String ENSURE = "INSERT IGNORE INTO job_locks (name) VALUES (?)";
+    private static final String CLAIM = "SELECT name FROM job_locks WHERE name = ? FOR UPDATE SKIP LOCKED";
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    public ClusterJobLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    public <T> Optional<T> tryRun(String name, Supplier<T> job) {
+        jdbcTemplate.update(ENSURE, name);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (!claim(connection, name)) {
+                    return Optional.empty();
+                }
+                return Optional.of(job.get());
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to hold job lock " + name, e);
+        }
+    }
+    private static boolean claim(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+}
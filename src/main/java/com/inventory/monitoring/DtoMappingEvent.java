@@ -0,0 +1,38 @@
+package com.inventory.monitoring;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import java.util.List;
+import java.util.function.Function;
+@Name("com.inventory.DtoMapping")
+@Label("DTO Mapping")
+@Category({"Inventory", "Mapping"})
+@Description("Conversion of entities into response DTOs, including any lazy association loads it triggers")
+@StackTrace(false)
+public class DtoMappingEvent extends Event {
+    @Label("DTO Type")
+    String dtoType;
+    @Label("Count")
+    int count;
+    public DtoMappingEvent(String dtoType, int count) {
+        this.dtoType = dtoType;
+        this.count = count;
+    }
+    public static <T, R> R map(String dtoType, T source, Function<T, R> mapper) {
+        DtoMappingEvent event = new DtoMappingEvent(dtoType, 1);
+        event.begin();
+        R result = mapper.apply(source);
+        event.commit();
+        return result;
+    }
+    public static <T, R> List<R> mapAll(String dtoType, List<T> source, Function<T, R> mapper) {
+        DtoMappingEvent event = new DtoMappingEvent(dtoType, source.size());
+        event.begin();
+        List<R> result = source.stream().map(mapper).toList();
+        event.commit();
+        return result;
+    }
+}
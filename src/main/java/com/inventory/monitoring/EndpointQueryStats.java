@@ -0,0 +1,32 @@
+package com.inventory.monitoring;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+public class EndpointQueryStats {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final LongAdder requestNanos = new LongAdder();
+    private final LongAccumulator maxQueriesPerRequest = new LongAccumulator(Math::max, 0);
+    public void record(int queryCount, long queryTime, long requestTime) {
+        requests.increment();
+        queries.add(queryCount);
+        queryNanos.add(queryTime);
+        requestNanos.add(requestTime);
+        maxQueriesPerRequest.accumulate(queryCount);
+    }
+    public long getRequests() {
+        return requests.sum();
+    }
+    public long getQueries() {
+        return queries.sum();
+    }
+    public long getQueryNanos() {
+        return queryNanos.sum();
+    }
+    public long getRequestNanos() {
+        return requestNanos.sum();
+    }
+    public long getMaxQueriesPerRequest() {
+        return maxQueriesPerRequest.get();
+    }
+}
@@ -0,0 +1,139 @@
+package com.inventory.monitoring;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+@Component
+public class QueryStatisticsCollector {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static volatile QueryStatisticsCollector instance;
+    private final ThreadLocal<RequestQueryStats> current = new ThreadLocal<>();
+    private final Map<String, EndpointQueryStats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder sampledRequests = new LongAdder();
+    private final SlowQueryLog slowQueries;
+    private final SlowQueryExplainer explainer;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int maxEndpoints;
+    public QueryStatisticsCollector(SlowQueryExplainer explainer,
+            @Value("${inventory.query-stats.enabled:true}") boolean enabled,
+            @Value("${inventory.query-stats.sample-rate:0.1}") double sampleRate,
+            @Value("${inventory.query-stats.slow-threshold-ms:200}") long slowThresholdMs,
+            @Value("${inventory.query-stats.slow-log-capacity:100}") int slowLogCapacity,
+            @Value("${inventory.query-stats.max-endpoints:500}") int maxEndpoints) {
+        this.explainer = explainer;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowQueries = new SlowQueryLog(slowLogCapacity);
+        this.maxEndpoints = maxEndpoints;
+        instance = this;
+    }
+    static QueryStatisticsCollector getInstance() {
+        return instance;
+    }
+    public boolean beginRequest() {
+        if (!enabled || sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        current.set(new RequestQueryStats());
+        return true;
+    }
+    public void endRequest(String endpoint, long requestNanos) {
+        RequestQueryStats stats = current.get();
+        current.remove();
+        if (stats == null) {
+            return;
+        }
+        sampledRequests.increment();
+        EndpointQueryStats endpointStats = endpoints.get(endpoint);
+        if (endpointStats == null) {
+            if (endpoints.size() >= maxEndpoints) {
+                return;
+            }
+            endpointStats = endpoints.computeIfAbsent(endpoint, key -> new EndpointQueryStats());
+        }
+        endpointStats.record(stats.getQueryCount(), stats.getQueryNanos(), requestNanos);
+    }
+    public void describeRequest(String endpoint) {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.setEndpoint(endpoint);
+        }
+    }
+    void onStatementPrepared(String sql) {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.setPendingSql(sql);
+        }
+    }
+    void onStatementStart() {
+        RequestQueryStats stats = current.get();
+        if (stats != null) {
+            stats.setStatementStart(System.nanoTime());
+        }
+    }
+    void onStatementEnd() {
+        RequestQueryStats stats = current.get();
+        if (stats == null || stats.getStatementStart() == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stats.getStatementStart();
+        stats.setStatementStart(0);
+        stats.recordStatement(elapsed);
+        if (elapsed >= slowThresholdNanos && stats.getPendingSql() != null) {
+            captureSlowQuery(stats.getPendingSql(), elapsed, stats.getEndpoint());
+        }
+    }
+    private void captureSlowQuery(String sql, long elapsed, String endpoint) {
+        String shape = normalize(sql);
+        SlowQuery query = new SlowQuery(shape, countParameters(sql), elapsed, endpoint, LocalDateTime.now());
+        slowQueries.add(query);
+        explainer.explainAsync(sql, query);
+    }
+    public Map<String, EndpointQueryStats> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+    public SlowQueryLog getSlowQueries() {
+        return slowQueries;
+    }
+    public long getSampledRequests() {
+        return sampledRequests.sum();
+    }
+    public double getSampleRate() {
+        return sampleRate;
+    }
+    public long getSlowThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+    public void reset() {
+        endpoints.clear();
+        sampledRequests.reset();
+        slowQueries.clear();
+    }
+    static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?...)");
+    }
+    static int countParameters(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,33 @@
+package com.inventory.monitoring;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    private final QueryStatisticsCollector collector;
+    public QueryStatisticsFilter(QueryStatisticsCollector collector) {
+        this.collector = collector;
+    }
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!collector.beginRequest()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        collector.describeRequest(request.getMethod() + " " + request.getRequestURI());
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            collector.endRequest(endpointOf(request), System.nanoTime() - start);
+        }
+    }
+    private String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+    }
+}
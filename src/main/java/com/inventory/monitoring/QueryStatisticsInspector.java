@@ -0,0 +1,12 @@
+package com.inventory.monitoring;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+public class QueryStatisticsInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        QueryStatisticsCollector collector = QueryStatisticsCollector.getInstance();
+        if (collector != null) {
+            collector.onStatementPrepared(sql);
+        }
+        return sql;
+    }
+}
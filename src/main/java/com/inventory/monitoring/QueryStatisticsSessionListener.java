@@ -0,0 +1,26 @@
+package com.inventory.monitoring;
+import org.hibernate.SessionEventListener;
+public class QueryStatisticsSessionListener implements SessionEventListener {
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryStatisticsCollector collector = QueryStatisticsCollector.getInstance();
+        if (collector != null) {
+            collector.onStatementStart();
+        }
+    }
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStatisticsCollector collector = QueryStatisticsCollector.getInstance();
+        if (collector != null) {
+            collector.onStatementEnd();
+        }
+    }
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
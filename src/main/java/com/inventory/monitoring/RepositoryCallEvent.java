@@ -0,0 +1,20 @@
+package com.inventory.monitoring;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+@Name("com.inventory.RepositoryCall")
+@Label("Repository Call")
+@Category({"Inventory", "Persistence"})
+@Description("An invocation of a Spring Data repository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    String repository;
+    @Label("Method")
+    String method;
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,30 @@
+package com.inventory.monitoring;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+public class RepositoryCallInterceptor implements MethodInterceptor {
+    private final String repository;
+    public RepositoryCallInterceptor(String repository) {
+        this.repository = repository;
+    }
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+}
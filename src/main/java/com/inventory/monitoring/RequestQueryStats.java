@@ -0,0 +1,36 @@
+package com.inventory.monitoring;
+public class RequestQueryStats {
+    private String endpoint;
+    private String pendingSql;
+    private long statementStart;
+    private int queryCount;
+    private long queryNanos;
+    public String getEndpoint() {
+        return endpoint;
+    }
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    public String getPendingSql() {
+        return pendingSql;
+    }
+    public void setPendingSql(String pendingSql) {
+        this.pendingSql = pendingSql;
+    }
+    public long getStatementStart() {
+        return statementStart;
+    }
+    public void setStatementStart(long statementStart) {
+        this.statementStart = statementStart;
+    }
+    public int getQueryCount() {
+        return queryCount;
+    }
+    public long getQueryNanos() {
+        return queryNanos;
+    }
+    public void recordStatement(long nanos) {
+        queryCount++;
+        queryNanos += nanos;
+    }
+}
@@ -0,0 +1,39 @@
+package com.inventory.monitoring;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+public class SlowQuery {
+    private final String sql;
+    private final int parameterCount;
+    private final long durationNanos;
+    private final String endpoint;
+    private final LocalDateTime capturedAt;
+    private final AtomicReference<String> plan = new AtomicReference<>();
+    public SlowQuery(String sql, int parameterCount, long durationNanos, String endpoint, LocalDateTime capturedAt) {
+        this.sql = sql;
+        this.parameterCount = parameterCount;
+        this.durationNanos = durationNanos;
+        this.endpoint = endpoint;
+        this.capturedAt = capturedAt;
+    }
+    public String getSql() {
+        return sql;
+    }
+    public int getParameterCount() {
+        return parameterCount;
+    }
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+    public String getEndpoint() {
+        return endpoint;
+    }
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+    public String getPlan() {
+        return plan.get();
+    }
+    public void setPlan(String value) {
+        plan.set(value);
+    }
+}
@@ -0,0 +1,103 @@
+package com.inventory.monitoring;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+@Component
+public class SlowQueryExplainer {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryExplainer.class);
+    private static final int MAX_CACHED_PLANS = 256;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private volatile Boolean supported;
+    public SlowQueryExplainer(DataSource dataSource,
+            @Value("${inventory.query-stats.explain:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explainer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    public void explainAsync(String sql, SlowQuery target) {
+        if (!enabled || Boolean.FALSE.equals(supported) || !isSelect(sql)) {
+            return;
+        }
+        if (target.getParameterCount() > 0) {
+            target.setPlan("Not explained: the " + target.getParameterCount()
+                    + " bind parameter values are not captured with slow queries");
+            return;
+        }
+        String cached = plans.get(target.getSql());
+        if (cached != null) {
+            target.setPlan(cached);
+            return;
+        }
+        executor.execute(() -> explain(sql, target));
+    }
+    private void explain(String sql, SlowQuery target) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (supported == null) {
+                supported = supportsExplain(connection);
+            }
+            if (!supported) {
+                return;
+            }
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                String plan = render(statement.executeQuery());
+                target.setPlan(plan);
+                if (plans.size() < MAX_CACHED_PLANS) {
+                    plans.put(target.getSql(), plan);
+                }
+            }
+        } catch (SQLException ex) {
+            logger.debug("Could not explain slow query: {}", ex.getMessage());
+        }
+    }
+    private boolean supportsExplain(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        return product.contains("mysql") || product.contains("mariadb") || product.contains("h2")
+                || product.contains("postgres");
+    }
+    private String render(ResultSet resultSet) throws SQLException {
+        try (resultSet) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    if (column > 1) {
+                        plan.append(" | ");
+                    }
+                    plan.append(metaData.getColumnLabel(column)).append('=').append(resultSet.getString(column));
+                }
+                plan.append('\n');
+            }
+            return plan.toString().trim();
+        }
+    }
+    private boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventory.monitoring;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+public class SlowQueryLog {
+    private final AtomicReferenceArray<SlowQuery> entries;
+    private final AtomicLong cursor = new AtomicLong();
+    public SlowQueryLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow query log capacity must be at least 1");
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+    public void add(SlowQuery query) {
+        long slot = cursor.getAndIncrement();
+        entries.set((int) (slot % entries.length()), query);
+    }
+    public List<SlowQuery> snapshot() {
+        long end = cursor.get();
+        int length = entries.length();
+        long start = Math.max(0, end - length);
+        List<SlowQuery> result = new ArrayList<>((int) (end - start));
+        for (long slot = end - 1; slot >= start; slot--) {
+            SlowQuery query = entries.get((int) (slot % length));
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+    public long totalCaptured() {
+        return cursor.get();
+    }
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+        cursor.set(0);
+    }
+}
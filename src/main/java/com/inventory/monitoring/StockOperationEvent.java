@@ -0,0 +1,70 @@
+package com.inventory.monitoring;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+@Name("com.inventory.StockOperation")
+@Label("Stock Operation")
+@Category({"Inventory", "Stock"})
+@Description("A stock mutation performed by the inventory service, including row lock wait and commit time")
+@StackTrace(false)
+public class StockOperationEvent extends Event {
+    @Label("Product Id")
+    long productId;
+    @Label("Operation")
+    String operation;
+    @Label("Delta")
+    int delta;
+    @Label("Previous Stock")
+    int previousStock;
+    @Label("New Stock")
+    int newStock;
+    @Label("Lock Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWaitTime;
+    @Label("Commit Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long commitTime;
+    @Label("Committed")
+    boolean committed;
+    public void waitedForLock(long nanos) {
+        this.lockWaitTime = nanos;
+    }
+    public void describe(long productId, String operation, int delta, int previousStock, int newStock) {
+        this.productId = productId;
+        this.operation = operation;
+        this.delta = delta;
+        this.previousStock = previousStock;
+        this.newStock = newStock;
+    }
+    public void commitAfterTransaction() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed = true;
+            commit();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+            @Override
+            public void afterCompletion(int status) {
+                if (commitStart != 0) {
+                    commitTime = System.nanoTime() - commitStart;
+                }
+                committed = status == STATUS_COMMITTED;
+                commit();
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.inventory.projection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+public final class FieldSelection {
+    public static final String PARAMETER = "fields";
+    static final String REQUEST_ATTRIBUTE = FieldSelection.class.getName();
+    private static final FieldSelection ALL = new FieldSelection(null, Set.of());
+    private static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+    private final String filterId;
+    private final Set<String> names;
+    private FieldSelection(String filterId, Set<String> names) {
+        this.filterId = filterId;
+        this.names = names;
+    }
+    public static FieldSelection all() {
+        return ALL;
+    }
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        JsonFilter filter = dtoType.getAnnotation(JsonFilter.class);
+        if (filter == null) {
+            throw new IllegalStateException(dtoType.getSimpleName() + " does not support field selection");
+        }
+        Set<String> allowed = PROPERTIES.computeIfAbsent(dtoType, FieldSelection::propertiesOf);
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "'; allowed fields are " + allowed);
+            }
+            names.add(trimmed);
+        }
+        return names.isEmpty() ? ALL : new FieldSelection(filter.value(), Collections.unmodifiableSet(names));
+    }
+    public static FilterProvider serializeAll() {
+        return SERIALIZE_ALL;
+    }
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+    public boolean includes(String name) {
+        return names.isEmpty() || names.contains(name);
+    }
+    public boolean includesAny(String... candidates) {
+        return Arrays.stream(candidates).anyMatch(this::includes);
+    }
+    public boolean isCoveredBy(Collection<String> available) {
+        return !names.isEmpty() && available.containsAll(names);
+    }
+    public Set<String> names() {
+        return names;
+    }
+    public String key() {
+        return names.isEmpty() ? "*" : String.join(",", new TreeSet<>(names));
+    }
+    public FilterProvider filters() {
+        if (names.isEmpty()) {
+            return SERIALIZE_ALL;
+        }
+        return new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+    private static Set<String> propertiesOf(Class<?> dtoType) {
+        return Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory.projection;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+public class FieldSelectionArgumentResolver implements HandlerMethodArgumentResolver {
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == FieldSelection.class
+                && parameter.hasParameterAnnotation(SparseFields.class);
+    }
+    @Override
+    public FieldSelection resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        SparseFields sparseFields = parameter.getParameterAnnotation(SparseFields.class);
+        FieldSelection selection = FieldSelection.parse(
+                webRequest.getParameter(FieldSelection.PARAMETER), sparseFields.value());
+        if (!selection.isAll()) {
+            webRequest.setAttribute(FieldSelection.REQUEST_ATTRIBUTE, selection, RequestAttributes.SCOPE_REQUEST);
+        }
+        return selection;
+    }
+    static FieldSelection current(HttpServletRequest request) {
+        Object selection = request.getAttribute(FieldSelection.REQUEST_ATTRIBUTE);
+        return selection instanceof FieldSelection fieldSelection ? fieldSelection : FieldSelection.all();
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.projection;
+import java.math.BigDecimal;
+import java.util.Set;
+public record ProductSummary(Long id, String name, String sku, Long categoryId, Long supplierId,
+        BigDecimal unitPrice, Integer currentStock, Integer reorderLevel) {
+    public static final Set<String> FIELDS = Set.of("id", "name", "sku", "categoryId", "supplierId",
+            "unitPrice", "currentStock", "reorderLevel", "lowStock");
+    public boolean isLowStock() {
+        return currentStock != null && reorderLevel != null && currentStock <= reorderLevel;
+    }
+}
@@ -0,0 +1,144 @@
+package com.inventory.purge;
+import com.inventory.event.CatalogEntryDeletedEvent;
+import com.inventory.event.ProductStateChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+@Component
+public class CatalogPurger {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogPurger.class);
+    private static final int ID_BATCH = 100;
+    private static final List<String> PRODUCT_DEPENDENTS = List.of("inventory_transactions", "daily_movements",
+            "stock_snapshots", "location_stock");
+    private static final String SELECT_DELETED = "SELECT id FROM %s WHERE deleted_at IS NOT NULL AND id > ? "
+            + "ORDER BY id LIMIT " + ID_BATCH;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean purgeQueued = new AtomicBoolean();
+    public CatalogPurger(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.purge.enabled:true}") boolean enabled,
+            @Value("${inventory.purge.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (event.isDeleted()) {
+            requestPurge();
+        }
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogEntryDeleted(CatalogEntryDeletedEvent event) {
+        requestPurge();
+    }
+    @Scheduled(fixedDelayString = "${inventory.purge.interval-ms:300000}")
+    public void scheduledPurge() {
+        requestPurge();
+    }
+    public void requestPurge() {
+        if (enabled && purgeQueued.compareAndSet(false, true)) {
+            worker.submit(() -> {
+                purgeQueued.set(false);
+                purge();
+            });
+        }
+    }
+    public synchronized PurgeTotals purge() {
+        long start = System.currentTimeMillis();
+        PurgeTotals totals = purgeDeleted("products", this::purgeProduct)
+                .plus(purgeDeleted("categories", this::purgeCategory))
+                .plus(purgeDeleted("suppliers", this::purgeSupplier));
+        if (totals.rows() > 0) {
+            logger.info("Purged {} products, {} categories and {} suppliers ({} rows) in {} ms", totals.products(),
+                    totals.categories(), totals.suppliers(), totals.rows(), System.currentTimeMillis() - start);
+        }
+        return totals;
+    }
+    private PurgeTotals purgeProduct(Long productId) {
+        long rows = 0;
+        try {
+            for (String table : PRODUCT_DEPENDENTS) {
+                rows += deleteInChunks("DELETE FROM " + table + " WHERE product_id = ? LIMIT " + chunkSize, productId);
+            }
+            rows += update("DELETE FROM products WHERE id = ? AND deleted_at IS NOT NULL", productId);
+            return new PurgeTotals(1, 0, 0, rows);
+        } catch (RuntimeException e) {
+            logger.warn("Purge of product {} stopped after {} rows, will retry: {}", productId, rows, e.getMessage());
+            return new PurgeTotals(0, 0, 0, rows);
+        }
+    }
+    private PurgeTotals purgeCategory(Long categoryId) {
+        int deleted = update("DELETE FROM categories WHERE id = ? AND deleted_at IS NOT NULL "
+                + "AND NOT EXISTS (SELECT 1 FROM products p WHERE p.category_id = categories.id)", categoryId);
+        return new PurgeTotals(0, deleted, 0, deleted);
+    }
+    private PurgeTotals purgeSupplier(Long supplierId) {
+        if (exists("SELECT COUNT(*) FROM products WHERE supplier_id = ?", supplierId)) {
+            return PurgeTotals.EMPTY;
+        }
+        long rows = deleteInChunks("DELETE FROM purchase_order_draft_lines WHERE draft_id IN "
+                + "(SELECT id FROM purchase_order_drafts WHERE supplier_id = ?) LIMIT " + chunkSize, supplierId);
+        rows += update("DELETE FROM purchase_order_drafts WHERE supplier_id = ?", supplierId);
+        int deleted = update("DELETE FROM suppliers WHERE id = ? AND deleted_at IS NOT NULL", supplierId);
+        return new PurgeTotals(0, 0, deleted, rows + deleted);
+    }
+    private long deleteInChunks(String sql, Long id) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = update(sql, id);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+    private int update(String sql, Long id) {
+        Integer updated = writeTemplate.execute(status -> jdbcTemplate.update(sql, id));
+        return updated != null ? updated : 0;
+    }
+    private boolean exists(String sql, Long id) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, id);
+        return count != null && count > 0;
+    }
+    private PurgeTotals purgeDeleted(String table, Function<Long, PurgeTotals> purgeOne) {
+        PurgeTotals totals = PurgeTotals.EMPTY;
+        long after = 0;
+        List<Long> batch;
+        do {
+            batch = jdbcTemplate.queryForList(String.format(SELECT_DELETED, table), Long.class, after);
+            for (Long id : batch) {
+                totals = totals.plus(purgeOne.apply(id));
+                after = id;
+            }
+        } while (batch.size() == ID_BATCH);
+        return totals;
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.purge;
+public record PurgeTotals(long products, long categories, long suppliers, long rows) {
+    public static final PurgeTotals EMPTY = new PurgeTotals(0, 0, 0, 0);
+    public PurgeTotals plus(PurgeTotals other) {
+        return new PurgeTotals(products + other.products,
+                categories + other.categories,
+                suppliers + other.suppliers,
+                rows + other.rows);
+    }
+}
@@ -0,0 +1,3 @@
+package com.inventory.reconciliation;
+public record LedgerBalance(Long productId, String sku, Integer currentStock, Long ledgerNet) {
+}
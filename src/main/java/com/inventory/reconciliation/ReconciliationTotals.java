@@ -0,0 +1,11 @@
+package com.inventory.reconciliation;
+public record ReconciliationTotals(long productsChecked, long discrepancies, long netDifference,
+        long correctionsWritten) {
+    public static final ReconciliationTotals EMPTY = new ReconciliationTotals(0, 0, 0, 0);
+    public ReconciliationTotals plus(ReconciliationTotals other) {
+        return new ReconciliationTotals(productsChecked + other.productsChecked,
+                discrepancies + other.discrepancies,
+                netDifference + other.netDifference,
+                correctionsWritten + other.correctionsWritten);
+    }
+}
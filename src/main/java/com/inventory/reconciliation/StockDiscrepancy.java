@@ -0,0 +1,3 @@
+package com.inventory.reconciliation;
+public record StockDiscrepancy(Long productId, String sku, int currentStock, long ledgerNet, long difference) {
+}
@@ -0,0 +1,252 @@
+package com.inventory.reconciliation;
+import com.inventory.archive.ArchiveFilter;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerSegment;
+import com.inventory.archive.LedgerSegmentRegistry;
+import com.inventory.entity.Product;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.history.StockHistory;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+@Component
+public class StockReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(StockReconciler.class);
+    private static final String CREATED_BY = "reconciliation";
+    private static final String LOCK_NAME = "stock-reconciliation";
+    private static final String INSERT_ADJUSTMENT = "INSERT INTO inventory_transactions "
+            + "(product_id, transaction_type, quantity, reference_number, notes, transaction_date, created_by) "
+            + "VALUES (?, 'ADJUSTMENT', ?, ?, ?, ?, ?)";
+    private final ProductRepository productRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    private final DailyMovementRepository dailyMovementRepository;
+    private final LedgerArchive ledgerArchive;
+    private final LedgerSegmentRegistry segmentRegistry;
+    private final ClusterJobLock jobLock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+    private final int maxReported;
+    private final boolean correctOnSchedule;
+    public StockReconciler(ProductRepository productRepository,
+            InventoryTransactionRepository transactionRepository,
+            DailyMovementRepository dailyMovementRepository,
+            LedgerArchive ledgerArchive,
+            LedgerSegmentRegistry segmentRegistry,
+            ClusterJobLock jobLock,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reconciliation.chunk-size:2000}") long chunkSize,
+            @Value("${inventory.reconciliation.parallelism:4}") int parallelism,
+            @Value("${inventory.reconciliation.max-reported:500}") int maxReported,
+            @Value("${inventory.reconciliation.correct-on-schedule:false}") boolean correctOnSchedule) {
+        this.productRepository = productRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.ledgerArchive = ledgerArchive;
+        this.segmentRegistry = segmentRegistry;
+        this.jobLock = jobLock;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReported = Math.max(0, maxReported);
+        this.correctOnSchedule = correctOnSchedule;
+    }
+    @Scheduled(cron = "${inventory.reconciliation.cron:0 0 4 * * SUN}")
+    public void scheduledRun() {
+        try {
+            run(correctOnSchedule);
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled stock reconciliation: {}", e.getMessage());
+        }
+    }
+    public ReconciliationRun run(boolean correct) {
+        return jobLock.tryRun(LOCK_NAME, () -> reconcile(correct))
+                .orElseThrow(() -> new IllegalStateException("A stock reconciliation run is already in progress"));
+    }
+    private ReconciliationRun reconcile(boolean correct) {
+        if (correct) {
+            segmentRegistry.requireComplete("correct stock levels");
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime archivedUntil = ledgerArchive.getArchivedUntil();
+        RunContext context = new RunContext(correct, "RECON-" + start, archivedUntil, archivedNet(),
+                new ConcurrentLinkedQueue<>(), new AtomicInteger());
+        ReconciliationTotals totals = ReconciliationTotals.EMPTY;
+        Long minId = productRepository.findMinId();
+        Long maxId = productRepository.findMaxId();
+        if (minId != null && maxId != null) {
+            totals = pool.invoke(new ChunkTask(minId, maxId, context));
+        }
+        List<StockDiscrepancy> discrepancies = new ArrayList<>(context.reported());
+        discrepancies.sort(Comparator.comparing(StockDiscrepancy::productId));
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Stock reconciliation checked {} products, found {} discrepancies (net {}), wrote {} corrections ({} ms)",
+                totals.productsChecked(), totals.discrepancies(), totals.netDifference(),
+                totals.correctionsWritten(), duration);
+        return new ReconciliationRun(totals, discrepancies, correct, duration);
+    }
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    private Map<Long, Long> archivedNet() {
+        return pool.submit(() -> ledgerArchive.getSegments().parallelStream()
+                .collect(HashMap<Long, Long>::new, StockReconciler::addSegmentNet, StockReconciler::mergeNet))
+                .join();
+    }
+    private static void addSegmentNet(Map<Long, Long> net, LedgerSegment segment) {
+        segment.forEach(ArchiveFilter.all(), row -> net.merge(row.productId(),
+                StockHistory.signedQuantity(row.transactionType(), row.quantity()), Long::sum));
+    }
+    private static void mergeNet(Map<Long, Long> net, Map<Long, Long> other) {
+        other.forEach((productId, quantity) -> net.merge(productId, quantity, Long::sum));
+    }
+    private ReconciliationTotals processChunk(long fromId, long toId, RunContext context) {
+        List<LedgerBalance> balances = readTemplate.execute(status -> context.archivedUntil() == null
+                ? productRepository.findLedgerBalances(fromId, toId)
+                : productRepository.findLedgerBalancesSince(fromId, toId, context.archivedUntil()));
+        if (balances == null || balances.isEmpty()) {
+            return ReconciliationTotals.EMPTY;
+        }
+        List<Long> mismatched = new ArrayList<>();
+        long netDifference = 0;
+        for (LedgerBalance balance : balances) {
+            int stock = balance.currentStock() != null ? balance.currentStock() : 0;
+            long ledgerNet = balance.ledgerNet() + context.archivedNet().getOrDefault(balance.productId(), 0L);
+            long difference = stock - ledgerNet;
+            if (difference == 0) {
+                continue;
+            }
+            mismatched.add(balance.productId());
+            netDifference += difference;
+            if (context.reportedCount().getAndIncrement() < maxReported) {
+                context.reported().add(new StockDiscrepancy(balance.productId(), balance.sku(), stock, ledgerNet,
+                        difference));
+            }
+        }
+        long corrections = 0;
+        if (context.correct() && !mismatched.isEmpty()) {
+            Integer written = writeTemplate.execute(status -> writeCorrections(mismatched, context));
+            corrections = written != null ? written : 0;
+        }
+        return new ReconciliationTotals(balances.size(), mismatched.size(), netDifference, corrections);
+    }
+    private int writeCorrections(List<Long> productIds, RunContext context) {
+        if (!Objects.equals(ledgerArchive.getArchivedUntil(), context.archivedUntil())) {
+            throw new IllegalStateException("The ledger archive changed during reconciliation; run it again");
+        }
+        segmentRegistry.requireComplete("correct stock levels");
+        int written = 0;
+        for (Long productId : productIds) {
+            Product product = productRepository.findByIdForUpdate(productId).orElse(null);
+            if (product == null) {
+                continue;
+            }
+            Long hot = context.archivedUntil() == null
+                    ? transactionRepository.sumSignedQuantityByProduct(productId)
+                    : transactionRepository.sumSignedQuantitySince(productId, context.archivedUntil());
+            long ledgerNet = (hot != null ? hot : 0) + context.archivedNet().getOrDefault(productId, 0L);
+            long difference = product.getCurrentStock() - ledgerNet;
+            if (difference == 0) {
+                continue;
+            }
+            writeCorrection(product, Math.toIntExact(difference), openingDate(product, context.archivedUntil()),
+                    context.reference());
+            written++;
+        }
+        return written;
+    }
+    private void writeCorrection(Product product, int quantity, LocalDateTime transactionDate, String reference) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ADJUSTMENT, Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, product.getId());
+            statement.setInt(2, quantity);
+            statement.setString(3, reference);
+            statement.setString(4, "Opening balance correction from ledger reconciliation");
+            statement.setTimestamp(5, Timestamp.valueOf(transactionDate));
+            statement.setString(6, CREATED_BY);
+            return statement;
+        }, keyHolder);
+        dailyMovementRepository.recordMovement(product.getId(), transactionDate.toLocalDate(),
+                TransactionType.ADJUSTMENT.name(), quantity);
+        Instant occurredAt = transactionDate.atZone(ZoneId.systemDefault()).toInstant();
+        eventPublisher.publishEvent(new StockMovementEvent(product.getId(),
+                Objects.requireNonNull(keyHolder.getKey()).longValue(), TransactionType.ADJUSTMENT, quantity,
+                product.getCurrentStock(), product.getCurrentStock(), product.getStockVersion(), CREATED_BY,
+                occurredAt));
+    }
+    private LocalDateTime openingDate(Product product, LocalDateTime archivedUntil) {
+        LocalDateTime createdAt = product.getCreatedAt() != null ? product.getCreatedAt() : LocalDateTime.now();
+        return archivedUntil != null && archivedUntil.isAfter(createdAt) ? archivedUntil : createdAt;
+    }
+    public record ReconciliationRun(ReconciliationTotals totals, List<StockDiscrepancy> discrepancies,
+            boolean corrected, long durationMs) {
+    }
+    private record RunContext(boolean correct, String reference, LocalDateTime archivedUntil,
+            Map<Long, Long> archivedNet, Queue<StockDiscrepancy> reported, AtomicInteger reportedCount) {
+    }
+    private final class ChunkTask extends RecursiveTask<ReconciliationTotals> {
+        private final long fromId;
+        private final long toId;
+        private final RunContext context;
+        private ChunkTask(long fromId, long toId, RunContext context) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.context = context;
+        }
+        @Override
+        protected ReconciliationTotals compute() {
+            if (toId - fromId < chunkSize) {
+                return processChunk(fromId, toId, context);
+            }
+            long mid = fromId + (toId - fromId) / 2;
+            ChunkTask left = new ChunkTask(fromId, mid, context);
+            left.fork();
+            ReconciliationTotals right = new ChunkTask(mid + 1, toId, context).compute();
+            return left.join().plus(right);
+        }
+    }
+}
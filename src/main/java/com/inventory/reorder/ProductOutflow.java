@@ -0,0 +1,3 @@
+package com.inventory.reorder;
+public record ProductOutflow(Long productId, Long quantity) {
+}
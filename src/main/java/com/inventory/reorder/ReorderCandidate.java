@@ -0,0 +1,5 @@
+package com.inventory.reorder;
+import java.math.BigDecimal;
+public record ReorderCandidate(Long productId, String sku, Long supplierId, Integer currentStock,
+        Integer reorderLevel, BigDecimal unitPrice) {
+}
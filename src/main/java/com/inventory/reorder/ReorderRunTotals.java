@@ -0,0 +1,9 @@
+package com.inventory.reorder;
+public record ReorderRunTotals(long productsScanned, long linesSuggested, long unassignedProducts) {
+    public static final ReorderRunTotals EMPTY = new ReorderRunTotals(0, 0, 0);
+    public ReorderRunTotals plus(ReorderRunTotals other) {
+        return new ReorderRunTotals(productsScanned + other.productsScanned,
+                linesSuggested + other.linesSuggested,
+                unassignedProducts + other.unassignedProducts);
+    }
+}
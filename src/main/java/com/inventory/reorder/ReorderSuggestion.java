@@ -0,0 +1,3 @@
+package com.inventory.reorder;
+public record ReorderSuggestion(ReorderCandidate candidate, long recentOutflow, int suggestedQuantity) {
+}
@@ -0,0 +1,209 @@
+package com.inventory.reorder;
+import com.inventory.entity.TransactionType;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.PurchaseOrderDraftRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+@Component
+public class ReorderSuggestionEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ReorderSuggestionEngine.class);
+    private static final String LOCK_NAME = "reorder-suggestions";
+    private static final int ABANDONED_AFTER_HOURS = 24;
+    private static final String INSERT_DRAFTS = "INSERT INTO purchase_order_drafts "
+            + "(supplier_id, status, run_id, line_count, total_quantity, estimated_cost, generated_at) "
+            + "SELECT id, 'GENERATING', ?, 0, 0, 0, ? FROM suppliers WHERE deleted_at IS NULL";
+    private static final String SELECT_DRAFTS = "SELECT supplier_id, id FROM purchase_order_drafts WHERE run_id = ?";
+    private static final String INSERT_LINE = "INSERT INTO purchase_order_draft_lines "
+            + "(draft_id, product_id, sku, current_stock, reorder_level, recent_outflow, suggested_quantity, unit_price) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private final ProductRepository productRepository;
+    private final DailyMovementRepository dailyMovementRepository;
+    private final PurchaseOrderDraftRepository draftRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobLock jobLock;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+    private final int outflowWindowDays;
+    private final int coverDays;
+    public ReorderSuggestionEngine(ProductRepository productRepository,
+            DailyMovementRepository dailyMovementRepository,
+            PurchaseOrderDraftRepository draftRepository,
+            JdbcTemplate jdbcTemplate,
+            ClusterJobLock jobLock,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reorder.chunk-size:2000}") long chunkSize,
+            @Value("${inventory.reorder.parallelism:4}") int parallelism,
+            @Value("${inventory.reorder.outflow-window-days:30}") int outflowWindowDays,
+            @Value("${inventory.reorder.cover-days:30}") int coverDays) {
+        this.productRepository = productRepository;
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.draftRepository = draftRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLock = jobLock;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.outflowWindowDays = Math.max(1, outflowWindowDays);
+        this.coverDays = Math.max(1, coverDays);
+    }
+    @Scheduled(cron = "${inventory.reorder.cron:0 0 5 * * *}")
+    public void scheduledRun() {
+        try {
+            run();
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled reorder suggestion run: {}", e.getMessage());
+        }
+    }
+    public ReorderRun run() {
+        return jobLock.tryRun(LOCK_NAME, this::generate)
+                .orElseThrow(() -> new IllegalStateException("A reorder suggestion run is already in progress"));
+    }
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    ReorderSuggestion suggest(ReorderCandidate candidate, long recentOutflow) {
+        int stock = candidate.currentStock() != null ? candidate.currentStock() : 0;
+        int reorderLevel = candidate.reorderLevel() != null ? candidate.reorderLevel() : 0;
+        long forecast = (long) Math.ceil((double) recentOutflow * coverDays / outflowWindowDays);
+        if (stock > reorderLevel && stock >= forecast) {
+            return null;
+        }
+        long orderUpTo = reorderLevel + Math.max(forecast, reorderLevel);
+        long quantity = Math.min(Integer.MAX_VALUE, orderUpTo - stock);
+        return quantity > 0 ? new ReorderSuggestion(candidate, recentOutflow, (int) quantity) : null;
+    }
+    private ReorderRun generate() {
+        long start = System.currentTimeMillis();
+        String runId = UUID.randomUUID().toString();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<Long, Long> draftIds = Objects.requireNonNull(writeTemplate.execute(status -> createDrafts(runId, startedAt)));
+        ReorderRunTotals totals = ReorderRunTotals.EMPTY;
+        Long minId = productRepository.findMinId();
+        Long maxId = productRepository.findMaxId();
+        if (minId != null && maxId != null) {
+            LocalDate since = LocalDate.now().minusDays(outflowWindowDays);
+            totals = pool.invoke(new ChunkTask(minId, maxId, since, draftIds));
+        }
+        LocalDateTime abandonedBefore = startedAt.minusHours(ABANDONED_AFTER_HOURS);
+        int drafts = Objects.requireNonNull(writeTemplate.execute(status -> {
+            draftRepository.deleteEmptyDraftsOfRun(runId);
+            int published = draftRepository.publishRun(runId);
+            draftRepository.deleteLinesOfSupersededRuns(runId, abandonedBefore);
+            draftRepository.deleteSupersededRuns(runId, abandonedBefore);
+            return published;
+        }));
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Reorder run {} scanned {} products and suggested {} lines across {} suppliers ({} ms)",
+                runId, totals.productsScanned(), totals.linesSuggested(), drafts, duration);
+        return new ReorderRun(runId, totals, drafts, duration);
+    }
+    private Map<Long, Long> createDrafts(String runId, LocalDateTime generatedAt) {
+        jdbcTemplate.update(INSERT_DRAFTS, runId, Timestamp.valueOf(generatedAt));
+        Map<Long, Long> draftIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_DRAFTS, row -> {
+            draftIds.put(row.getLong(1), row.getLong(2));
+        }, runId);
+        return Map.copyOf(draftIds);
+    }
+    private ReorderRunTotals processChunk(long fromId, long toId, LocalDate since, Map<Long, Long> draftIds) {
+        List<ReorderCandidate> candidates = readTemplate.execute(status -> productRepository.findReorderCandidates(fromId, toId));
+        if (candidates == null || candidates.isEmpty()) {
+            return ReorderRunTotals.EMPTY;
+        }
+        Map<Long, Long> outflows = Objects.requireNonNull(readTemplate.execute(status -> dailyMovementRepository
+                        .sumQuantityByProductRange(fromId, toId, TransactionType.STOCK_OUT, since)))
+                .stream()
+                .collect(Collectors.toMap(ProductOutflow::productId, ProductOutflow::quantity));
+        List<ReorderSuggestion> suggestions = new ArrayList<>();
+        List<Long> lineDraftIds = new ArrayList<>();
+        long unassigned = 0;
+        for (ReorderCandidate candidate : candidates) {
+            ReorderSuggestion suggestion = suggest(candidate, outflows.getOrDefault(candidate.productId(), 0L));
+            if (suggestion == null) {
+                continue;
+            }
+            Long draftId = candidate.supplierId() != null ? draftIds.get(candidate.supplierId()) : null;
+            if (draftId == null) {
+                unassigned++;
+            } else {
+                suggestions.add(suggestion);
+                lineDraftIds.add(draftId);
+            }
+        }
+        if (!suggestions.isEmpty()) {
+            writeTemplate.executeWithoutResult(status -> insertLines(suggestions, lineDraftIds));
+        }
+        return new ReorderRunTotals(candidates.size(), suggestions.size(), unassigned);
+    }
+    private void insertLines(List<ReorderSuggestion> suggestions, List<Long> lineDraftIds) {
+        List<Object[]> rows = new ArrayList<>(suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            ReorderSuggestion suggestion = suggestions.get(i);
+            ReorderCandidate candidate = suggestion.candidate();
+            rows.add(new Object[] {
+                    lineDraftIds.get(i),
+                    candidate.productId(),
+                    candidate.sku(),
+                    candidate.currentStock(),
+                    candidate.reorderLevel(),
+                    suggestion.recentOutflow(),
+                    suggestion.suggestedQuantity(),
+                    candidate.unitPrice()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE, rows);
+    }
+    public record ReorderRun(String runId, ReorderRunTotals totals, int draftsCreated, long durationMs) {
+    }
+    private final class ChunkTask extends RecursiveTask<ReorderRunTotals> {
+        private final long fromId;
+        private final long toId;
+        private final LocalDate since;
+        private final Map<Long, Long> draftIds;
+        private ChunkTask(long fromId, long toId, LocalDate since, Map<Long, Long> draftIds) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.since = since;
+            this.draftIds = draftIds;
+        }
+        @Override
+        protected ReorderRunTotals compute() {
+            if (toId - fromId < chunkSize) {
+                return processChunk(fromId, toId, since, draftIds);
+            }
+            long mid = fromId + (toId - fromId) / 2;
+            ChunkTask left = new ChunkTask(fromId, mid, since, draftIds);
+            left.fork();
+            ReorderRunTotals right = new ChunkTask(mid + 1, toId, since, draftIds).compute();
+            return left.join().plus(right);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 ﻿package com.inventory.repository;
+import com.inventory.catalog.NamedId;
 import com.inventory.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -10,4 +16,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByNameIgnoreCase(String name);
     @Query("SELECT c FROM Category c WHERE LOWER(c.name) = LOWER(:name) AND c.id != :id")
     Optional<Category> findByNameIgnoreCaseAndIdNot(String name, Long id);
+    @Query("SELECT new com.inventory.catalog.NamedId(c.id, c.name) FROM Category c WHERE LOWER(c.name) IN :names")
+    List<NamedId> findIdsByLowerNameIn(@Param("names") Collection<String> names);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories SET deleted_at = :now, name = CONCAT('~deleted~', id) "
+            + "WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,64 @@
+package com.inventory.repository;
+import com.inventory.dto.DailyMovementDTO;
+import com.inventory.entity.DailyMovement;
+import com.inventory.entity.TransactionType;
+import com.inventory.reorder.ProductOutflow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+@Repository
+public interface DailyMovementRepository extends JpaRepository<DailyMovement, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_movements (product_id, movement_date, transaction_type, total_quantity, transaction_count) "
+            + "VALUES (:productId, :day, :type, :quantity, 1) "
+            + "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + :quantity, transaction_count = transaction_count + 1",
+            nativeQuery = true)
+    void recordMovement(@Param("productId") Long productId, @Param("day") LocalDate day,
+            @Param("type") String type, @Param("quantity") long quantity);
+    @Query("SELECT new com.inventory.dto.DailyMovementDTO(d.movementDate, d.transactionType, d.totalQuantity, d.transactionCount) "
+            + "FROM DailyMovement d WHERE d.productId = :productId AND d.movementDate BETWEEN :from AND :to "
+            + "ORDER BY d.movementDate, d.transactionType")
+    List<DailyMovementDTO> findProductSeries(@Param("productId") Long productId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+    @Query("SELECT new com.inventory.dto.DailyMovementDTO(d.movementDate, d.transactionType, SUM(d.totalQuantity), SUM(d.transactionCount)) "
+            + "FROM DailyMovement d JOIN Product p ON p.id = d.productId "
+            + "WHERE p.category.id = :categoryId AND d.movementDate BETWEEN :from AND :to "
+            + "GROUP BY d.movementDate, d.transactionType ORDER BY d.movementDate, d.transactionType")
+    List<DailyMovementDTO> findCategorySeries(@Param("categoryId") Long categoryId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+    @Query(value = "SELECT COALESCE(MIN(product_id), 0) FROM inventory_transactions", nativeQuery = true)
+    Long findMinLedgerProductId();
+    @Query(value = "SELECT COALESCE(MAX(product_id), 0) FROM inventory_transactions", nativeQuery = true)
+    Long findMaxLedgerProductId();
+    @Modifying
+    @Query(value = "DELETE FROM daily_movements WHERE product_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteByProductIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Modifying
+    @Query(value = "INSERT INTO daily_movements (product_id, movement_date, transaction_type, total_quantity, transaction_count) "
+            + "SELECT product_id, CAST(transaction_date AS DATE), transaction_type, SUM(quantity), COUNT(*) "
+            + "FROM inventory_transactions WHERE product_id BETWEEN :fromId AND :toId "
+            + "GROUP BY product_id, CAST(transaction_date AS DATE), transaction_type", nativeQuery = true)
+    int rebuildForProductIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Modifying
+    @Query(value = "DELETE FROM daily_movements WHERE product_id BETWEEN :fromId AND :toId AND movement_date >= :since",
+            nativeQuery = true)
+    int deleteByProductIdRangeSince(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("since") LocalDate since);
+    @Modifying
+    @Query(value = "INSERT INTO daily_movements (product_id, movement_date, transaction_type, total_quantity, transaction_count) "
+            + "SELECT product_id, CAST(transaction_date AS DATE), transaction_type, SUM(quantity), COUNT(*) "
+            + "FROM inventory_transactions WHERE product_id BETWEEN :fromId AND :toId AND transaction_date >= :since "
+            + "GROUP BY product_id, CAST(transaction_date AS DATE), transaction_type", nativeQuery = true)
+    int rebuildForProductIdRangeSince(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("since") LocalDateTime since);
+    @Query("SELECT new com.inventory.reorder.ProductOutflow(d.productId, SUM(d.totalQuantity)) FROM DailyMovement d "
+            + "WHERE d.productId BETWEEN :fromId AND :toId AND d.transactionType = :type AND d.movementDate >= :since "
+            + "GROUP BY d.productId")
+    List<ProductOutflow> sumQuantityByProductRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("type") TransactionType type, @Param("since") LocalDate since);
+}
@@ -1,6 +1,7 @@
 ﻿package com.inventory.repository;
 import com.inventory.entity.InventoryTransaction;
 import com.inventory.entity.TransactionType;
+import com.inventory.history.StockPoint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,9 +13,15 @@ import java.util.List;
 @Repository
 public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
     Page<InventoryTransaction> findByProductId(Long productId, Pageable pageable);
-    Page<InventoryTransaction> findByTransactionType(TransactionType type, Pageable pageable);
+    @Query(value = "SELECT t FROM InventoryTransaction t JOIN t.product p WHERE p.deletedAt IS NULL",
+            countQuery = "SELECT COUNT(t) FROM InventoryTransaction t JOIN t.product p WHERE p.deletedAt IS NULL")
+    Page<InventoryTransaction> findAllOfActiveProducts(Pageable pageable);
+    @Query(value = "SELECT t FROM InventoryTransaction t JOIN t.product p WHERE t.transactionType = :type AND p.deletedAt IS NULL",
+            countQuery = "SELECT COUNT(t) FROM InventoryTransaction t JOIN t.product p WHERE t.transactionType = :type AND p.deletedAt IS NULL")
+    Page<InventoryTransaction> findByTransactionType(@Param("type") TransactionType type, Pageable pageable);
     List<InventoryTransaction> findByProductIdAndTransactionType(Long productId, TransactionType type);
-    @Query("SELECT t FROM InventoryTransaction t WHERE t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
+    @Query(value = "SELECT t FROM InventoryTransaction t JOIN t.product p WHERE t.transactionDate BETWEEN :startDate AND :endDate AND p.deletedAt IS NULL ORDER BY t.transactionDate DESC",
+            countQuery = "SELECT COUNT(t) FROM InventoryTransaction t JOIN t.product p WHERE t.transactionDate BETWEEN :startDate AND :endDate AND p.deletedAt IS NULL")
     Page<InventoryTransaction> findByDateRange(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
@@ -23,4 +30,23 @@ public interface InventoryTransactionRepository extends JpaRepository<InventoryT
     List<InventoryTransaction> findRecentByProductId(@Param("productId") Long productId, Pageable pageable);
     @Query("SELECT COALESCE(SUM(t.quantity), 0) FROM InventoryTransaction t WHERE t.product.id = :productId AND t.transactionType = :type")
     Integer sumQuantityByProductAndType(@Param("productId") Long productId, @Param("type") TransactionType type);
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END), 0) FROM InventoryTransaction t "
+            + "WHERE t.product.id = :productId AND t.transactionDate >= :from AND t.transactionDate < :to")
+    Long sumSignedQuantity(@Param("productId") Long productId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END), 0) FROM InventoryTransaction t WHERE t.product.id = :productId")
+    Long sumSignedQuantityByProduct(@Param("productId") Long productId);
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END), 0) FROM InventoryTransaction t "
+            + "WHERE t.product.id = :productId AND t.transactionDate >= :from")
+    Long sumSignedQuantitySince(@Param("productId") Long productId, @Param("from") LocalDateTime from);
+    @Query("SELECT new com.inventory.history.StockPoint(t.product.id, SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END)) FROM InventoryTransaction t "
+            + "WHERE t.product.id BETWEEN :fromId AND :toId AND t.transactionDate >= :from AND t.transactionDate < :to "
+            + "GROUP BY t.product.id")
+    List<StockPoint> sumSignedQuantityByProductRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    @Query("SELECT new com.inventory.history.StockPoint(t.product.id, SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END)) FROM InventoryTransaction t "
+            + "WHERE t.product.id BETWEEN :fromId AND :toId AND t.transactionDate >= :from "
+            + "GROUP BY t.product.id")
+    List<StockPoint> sumSignedQuantityByProductRangeSince(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("from") LocalDateTime from);
 }
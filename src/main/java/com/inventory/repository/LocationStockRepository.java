@@ -0,0 +1,48 @@
+package com.inventory.repository;
+import com.inventory.dto.LocationStockDTO;
+import com.inventory.entity.LocationStock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+@Repository
+public interface LocationStockRepository extends JpaRepository<LocationStock, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO location_stock (product_id, location_id, quantity) VALUES (:productId, :locationId, :quantity) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity", nativeQuery = true)
+    void addQuantity(@Param("productId") Long productId, @Param("locationId") Long locationId,
+            @Param("quantity") int quantity);
+    @Modifying
+    @Query(value = "INSERT INTO location_stock (product_id, location_id, quantity) "
+            + "SELECT p.id, :locationId, p.current_stock FROM products p WHERE p.id IN (:productIds) "
+            + "AND NOT EXISTS (SELECT 1 FROM location_stock s WHERE s.product_id = p.id) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity", nativeQuery = true)
+    int adoptUnallocatedStock(@Param("productIds") Collection<Long> productIds, @Param("locationId") Long locationId);
+    @Query("SELECT DISTINCT s.productId FROM LocationStock s WHERE s.productId IN :productIds")
+    List<Long> findAllocatedProductIds(@Param("productIds") Collection<Long> productIds);
+    @Query("SELECT s FROM LocationStock s WHERE s.productId IN :productIds AND s.quantity < 0 "
+            + "ORDER BY s.productId, s.locationId")
+    List<LocationStock> findOverdrawn(@Param("productIds") Collection<Long> productIds);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LocationStock s WHERE s.locationId = :locationId AND s.productId IN :productIds "
+            + "ORDER BY s.productId")
+    List<LocationStock> findAtLocationForUpdate(@Param("locationId") Long locationId,
+            @Param("productIds") Collection<Long> productIds);
+    @Modifying
+    @Query("UPDATE LocationStock s SET s.quantity = s.quantity - :quantity "
+            + "WHERE s.productId = :productId AND s.locationId = :locationId AND s.quantity >= :quantity")
+    int removeQuantity(@Param("productId") Long productId, @Param("locationId") Long locationId,
+            @Param("quantity") int quantity);
+    @Query("SELECT s.quantity FROM LocationStock s WHERE s.productId = :productId AND s.locationId = :locationId")
+    Optional<Integer> findQuantity(@Param("productId") Long productId, @Param("locationId") Long locationId);
+    @Query("SELECT new com.inventory.dto.LocationStockDTO(l.id, l.code, l.name, s.quantity) "
+            + "FROM LocationStock s JOIN Location l ON l.id = s.locationId "
+            + "WHERE s.productId = :productId ORDER BY l.code")
+    List<LocationStockDTO> findLevelsByProductId(@Param("productId") Long productId);
+}
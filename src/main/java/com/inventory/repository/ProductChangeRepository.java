@@ -0,0 +1,24 @@
+package com.inventory.repository;
+import com.inventory.entity.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+    @Query("SELECT c FROM ProductChange c WHERE c.id > :since ORDER BY c.id")
+    List<ProductChange> findAfter(@Param("since") Long since, Pageable pageable);
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ProductChange c")
+    Long findHead();
+    @Query("SELECT MIN(c.id) FROM ProductChange c")
+    Long findTail();
+    @Query("SELECT MAX(c.id) FROM ProductChange c WHERE c.changedAt < :before")
+    Long findMaxIdBefore(@Param("before") LocalDateTime before);
+    @Modifying
+    @Query(value = "DELETE FROM product_changes WHERE id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteByIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -1,11 +1,22 @@
 ﻿package com.inventory.repository;
+import com.inventory.catalog.ExistingProduct;
+import com.inventory.cyclecount.CountedProduct;
 import com.inventory.entity.Product;
+import com.inventory.projection.ProductSummary;
+import com.inventory.reconciliation.LedgerBalance;
+import com.inventory.reorder.ReorderCandidate;
+import com.inventory.valuation.ValuationRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 @Repository
@@ -22,6 +33,82 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findLowStockProducts();
     @Query("SELECT p FROM Product p WHERE p.currentStock <= p.reorderLevel")
     Page<Product> findLowStockProducts(Pageable pageable);
+    @Query(value = "SELECT new com.inventory.projection.ProductSummary(p.id, p.name, p.sku, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel) FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+    @Query(value = "SELECT new com.inventory.projection.ProductSummary(p.id, p.name, p.sku, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel, p.stockVersion) "
+            + "FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<ProductSummary> findSummariesByName(@Param("name") String name, Pageable pageable);
+    @Query(value = "SELECT new com.inventory.projection.ProductSummary(p.id, p.name, p.sku, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel, p.stockVersion) "
+            + "FROM Product p WHERE p.category.id = :categoryId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    Page<ProductSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    @Query(value = "SELECT new com.inventory.projection.ProductSummary(p.id, p.name, p.sku, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel, p.stockVersion) "
+            + "FROM Product p WHERE p.supplier.id = :supplierId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.supplier.id = :supplierId")
+    Page<ProductSummary> findSummariesBySupplierId(@Param("supplierId") Long supplierId, Pageable pageable);
+    @Query("SELECT new com.inventory.projection.ProductSummary(p.id, p.name, p.sku, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel, p.stockVersion) "
+            + "FROM Product p WHERE p.currentStock <= p.reorderLevel")
+    List<ProductSummary> findLowStockSummaries();
     long countByCategoryId(Long categoryId);
     long countBySupplierId(Long supplierId);
+    @Query("SELECT MIN(p.id) FROM Product p")
+    Long findMinId();
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Long findMaxId();
+    @Query("SELECT new com.inventory.valuation.ValuationRow(p.id, p.category.id, p.supplier.id, p.unitPrice, p.currentStock) "
+            + "FROM Product p WHERE p.id BETWEEN :fromId AND :toId")
+    List<ValuationRow> findValuationRows(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Query("SELECT new com.inventory.valuation.ValuationRow(p.id, p.category.id, p.supplier.id, p.unitPrice, p.currentStock) "
+            + "FROM Product p WHERE p.id BETWEEN :fromId AND :toId AND p.createdAt < :asOf")
+    List<ValuationRow> findValuationRowsCreatedBefore(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("asOf") LocalDateTime asOf);
+    @Query("SELECT new com.inventory.reorder.ReorderCandidate(p.id, p.sku, p.supplier.id, p.currentStock, p.reorderLevel, p.unitPrice) "
+            + "FROM Product p WHERE p.id BETWEEN :fromId AND :toId")
+    List<ReorderCandidate> findReorderCandidates(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE p.id IN :ids")
+    List<Product> findAllWithRelationsByIdIn(@Param("ids") Collection<Long> ids);
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE p.sku IN :skus")
+    List<Product> findAllWithRelationsBySkuIn(@Param("skus") Collection<String> skus);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.currentStock = p.currentStock + :delta, p.stockVersion = p.stockVersion + 1, "
+            + "p.updatedAt = :now WHERE p.id = :id")
+    int adjustCurrentStock(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    @Query("SELECT new com.inventory.cyclecount.CountedProduct(p.id, p.sku) FROM Product p WHERE p.sku IN :skus")
+    List<CountedProduct> findCountedProducts(@Param("skus") Collection<String> skus);
+    @Query("SELECT new com.inventory.catalog.ExistingProduct(p.id, p.sku, p.name, p.description, p.category.id, p.supplier.id, p.unitPrice, p.currentStock, p.reorderLevel, p.stockVersion) "
+            + "FROM Product p WHERE p.sku IN :skus")
+    List<ExistingProduct> findExistingBySkuIn(@Param("skus") Collection<String> skus);
+    @Query("SELECT new com.inventory.reconciliation.LedgerBalance(p.id, p.sku, p.currentStock, COALESCE(SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END), 0)) "
+            + "FROM Product p LEFT JOIN InventoryTransaction t ON t.product = p "
+            + "WHERE p.id BETWEEN :fromId AND :toId GROUP BY p.id, p.sku, p.currentStock")
+    List<LedgerBalance> findLedgerBalances(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Query("SELECT new com.inventory.reconciliation.LedgerBalance(p.id, p.sku, p.currentStock, COALESCE(SUM(CASE WHEN t.transactionType IN (com.inventory.entity.TransactionType.STOCK_OUT, com.inventory.entity.TransactionType.TRANSFER_OUT) THEN -t.quantity ELSE t.quantity END), 0)) "
+            + "FROM Product p LEFT JOIN InventoryTransaction t ON t.product = p AND t.transactionDate >= :from "
+            + "WHERE p.id BETWEEN :fromId AND :toId GROUP BY p.id, p.sku, p.currentStock")
+    List<LedgerBalance> findLedgerBalancesSince(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("from") LocalDateTime from);
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+    @Query("SELECT p.id FROM Product p WHERE p.supplier.id = :supplierId")
+    List<Long> findIdsBySupplierId(@Param("supplierId") Long supplierId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products SET deleted_at = :now, sku = CONCAT('~deleted~', id) "
+            + "WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products SET deleted_at = :now, sku = CONCAT('~deleted~', id) "
+            + "WHERE category_id = :categoryId AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteByCategoryId(@Param("categoryId") Long categoryId, @Param("now") LocalDateTime now);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products SET deleted_at = :now, sku = CONCAT('~deleted~', id) "
+            + "WHERE supplier_id = :supplierId AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteBySupplierId(@Param("supplierId") Long supplierId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,10 @@
+package com.inventory.repository;
+import com.inventory.entity.PurchaseOrderDraftLine;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+@Repository
+public interface PurchaseOrderDraftLineRepository extends JpaRepository<PurchaseOrderDraftLine, Long> {
+    Page<PurchaseOrderDraftLine> findByDraftId(Long draftId, Pageable pageable);
+}
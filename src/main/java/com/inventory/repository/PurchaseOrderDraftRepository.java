@@ -0,0 +1,44 @@
+package com.inventory.repository;
+import com.inventory.entity.PurchaseOrderDraft;
+import com.inventory.entity.PurchaseOrderDraftStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+@Repository
+public interface PurchaseOrderDraftRepository extends JpaRepository<PurchaseOrderDraft, Long> {
+    @Query(value = "SELECT d FROM PurchaseOrderDraft d JOIN FETCH d.supplier WHERE d.status = :status",
+            countQuery = "SELECT COUNT(d) FROM PurchaseOrderDraft d WHERE d.status = :status")
+    Page<PurchaseOrderDraft> findByStatus(@Param("status") PurchaseOrderDraftStatus status, Pageable pageable);
+    @Query("SELECT d FROM PurchaseOrderDraft d JOIN FETCH d.supplier WHERE d.id = :id AND d.status = :status")
+    Optional<PurchaseOrderDraft> findByIdAndStatus(@Param("id") Long id,
+            @Param("status") PurchaseOrderDraftStatus status);
+    boolean existsByIdAndStatus(Long id, PurchaseOrderDraftStatus status);
+    @Modifying
+    @Query(value = "DELETE FROM purchase_order_drafts WHERE run_id = :runId AND NOT EXISTS "
+            + "(SELECT 1 FROM purchase_order_draft_lines l WHERE l.draft_id = purchase_order_drafts.id)", nativeQuery = true)
+    int deleteEmptyDraftsOfRun(@Param("runId") String runId);
+    @Modifying
+    @Query(value = "DELETE FROM purchase_order_draft_lines WHERE draft_id IN "
+            + "(SELECT id FROM purchase_order_drafts WHERE run_id <> :runId "
+            + "AND (status = 'DRAFT' OR generated_at < :abandonedBefore))", nativeQuery = true)
+    int deleteLinesOfSupersededRuns(@Param("runId") String runId, @Param("abandonedBefore") LocalDateTime abandonedBefore);
+    @Modifying
+    @Query(value = "DELETE FROM purchase_order_drafts WHERE run_id <> :runId "
+            + "AND (status = 'DRAFT' OR generated_at < :abandonedBefore)", nativeQuery = true)
+    int deleteSupersededRuns(@Param("runId") String runId, @Param("abandonedBefore") LocalDateTime abandonedBefore);
+    @Modifying
+    @Query(value = "UPDATE purchase_order_drafts SET status = 'DRAFT', "
+            + "line_count = (SELECT COUNT(*) FROM purchase_order_draft_lines l WHERE l.draft_id = purchase_order_drafts.id), "
+            + "total_quantity = (SELECT COALESCE(SUM(l.suggested_quantity), 0) FROM purchase_order_draft_lines l "
+            + "WHERE l.draft_id = purchase_order_drafts.id), "
+            + "estimated_cost = (SELECT COALESCE(SUM(l.suggested_quantity * l.unit_price), 0) "
+            + "FROM purchase_order_draft_lines l WHERE l.draft_id = purchase_order_drafts.id) "
+            + "WHERE run_id = :runId", nativeQuery = true)
+    int publishRun(@Param("runId") String runId);
+}
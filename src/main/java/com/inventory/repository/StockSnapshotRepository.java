@@ -0,0 +1,59 @@
+package com.inventory.repository;
+import com.inventory.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    Optional<StockSnapshot> findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Long productId, LocalDateTime asOf);
+    Optional<StockSnapshot> findFirstByProductIdAndSnapshotAtGreaterThanOrderBySnapshotAtAsc(
+            Long productId, LocalDateTime asOf);
+    List<StockSnapshot> findBySnapshotAtAndProductIdBetween(LocalDateTime snapshotAt, Long fromId, Long toId);
+    boolean existsBySnapshotAt(LocalDateTime snapshotAt);
+    @Query("SELECT MAX(s.snapshotAt) FROM StockSnapshot s WHERE s.snapshotAt <= :asOf")
+    LocalDateTime findLatestSnapshotAtOrBefore(@Param("asOf") LocalDateTime asOf);
+    @Query("SELECT MIN(s.snapshotAt) FROM StockSnapshot s WHERE s.snapshotAt > :asOf")
+    LocalDateTime findEarliestSnapshotAfter(@Param("asOf") LocalDateTime asOf);
+    @Query("SELECT MAX(s.snapshotAt) FROM StockSnapshot s WHERE s.snapshotAt < :before")
+    LocalDateTime findLatestSnapshotAtBefore(@Param("before") LocalDateTime before);
+    @Query("SELECT DISTINCT s.snapshotAt FROM StockSnapshot s WHERE s.snapshotAt < :before ORDER BY s.snapshotAt")
+    List<LocalDateTime> findSnapshotTimesBefore(@Param("before") LocalDateTime before);
+    @Modifying
+    @Query(value = "INSERT INTO stock_snapshots (product_id, snapshot_at, stock) "
+            + "SELECT p.id, :snapshotAt, COALESCE(s.stock, 0) + COALESCE(l.delta, 0) FROM products p "
+            + "LEFT JOIN stock_snapshots s ON s.product_id = p.id AND s.snapshot_at = :previousAt "
+            + "LEFT JOIN (SELECT product_id, SUM(CASE WHEN transaction_type IN ('STOCK_OUT', 'TRANSFER_OUT') THEN -quantity ELSE quantity END) AS delta "
+            + "FROM inventory_transactions WHERE product_id BETWEEN :fromId AND :toId "
+            + "AND transaction_date >= :previousAt AND transaction_date < :snapshotAt GROUP BY product_id) l "
+            + "ON l.product_id = p.id "
+            + "WHERE p.id BETWEEN :fromId AND :toId AND p.created_at < :snapshotAt AND p.deleted_at IS NULL",
+            nativeQuery = true)
+    int rollForward(@Param("previousAt") LocalDateTime previousAt, @Param("snapshotAt") LocalDateTime snapshotAt,
+            @Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Modifying
+    @Query(value = "INSERT INTO stock_snapshots (product_id, snapshot_at, stock) "
+            + "SELECT p.id, :snapshotAt, p.current_stock - COALESCE(l.delta, 0) FROM products p "
+            + "LEFT JOIN (SELECT product_id, SUM(CASE WHEN transaction_type IN ('STOCK_OUT', 'TRANSFER_OUT') THEN -quantity ELSE quantity END) AS delta "
+            + "FROM inventory_transactions WHERE product_id BETWEEN :fromId AND :toId "
+            + "AND transaction_date >= :snapshotAt GROUP BY product_id) l "
+            + "ON l.product_id = p.id "
+            + "WHERE p.id BETWEEN :fromId AND :toId AND p.created_at < :snapshotAt AND p.deleted_at IS NULL",
+            nativeQuery = true)
+    int captureFromCurrent(@Param("snapshotAt") LocalDateTime snapshotAt,
+            @Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Modifying
+    @Query(value = "DELETE FROM stock_snapshots WHERE snapshot_at = :snapshotAt AND product_id BETWEEN :fromId AND :toId",
+            nativeQuery = true)
+    int deleteBySnapshotAtAndProductIdRange(@Param("snapshotAt") LocalDateTime snapshotAt,
+            @Param("fromId") Long fromId, @Param("toId") Long toId);
+    @Query("SELECT MIN(s.productId) FROM StockSnapshot s WHERE s.snapshotAt = :snapshotAt")
+    Long findMinProductId(@Param("snapshotAt") LocalDateTime snapshotAt);
+    @Query("SELECT MAX(s.productId) FROM StockSnapshot s WHERE s.snapshotAt = :snapshotAt")
+    Long findMaxProductId(@Param("snapshotAt") LocalDateTime snapshotAt);
+}
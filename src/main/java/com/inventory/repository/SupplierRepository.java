@@ -1,8 +1,13 @@
 ﻿package com.inventory.repository;
+import com.inventory.catalog.NamedId;
 import com.inventory.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
@@ -12,4 +17,11 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     Optional<Supplier> findByEmailIgnoreCaseAndIdNot(String email, Long id);
     @Query("SELECT s FROM Supplier s WHERE LOWER(s.companyName) LIKE LOWER(CONCAT('%', :name, '%'))")
     java.util.List<Supplier> findByCompanyNameContainingIgnoreCase(String name);
+    @Query("SELECT new com.inventory.catalog.NamedId(s.id, s.companyName) FROM Supplier s "
+            + "WHERE LOWER(s.companyName) IN :names")
+    java.util.List<NamedId> findIdsByLowerCompanyNameIn(@Param("names") Collection<String> names);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE suppliers SET deleted_at = :now, email = CONCAT('~deleted~', id) "
+            + "WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
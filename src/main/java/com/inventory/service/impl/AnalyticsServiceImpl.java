@@ -0,0 +1,67 @@
+package com.inventory.service.impl;
+import com.inventory.analytics.ColumnarLedgerStore;
+import com.inventory.analytics.LedgerAggregate;
+import com.inventory.analytics.LedgerGroup;
+import com.inventory.analytics.LedgerGroupBy;
+import com.inventory.dto.LedgerGroupTotalDTO;
+import com.inventory.dto.LedgerStoreStatusDTO;
+import com.inventory.dto.LedgerTotalsDTO;
+import com.inventory.entity.TransactionType;
+import com.inventory.service.interfaces.AnalyticsService;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.List;
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int MAX_LIMIT = 10_000;
+    private final ColumnarLedgerStore ledgerStore;
+    public AnalyticsServiceImpl(ColumnarLedgerStore ledgerStore) {
+        this.ledgerStore = ledgerStore;
+    }
+    @Override
+    public LedgerTotalsDTO getLedgerTotals(LedgerGroupBy groupBy, LocalDateTime from, LocalDateTime to,
+            TransactionType type, Long productId, int limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long start = System.nanoTime();
+        LedgerAggregate aggregate = ledgerStore.aggregate(groupBy, from, to, type, productId);
+        List<LedgerGroupTotalDTO> groups = aggregate.groups().stream()
+                .limit(limit)
+                .map(group -> mapToGroupDTO(groupBy, group))
+                .toList();
+        return LedgerTotalsDTO.builder()
+                .groupBy(groupBy.name())
+                .rowsScanned(aggregate.rowsScanned())
+                .rowsMatched(aggregate.rowsMatched())
+                .tookMs((System.nanoTime() - start) / 1_000_000.0)
+                .groups(groups)
+                .build();
+    }
+    @Override
+    public LedgerStoreStatusDTO getLedgerStatus() {
+        return LedgerStoreStatusDTO.builder()
+                .ready(ledgerStore.isReady())
+                .rows(ledgerStore.size())
+                .distinctUsers(ledgerStore.dictionarySize())
+                .estimatedBytes(ledgerStore.estimatedBytes())
+                .build();
+    }
+    private LedgerGroupTotalDTO mapToGroupDTO(LedgerGroupBy groupBy, LedgerGroup group) {
+        String key = switch (groupBy) {
+            case TYPE -> TYPES[(int) group.key()].name();
+            case USER -> ledgerStore.decodeUser((int) group.key());
+            case PRODUCT -> String.valueOf(group.key());
+            case HOUR, DAY -> ColumnarLedgerStore.fromMinute(group.key()).toString();
+        };
+        return LedgerGroupTotalDTO.builder()
+                .key(key)
+                .quantity(group.quantity())
+                .transactionCount(group.count())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.service.impl;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerArchiver;
+import com.inventory.archive.LedgerSegment;
+import com.inventory.dto.ArchiveRunResultDTO;
+import com.inventory.dto.ArchiveSegmentDTO;
+import com.inventory.service.interfaces.ArchiveService;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.List;
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+    private final LedgerArchive ledgerArchive;
+    private final LedgerArchiver ledgerArchiver;
+    public ArchiveServiceImpl(LedgerArchive ledgerArchive, LedgerArchiver ledgerArchiver) {
+        this.ledgerArchive = ledgerArchive;
+        this.ledgerArchiver = ledgerArchiver;
+    }
+    @Override
+    public List<ArchiveSegmentDTO> getSegments() {
+        return ledgerArchive.getSegments().stream()
+                .map(this::mapToDTO)
+                .toList();
+    }
+    @Override
+    public ArchiveRunResultDTO archive(LocalDate before) {
+        LocalDate cutoff = before != null ? before : ledgerArchiver.defaultCutoff();
+        if (cutoff.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Archive cutoff must not be in the future");
+        }
+        LedgerArchiver.ArchiveRun run = ledgerArchiver.run(cutoff);
+        return ArchiveRunResultDTO.builder()
+                .cutoff(run.cutoff())
+                .segmentsWritten(run.segmentsWritten())
+                .rowsArchived(run.rowsArchived())
+                .rowsPurged(run.rowsPurged())
+                .durationMs(run.durationMs())
+                .build();
+    }
+    private ArchiveSegmentDTO mapToDTO(LedgerSegment segment) {
+        return ArchiveSegmentDTO.builder()
+                .file(segment.getPath().getFileName().toString())
+                .windowStart(segment.getWindowStart())
+                .windowEnd(segment.getWindowEnd())
+                .rowCount(segment.getRowCount())
+                .blockCount(segment.getBlockCount())
+                .sizeBytes(segment.getSizeBytes())
+                .minTransactionId(segment.getMinId())
+                .maxTransactionId(segment.getMaxId())
+                .build();
+    }
+}
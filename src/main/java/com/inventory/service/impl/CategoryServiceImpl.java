@@ -1,24 +1,32 @@
 ﻿package com.inventory.service.impl;
 import com.inventory.dto.*;
 import com.inventory.entity.Category;
+import com.inventory.event.CatalogEntryDeletedEvent;
+import com.inventory.event.ProductStateChangedEvent;
 import com.inventory.exception.DuplicateResourceException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.CategoryRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.service.interfaces.CategoryService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 @Service
 @Transactional
 @SuppressWarnings("null")
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     @Transactional(readOnly = true)
@@ -63,7 +71,14 @@ public class CategoryServiceImpl implements CategoryService {
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Category", "id", id);
         }
-        categoryRepository.deleteById(id);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> productIds = productRepository.findIdsByCategoryId(id);
+        productRepository.softDeleteByCategoryId(id, now);
+        categoryRepository.softDelete(id, now);
+        for (Long productId : productIds) {
+            eventPublisher.publishEvent(ProductStateChangedEvent.deleted(productId));
+        }
+        eventPublisher.publishEvent(CatalogEntryDeletedEvent.category(id, productIds.size()));
     }
     @Override
     @Transactional(readOnly = true)
@@ -0,0 +1,55 @@
+package com.inventory.service.impl;
+import com.inventory.cyclecount.CountRejection;
+import com.inventory.cyclecount.CycleCountApplier;
+import com.inventory.cyclecount.CycleCountTotals;
+import com.inventory.dto.CountRejectionDTO;
+import com.inventory.dto.CycleCountResultDTO;
+import com.inventory.service.interfaces.CycleCountService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+@Service
+public class CycleCountServiceImpl implements CycleCountService {
+    private final CycleCountApplier cycleCountApplier;
+    public CycleCountServiceImpl(CycleCountApplier cycleCountApplier) {
+        this.cycleCountApplier = cycleCountApplier;
+    }
+    @Override
+    public CycleCountResultDTO applyCount(InputStream counts, Long locationId, String reference) {
+        String countReference = reference != null && !reference.isBlank()
+                ? reference.trim()
+                : "COUNT-" + System.currentTimeMillis();
+        if (countReference.length() > 50) {
+            throw new IllegalArgumentException("Count reference must be at most 50 characters");
+        }
+        CycleCountApplier.CycleCountRun run = cycleCountApplier.apply(
+                new InputStreamReader(counts, StandardCharsets.UTF_8), locationId, countReference, getCurrentUsername());
+        CycleCountTotals totals = run.totals();
+        return CycleCountResultDTO.builder()
+                .reference(run.reference())
+                .locationId(run.locationId())
+                .linesRead(run.linesRead())
+                .productsCounted(totals.productsCounted())
+                .adjustments(totals.adjustments())
+                .unchanged(totals.unchanged())
+                .netAdjustment(totals.netAdjustment())
+                .rejectedLines(run.rejectedLines())
+                .rejections(run.rejections().stream().map(this::mapToDTO).toList())
+                .durationMs(run.durationMs())
+                .build();
+    }
+    private CountRejectionDTO mapToDTO(CountRejection rejection) {
+        return CountRejectionDTO.builder()
+                .line(rejection.lineNumber())
+                .sku(rejection.sku())
+                .reason(rejection.reason())
+                .build();
+    }
+    private String getCurrentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "system";
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventory.service.impl;
+import com.inventory.demand.DemandSnapshot;
+import com.inventory.demand.DemandVelocityStore;
+import com.inventory.dto.DemandForecastDTO;
+import com.inventory.entity.Product;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.DemandForecastService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("null")
+public class DemandForecastServiceImpl implements DemandForecastService {
+    private static final int MAX_DAYS = 365;
+    private final DemandVelocityStore velocityStore;
+    private final ProductRepository productRepository;
+    public DemandForecastServiceImpl(DemandVelocityStore velocityStore, ProductRepository productRepository) {
+        this.velocityStore = velocityStore;
+        this.productRepository = productRepository;
+    }
+    @Override
+    public List<DemandForecastDTO> findRunningOut(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+        List<DemandSnapshot> snapshots = velocityStore.findRunningOut(days, System.currentTimeMillis());
+        Map<Long, Product> products = productRepository.findAllById(
+                        snapshots.stream().map(DemandSnapshot::productId).toList()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return snapshots.stream()
+                .filter(snapshot -> products.containsKey(snapshot.productId()))
+                .map(snapshot -> mapToDTO(snapshot, products.get(snapshot.productId())))
+                .toList();
+    }
+    private DemandForecastDTO mapToDTO(DemandSnapshot snapshot, Product product) {
+        return DemandForecastDTO.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .currentStock(snapshot.currentStock())
+                .dailyVelocity(snapshot.dailyVelocity())
+                .daysOfCover(snapshot.daysOfCover())
+                .build();
+    }
+}
@@ -1,23 +1,54 @@
 ﻿package com.inventory.service.impl;
+import com.inventory.archive.ArchiveFilter;
+import com.inventory.archive.ArchivePage;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.coalesce.ReadCoalescer;
 import com.inventory.dto.*;
 import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
+import com.inventory.entity.LocationStock;
 import com.inventory.entity.Product;
 import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
 import com.inventory.exception.InsufficientStockException;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.location.LocationKey;
+import com.inventory.location.StockLocations;
+import com.inventory.location.StockTransferWriter;
+import com.inventory.monitoring.DtoMappingEvent;
+import com.inventory.monitoring.StockOperationEvent;
+import com.inventory.projection.FieldSelection;
+import com.inventory.projection.ProductSummary;
+import com.inventory.repository.DailyMovementRepository;
 import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.LocationStockRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.service.interfaces.InventoryNotificationService;
 import com.inventory.service.interfaces.InventoryService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Service
 @Transactional
 @SuppressWarnings("null")
@@ -25,21 +56,48 @@ public class InventoryServiceImpl implements InventoryService {
     private final ProductRepository productRepository;
     private final InventoryTransactionRepository transactionRepository;
     private final InventoryNotificationService notificationService;
+    private final DailyMovementRepository dailyMovementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerArchive ledgerArchive;
+    private final LocationStockRepository locationStockRepository;
+    private final StockLocations stockLocations;
+    private final StockTransferWriter stockTransferWriter;
+    private final ReadCoalescer readCoalescer;
     public InventoryServiceImpl(ProductRepository productRepository,
             InventoryTransactionRepository transactionRepository,
-            InventoryNotificationService notificationService) {
+            InventoryNotificationService notificationService,
+            DailyMovementRepository dailyMovementRepository,
+            ApplicationEventPublisher eventPublisher,
+            LedgerArchive ledgerArchive,
+            LocationStockRepository locationStockRepository,
+            StockLocations stockLocations,
+            StockTransferWriter stockTransferWriter,
+            ReadCoalescer readCoalescer) {
         this.productRepository = productRepository;
         this.transactionRepository = transactionRepository;
         this.notificationService = notificationService;
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.eventPublisher = eventPublisher;
+        this.ledgerArchive = ledgerArchive;
+        this.locationStockRepository = locationStockRepository;
+        this.stockLocations = stockLocations;
+        this.stockTransferWriter = stockTransferWriter;
+        this.readCoalescer = readCoalescer;
     }
     @Override
     public ProductDTO addStock(StockAdjustmentDTO dto) {
+        StockOperationEvent event = new StockOperationEvent();
+        event.begin();
         Product product = productRepository.findById(dto.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", dto.getProductId()));
-        int previousStock = product.getCurrentStock();
-        product.setCurrentStock(previousStock + dto.getQuantity());
+        Location location = stockLocations.resolve(dto.getLocationId());
+        adoptUnallocatedStock(List.of(product.getId()));
+        long waitStart = System.nanoTime();
+        locationStockRepository.addQuantity(product.getId(), location.getId(), dto.getQuantity());
+        long waited = System.nanoTime() - waitStart;
         InventoryTransaction transaction = InventoryTransaction.builder()
                 .product(product)
+                .location(location)
                 .transactionType(TransactionType.STOCK_IN)
                 .quantity(dto.getQuantity())
                 .referenceNumber(dto.getReferenceNumber())
@@ -47,26 +105,43 @@ public class InventoryServiceImpl implements InventoryService {
                 .createdBy(getCurrentUsername())
                 .build();
         transactionRepository.save(transaction);
-        Product saved = productRepository.save(product);
+        recordDailyMovement(transaction);
+        waitStart = System.nanoTime();
+        productRepository.adjustCurrentStock(product.getId(), dto.getQuantity(), LocalDateTime.now());
+        event.waitedForLock(waited + System.nanoTime() - waitStart);
+        Product saved = reloadProduct(product.getId());
+        int previousStock = saved.getCurrentStock() - dto.getQuantity();
+        publishMovement(transaction, previousStock, saved);
+        ProductState after = ProductState.of(saved);
+        eventPublisher.publishEvent(ProductStateChangedEvent.changed(
+                after.withStock(previousStock, saved.getStockVersion() - 1), after));
         notificationService.notifyStockUpdate(
-                product.getId(),
-                product.getName(),
+                saved.getId(),
+                saved.getName(),
                 previousStock,
                 saved.getCurrentStock(),
                 "STOCK_IN");
-        return mapToProductDTO(saved);
+        event.describe(saved.getId(), "STOCK_IN", dto.getQuantity(), previousStock, saved.getCurrentStock());
+        event.commitAfterTransaction();
+        return DtoMappingEvent.map("ProductDTO", saved, this::mapToProductDTO);
     }
     @Override
     public ProductDTO removeStock(StockAdjustmentDTO dto) {
+        StockOperationEvent event = new StockOperationEvent();
+        event.begin();
         Product product = productRepository.findById(dto.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", dto.getProductId()));
-        int previousStock = product.getCurrentStock();
-        if (previousStock < dto.getQuantity()) {
-            throw new InsufficientStockException(dto.getProductId(), dto.getQuantity(), previousStock);
+        Location location = stockLocations.resolve(dto.getLocationId());
+        adoptUnallocatedStock(List.of(product.getId()));
+        long waitStart = System.nanoTime();
+        if (locationStockRepository.removeQuantity(product.getId(), location.getId(), dto.getQuantity()) == 0) {
+            int available = locationStockRepository.findQuantity(product.getId(), location.getId()).orElse(0);
+            throw new InsufficientStockException(dto.getProductId(), dto.getQuantity(), available);
         }
-        product.setCurrentStock(previousStock - dto.getQuantity());
+        long waited = System.nanoTime() - waitStart;
         InventoryTransaction transaction = InventoryTransaction.builder()
                 .product(product)
+                .location(location)
                 .transactionType(TransactionType.STOCK_OUT)
                 .quantity(dto.getQuantity())
                 .referenceNumber(dto.getReferenceNumber())
@@ -74,10 +149,19 @@ public class InventoryServiceImpl implements InventoryService {
                 .createdBy(getCurrentUsername())
                 .build();
         transactionRepository.save(transaction);
-        Product saved = productRepository.save(product);
+        recordDailyMovement(transaction);
+        waitStart = System.nanoTime();
+        productRepository.adjustCurrentStock(product.getId(), -dto.getQuantity(), LocalDateTime.now());
+        event.waitedForLock(waited + System.nanoTime() - waitStart);
+        Product saved = reloadProduct(product.getId());
+        int previousStock = saved.getCurrentStock() + dto.getQuantity();
+        publishMovement(transaction, previousStock, saved);
+        ProductState after = ProductState.of(saved);
+        eventPublisher.publishEvent(ProductStateChangedEvent.changed(
+                after.withStock(previousStock, saved.getStockVersion() - 1), after));
         notificationService.notifyStockUpdate(
-                product.getId(),
-                product.getName(),
+                saved.getId(),
+                saved.getName(),
                 previousStock,
                 saved.getCurrentStock(),
                 "STOCK_OUT");
@@ -88,25 +172,50 @@ public class InventoryServiceImpl implements InventoryService {
                     saved.getCurrentStock(),
                     saved.getReorderLevel());
         }
-        return mapToProductDTO(saved);
+        event.describe(saved.getId(), "STOCK_OUT", -dto.getQuantity(), previousStock, saved.getCurrentStock());
+        event.commitAfterTransaction();
+        return DtoMappingEvent.map("ProductDTO", saved, this::mapToProductDTO);
     }
     @Override
-    @Transactional(readOnly = true)
+    public List<LocationStockDTO> transferStock(StockTransferDTO dto) {
+        transfer(List.of(dto));
+        return locationStockRepository.findLevelsByProductId(dto.getProductId());
+    }
+    @Override
+    public StockTransferResultDTO transferStock(List<StockTransferDTO> transfers) {
+        return transfer(transfers);
+    }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductDTO> getLowStockProducts() {
-        return productRepository.findLowStockProducts().stream()
-                .map(this::mapToProductDTO)
-                .toList();
+        return getLowStockProducts(FieldSelection.all());
+    }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductDTO> getLowStockProducts(FieldSelection fields) {
+        return readCoalescer.execute("inventory:low-stock:" + fields.key(), () -> {
+            if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+                return DtoMappingEvent.mapAll("ProductDTO", productRepository.findLowStockSummaries(),
+                        this::mapToProductDTO);
+            }
+            return DtoMappingEvent.mapAll("ProductDTO", productRepository.findLowStockProducts(),
+                    product -> mapToProductDTO(product, fields));
+        });
     }
     @Override
     @Transactional(readOnly = true)
     public List<InventoryTransactionDTO> getProductTransactions(Long productId) {
+        return getProductTransactions(productId, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryTransactionDTO> getProductTransactions(Long productId, FieldSelection fields) {
         if (!productRepository.existsById(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
-        return transactionRepository.findRecentByProductId(productId, PageRequest.of(0, 100))
-                .stream()
-                .map(this::mapToTransactionDTO)
-                .toList();
+        return DtoMappingEvent.mapAll("InventoryTransactionDTO",
+                transactionRepository.findRecentByProductId(productId, PageRequest.of(0, 100)),
+                transaction -> mapToTransactionDTO(transaction, fields));
     }
     @Override
     @Transactional(readOnly = true)
@@ -118,45 +227,175 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<InventoryTransactionDTO> findAllTransactions(Pageable pageable) {
-        Page<InventoryTransaction> page = transactionRepository.findAll(pageable);
-        return mapToPagedResponse(page);
+        return findAllTransactions(pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryTransactionDTO> findAllTransactions(Pageable pageable, FieldSelection fields) {
+        Page<InventoryTransaction> page = transactionRepository.findAllOfActiveProducts(pageable);
+        return mapToPagedResponse(page, fields);
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<InventoryTransactionDTO> findTransactionsByProduct(Long productId, Pageable pageable) {
+        return findTransactionsByProduct(productId, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryTransactionDTO> findTransactionsByProduct(Long productId, Pageable pageable,
+            FieldSelection fields) {
         if (!productRepository.existsById(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
         Page<InventoryTransaction> page = transactionRepository.findByProductId(productId, pageable);
-        return mapToPagedResponse(page);
+        return mergeWithArchive(page, pageable, ArchiveFilter.byProduct(productId), fields);
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<InventoryTransactionDTO> findTransactionsByType(TransactionType type, Pageable pageable) {
+        return findTransactionsByType(type, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryTransactionDTO> findTransactionsByType(TransactionType type, Pageable pageable,
+            FieldSelection fields) {
         Page<InventoryTransaction> page = transactionRepository.findByTransactionType(type, pageable);
-        return mapToPagedResponse(page);
+        return mergeWithArchive(page, pageable, ArchiveFilter.byType(type), fields);
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<InventoryTransactionDTO> findTransactionsByDateRange(
             LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        return findTransactionsByDateRange(start, end, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryTransactionDTO> findTransactionsByDateRange(
+            LocalDateTime start, LocalDateTime end, Pageable pageable, FieldSelection fields) {
         Page<InventoryTransaction> page = transactionRepository.findByDateRange(start, end, pageable);
-        return mapToPagedResponse(page);
+        return mergeWithArchive(page, pageable, ArchiveFilter.byDateRange(start, end), fields);
+    }
+    private void recordDailyMovement(InventoryTransaction transaction) {
+        dailyMovementRepository.recordMovement(transaction.getProduct().getId(), occurredAt(transaction).toLocalDate(),
+                transaction.getTransactionType().name(), transaction.getQuantity());
+    }
+    private void publishMovement(InventoryTransaction transaction, int previousStock, Product saved) {
+        eventPublisher.publishEvent(StockMovementEvent.of(transaction, occurredAt(transaction), previousStock,
+                saved.getCurrentStock(), saved.getStockVersion()));
+    }
+    private static LocalDateTime occurredAt(InventoryTransaction transaction) {
+        return transaction.getTransactionDate() != null ? transaction.getTransactionDate() : LocalDateTime.now();
+    }
+    private StockTransferResultDTO transfer(List<StockTransferDTO> transfers) {
+        if (transfers.isEmpty()) {
+            throw new IllegalArgumentException("At least one transfer is required");
+        }
+        Set<Long> productIds = new TreeSet<>();
+        Set<Long> locationIds = new HashSet<>();
+        for (StockTransferDTO transfer : transfers) {
+            if (transfer.getFromLocationId().equals(transfer.getToLocationId())) {
+                throw new IllegalArgumentException("Transfer of product " + transfer.getProductId()
+                        + " must move stock between two different locations");
+            }
+            productIds.add(transfer.getProductId());
+            locationIds.add(transfer.getFromLocationId());
+            locationIds.add(transfer.getToLocationId());
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+        }
+        Map<Long, Location> locations = stockLocations.resolveAll(locationIds);
+        adoptUnallocatedStock(productIds);
+        SortedMap<LocationKey, Integer> deltas = new TreeMap<>();
+        long quantity = 0;
+        for (StockTransferDTO transfer : transfers) {
+            deltas.merge(new LocationKey(transfer.getProductId(), transfer.getFromLocationId()),
+                    -transfer.getQuantity(), Integer::sum);
+            deltas.merge(new LocationKey(transfer.getProductId(), transfer.getToLocationId()),
+                    transfer.getQuantity(), Integer::sum);
+            quantity += transfer.getQuantity();
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            stockTransferWriter.applyLevels(deltas);
+            List<LocationStock> overdrawn = locationStockRepository.findOverdrawn(productIds);
+            if (!overdrawn.isEmpty()) {
+                LocationStock level = overdrawn.get(0);
+                int requested = -deltas.getOrDefault(new LocationKey(level.getProductId(), level.getLocationId()), 0);
+                throw new InsufficientStockException(level.getProductId(), requested, level.getQuantity() + requested);
+            }
+        }
+        String createdBy = getCurrentUsername();
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryTransaction> ledger = new ArrayList<>(transfers.size() * 2);
+        for (StockTransferDTO transfer : transfers) {
+            Product product = products.get(transfer.getProductId());
+            ledger.add(transferEntry(transfer, product, locations.get(transfer.getFromLocationId()),
+                    TransactionType.TRANSFER_OUT, createdBy, now));
+            ledger.add(transferEntry(transfer, product, locations.get(transfer.getToLocationId()),
+                    TransactionType.TRANSFER_IN, createdBy, now));
+        }
+        stockTransferWriter.insertLedger(ledger);
+        stockTransferWriter.recordMovements(ledger);
+        for (InventoryTransaction transaction : ledger) {
+            Product product = transaction.getProduct();
+            eventPublisher.publishEvent(StockMovementEvent.of(transaction, now, product.getCurrentStock(),
+                    product.getCurrentStock(), product.getStockVersion()));
+        }
+        return StockTransferResultDTO.builder()
+                .transfers(transfers.size())
+                .quantity(quantity)
+                .locationRows(deltas.size())
+                .ledgerEntries(ledger.size())
+                .build();
+    }
+    private InventoryTransaction transferEntry(StockTransferDTO transfer, Product product, Location location,
+            TransactionType type, String createdBy, LocalDateTime transactionDate) {
+        return InventoryTransaction.builder()
+                .product(product)
+                .location(location)
+                .transactionType(type)
+                .quantity(transfer.getQuantity())
+                .referenceNumber(transfer.getReferenceNumber())
+                .notes(transfer.getNotes())
+                .transactionDate(transactionDate)
+                .createdBy(createdBy)
+                .build();
+    }
+    private void adoptUnallocatedStock(Collection<Long> productIds) {
+        Set<Long> unallocated = new TreeSet<>(productIds);
+        unallocated.removeAll(locationStockRepository.findAllocatedProductIds(productIds));
+        if (!unallocated.isEmpty()) {
+            locationStockRepository.adoptUnallocatedStock(unallocated, stockLocations.defaultLocationId());
+        }
+    }
+    private Product reloadProduct(Long productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
     }
     private String getCurrentUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null ? auth.getName() : "system";
     }
     private ProductDTO mapToProductDTO(Product product) {
+        return mapToProductDTO(product, FieldSelection.all());
+    }
+    private ProductDTO mapToProductDTO(Product product, FieldSelection fields) {
         return ProductDTO.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .sku(product.getSku())
                 .description(product.getDescription())
                 .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
-                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .categoryName(product.getCategory() != null && fields.includes("categoryName")
+                        ? product.getCategory().getName() : null)
                 .supplierId(product.getSupplier() != null ? product.getSupplier().getId() : null)
-                .supplierName(product.getSupplier() != null ? product.getSupplier().getCompanyName() : null)
+                .supplierName(product.getSupplier() != null && fields.includes("supplierName")
+                        ? product.getSupplier().getCompanyName() : null)
                 .unitPrice(product.getUnitPrice())
                 .currentStock(product.getCurrentStock())
                 .reorderLevel(product.getReorderLevel())
@@ -165,12 +404,29 @@ public class InventoryServiceImpl implements InventoryService {
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
-    private InventoryTransactionDTO mapToTransactionDTO(InventoryTransaction transaction) {
+    private ProductDTO mapToProductDTO(ProductSummary summary) {
+        return ProductDTO.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .sku(summary.sku())
+                .categoryId(summary.categoryId())
+                .supplierId(summary.supplierId())
+                .unitPrice(summary.unitPrice())
+                .currentStock(summary.currentStock())
+                .reorderLevel(summary.reorderLevel())
+                .lowStock(summary.isLowStock())
+                .build();
+    }
+    private InventoryTransactionDTO mapToTransactionDTO(InventoryTransaction transaction, FieldSelection fields) {
+        boolean withProduct = fields.includesAny("productName", "productSku");
         return InventoryTransactionDTO.builder()
                 .id(transaction.getId())
                 .productId(transaction.getProduct().getId())
-                .productName(transaction.getProduct().getName())
-                .productSku(transaction.getProduct().getSku())
+                .productName(withProduct ? transaction.getProduct().getName() : null)
+                .productSku(withProduct ? transaction.getProduct().getSku() : null)
+                .locationId(transaction.getLocation() != null ? transaction.getLocation().getId() : null)
+                .locationCode(transaction.getLocation() != null && fields.includes("locationCode")
+                        ? transaction.getLocation().getCode() : null)
                 .transactionType(transaction.getTransactionType())
                 .quantity(transaction.getQuantity())
                 .referenceNumber(transaction.getReferenceNumber())
@@ -179,9 +435,57 @@ public class InventoryServiceImpl implements InventoryService {
                 .createdBy(transaction.getCreatedBy())
                 .build();
     }
-    private PagedResponse<InventoryTransactionDTO> mapToPagedResponse(Page<InventoryTransaction> page) {
+    private PagedResponse<InventoryTransactionDTO> mergeWithArchive(Page<InventoryTransaction> page, Pageable pageable,
+            ArchiveFilter filter, FieldSelection fields) {
+        if (!ledgerArchive.hasSegments()) {
+            return mapToPagedResponse(page, fields);
+        }
+        List<InventoryTransactionDTO> content = new ArrayList<>(DtoMappingEvent.mapAll("InventoryTransactionDTO",
+                page.getContent(), transaction -> mapToTransactionDTO(transaction, fields)));
+        int missing = pageable.getPageSize() - content.size();
+        long archiveOffset = Math.max(0, pageable.getOffset() - page.getTotalElements());
+        ArchivePage archived = ledgerArchive.find(filter, archiveOffset, Math.max(0, missing));
+        Set<Long> hotIds = content.stream().map(InventoryTransactionDTO::getId).collect(Collectors.toSet());
+        List<ArchivedTransaction> rows = archived.rows().stream()
+                .filter(row -> !hotIds.contains(row.id()))
+                .toList();
+        Map<Long, Product> products = !fields.includesAny("productName", "productSku") ? Map.of()
+                : productRepository.findAllById(rows.stream().map(ArchivedTransaction::productId).distinct().toList())
+                        .stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        content.addAll(DtoMappingEvent.mapAll("InventoryTransactionDTO", rows,
+                row -> mapToTransactionDTO(row, products.get(row.productId()))));
+        long total = page.getTotalElements() + archived.total();
+        int totalPages = (int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize());
+        return PagedResponse.<InventoryTransactionDTO>builder()
+                .content(content)
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(total)
+                .totalPages(totalPages)
+                .first(pageable.getPageNumber() == 0)
+                .last(pageable.getPageNumber() >= totalPages - 1)
+                .build();
+    }
+    private InventoryTransactionDTO mapToTransactionDTO(ArchivedTransaction transaction, Product product) {
+        return InventoryTransactionDTO.builder()
+                .id(transaction.id())
+                .productId(transaction.productId())
+                .productName(product != null ? product.getName() : null)
+                .productSku(product != null ? product.getSku() : null)
+                .transactionType(transaction.transactionType())
+                .quantity(transaction.quantity())
+                .referenceNumber(transaction.referenceNumber())
+                .notes(transaction.notes())
+                .transactionDate(transaction.transactionDate())
+                .createdBy(transaction.createdBy())
+                .build();
+    }
+    private PagedResponse<InventoryTransactionDTO> mapToPagedResponse(Page<InventoryTransaction> page,
+            FieldSelection fields) {
         return PagedResponse.<InventoryTransactionDTO>builder()
-                .content(page.getContent().stream().map(this::mapToTransactionDTO).toList())
+                .content(DtoMappingEvent.mapAll("InventoryTransactionDTO", page.getContent(),
+                        transaction -> mapToTransactionDTO(transaction, fields)))
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
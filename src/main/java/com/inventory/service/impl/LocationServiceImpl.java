@@ -0,0 +1,70 @@
+package com.inventory.service.impl;
+import com.inventory.dto.LocationCreateDTO;
+import com.inventory.dto.LocationDTO;
+import com.inventory.dto.LocationStockDTO;
+import com.inventory.entity.Location;
+import com.inventory.exception.DuplicateResourceException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.location.StockLocations;
+import com.inventory.repository.LocationRepository;
+import com.inventory.repository.LocationStockRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.LocationService;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class LocationServiceImpl implements LocationService {
+    private final LocationRepository locationRepository;
+    private final LocationStockRepository locationStockRepository;
+    private final ProductRepository productRepository;
+    private final StockLocations stockLocations;
+    public LocationServiceImpl(LocationRepository locationRepository,
+            LocationStockRepository locationStockRepository,
+            ProductRepository productRepository,
+            StockLocations stockLocations) {
+        this.locationRepository = locationRepository;
+        this.locationStockRepository = locationStockRepository;
+        this.productRepository = productRepository;
+        this.stockLocations = stockLocations;
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocationDTO> findAll() {
+        Long defaultId = stockLocations.defaultLocationId();
+        return locationRepository.findAll(Sort.by("code")).stream()
+                .map(location -> mapToDTO(location, defaultId))
+                .toList();
+    }
+    @Override
+    public LocationDTO create(LocationCreateDTO dto) {
+        if (locationRepository.existsByCode(dto.getCode())) {
+            throw new DuplicateResourceException("Location", "code", dto.getCode());
+        }
+        Location saved = locationRepository.save(Location.builder()
+                .code(dto.getCode())
+                .name(dto.getName())
+                .build());
+        return mapToDTO(saved, stockLocations.defaultLocationId());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocationStockDTO> findStockLevels(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        return locationStockRepository.findLevelsByProductId(productId);
+    }
+    private LocationDTO mapToDTO(Location location, Long defaultId) {
+        return LocationDTO.builder()
+                .id(location.getId())
+                .code(location.getCode())
+                .name(location.getName())
+                .defaultLocation(location.getId().equals(defaultId))
+                .createdAt(location.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.inventory.service.impl;
+import com.inventory.catalog.ImportFormat;
+import com.inventory.catalog.ImportRowError;
+import com.inventory.catalog.ProductImportTotals;
+import com.inventory.catalog.ProductImporter;
+import com.inventory.dto.ProductImportErrorDTO;
+import com.inventory.dto.ProductImportResultDTO;
+import com.inventory.service.interfaces.ProductImportService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+    private final ProductImporter productImporter;
+    public ProductImportServiceImpl(ProductImporter productImporter) {
+        this.productImporter = productImporter;
+    }
+    @Override
+    public ProductImportResultDTO importProducts(InputStream source, ImportFormat format) {
+        ProductImporter.ProductImportRun run = productImporter.importProducts(format,
+                new InputStreamReader(source, StandardCharsets.UTF_8), getCurrentUsername());
+        ProductImportTotals totals = run.totals();
+        return ProductImportResultDTO.builder()
+                .rowsRead(run.rowsRead())
+                .created(totals.created())
+                .updated(totals.updated())
+                .unchanged(totals.unchanged())
+                .failed(run.failed())
+                .errors(run.errors().stream().map(this::mapToDTO).toList())
+                .durationMs(run.durationMs())
+                .build();
+    }
+    private ProductImportErrorDTO mapToDTO(ImportRowError error) {
+        return ProductImportErrorDTO.builder()
+                .line(error.lineNumber())
+                .sku(error.sku())
+                .message(error.message())
+                .build();
+    }
+    private String getCurrentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "system";
+    }
+}
@@ -1,87 +1,244 @@
 ﻿package com.inventory.service.impl;
+import com.inventory.catalog.SkuIndex;
+import com.inventory.catalog.SkuKeys;
+import com.inventory.changes.ProductChangeLog;
+import com.inventory.coalesce.ReadCoalescer;
 import com.inventory.dto.*;
 import com.inventory.entity.Category;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
 import com.inventory.entity.Product;
+import com.inventory.entity.ProductChange;
+import com.inventory.entity.ProductChangeType;
 import com.inventory.entity.Supplier;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
 import com.inventory.exception.DuplicateResourceException;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.history.StockHistory;
+import com.inventory.location.StockLocations;
+import com.inventory.monitoring.DtoMappingEvent;
+import com.inventory.projection.FieldSelection;
+import com.inventory.projection.ProductSummary;
 import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.LocationStockRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SupplierRepository;
 import com.inventory.service.interfaces.ProductService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Service
 @Transactional
 @SuppressWarnings("null")
 public class ProductServiceImpl implements ProductService {
+    private static final int MAX_CHANGE_BATCH = 1000;
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final SupplierRepository supplierRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    private final DailyMovementRepository dailyMovementRepository;
+    private final StockHistory stockHistory;
+    private final ProductChangeLog productChangeLog;
+    private final LocationStockRepository locationStockRepository;
+    private final StockLocations stockLocations;
+    private final ReadCoalescer readCoalescer;
+    private final SkuIndex skuIndex;
+    private final ApplicationEventPublisher eventPublisher;
     public ProductServiceImpl(ProductRepository productRepository,
             CategoryRepository categoryRepository,
-            SupplierRepository supplierRepository) {
+            SupplierRepository supplierRepository,
+            InventoryTransactionRepository transactionRepository,
+            DailyMovementRepository dailyMovementRepository,
+            StockHistory stockHistory,
+            ProductChangeLog productChangeLog,
+            LocationStockRepository locationStockRepository,
+            StockLocations stockLocations,
+            ReadCoalescer readCoalescer,
+            SkuIndex skuIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.supplierRepository = supplierRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.stockHistory = stockHistory;
+        this.productChangeLog = productChangeLog;
+        this.locationStockRepository = locationStockRepository;
+        this.stockLocations = stockLocations;
+        this.readCoalescer = readCoalescer;
+        this.skuIndex = skuIndex;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return mapToDTO(product);
+        return DtoMappingEvent.map("ProductDTO", product, this::mapToDTO);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public ProductDTO findById(Long id, LocalDateTime asOf) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        int stock = stockHistory.stockAt(product, asOf);
+        ProductDTO dto = DtoMappingEvent.map("ProductDTO", product, this::mapToDTO);
+        dto.setCurrentStock(stock);
+        dto.setLowStock(product.getReorderLevel() != null && stock <= product.getReorderLevel());
+        return dto;
     }
     @Override
     @Transactional(readOnly = true)
     public ProductDTO findBySku(String sku) {
-        Product product = productRepository.findBySku(sku)
+        Product product = skuIndex.find(sku, productRepository::findBySku)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "sku", sku));
-        return mapToDTO(product);
+        return DtoMappingEvent.map("ProductDTO", product, this::mapToDTO);
     }
     @Override
     @Transactional(readOnly = true)
+    public ProductLookupResultDTO lookup(ProductLookupDTO dto) {
+        Set<Long> ids = distinct(dto.getIds());
+        Set<String> skus = distinct(dto.getSkus());
+        if (ids.isEmpty() && skus.isEmpty()) {
+            throw new IllegalArgumentException("At least one id or SKU is required");
+        }
+        Map<Long, Product> byId = ids.isEmpty() ? Map.of()
+                : productRepository.findAllWithRelationsByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<String, Product> bySku = skus.isEmpty() ? Map.of()
+                : productRepository.findAllWithRelationsBySkuIn(skus).stream()
+                        .collect(Collectors.toMap(product -> SkuKeys.normalize(product.getSku()),
+                                Function.identity(), (first, second) -> first));
+        Map<Long, Product> found = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingSkus = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                found.putIfAbsent(product.getId(), product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String sku : skus) {
+            Product product = bySku.get(SkuKeys.normalize(sku));
+            if (product != null) {
+                found.putIfAbsent(product.getId(), product);
+            } else {
+                missingSkus.add(sku);
+            }
+        }
+        return ProductLookupResultDTO.builder()
+                .products(DtoMappingEvent.mapAll("ProductDTO", new ArrayList<>(found.values()), this::mapToDTO))
+                .missingIds(missingIds)
+                .missingSkus(missingSkus)
+                .build();
+    }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PagedResponse<ProductDTO> findAll(Pageable pageable) {
-        Page<Product> page = productRepository.findAll(pageable);
-        return mapToPagedResponse(page);
+        return findAll(pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PagedResponse<ProductDTO> findAll(Pageable pageable, FieldSelection fields) {
+        String key = "products:" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+                + ":" + fields.key();
+        return readCoalescer.execute(key, () -> {
+            if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+                return mapToPagedResponse(productRepository.findSummaries(pageable), this::mapToDTO);
+            }
+            Page<Product> page = productRepository.findAll(pageable);
+            return mapToPagedResponse(page, product -> mapToDTO(product, fields));
+        });
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<ProductDTO> searchByName(String name, Pageable pageable) {
+        return searchByName(name, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductDTO> searchByName(String name, Pageable pageable, FieldSelection fields) {
+        if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+            return mapToPagedResponse(productRepository.findSummariesByName(name, pageable), this::mapToDTO);
+        }
         Page<Product> page = productRepository.findByNameContainingIgnoreCase(name, pageable);
-        return mapToPagedResponse(page);
+        return mapToPagedResponse(page, product -> mapToDTO(product, fields));
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<ProductDTO> findByCategory(Long categoryId, Pageable pageable) {
+        return findByCategory(categoryId, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductDTO> findByCategory(Long categoryId, Pageable pageable, FieldSelection fields) {
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category", "id", categoryId);
         }
+        if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+            return mapToPagedResponse(productRepository.findSummariesByCategoryId(categoryId, pageable), this::mapToDTO);
+        }
         Page<Product> page = productRepository.findByCategoryId(categoryId, pageable);
-        return mapToPagedResponse(page);
+        return mapToPagedResponse(page, product -> mapToDTO(product, fields));
     }
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<ProductDTO> findBySupplier(Long supplierId, Pageable pageable) {
+        return findBySupplier(supplierId, pageable, FieldSelection.all());
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<ProductDTO> findBySupplier(Long supplierId, Pageable pageable, FieldSelection fields) {
         if (!supplierRepository.existsById(supplierId)) {
             throw new ResourceNotFoundException("Supplier", "id", supplierId);
         }
+        if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+            return mapToPagedResponse(productRepository.findSummariesBySupplierId(supplierId, pageable), this::mapToDTO);
+        }
         Page<Product> page = productRepository.findBySupplierId(supplierId, pageable);
-        return mapToPagedResponse(page);
+        return mapToPagedResponse(page, product -> mapToDTO(product, fields));
     }
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductDTO> findLowStock() {
-        return productRepository.findLowStockProducts().stream()
-                .map(this::mapToDTO)
-                .toList();
+        return findLowStock(FieldSelection.all());
+    }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductDTO> findLowStock(FieldSelection fields) {
+        return readCoalescer.execute("products:low-stock:" + fields.key(), () -> {
+            if (fields.isCoveredBy(ProductSummary.FIELDS)) {
+                return DtoMappingEvent.mapAll("ProductDTO", productRepository.findLowStockSummaries(), this::mapToDTO);
+            }
+            return DtoMappingEvent.mapAll("ProductDTO", productRepository.findLowStockProducts(),
+                    product -> mapToDTO(product, fields));
+        });
     }
     @Override
     public ProductDTO create(ProductCreateDTO dto) {
-        if (productRepository.existsBySku(dto.getSku())) {
+        if (skuIndex.exists(dto.getSku(), productRepository::existsBySku)) {
             throw new DuplicateResourceException("Product", "sku", dto.getSku());
         }
         Product product = Product.builder()
@@ -103,12 +260,17 @@ public class ProductServiceImpl implements ProductService {
             product.setSupplier(supplier);
         }
         Product saved = productRepository.save(product);
-        return mapToDTO(saved);
+        if (saved.getCurrentStock() != null && saved.getCurrentStock() > 0) {
+            recordInitialStock(saved);
+        }
+        eventPublisher.publishEvent(ProductStateChangedEvent.created(ProductState.of(saved)));
+        return DtoMappingEvent.map("ProductDTO", saved, this::mapToDTO);
     }
     @Override
     public ProductDTO update(Long id, ProductUpdateDTO dto) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        ProductState before = ProductState.of(product);
         product.setName(dto.getName());
         product.setDescription(dto.getDescription());
         product.setUnitPrice(dto.getUnitPrice());
@@ -130,30 +292,107 @@ public class ProductServiceImpl implements ProductService {
             product.setSupplier(null);
         }
         Product saved = productRepository.save(product);
-        return mapToDTO(saved);
+        eventPublisher.publishEvent(ProductStateChangedEvent.changed(before, ProductState.of(saved)));
+        return DtoMappingEvent.map("ProductDTO", saved, this::mapToDTO);
     }
     @Override
     public void delete(Long id) {
-        if (!productRepository.existsById(id)) {
+        if (productRepository.softDelete(id, LocalDateTime.now()) == 0) {
             throw new ResourceNotFoundException("Product", "id", id);
         }
-        productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductStateChangedEvent.deleted(id));
     }
     @Override
     @Transactional(readOnly = true)
     public boolean existsBySku(String sku) {
-        return productRepository.existsBySku(sku);
+        return skuIndex.exists(sku, productRepository::existsBySku);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public ProductChangesDTO findChanges(Long since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGE_BATCH) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGE_BATCH);
+        }
+        if (since == null) {
+            return ProductChangesDTO.builder()
+                    .changes(List.of())
+                    .nextToken(productChangeLog.head())
+                    .hasMore(false)
+                    .build();
+        }
+        ProductChangeLog.ChangeBatch batch = productChangeLog.read(since, limit);
+        Map<Long, ProductChange> latest = new LinkedHashMap<>();
+        for (ProductChange change : batch.changes()) {
+            latest.remove(change.getProductId());
+            latest.put(change.getProductId(), change);
+        }
+        Map<Long, Product> products = latest.isEmpty() ? Map.of()
+                : productRepository.findAllWithRelationsByIdIn(latest.keySet()).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductChangeDTO> changes = latest.values().stream()
+                .map(change -> mapToChangeDTO(change, products.get(change.getProductId())))
+                .toList();
+        return ProductChangesDTO.builder()
+                .changes(changes)
+                .nextToken(batch.nextToken())
+                .hasMore(batch.hasMore())
+                .build();
+    }
+    private <T> Set<T> distinct(List<T> keys) {
+        Set<T> distinct = new LinkedHashSet<>();
+        if (keys != null) {
+            keys.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+    private ProductChangeDTO mapToChangeDTO(ProductChange change, Product product) {
+        return ProductChangeDTO.builder()
+                .sequence(change.getId())
+                .productId(change.getProductId())
+                .changeType(product != null ? change.getChangeType() : ProductChangeType.DELETED)
+                .deleted(product == null)
+                .product(product != null ? DtoMappingEvent.map("ProductDTO", product, this::mapToDTO) : null)
+                .build();
+    }
+    private void recordInitialStock(Product product) {
+        Location location = stockLocations.resolve(null);
+        locationStockRepository.addQuantity(product.getId(), location.getId(), product.getCurrentStock());
+        InventoryTransaction transaction = InventoryTransaction.builder()
+                .product(product)
+                .location(location)
+                .transactionType(TransactionType.ADJUSTMENT)
+                .quantity(product.getCurrentStock())
+                .notes("Initial stock")
+                .createdBy(getCurrentUsername())
+                .build();
+        transactionRepository.save(transaction);
+        LocalDateTime occurredAt = transaction.getTransactionDate() != null
+                ? transaction.getTransactionDate()
+                : LocalDateTime.now();
+        dailyMovementRepository.recordMovement(product.getId(), occurredAt.toLocalDate(),
+                TransactionType.ADJUSTMENT.name(), transaction.getQuantity());
+        eventPublisher.publishEvent(StockMovementEvent.of(transaction, occurredAt, 0, product.getCurrentStock(),
+                product.getStockVersion()));
+    }
+    private String getCurrentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "system";
     }
     private ProductDTO mapToDTO(Product product) {
+        return mapToDTO(product, FieldSelection.all());
+    }
+    private ProductDTO mapToDTO(Product product, FieldSelection fields) {
         return ProductDTO.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .sku(product.getSku())
                 .description(product.getDescription())
                 .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
-                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .categoryName(product.getCategory() != null && fields.includes("categoryName")
+                        ? product.getCategory().getName() : null)
                 .supplierId(product.getSupplier() != null ? product.getSupplier().getId() : null)
-                .supplierName(product.getSupplier() != null ? product.getSupplier().getCompanyName() : null)
+                .supplierName(product.getSupplier() != null && fields.includes("supplierName")
+                        ? product.getSupplier().getCompanyName() : null)
                 .unitPrice(product.getUnitPrice())
                 .currentStock(product.getCurrentStock())
                 .reorderLevel(product.getReorderLevel())
@@ -162,9 +401,22 @@ public class ProductServiceImpl implements ProductService {
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
-    private PagedResponse<ProductDTO> mapToPagedResponse(Page<Product> page) {
+    private ProductDTO mapToDTO(ProductSummary summary) {
+        return ProductDTO.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .sku(summary.sku())
+                .categoryId(summary.categoryId())
+                .supplierId(summary.supplierId())
+                .unitPrice(summary.unitPrice())
+                .currentStock(summary.currentStock())
+                .reorderLevel(summary.reorderLevel())
+                .lowStock(summary.isLowStock())
+                .build();
+    }
+    private <T> PagedResponse<ProductDTO> mapToPagedResponse(Page<T> page, Function<T, ProductDTO> mapper) {
         return PagedResponse.<ProductDTO>builder()
-                .content(page.getContent().stream().map(this::mapToDTO).toList())
+                .content(DtoMappingEvent.mapAll("ProductDTO", page.getContent(), mapper))
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
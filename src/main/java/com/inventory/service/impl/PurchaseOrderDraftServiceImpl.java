@@ -0,0 +1,106 @@
+package com.inventory.service.impl;
+import com.inventory.dto.PagedResponse;
+import com.inventory.dto.PurchaseOrderDraftDTO;
+import com.inventory.dto.PurchaseOrderDraftLineDTO;
+import com.inventory.dto.ReorderRunResultDTO;
+import com.inventory.entity.PurchaseOrderDraft;
+import com.inventory.entity.PurchaseOrderDraftLine;
+import com.inventory.entity.PurchaseOrderDraftStatus;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.reorder.ReorderSuggestionEngine;
+import com.inventory.repository.PurchaseOrderDraftLineRepository;
+import com.inventory.repository.PurchaseOrderDraftRepository;
+import com.inventory.service.interfaces.PurchaseOrderDraftService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.function.Function;
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class PurchaseOrderDraftServiceImpl implements PurchaseOrderDraftService {
+    private final PurchaseOrderDraftRepository draftRepository;
+    private final PurchaseOrderDraftLineRepository lineRepository;
+    private final ReorderSuggestionEngine reorderEngine;
+    public PurchaseOrderDraftServiceImpl(PurchaseOrderDraftRepository draftRepository,
+            PurchaseOrderDraftLineRepository lineRepository,
+            ReorderSuggestionEngine reorderEngine) {
+        this.draftRepository = draftRepository;
+        this.lineRepository = lineRepository;
+        this.reorderEngine = reorderEngine;
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<PurchaseOrderDraftDTO> findAll(Pageable pageable) {
+        Page<PurchaseOrderDraft> page = draftRepository.findByStatus(PurchaseOrderDraftStatus.DRAFT, pageable);
+        return mapToPagedResponse(page, this::mapToDTO);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PurchaseOrderDraftDTO findById(Long id) {
+        PurchaseOrderDraft draft = draftRepository.findByIdAndStatus(id, PurchaseOrderDraftStatus.DRAFT)
+                .orElseThrow(() -> new ResourceNotFoundException("PurchaseOrderDraft", "id", id));
+        return mapToDTO(draft);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<PurchaseOrderDraftLineDTO> findLines(Long draftId, Pageable pageable) {
+        if (!draftRepository.existsByIdAndStatus(draftId, PurchaseOrderDraftStatus.DRAFT)) {
+            throw new ResourceNotFoundException("PurchaseOrderDraft", "id", draftId);
+        }
+        Page<PurchaseOrderDraftLine> page = lineRepository.findByDraftId(draftId, pageable);
+        return mapToPagedResponse(page, this::mapToLineDTO);
+    }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReorderRunResultDTO generate() {
+        ReorderSuggestionEngine.ReorderRun run = reorderEngine.run();
+        return ReorderRunResultDTO.builder()
+                .runId(run.runId())
+                .productsScanned(run.totals().productsScanned())
+                .linesSuggested(run.totals().linesSuggested())
+                .draftsCreated(run.draftsCreated())
+                .unassignedProducts(run.totals().unassignedProducts())
+                .durationMs(run.durationMs())
+                .build();
+    }
+    private PurchaseOrderDraftDTO mapToDTO(PurchaseOrderDraft draft) {
+        return PurchaseOrderDraftDTO.builder()
+                .id(draft.getId())
+                .supplierId(draft.getSupplier().getId())
+                .supplierName(draft.getSupplier().getCompanyName())
+                .status(draft.getStatus())
+                .lineCount(draft.getLineCount())
+                .totalQuantity(draft.getTotalQuantity())
+                .estimatedCost(draft.getEstimatedCost())
+                .generatedAt(draft.getGeneratedAt())
+                .build();
+    }
+    private PurchaseOrderDraftLineDTO mapToLineDTO(PurchaseOrderDraftLine line) {
+        return PurchaseOrderDraftLineDTO.builder()
+                .id(line.getId())
+                .productId(line.getProductId())
+                .sku(line.getSku())
+                .currentStock(line.getCurrentStock())
+                .reorderLevel(line.getReorderLevel())
+                .recentOutflow(line.getRecentOutflow())
+                .suggestedQuantity(line.getSuggestedQuantity())
+                .unitPrice(line.getUnitPrice())
+                .lineTotal(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getSuggestedQuantity())))
+                .build();
+    }
+    private <E, D> PagedResponse<D> mapToPagedResponse(Page<E> page, Function<E, D> mapper) {
+        return PagedResponse.<D>builder()
+                .content(page.getContent().stream().map(mapper).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.inventory.service.impl;
+import com.inventory.dto.ReconciliationReportDTO;
+import com.inventory.dto.StockDiscrepancyDTO;
+import com.inventory.reconciliation.ReconciliationTotals;
+import com.inventory.reconciliation.StockDiscrepancy;
+import com.inventory.reconciliation.StockReconciler;
+import com.inventory.service.interfaces.ReconciliationService;
+import org.springframework.stereotype.Service;
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+    private final StockReconciler stockReconciler;
+    public ReconciliationServiceImpl(StockReconciler stockReconciler) {
+        this.stockReconciler = stockReconciler;
+    }
+    @Override
+    public ReconciliationReportDTO reconcile(boolean correct) {
+        StockReconciler.ReconciliationRun run = stockReconciler.run(correct);
+        ReconciliationTotals totals = run.totals();
+        return ReconciliationReportDTO.builder()
+                .productsChecked(totals.productsChecked())
+                .discrepancyCount(totals.discrepancies())
+                .netDifference(totals.netDifference())
+                .corrected(run.corrected())
+                .correctionsWritten(totals.correctionsWritten())
+                .discrepancies(run.discrepancies().stream().map(this::mapToDTO).toList())
+                .durationMs(run.durationMs())
+                .build();
+    }
+    private StockDiscrepancyDTO mapToDTO(StockDiscrepancy discrepancy) {
+        return StockDiscrepancyDTO.builder()
+                .productId(discrepancy.productId())
+                .sku(discrepancy.sku())
+                .currentStock(discrepancy.currentStock())
+                .ledgerNet(discrepancy.ledgerNet())
+                .difference(discrepancy.difference())
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.inventory.service.impl;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.dto.DailyMovementDTO;
+import com.inventory.dto.RollupBackfillResultDTO;
+import com.inventory.dto.ValuationGroupDTO;
+import com.inventory.dto.ValuationReportDTO;
+import com.inventory.entity.Category;
+import com.inventory.entity.Supplier;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import com.inventory.service.interfaces.ReportService;
+import com.inventory.valuation.GroupTotal;
+import com.inventory.valuation.LiveValuationTracker;
+import com.inventory.valuation.ValuationEngine;
+import com.inventory.valuation.ValuationTotals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class ReportServiceImpl implements ReportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+    private static final long MAX_RANGE_DAYS = 366;
+    private final DailyMovementRepository dailyMovementRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ValuationEngine valuationEngine;
+    private final LiveValuationTracker liveValuationTracker;
+    private final LedgerArchive ledgerArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final long backfillChunkSize;
+    public ReportServiceImpl(DailyMovementRepository dailyMovementRepository,
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            SupplierRepository supplierRepository,
+            ValuationEngine valuationEngine,
+            LiveValuationTracker liveValuationTracker,
+            LedgerArchive ledgerArchive,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.rollup.backfill-chunk-size:500}") long backfillChunkSize) {
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.valuationEngine = valuationEngine;
+        this.liveValuationTracker = liveValuationTracker;
+        this.ledgerArchive = ledgerArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillChunkSize = Math.max(1, backfillChunkSize);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyMovementDTO> getProductMovements(Long productId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        return dailyMovementRepository.findProductSeries(productId, from, to);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyMovementDTO> getCategoryMovements(Long categoryId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
+        return dailyMovementRepository.findCategorySeries(categoryId, from, to);
+    }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RollupBackfillResultDTO backfillDailyMovements() {
+        long start = System.currentTimeMillis();
+        long minId = dailyMovementRepository.findMinLedgerProductId();
+        long maxId = dailyMovementRepository.findMaxLedgerProductId();
+        LocalDateTime archivedUntil = ledgerArchive.getArchivedUntil();
+        int chunks = 0;
+        long rowsWritten = 0;
+        for (long fromId = minId; fromId <= maxId && maxId > 0; fromId += backfillChunkSize) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(maxId, fromId + backfillChunkSize - 1);
+            Integer written = transactionTemplate.execute(status -> {
+                if (archivedUntil == null) {
+                    dailyMovementRepository.deleteByProductIdRange(chunkFrom, chunkTo);
+                    return dailyMovementRepository.rebuildForProductIdRange(chunkFrom, chunkTo);
+                }
+                dailyMovementRepository.deleteByProductIdRangeSince(chunkFrom, chunkTo, archivedUntil.toLocalDate());
+                return dailyMovementRepository.rebuildForProductIdRangeSince(chunkFrom, chunkTo, archivedUntil);
+            });
+            rowsWritten += written != null ? written : 0;
+            chunks++;
+        }
+        long duration = System.currentTimeMillis() - start;
+        logger.info("Daily movement backfill rebuilt {} rows in {} chunks from {} ({} ms)", rowsWritten, chunks,
+                archivedUntil != null ? archivedUntil.toLocalDate() : "the start of the ledger", duration);
+        return RollupBackfillResultDTO.builder()
+                .chunks(chunks)
+                .rowsWritten(rowsWritten)
+                .durationMs(duration)
+                .build();
+    }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ValuationReportDTO getValuation() {
+        long start = System.currentTimeMillis();
+        ValuationTotals totals = valuationEngine.compute();
+        return mapToValuationReport("computed", totals, LocalDateTime.now(), System.currentTimeMillis() - start);
+    }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ValuationReportDTO getValuation(LocalDateTime asOf) {
+        long start = System.currentTimeMillis();
+        ValuationTotals totals = valuationEngine.computeAt(asOf);
+        return mapToValuationReport("historical", totals, asOf, System.currentTimeMillis() - start);
+    }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ValuationReportDTO getLiveValuation() {
+        long start = System.currentTimeMillis();
+        ValuationTotals totals = liveValuationTracker.snapshot();
+        return mapToValuationReport("live", totals, LocalDateTime.now(), System.currentTimeMillis() - start);
+    }
+    private ValuationReportDTO mapToValuationReport(String source, ValuationTotals totals, LocalDateTime asOf,
+            long durationMs) {
+        Map<Long, String> categoryNames = categoryRepository.findAllById(totals.getCategories().keySet()).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        Map<Long, String> supplierNames = supplierRepository.findAllById(totals.getSuppliers().keySet()).stream()
+                .collect(Collectors.toMap(Supplier::getId, Supplier::getCompanyName));
+        GroupTotal grandTotal = totals.grandTotal();
+        return ValuationReportDTO.builder()
+                .source(source)
+                .totalValue(grandTotal.value())
+                .totalUnits(grandTotal.units())
+                .productCount(grandTotal.productCount())
+                .categories(mapToGroups(totals.getCategories(), categoryNames::get))
+                .suppliers(mapToGroups(totals.getSuppliers(), supplierNames::get))
+                .asOf(asOf)
+                .durationMs(durationMs)
+                .build();
+    }
+    private List<ValuationGroupDTO> mapToGroups(Map<Long, GroupTotal> groups, Function<Long, String> names) {
+        return groups.entrySet().stream()
+                .map(entry -> ValuationGroupDTO.builder()
+                        .id(entry.getKey() == ValuationTotals.UNASSIGNED ? null : entry.getKey())
+                        .name(entry.getKey() == ValuationTotals.UNASSIGNED ? "Unassigned" : names.apply(entry.getKey()))
+                        .productCount(entry.getValue().productCount())
+                        .totalUnits(entry.getValue().units())
+                        .totalValue(entry.getValue().value())
+                        .build())
+                .sorted(Comparator.comparing(ValuationGroupDTO::getTotalValue).reversed())
+                .toList();
+    }
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.service.impl;
+import com.inventory.dto.StockLevelDTO;
+import com.inventory.entity.Product;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.StockStreamService;
+import com.inventory.stream.StockStreamBroker;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
+@Service
+@SuppressWarnings("null")
+public class StockStreamServiceImpl implements StockStreamService {
+    private final StockStreamBroker stockStreamBroker;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    public StockStreamServiceImpl(StockStreamBroker stockStreamBroker,
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository) {
+        this.stockStreamBroker = stockStreamBroker;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long productId, Long categoryId) {
+        StockLevelDTO initial = null;
+        if (productId != null) {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+            initial = mapToStockLevel(product);
+        }
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
+        return stockStreamBroker.subscribe(productId, categoryId, initial);
+    }
+    private StockLevelDTO mapToStockLevel(Product product) {
+        return StockLevelDTO.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .currentStock(product.getCurrentStock())
+                .stockVersion(product.getStockVersion())
+                .reorderLevel(product.getReorderLevel())
+                .lowStock(product.isLowStock())
+                .changedAt(product.getUpdatedAt() != null ? product.getUpdatedAt() : LocalDateTime.now())
+                .build();
+    }
+}
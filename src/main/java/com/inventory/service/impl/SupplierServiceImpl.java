@@ -1,24 +1,32 @@
 ﻿package com.inventory.service.impl;
 import com.inventory.dto.*;
 import com.inventory.entity.Supplier;
+import com.inventory.event.CatalogEntryDeletedEvent;
+import com.inventory.event.ProductStateChangedEvent;
 import com.inventory.exception.DuplicateResourceException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SupplierRepository;
 import com.inventory.service.interfaces.SupplierService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 @Service
 @Transactional
 @SuppressWarnings("null")
 public class SupplierServiceImpl implements SupplierService {
     private final SupplierRepository supplierRepository;
     private final ProductRepository productRepository;
-    public SupplierServiceImpl(SupplierRepository supplierRepository, ProductRepository productRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    public SupplierServiceImpl(SupplierRepository supplierRepository, ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.supplierRepository = supplierRepository;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     @Transactional(readOnly = true)
@@ -69,7 +77,14 @@ public class SupplierServiceImpl implements SupplierService {
         if (!supplierRepository.existsById(id)) {
             throw new ResourceNotFoundException("Supplier", "id", id);
         }
-        supplierRepository.deleteById(id);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> productIds = productRepository.findIdsBySupplierId(id);
+        productRepository.softDeleteBySupplierId(id, now);
+        supplierRepository.softDelete(id, now);
+        for (Long productId : productIds) {
+            eventPublisher.publishEvent(ProductStateChangedEvent.deleted(productId));
+        }
+        eventPublisher.publishEvent(CatalogEntryDeletedEvent.supplier(id, productIds.size()));
     }
     @Override
     @Transactional(readOnly = true)
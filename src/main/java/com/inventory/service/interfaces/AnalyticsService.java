@@ -0,0 +1,11 @@
+package com.inventory.service.interfaces;
+import com.inventory.analytics.LedgerGroupBy;
+import com.inventory.dto.LedgerStoreStatusDTO;
+import com.inventory.dto.LedgerTotalsDTO;
+import com.inventory.entity.TransactionType;
+import java.time.LocalDateTime;
+public interface AnalyticsService {
+    LedgerTotalsDTO getLedgerTotals(LedgerGroupBy groupBy, LocalDateTime from, LocalDateTime to,
+            TransactionType type, Long productId, int limit);
+    LedgerStoreStatusDTO getLedgerStatus();
+}
@@ -0,0 +1,9 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.ArchiveRunResultDTO;
+import com.inventory.dto.ArchiveSegmentDTO;
+import java.time.LocalDate;
+import java.util.List;
+public interface ArchiveService {
+    List<ArchiveSegmentDTO> getSegments();
+    ArchiveRunResultDTO archive(LocalDate before);
+}
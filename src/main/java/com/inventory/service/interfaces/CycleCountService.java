@@ -0,0 +1,6 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.CycleCountResultDTO;
+import java.io.InputStream;
+public interface CycleCountService {
+    CycleCountResultDTO applyCount(InputStream counts, Long locationId, String reference);
+}
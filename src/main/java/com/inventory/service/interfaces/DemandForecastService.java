@@ -0,0 +1,6 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.DemandForecastDTO;
+import java.util.List;
+public interface DemandForecastService {
+    List<DemandForecastDTO> findRunningOut(int days);
+}
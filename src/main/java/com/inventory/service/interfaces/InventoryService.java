@@ -1,12 +1,25 @@
 ﻿package com.inventory.service.interfaces;
 import com.inventory.dto.*;
 import com.inventory.entity.TransactionType;
+import com.inventory.projection.FieldSelection;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
+import java.util.List;
 public interface InventoryService extends InventoryOperations {
+    List<LocationStockDTO> transferStock(StockTransferDTO dto);
+    StockTransferResultDTO transferStock(List<StockTransferDTO> transfers);
+    List<ProductDTO> getLowStockProducts(FieldSelection fields);
+    List<InventoryTransactionDTO> getProductTransactions(Long productId, FieldSelection fields);
     PagedResponse<InventoryTransactionDTO> findAllTransactions(Pageable pageable);
+    PagedResponse<InventoryTransactionDTO> findAllTransactions(Pageable pageable, FieldSelection fields);
     PagedResponse<InventoryTransactionDTO> findTransactionsByProduct(Long productId, Pageable pageable);
+    PagedResponse<InventoryTransactionDTO> findTransactionsByProduct(Long productId, Pageable pageable,
+            FieldSelection fields);
     PagedResponse<InventoryTransactionDTO> findTransactionsByType(TransactionType type, Pageable pageable);
+    PagedResponse<InventoryTransactionDTO> findTransactionsByType(TransactionType type, Pageable pageable,
+            FieldSelection fields);
     PagedResponse<InventoryTransactionDTO> findTransactionsByDateRange(LocalDateTime start, LocalDateTime end,
             Pageable pageable);
+    PagedResponse<InventoryTransactionDTO> findTransactionsByDateRange(LocalDateTime start, LocalDateTime end,
+            Pageable pageable, FieldSelection fields);
 }
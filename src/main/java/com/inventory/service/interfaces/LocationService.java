@@ -0,0 +1,10 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.LocationCreateDTO;
+import com.inventory.dto.LocationDTO;
+import com.inventory.dto.LocationStockDTO;
+import java.util.List;
+public interface LocationService {
+    List<LocationDTO> findAll();
+    LocationDTO create(LocationCreateDTO dto);
+    List<LocationStockDTO> findStockLevels(Long productId);
+}
@@ -0,0 +1,7 @@
+package com.inventory.service.interfaces;
+import com.inventory.catalog.ImportFormat;
+import com.inventory.dto.ProductImportResultDTO;
+import java.io.InputStream;
+public interface ProductImportService {
+    ProductImportResultDTO importProducts(InputStream source, ImportFormat format);
+}
@@ -1,17 +1,27 @@
 ﻿package com.inventory.service.interfaces;
 import com.inventory.dto.*;
+import com.inventory.projection.FieldSelection;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
 import java.util.List;
 public interface ProductService {
     ProductDTO findById(Long id);
+    ProductDTO findById(Long id, LocalDateTime asOf);
     ProductDTO findBySku(String sku);
+    ProductLookupResultDTO lookup(ProductLookupDTO dto);
     PagedResponse<ProductDTO> findAll(Pageable pageable);
+    PagedResponse<ProductDTO> findAll(Pageable pageable, FieldSelection fields);
     PagedResponse<ProductDTO> searchByName(String name, Pageable pageable);
+    PagedResponse<ProductDTO> searchByName(String name, Pageable pageable, FieldSelection fields);
     PagedResponse<ProductDTO> findByCategory(Long categoryId, Pageable pageable);
+    PagedResponse<ProductDTO> findByCategory(Long categoryId, Pageable pageable, FieldSelection fields);
     PagedResponse<ProductDTO> findBySupplier(Long supplierId, Pageable pageable);
+    PagedResponse<ProductDTO> findBySupplier(Long supplierId, Pageable pageable, FieldSelection fields);
     List<ProductDTO> findLowStock();
+    List<ProductDTO> findLowStock(FieldSelection fields);
     ProductDTO create(ProductCreateDTO dto);
     ProductDTO update(Long id, ProductUpdateDTO dto);
     void delete(Long id);
     boolean existsBySku(String sku);
+    ProductChangesDTO findChanges(Long since, int limit);
 }
@@ -0,0 +1,12 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.PagedResponse;
+import com.inventory.dto.PurchaseOrderDraftDTO;
+import com.inventory.dto.PurchaseOrderDraftLineDTO;
+import com.inventory.dto.ReorderRunResultDTO;
+import org.springframework.data.domain.Pageable;
+public interface PurchaseOrderDraftService {
+    PagedResponse<PurchaseOrderDraftDTO> findAll(Pageable pageable);
+    PurchaseOrderDraftDTO findById(Long id);
+    PagedResponse<PurchaseOrderDraftLineDTO> findLines(Long draftId, Pageable pageable);
+    ReorderRunResultDTO generate();
+}
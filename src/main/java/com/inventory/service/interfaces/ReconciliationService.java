@@ -0,0 +1,5 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.ReconciliationReportDTO;
+public interface ReconciliationService {
+    ReconciliationReportDTO reconcile(boolean correct);
+}
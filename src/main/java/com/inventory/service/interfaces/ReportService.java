@@ -0,0 +1,15 @@
+package com.inventory.service.interfaces;
+import com.inventory.dto.DailyMovementDTO;
+import com.inventory.dto.RollupBackfillResultDTO;
+import com.inventory.dto.ValuationReportDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+public interface ReportService {
+    List<DailyMovementDTO> getProductMovements(Long productId, LocalDate from, LocalDate to);
+    List<DailyMovementDTO> getCategoryMovements(Long categoryId, LocalDate from, LocalDate to);
+    RollupBackfillResultDTO backfillDailyMovements();
+    ValuationReportDTO getValuation();
+    ValuationReportDTO getValuation(LocalDateTime asOf);
+    ValuationReportDTO getLiveValuation();
+}
@@ -0,0 +1,5 @@
+package com.inventory.service.interfaces;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+public interface StockStreamService {
+    SseEmitter subscribe(Long productId, Long categoryId);
+}
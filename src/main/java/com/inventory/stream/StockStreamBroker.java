@@ -0,0 +1,194 @@
+package com.inventory.stream;
+import com.inventory.dto.StockLevelDTO;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+@Component
+public class StockStreamBroker {
+    private static final Logger logger = LoggerFactory.getLogger(StockStreamBroker.class);
+    private static final String EVENT_NAME = "stock";
+    private final Set<StockSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final int maxSubscribers;
+    public StockStreamBroker(@Value("${inventory.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${inventory.stream.max-subscribers:5000}") int maxSubscribers,
+            @Value("${inventory.stream.dispatch-threads:4}") int dispatchThreads,
+            @Value("${inventory.stream.heartbeat-interval-ms:30000}") long heartbeatIntervalMs,
+            @Value("${inventory.stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = Math.max(100, sendTimeoutMs);
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatchThreads), runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000, heartbeatIntervalMs);
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long check = Math.max(50, this.sendTimeoutMs / 2);
+        this.heartbeat.scheduleAtFixedRate(this::abandonStalled, check, check, TimeUnit.MILLISECONDS);
+    }
+    public SseEmitter subscribe(Long productId, Long categoryId, StockLevelDTO initial) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new IllegalStateException("Stock stream subscriber limit of " + maxSubscribers + " reached");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        StockSubscription subscription = new StockSubscription(emitter, productId, categoryId);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> {
+            subscriptions.remove(subscription);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        if (initial != null) {
+            offer(subscription, initial);
+        }
+        return emitter;
+    }
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (subscriptions.isEmpty() || !isStockChange(event)) {
+            return;
+        }
+        StockLevelDTO update = toStockLevel(event);
+        for (StockSubscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                offer(subscription, update);
+            }
+        }
+    }
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter().complete());
+        subscriptions.clear();
+    }
+    private void offer(StockSubscription subscription, StockLevelDTO update) {
+        if (subscription.enqueue(update)) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+    private void drain(StockSubscription subscription) {
+        try {
+            do {
+                StockLevelDTO update;
+                while ((update = subscription.poll()) != null) {
+                    send(subscription, SseEmitter.event()
+                            .id(String.valueOf(sequence.incrementAndGet()))
+                            .name(EVENT_NAME)
+                            .data(update, MediaType.APPLICATION_JSON));
+                }
+            } while (subscription.release());
+        } catch (IOException | IllegalStateException e) {
+            drop(subscription, e);
+        }
+    }
+    private void sendHeartbeats() {
+        for (StockSubscription subscription : subscriptions) {
+            if (!subscription.claim()) {
+                continue;
+            }
+            dispatcher.execute(() -> {
+                try {
+                    send(subscription, SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscription, e);
+                    return;
+                }
+                if (subscription.release()) {
+                    drain(subscription);
+                }
+            });
+        }
+    }
+    private void send(StockSubscription subscription, SseEmitter.SseEventBuilder event) throws IOException {
+        subscription.beginSend();
+        try {
+            subscription.emitter().send(event);
+        } finally {
+            subscription.endSend();
+        }
+        if (subscription.isAbandoned()) {
+            throw new IOException("Subscriber did not accept a write within " + sendTimeoutMs + " ms");
+        }
+    }
+    private void abandonStalled() {
+        long now = System.currentTimeMillis();
+        for (StockSubscription subscription : subscriptions) {
+            if (subscription.isStalled(now, sendTimeoutMs) && subscriptions.remove(subscription)) {
+                logger.debug("Abandoning stock stream subscriber stalled for more than {} ms with {} pending updates",
+                        sendTimeoutMs, subscription.pendingCount());
+                subscription.abandon();
+            }
+        }
+    }
+    private void drop(StockSubscription subscription, Exception cause) {
+        if (subscriptions.remove(subscription) || subscription.isAbandoned()) {
+            logger.debug("Dropping stock stream subscriber with {} pending updates: {}",
+                    subscription.pendingCount(), cause.getMessage());
+            subscription.emitter().completeWithError(cause);
+        }
+    }
+    private boolean isStockChange(ProductStateChangedEvent event) {
+        ProductState before = event.before();
+        ProductState after = event.after();
+        return before == null || after == null
+                || !Objects.equals(before.currentStock(), after.currentStock())
+                || !Objects.equals(before.reorderLevel(), after.reorderLevel());
+    }
+    private StockLevelDTO toStockLevel(ProductStateChangedEvent event) {
+        ProductState state = event.after();
+        if (state == null) {
+            return StockLevelDTO.builder()
+                    .productId(event.productId())
+                    .deleted(true)
+                    .changedAt(LocalDateTime.now())
+                    .build();
+        }
+        return StockLevelDTO.builder()
+                .productId(state.id())
+                .sku(state.sku())
+                .categoryId(state.categoryId())
+                .currentStock(state.currentStock())
+                .stockVersion(state.stockVersion())
+                .reorderLevel(state.reorderLevel())
+                .lowStock(state.currentStock() != null && state.reorderLevel() != null
+                        && state.currentStock() <= state.reorderLevel())
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
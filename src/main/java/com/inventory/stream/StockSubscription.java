@@ -0,0 +1,95 @@
+package com.inventory.stream;
+import com.inventory.dto.StockLevelDTO;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+final class StockSubscription {
+    private final SseEmitter emitter;
+    private final Long productId;
+    private final Long categoryId;
+    private final Map<Long, StockLevelDTO> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Long> acceptedVersions = new HashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt;
+    private volatile boolean abandoned;
+    private Thread sender;
+    StockSubscription(SseEmitter emitter, Long productId, Long categoryId) {
+        this.emitter = emitter;
+        this.productId = productId;
+        this.categoryId = categoryId;
+    }
+    SseEmitter emitter() {
+        return emitter;
+    }
+    boolean matches(ProductStateChangedEvent event) {
+        if (productId != null && !productId.equals(event.productId())) {
+            return false;
+        }
+        return categoryId == null || inCategory(event.before()) || inCategory(event.after());
+    }
+    boolean enqueue(StockLevelDTO update) {
+        return accept(update) && draining.compareAndSet(false, true);
+    }
+    boolean claim() {
+        return draining.compareAndSet(false, true);
+    }
+    StockLevelDTO poll() {
+        Iterator<Long> keys = pending.keySet().iterator();
+        while (keys.hasNext()) {
+            StockLevelDTO update = pending.remove(keys.next());
+            if (update != null) {
+                return update;
+            }
+        }
+        return null;
+    }
+    boolean release() {
+        draining.set(false);
+        return !pending.isEmpty() && draining.compareAndSet(false, true);
+    }
+    int pendingCount() {
+        return pending.size();
+    }
+    synchronized void beginSend() {
+        sender = Thread.currentThread();
+        sendStartedAt = System.currentTimeMillis();
+    }
+    synchronized void endSend() {
+        sender = null;
+        sendStartedAt = 0;
+        Thread.interrupted();
+    }
+    boolean isStalled(long nowMillis, long timeoutMs) {
+        long started = sendStartedAt;
+        return started != 0 && nowMillis - started > timeoutMs;
+    }
+    synchronized void abandon() {
+        abandoned = true;
+        if (sender != null) {
+            sender.interrupt();
+        }
+    }
+    boolean isAbandoned() {
+        return abandoned;
+    }
+    private synchronized boolean accept(StockLevelDTO update) {
+        Long accepted = acceptedVersions.get(update.getProductId());
+        Long version = update.isDeleted() ? Long.valueOf(Long.MAX_VALUE) : update.getStockVersion();
+        if (accepted != null && (version == null || version < accepted)) {
+            return false;
+        }
+        if (version != null) {
+            acceptedVersions.put(update.getProductId(), version);
+        }
+        pending.put(update.getProductId(), update);
+        return true;
+    }
+    private boolean inCategory(ProductState state) {
+        return state != null && categoryId.equals(state.categoryId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.inventory.valuation;
+import java.math.BigDecimal;
+public record GroupTotal(long productCount, long units, BigDecimal value) {
+    public static final GroupTotal EMPTY = new GroupTotal(0, 0, BigDecimal.ZERO);
+    public static GroupTotal of(ValuationRow row) {
+        return new GroupTotal(1, row.units(), row.value());
+    }
+    public GroupTotal plus(GroupTotal other) {
+        return new GroupTotal(productCount + other.productCount, units + other.units, value.add(other.value));
+    }
+    public GroupTotal negate() {
+        return new GroupTotal(-productCount, -units, value.negate());
+    }
+    public boolean isEmpty() {
+        return productCount == 0 && units == 0 && value.signum() == 0;
+    }
+}
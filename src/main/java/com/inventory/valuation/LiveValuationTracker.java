@@ -0,0 +1,97 @@
+package com.inventory.valuation;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+@Component
+public class LiveValuationTracker {
+    private static final Logger logger = LoggerFactory.getLogger(LiveValuationTracker.class);
+    private final ValuationEngine engine;
+    private final Map<Long, ValuationRow> rows = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastEventSequence = new ConcurrentHashMap<>();
+    private final Map<Long, GroupTotal> categories = new ConcurrentHashMap<>();
+    private final Map<Long, GroupTotal> suppliers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile LocalDateTime lastResyncAt;
+    public LiveValuationTracker(ValuationEngine engine) {
+        this.engine = engine;
+    }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductStateChanged(ProductStateChangedEvent event) {
+        if (lastResyncAt == null) {
+            return;
+        }
+        lastEventSequence.put(event.productId(), sequence.incrementAndGet());
+        if (event.isDeleted()) {
+            rows.compute(event.productId(), (id, previous) -> replace(previous, null));
+        } else {
+            ValuationRow row = toRow(event.after());
+            rows.compute(event.productId(), (id, previous) -> replace(previous, row));
+        }
+    }
+    @Scheduled(initialDelayString = "${inventory.valuation.resync-initial-delay-ms:60000}",
+            fixedDelayString = "${inventory.valuation.resync-interval-ms:600000}")
+    public synchronized void resync() {
+        long start = System.currentTimeMillis();
+        long startSequence = sequence.get();
+        lastResyncAt = LocalDateTime.now();
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        engine.scan(row -> {
+            seen.add(row.id());
+            rows.compute(row.id(), (id, previous) -> isNewerThan(id, startSequence) ? previous : replace(previous, row));
+        });
+        for (Long id : rows.keySet()) {
+            if (!seen.contains(id)) {
+                rows.compute(id, (key, previous) -> isNewerThan(key, startSequence) ? previous : replace(previous, null));
+            }
+        }
+        lastEventSequence.values().removeIf(value -> value <= startSequence);
+        logger.info("Live valuation resynchronised {} products in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+    public ValuationTotals snapshot() {
+        if (lastResyncAt == null) {
+            resync();
+        }
+        return new ValuationTotals(new HashMap<>(categories), new HashMap<>(suppliers));
+    }
+    public LocalDateTime getLastResyncAt() {
+        return lastResyncAt;
+    }
+    private boolean isNewerThan(Long id, long startSequence) {
+        Long eventSequence = lastEventSequence.get(id);
+        return eventSequence != null && eventSequence > startSequence;
+    }
+    private ValuationRow replace(ValuationRow previous, ValuationRow next) {
+        if (previous != null) {
+            GroupTotal removed = GroupTotal.of(previous).negate();
+            apply(categories, ValuationTotals.key(previous.categoryId()), removed);
+            apply(suppliers, ValuationTotals.key(previous.supplierId()), removed);
+        }
+        if (next != null) {
+            GroupTotal added = GroupTotal.of(next);
+            apply(categories, ValuationTotals.key(next.categoryId()), added);
+            apply(suppliers, ValuationTotals.key(next.supplierId()), added);
+        }
+        return next;
+    }
+    private void apply(Map<Long, GroupTotal> groups, long key, GroupTotal delta) {
+        groups.compute(key, (id, current) -> {
+            GroupTotal updated = current != null ? current.plus(delta) : delta;
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+    private ValuationRow toRow(ProductState state) {
+        return new ValuationRow(state.id(), state.categoryId(), state.supplierId(), state.unitPrice(),
+                state.currentStock());
+    }
+}
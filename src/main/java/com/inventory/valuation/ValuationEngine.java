@@ -0,0 +1,96 @@
+package com.inventory.valuation;
+import com.inventory.history.StockAnchor;
+import com.inventory.history.StockHistory;
+import com.inventory.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+@Component
+public class ValuationEngine {
+    private final ProductRepository productRepository;
+    private final StockHistory stockHistory;
+    private final TransactionTemplate readTemplate;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+    public ValuationEngine(ProductRepository productRepository,
+            StockHistory stockHistory,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.valuation.chunk-size:1000}") long chunkSize,
+            @Value("${inventory.valuation.parallelism:4}") int parallelism) {
+        this.productRepository = productRepository;
+        this.stockHistory = stockHistory;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+    public ValuationTotals compute() {
+        return scan(null);
+    }
+    public ValuationTotals computeAt(LocalDateTime asOf) {
+        StockAnchor anchor = stockHistory.anchor(asOf);
+        return run((fromId, toId) -> stockHistory.valuationRowsAt(anchor, fromId, toId), null);
+    }
+    public ValuationTotals scan(Consumer<ValuationRow> visitor) {
+        return run(productRepository::findValuationRows, visitor);
+    }
+    private ValuationTotals run(BiFunction<Long, Long, List<ValuationRow>> source, Consumer<ValuationRow> visitor) {
+        Long minId = productRepository.findMinId();
+        Long maxId = productRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return new ValuationTotals();
+        }
+        return pool.invoke(new ChunkTask(minId, maxId, source, visitor));
+    }
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    private ValuationTotals aggregate(long fromId, long toId, BiFunction<Long, Long, List<ValuationRow>> source,
+            Consumer<ValuationRow> visitor) {
+        List<ValuationRow> rows = readTemplate.execute(status -> source.apply(fromId, toId));
+        ValuationTotals totals = new ValuationTotals();
+        if (rows == null) {
+            return totals;
+        }
+        for (ValuationRow row : rows) {
+            totals.add(row);
+            if (visitor != null) {
+                visitor.accept(row);
+            }
+        }
+        return totals;
+    }
+    private final class ChunkTask extends RecursiveTask<ValuationTotals> {
+        private final long fromId;
+        private final long toId;
+        private final BiFunction<Long, Long, List<ValuationRow>> source;
+        private final Consumer<ValuationRow> visitor;
+        private ChunkTask(long fromId, long toId, BiFunction<Long, Long, List<ValuationRow>> source,
+                Consumer<ValuationRow> visitor) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.source = source;
+            this.visitor = visitor;
+        }
+        @Override
+        protected ValuationTotals compute() {
+            if (toId - fromId < chunkSize) {
+                return aggregate(fromId, toId, source, visitor);
+            }
+            long mid = fromId + (toId - fromId) / 2;
+            ChunkTask left = new ChunkTask(fromId, mid, source, visitor);
+            left.fork();
+            ValuationTotals right = new ChunkTask(mid + 1, toId, source, visitor).compute();
+            return left.join().combine(right);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.valuation;
+import java.math.BigDecimal;
+public record ValuationRow(Long id, Long categoryId, Long supplierId, BigDecimal unitPrice, Integer currentStock) {
+    public long units() {
+        return currentStock != null ? currentStock : 0;
+    }
+    public BigDecimal value() {
+        return unitPrice != null ? unitPrice.multiply(BigDecimal.valueOf(units())) : BigDecimal.ZERO;
+    }
+}
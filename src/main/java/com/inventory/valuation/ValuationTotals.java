@@ -0,0 +1,37 @@
+package com.inventory.valuation;
+import java.util.HashMap;
+import java.util.Map;
+public class ValuationTotals {
+    public static final long UNASSIGNED = 0L;
+    private final Map<Long, GroupTotal> categories;
+    private final Map<Long, GroupTotal> suppliers;
+    public ValuationTotals() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+    public ValuationTotals(Map<Long, GroupTotal> categories, Map<Long, GroupTotal> suppliers) {
+        this.categories = categories;
+        this.suppliers = suppliers;
+    }
+    public static long key(Long groupId) {
+        return groupId != null ? groupId : UNASSIGNED;
+    }
+    public void add(ValuationRow row) {
+        GroupTotal total = GroupTotal.of(row);
+        categories.merge(key(row.categoryId()), total, GroupTotal::plus);
+        suppliers.merge(key(row.supplierId()), total, GroupTotal::plus);
+    }
+    public ValuationTotals combine(ValuationTotals other) {
+        other.categories.forEach((id, total) -> categories.merge(id, total, GroupTotal::plus));
+        other.suppliers.forEach((id, total) -> suppliers.merge(id, total, GroupTotal::plus));
+        return this;
+    }
+    public GroupTotal grandTotal() {
+        return categories.values().stream().reduce(GroupTotal.EMPTY, GroupTotal::plus);
+    }
+    public Map<Long, GroupTotal> getCategories() {
+        return categories;
+    }
+    public Map<Long, GroupTotal> getSuppliers() {
+        return suppliers;
+    }
+}
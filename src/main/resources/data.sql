@@ -32,6 +32,12 @@ INSERT IGNORE INTO products (name, sku, description, category_id, supplier_id, u
 ('Yoga Mat Premium', 'SPRT-YMP-001', 'Non-slip premium yoga mat 6mm thick', 6, 6, 29.99, 180, 30),
 ('Water Bottle Insulated 32oz', 'SPRT-WBI-002', 'Double-wall insulated stainless steel bottle', 6, 6, 24.99, 250, 50),
 ('Resistance Bands Set', 'SPRT-RBS-003', 'Set of 5 resistance bands with different strengths', 6, 6, 19.99, 140, 25);
+INSERT IGNORE INTO locations (code, name) VALUES
+('MAIN', 'Main warehouse');
+INSERT IGNORE INTO location_stock (product_id, location_id, quantity)
+SELECT p.id, l.id, p.current_stock FROM products p JOIN locations l ON l.code = 'MAIN'
+WHERE NOT EXISTS (SELECT 1 FROM location_stock s WHERE s.product_id = p.id);
+SET @seeded_after = (SELECT COALESCE(MAX(id), 0) FROM inventory_transactions);
 INSERT IGNORE INTO inventory_transactions (product_id, transaction_type, quantity, reference_number, notes, created_by) VALUES
 (1, 'STOCK_IN', 200, 'PO-2024-001', 'Initial stock from supplier', 'admin'),
 (1, 'STOCK_OUT', 50, 'SO-2024-001', 'Sold to customer', 'admin'),
@@ -43,6 +49,12 @@ INSERT IGNORE INTO inventory_transactions (product_id, transaction_type, quantit
 (7, 'STOCK_OUT', 25, 'SO-2024-004', 'End of season sale', 'admin'),
 (10, 'STOCK_IN', 25, 'PO-2024-005', 'Low stock replenishment', 'admin'),
 (10, 'STOCK_OUT', 22, 'SO-2024-005', 'Customer orders', 'admin');
+INSERT INTO daily_movements (product_id, movement_date, transaction_type, total_quantity, transaction_count)
+SELECT seeded.product_id, seeded.movement_date, seeded.transaction_type, seeded.quantity, seeded.movements FROM (
+    SELECT product_id, CAST(transaction_date AS DATE) AS movement_date, transaction_type, SUM(quantity) AS quantity, COUNT(*) AS movements
+    FROM inventory_transactions WHERE id > @seeded_after
+    GROUP BY product_id, CAST(transaction_date AS DATE), transaction_type) seeded
+ON DUPLICATE KEY UPDATE total_quantity = total_quantity + seeded.quantity, transaction_count = transaction_count + seeded.movements;
 INSERT IGNORE INTO users (username, password, email, role, enabled) VALUES
 ('admin', 'password123', 'admin@inventory.com', 'ADMIN', TRUE),
 ('user', 'password123', 'user@inventory.com', 'USER', TRUE),
@@ -4,8 +4,10 @@
     description VARCHAR(500),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP NULL,
     CONSTRAINT uq_category_name UNIQUE (name),
-    INDEX idx_category_name (name)
+    INDEX idx_category_name (name),
+    INDEX idx_category_deleted (deleted_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 CREATE TABLE IF NOT EXISTS suppliers (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -16,9 +18,11 @@ CREATE TABLE IF NOT EXISTS suppliers (
     address VARCHAR(500),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP NULL,
     CONSTRAINT uq_supplier_email UNIQUE (email),
     INDEX idx_supplier_company (company_name),
-    INDEX idx_supplier_email (email)
+    INDEX idx_supplier_email (email),
+    INDEX idx_supplier_deleted (deleted_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 CREATE TABLE IF NOT EXISTS products (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -30,8 +34,10 @@ CREATE TABLE IF NOT EXISTS products (
     unit_price DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
     current_stock INT NOT NULL DEFAULT 0,
     reorder_level INT NOT NULL DEFAULT 10,
+    stock_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP NULL,
     CONSTRAINT uq_product_sku UNIQUE (sku),
     CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL,
     CONSTRAINT fk_product_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE SET NULL,
@@ -39,21 +45,95 @@ CREATE TABLE IF NOT EXISTS products (
     INDEX idx_product_sku (sku),
     INDEX idx_product_category (category_id),
     INDEX idx_product_supplier (supplier_id),
-    INDEX idx_product_stock (current_stock, reorder_level)
+    INDEX idx_product_stock (current_stock, reorder_level),
+    INDEX idx_product_deleted (deleted_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS locations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_location_code UNIQUE (code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS location_stock (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_location_stock_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_location_stock_location FOREIGN KEY (location_id) REFERENCES locations(id),
+    UNIQUE KEY uq_location_stock (product_id, location_id),
+    INDEX idx_location_stock_location (location_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 CREATE TABLE IF NOT EXISTS inventory_transactions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     product_id BIGINT NOT NULL,
-    transaction_type ENUM('STOCK_IN', 'STOCK_OUT', 'ADJUSTMENT') NOT NULL,
+    location_id BIGINT,
+    transaction_type ENUM('STOCK_IN', 'STOCK_OUT', 'ADJUSTMENT', 'TRANSFER_OUT', 'TRANSFER_IN') NOT NULL,
     quantity INT NOT NULL,
     reference_number VARCHAR(50),
     notes VARCHAR(500),
     transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     created_by VARCHAR(100),
     CONSTRAINT fk_transaction_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_transaction_location FOREIGN KEY (location_id) REFERENCES locations(id) ON DELETE SET NULL,
     INDEX idx_transaction_product (product_id),
     INDEX idx_transaction_type (transaction_type),
-    INDEX idx_transaction_date (transaction_date)
+    INDEX idx_transaction_date (transaction_date),
+    INDEX idx_transaction_product_date (product_id, transaction_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS daily_movements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    movement_date DATE NOT NULL,
+    transaction_type ENUM('STOCK_IN', 'STOCK_OUT', 'ADJUSTMENT', 'TRANSFER_OUT', 'TRANSFER_IN') NOT NULL,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_daily_movement_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    UNIQUE KEY uq_daily_movement (product_id, movement_date, transaction_type),
+    INDEX idx_daily_movement_date (movement_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    stock INT NOT NULL,
+    CONSTRAINT fk_stock_snapshot_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    UNIQUE KEY uq_stock_snapshot (product_id, snapshot_at),
+    INDEX idx_stock_snapshot_at (snapshot_at, product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS product_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    change_type ENUM('CREATED', 'UPDATED', 'STOCK', 'DELETED') NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    INDEX idx_product_change_at (changed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS purchase_order_drafts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    supplier_id BIGINT NOT NULL,
+    status ENUM('GENERATING', 'DRAFT') NOT NULL,
+    run_id VARCHAR(36) NOT NULL,
+    line_count INT NOT NULL DEFAULT 0,
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    estimated_cost DECIMAL(14, 2) NOT NULL DEFAULT 0.00,
+    generated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_draft_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE CASCADE,
+    INDEX idx_draft_status (status),
+    INDEX idx_draft_run (run_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS purchase_order_draft_lines (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    draft_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    sku VARCHAR(50) NOT NULL,
+    current_stock INT NOT NULL,
+    reorder_level INT NOT NULL,
+    recent_outflow BIGINT NOT NULL,
+    suggested_quantity INT NOT NULL,
+    unit_price DECIMAL(10, 2) NOT NULL,
+    CONSTRAINT fk_draft_line_draft FOREIGN KEY (draft_id) REFERENCES purchase_order_drafts(id) ON DELETE CASCADE,
+    INDEX idx_draft_line_draft (draft_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -68,3 +148,57 @@ CREATE TABLE IF NOT EXISTS users (
     CONSTRAINT uq_user_email UNIQUE (email),
     INDEX idx_user_username (username)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(50) PRIMARY KEY
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+CREATE TABLE IF NOT EXISTS ledger_segments (
+    window_start BIGINT PRIMARY KEY,
+    window_end BIGINT NOT NULL,
+    row_count BIGINT NOT NULL,
+    min_id BIGINT NOT NULL,
+    max_id BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'inventory_transactions' AND index_name = 'idx_transaction_product_date') = 0,
+    'ALTER TABLE inventory_transactions ADD INDEX idx_transaction_product_date (product_id, transaction_date)', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'inventory_transactions' AND column_name = 'location_id') = 0,
+    'ALTER TABLE inventory_transactions ADD COLUMN location_id BIGINT AFTER product_id, ADD CONSTRAINT fk_transaction_location FOREIGN KEY (location_id) REFERENCES locations(id) ON DELETE SET NULL', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'inventory_transactions' AND column_name = 'transaction_type' AND column_type NOT LIKE '%TRANSFER_IN%') > 0,
+    'ALTER TABLE inventory_transactions MODIFY COLUMN transaction_type ENUM(''STOCK_IN'', ''STOCK_OUT'', ''ADJUSTMENT'', ''TRANSFER_OUT'', ''TRANSFER_IN'') NOT NULL', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'daily_movements' AND column_name = 'transaction_type' AND column_type NOT LIKE '%TRANSFER_IN%') > 0,
+    'ALTER TABLE daily_movements MODIFY COLUMN transaction_type ENUM(''STOCK_IN'', ''STOCK_OUT'', ''ADJUSTMENT'', ''TRANSFER_OUT'', ''TRANSFER_IN'') NOT NULL', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'categories' AND column_name = 'deleted_at') = 0,
+    'ALTER TABLE categories ADD COLUMN deleted_at TIMESTAMP NULL, ADD INDEX idx_category_deleted (deleted_at)', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'suppliers' AND column_name = 'deleted_at') = 0,
+    'ALTER TABLE suppliers ADD COLUMN deleted_at TIMESTAMP NULL, ADD INDEX idx_supplier_deleted (deleted_at)', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'products' AND column_name = 'deleted_at') = 0,
+    'ALTER TABLE products ADD COLUMN deleted_at TIMESTAMP NULL, ADD INDEX idx_product_deleted (deleted_at)', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'products' AND column_name = 'stock_version') = 0,
+    'ALTER TABLE products ADD COLUMN stock_version BIGINT NOT NULL DEFAULT 0 AFTER reorder_level', 'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
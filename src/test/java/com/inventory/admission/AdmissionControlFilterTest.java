@@ -0,0 +1,89 @@
+package com.inventory.admission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+class AdmissionControlFilterTest {
+    private static final long SECOND = 1_000_000_000L;
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+    @Test
+    @DisplayName("Should admit a burst, then refill at the configured rate")
+    void shouldAdmitBurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+        assertThat(bucket.isIdle(2 * SECOND)).isTrue();
+    }
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a user's read budget is spent, without affecting writes")
+    void shouldRejectPerUserAndEndpointClass() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter(1, 8), mapper());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("integration", null, List.of()));
+        assertThat(run(filter, "GET", "/api/inventory/transactions").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = run(filter, "GET", "/api/inventory/transactions");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(limited.getContentAsString()).contains("Rate limit exceeded for read requests");
+        assertThat(run(filter, "POST", "/api/inventory/stock-in").getStatus()).isEqualTo(200);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("warehouse", null, List.of()));
+        assertThat(run(filter, "GET", "/api/inventory/transactions").getStatus()).isEqualTo(200);
+    }
+    @Test
+    @DisplayName("Should shed report requests once the report bulkhead is full")
+    void shouldShedWhenBulkheadFull() throws Exception {
+        AdmissionLimiter limiter = limiter(100, 1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, mapper());
+        AtomicInteger nested = new AtomicInteger();
+        MockHttpServletRequest outer = new MockHttpServletRequest("GET", "/api/reports/valuation");
+        MockHttpServletResponse outerResponse = new MockHttpServletResponse();
+        filter.doFilter(outer, outerResponse, (request, response) -> {
+            MockHttpServletResponse inner = run(filter, "GET", "/api/reports/valuation");
+            nested.set(inner.getStatus());
+            assertThat(inner.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(run(filter, "GET", "/api/products").getStatus()).isEqualTo(200);
+        });
+        assertThat(nested.get()).isEqualTo(503);
+        assertThat(limiter.availablePermits(EndpointClass.REPORT)).isEqualTo(1);
+        assertThat(limiter.getRejections(EndpointClass.REPORT)).isEqualTo(1);
+    }
+    private AdmissionLimiter limiter(int burst, int maxConcurrent) {
+        Map<EndpointClass, AdmissionLimiter.Limits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            limits.put(endpoint, new AdmissionLimiter.Limits(0.5, burst, maxConcurrent));
+        }
+        return new AdmissionLimiter(limits, 0, 1000);
+    }
+    private MockHttpServletResponse run(AdmissionControlFilter filter, String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+    private ObjectMapper mapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+}
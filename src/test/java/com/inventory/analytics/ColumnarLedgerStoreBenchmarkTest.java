@@ -0,0 +1,71 @@
+package com.inventory.analytics;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+@Tag("benchmark")
+@SuppressWarnings({"null", "unchecked"})
+class ColumnarLedgerStoreBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarLedgerStoreBenchmarkTest.class);
+    private static final int ROWS = 2_000_000;
+    private static final int BATCH = 10_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    @Test
+    @DisplayName("Should report load time and per-grouping scan latency over 2M ledger rows")
+    void benchmarkAggregations() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong())).thenAnswer(invocation ->
+                batchAfter(invocation.getArgument(2)));
+        ColumnarLedgerStore store = new ColumnarLedgerStore(mock(LedgerArchive.class), jdbcTemplate, true);
+        long loadStart = System.nanoTime();
+        store.rebuild();
+        logger.info("Loaded {} rows in {} ms, {} bytes", store.size(), (System.nanoTime() - loadStart) / 1_000_000,
+                store.estimatedBytes());
+        assertThat(store.size()).isEqualTo(ROWS);
+        for (LedgerGroupBy groupBy : LedgerGroupBy.values()) {
+            for (int i = 0; i < WARMUP; i++) {
+                store.aggregate(groupBy, null, null, null, null);
+            }
+            long start = System.nanoTime();
+            LedgerAggregate aggregate = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                aggregate = store.aggregate(groupBy, null, null, null, null);
+            }
+            long fullScan = (System.nanoTime() - start) / ITERATIONS / 1000;
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                store.aggregate(groupBy, START.plusDays(30), START.plusDays(60), TransactionType.STOCK_OUT, null);
+            }
+            long filtered = (System.nanoTime() - start) / ITERATIONS / 1000;
+            logger.info("{} grouping: {} groups, full scan {} us/op, filtered scan {} us/op",
+                    groupBy, aggregate.groups().size(), fullScan, filtered);
+            assertThat(aggregate.rowsMatched()).isEqualTo(ROWS);
+        }
+    }
+    private static List<ArchivedTransaction> batchAfter(long afterId) {
+        List<ArchivedTransaction> batch = new ArrayList<>(BATCH);
+        for (long id = afterId + 1; id <= Math.min(ROWS, afterId + BATCH); id++) {
+            batch.add(new ArchivedTransaction(id, 1 + id % 5_000, TYPES[(int) (id % TYPES.length)],
+                    1 + (int) (id % 50), null, null, START.plusMinutes(id / 4), id % 7 == 0 ? "admin" : "warehouse"));
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,134 @@
+package com.inventory.analytics;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.entity.TransactionType;
+import com.inventory.event.ProductStateChangedEvent;
+import com.inventory.event.StockMovementEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+@SuppressWarnings({"null", "unchecked"})
+class ColumnarLedgerStoreTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ColumnarLedgerStore store = new ColumnarLedgerStore(mock(LedgerArchive.class), jdbcTemplate, true);
+    private final List<ArchivedTransaction> databaseRows = new ArrayList<>();
+    @BeforeEach
+    void setUp() {
+        databaseRows.add(row(1, 1, TransactionType.STOCK_IN, 10, BASE.plusMinutes(5), "alice"));
+        databaseRows.add(row(2, 1, TransactionType.STOCK_OUT, 3, BASE.plusMinutes(65), "bob"));
+        databaseRows.add(row(3, 2, TransactionType.STOCK_IN, 20, BASE.plusDays(1), "alice"));
+        databaseRows.add(row(4, 2, TransactionType.ADJUSTMENT, 4, BASE.plusDays(1).plusMinutes(30), "bob"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L)))
+                .thenAnswer(invocation -> List.copyOf(databaseRows));
+    }
+    @Test
+    @DisplayName("Should refuse to aggregate before the first load completes")
+    void shouldRefuseBeforeLoaded() {
+        assertThatThrownBy(() -> store.aggregate(LedgerGroupBy.TYPE, null, null, null, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+    @Test
+    @DisplayName("Should group by type, product and user ordered by quantity")
+    void shouldGroupByDimension() {
+        store.rebuild();
+        LedgerAggregate byType = store.aggregate(LedgerGroupBy.TYPE, null, null, null, null);
+        assertThat(byType.rowsScanned()).isEqualTo(4);
+        assertThat(byType.rowsMatched()).isEqualTo(4);
+        assertThat(byType.groups()).extracting(LedgerGroup::key, LedgerGroup::quantity, LedgerGroup::count)
+                .containsExactly(
+                        tuple((long) TransactionType.STOCK_IN.ordinal(), 30L, 2L),
+                        tuple((long) TransactionType.ADJUSTMENT.ordinal(), 4L, 1L),
+                        tuple((long) TransactionType.STOCK_OUT.ordinal(), 3L, 1L));
+        assertThat(store.aggregate(LedgerGroupBy.PRODUCT, null, null, null, null).groups())
+                .extracting(LedgerGroup::key, LedgerGroup::quantity, LedgerGroup::count)
+                .containsExactly(tuple(2L, 24L, 2L), tuple(1L, 13L, 2L));
+        List<LedgerGroup> byUser = store.aggregate(LedgerGroupBy.USER, null, null, null, null).groups();
+        assertThat(byUser).extracting(group -> store.decodeUser((int) group.key()), LedgerGroup::quantity)
+                .containsExactly(tuple("alice", 30L), tuple("bob", 7L));
+    }
+    @Test
+    @DisplayName("Should apply type and product filters before grouping")
+    void shouldFilterByTypeAndProduct() {
+        store.rebuild();
+        LedgerAggregate aggregate = store.aggregate(LedgerGroupBy.PRODUCT, null, null, TransactionType.STOCK_IN, 1L);
+        assertThat(aggregate.rowsScanned()).isEqualTo(4);
+        assertThat(aggregate.rowsMatched()).isEqualTo(1);
+        assertThat(aggregate.groups()).extracting(LedgerGroup::key, LedgerGroup::quantity)
+                .containsExactly(tuple(1L, 10L));
+    }
+    @Test
+    @DisplayName("Should bucket by hour and day from the first matching minute with inclusive bounds")
+    void shouldBucketByTime() {
+        store.rebuild();
+        assertThat(store.aggregate(LedgerGroupBy.HOUR, null, null, null, null).groups())
+                .extracting(group -> ColumnarLedgerStore.fromMinute(group.key()), LedgerGroup::quantity,
+                        LedgerGroup::count)
+                .containsExactly(
+                        tuple(BASE, 10L, 1L),
+                        tuple(BASE.plusHours(1), 3L, 1L),
+                        tuple(BASE.plusDays(1), 24L, 2L));
+        assertThat(store.aggregate(LedgerGroupBy.DAY, BASE.plusMinutes(65), BASE.plusDays(1), null, null).groups())
+                .extracting(group -> ColumnarLedgerStore.fromMinute(group.key()), LedgerGroup::quantity)
+                .containsExactly(
+                        tuple(BASE.toLocalDate().atStartOfDay(), 3L),
+                        tuple(BASE.toLocalDate().plusDays(1).atStartOfDay(), 20L));
+        assertThat(store.aggregate(LedgerGroupBy.DAY, BASE.plusYears(1), null, null, null).groups()).isEmpty();
+    }
+    @Test
+    @DisplayName("Should reject hourly grouping over too many buckets")
+    void shouldRejectTooWideRange() {
+        store.rebuild();
+        store.onStockMovement(event(5, 1, TransactionType.STOCK_IN, 1, BASE.plusYears(30)));
+        assertThatThrownBy(() -> store.aggregate(LedgerGroupBy.HOUR, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.aggregate(LedgerGroupBy.DAY, null, null, null, null).rowsMatched()).isEqualTo(5);
+    }
+    @Test
+    @DisplayName("Should catch up rows committed elsewhere without double counting local events")
+    void shouldCatchUpFromDatabase() {
+        store.rebuild();
+        store.onStockMovement(event(5, 1, TransactionType.STOCK_IN, 7, BASE.plusDays(2)));
+        databaseRows.add(row(5, 1, TransactionType.STOCK_IN, 7, BASE.plusDays(2), "alice"));
+        databaseRows.add(row(6, 2, TransactionType.STOCK_OUT, 2, BASE.plusDays(2), "carol"));
+        store.catchUp();
+        assertThat(store.size()).isEqualTo(6);
+        assertThat(store.aggregate(LedgerGroupBy.PRODUCT, null, null, null, null).groups())
+                .extracting(LedgerGroup::key, LedgerGroup::quantity)
+                .containsExactly(tuple(2L, 26L), tuple(1L, 20L));
+        store.onStockMovement(event(6, 2, TransactionType.STOCK_OUT, 2, BASE.plusDays(2)));
+        assertThat(store.size()).isEqualTo(6);
+    }
+    @Test
+    @DisplayName("Should retract a product's rows when it is deleted")
+    void shouldRetractDeletedProduct() {
+        store.rebuild();
+        store.onProductStateChanged(ProductStateChangedEvent.deleted(1L));
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.aggregate(LedgerGroupBy.PRODUCT, null, null, null, null).groups())
+                .extracting(LedgerGroup::key).containsExactly(2L);
+    }
+    private static ArchivedTransaction row(long id, long productId, TransactionType type, int quantity,
+            LocalDateTime at, String user) {
+        return new ArchivedTransaction(id, productId, type, quantity, null, null, at, user);
+    }
+    private static StockMovementEvent event(long id, long productId, TransactionType type, int quantity,
+            LocalDateTime at) {
+        return new StockMovementEvent(productId, id, type, quantity, 0, 0, 0, "alice",
+                at.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
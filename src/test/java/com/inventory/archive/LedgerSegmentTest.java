@@ -0,0 +1,82 @@
+package com.inventory.archive;
+import com.inventory.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+class LedgerSegmentTest {
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2023, 3, 1, 0, 0);
+    @TempDir
+    Path directory;
+    @Test
+    @DisplayName("Should round-trip transactions through a compressed segment")
+    void shouldRoundTripSegment() throws Exception {
+        LedgerSegment segment = writeSegment();
+        assertThat(segment.getRowCount()).isEqualTo(5);
+        assertThat(segment.getMinId()).isEqualTo(10);
+        assertThat(segment.getMaxId()).isEqualTo(14);
+        assertThat(segment.getBlockCount()).isEqualTo(3);
+        List<ArchivedTransaction> product = segment.read(ArchiveFilter.byProduct(2L));
+        assertThat(product).extracting(ArchivedTransaction::id).containsExactly(12L, 13L, 14L);
+        assertThat(product.get(0).notes()).isNull();
+        assertThat(product.get(1).referenceNumber()).isEqualTo("SO-13");
+        assertThat(product.get(2).transactionDate()).isEqualTo(MONTH_START.plusDays(4).plusHours(3));
+    }
+    @Test
+    @DisplayName("Should answer counts from the block index and filter by type and date")
+    void shouldCountAndFilter() throws Exception {
+        LedgerSegment segment = writeSegment();
+        assertThat(segment.count(ArchiveFilter.byProduct(2L))).isEqualTo(3);
+        assertThat(segment.count(ArchiveFilter.byProduct(3L))).isZero();
+        assertThat(segment.count(ArchiveFilter.byType(TransactionType.STOCK_OUT))).isEqualTo(2);
+        assertThat(segment.read(ArchiveFilter.byType(TransactionType.STOCK_OUT)))
+                .extracting(ArchivedTransaction::id).containsExactlyInAnyOrder(11L, 13L);
+        ArchiveFilter range = ArchiveFilter.byDateRange(MONTH_START.plusDays(1), MONTH_START.plusDays(3).plusHours(3));
+        assertThat(segment.count(range)).isEqualTo(2);
+        assertThat(segment.read(range)).extracting(ArchivedTransaction::id).containsExactlyInAnyOrder(11L, 13L);
+    }
+    @Test
+    @DisplayName("Should stream matching rows to a visitor block by block")
+    void shouldVisitMatchingRows() throws Exception {
+        LedgerSegment segment = writeSegment();
+        Map<Long, Integer> quantities = new HashMap<>();
+        segment.forEach(ArchiveFilter.all(), row -> quantities.merge(row.productId(), row.quantity(), Integer::sum));
+        assertThat(quantities).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 21, 2L, 39));
+        List<Long> ids = new ArrayList<>();
+        segment.forEach(ArchiveFilter.byProduct(2L), row -> ids.add(row.id()));
+        assertThat(ids).containsExactly(12L, 13L, 14L);
+    }
+    @Test
+    @DisplayName("Should page archived rows newest first across segments")
+    void shouldPageAcrossSegments() throws Exception {
+        writeSegment();
+        LedgerArchive archive = new LedgerArchive(directory.toString());
+        archive.load();
+        ArchivePage page = archive.find(ArchiveFilter.byProduct(2L), 1, 10);
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.rows()).extracting(ArchivedTransaction::id).containsExactly(13L, 12L);
+    }
+    private LedgerSegment writeSegment() throws Exception {
+        Path target = directory.resolve("ledger-2023-03.seg");
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(target,
+                ArchivedTransaction.toEpochMillis(MONTH_START),
+                ArchivedTransaction.toEpochMillis(MONTH_START.plusMonths(1)), 2)) {
+            writer.append(row(10, 1, TransactionType.STOCK_IN, 0, "PO-10"));
+            writer.append(row(11, 1, TransactionType.STOCK_OUT, 2, "SO-11"));
+            writer.append(row(12, 2, TransactionType.STOCK_IN, 0, null));
+            writer.append(row(13, 2, TransactionType.STOCK_OUT, 3, "SO-13"));
+            writer.append(row(14, 2, TransactionType.ADJUSTMENT, 4, "ADJ-14"));
+            return LedgerSegment.open(writer.finish());
+        }
+    }
+    private ArchivedTransaction row(long id, long productId, TransactionType type, int day, String reference) {
+        return new ArchivedTransaction(id, productId, type, (int) id, reference,
+                reference != null ? "note " + id : null, MONTH_START.plusDays(day).plusHours(3), "tester");
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventory.catalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+class ProductRowReaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Test
+    @DisplayName("Should read quoted and multi-line CSV fields by header name in chunks")
+    void shouldReadCsvInChunks() {
+        ProductRowReader reader = ProductRowReader.of(ImportFormat.CSV, new StringReader(
+                "\uFEFFSKU,Name,Description,Unit_Price,Category,Notes\n"
+                        + "SKU-1,Widget,\"Small, blue\",9.5,Tools,ignored\n"
+                        + "\n"
+                        + "SKU-2,\"Gadget \"\"Pro\"\"\",\"Line one\nLine two\",12,,\n"
+                        + "SKU-3,,,,\n"), 2, objectMapper);
+        List<ImportRowError> errors = new ArrayList<>();
+        List<ProductImportRow> first = reader.nextChunk(errors::add);
+        List<ProductImportRow> second = reader.nextChunk(errors::add);
+        assertThat(first).containsExactly(
+                new ProductImportRow(2, "SKU-1", "Widget", "Small, blue", "Tools", null, new BigDecimal("9.50"), null,
+                        null),
+                new ProductImportRow(4, "SKU-2", "Gadget \"Pro\"", "Line one\nLine two", null, null,
+                        new BigDecimal("12.00"), null, null));
+        assertThat(second).containsExactly(
+                new ProductImportRow(6, "SKU-3", null, null, null, null, null, null, null));
+        assertThat(reader.nextChunk(errors::add)).isEmpty();
+        assertThat(reader.getRowsRead()).isEqualTo(3);
+        assertThat(errors).isEmpty();
+    }
+    @Test
+    @DisplayName("Should reject a CSV header without a sku column")
+    void shouldRequireSkuColumn() {
+        ProductRowReader reader = ProductRowReader.of(ImportFormat.CSV, new StringReader("name,unitPrice\nWidget,1\n"),
+                10, objectMapper);
+        assertThatThrownBy(() -> reader.nextChunk(error -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sku");
+    }
+    @Test
+    @DisplayName("Should parse NDJSON objects and report invalid lines without stopping")
+    void shouldReadNdjsonAndReportErrors() {
+        ProductRowReader reader = ProductRowReader.of(ImportFormat.NDJSON, new StringReader(
+                "{\"sku\":\"SKU-1\",\"name\":\"Widget\",\"unitPrice\":19.99,\"initialStock\":5,\"supplier\":null}\n"
+                        + "{\"sku\":\"SKU-2\",\"unitPrice\":1.234}\n"
+                        + "[1,2]\n"
+                        + "{\"sku\":\"SKU-3\",\"reorder_level\":-1}\n"
+                        + "{\"name\":\"No SKU\"}\n"
+                        + "{not json\n"
+                        + "{\"sku\":\"SKU-4\",\"reorderLevel\":3}\n"), 100, objectMapper);
+        List<ImportRowError> errors = new ArrayList<>();
+        List<ProductImportRow> rows = reader.nextChunk(errors::add);
+        assertThat(rows).containsExactly(
+                new ProductImportRow(1, "SKU-1", "Widget", null, null, null, new BigDecimal("19.99"), 5, null),
+                new ProductImportRow(7, "SKU-4", null, null, null, null, null, null, 3));
+        assertThat(errors).extracting(ImportRowError::lineNumber).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(errors).extracting(ImportRowError::sku).containsExactly("SKU-2", null, "SKU-3", null, null);
+        assertThat(errors.get(0).message()).contains("2 decimals");
+        assertThat(reader.getRowsRead()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.catalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+class SkuBloomFilterTest {
+    @Test
+    @DisplayName("Should never miss an inserted SKU and stay near the target false-positive rate")
+    void shouldHaveNoFalseNegatives() {
+        SkuBloomFilter filter = new SkuBloomFilter(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("SKU-" + i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("SKU-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("OTHER-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+    @Test
+    @DisplayName("Should match SKUs the way a case- and accent-insensitive unique index does")
+    void shouldNormalizeKeys() {
+        SkuBloomFilter filter = new SkuBloomFilter(100, 0.01);
+        filter.put("Caf\u00e9-001");
+        assertThat(filter.mightContain("CAFE-001")).isTrue();
+        assertThat(filter.mightContain("cafe-001  ")).isTrue();
+        assertThat(SkuKeys.normalize("ABC-1 ")).isEqualTo("abc-1");
+    }
+}
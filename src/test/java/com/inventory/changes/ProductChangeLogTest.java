@@ -0,0 +1,105 @@
+package com.inventory.changes;
+import com.inventory.entity.ProductChange;
+import com.inventory.entity.ProductChangeType;
+import com.inventory.exception.ChangeTokenExpiredException;
+import com.inventory.repository.ProductChangeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+@SuppressWarnings("null")
+class ProductChangeLogTest {
+    private final ProductChangeRepository changeRepository = mock(ProductChangeRepository.class);
+    private final ProductChangeLog changeLog = new ProductChangeLog(changeRepository, mock(JdbcTemplate.class),
+            mock(PlatformTransactionManager.class), 30, 5, 5000);
+    @Test
+    @DisplayName("Should stop before a gap that is younger than the grace period")
+    void shouldStopAtRecentGap() {
+        when(changeRepository.findTail()).thenReturn(1L);
+        when(changeRepository.findAfter(10L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(change(11, 60), change(12, 60), change(14, 1)));
+        ProductChangeLog.ChangeBatch batch = changeLog.read(10, 10);
+        assertThat(batch.changes()).extracting(ProductChange::getId).containsExactly(11L, 12L);
+        assertThat(batch.nextToken()).isEqualTo(12);
+        assertThat(batch.hasMore()).isTrue();
+    }
+    @Test
+    @DisplayName("Should hold the token when the first pending sequence is still in flight")
+    void shouldHoldTokenAtLeadingGap() {
+        when(changeRepository.findAfter(10L, PageRequest.of(0, 11))).thenReturn(List.of(change(12, 1)));
+        ProductChangeLog.ChangeBatch batch = changeLog.read(10, 10);
+        assertThat(batch.changes()).isEmpty();
+        assertThat(batch.nextToken()).isEqualTo(10);
+        assertThat(batch.hasMore()).isTrue();
+    }
+    @Test
+    @DisplayName("Should skip gaps older than the grace period as rolled back")
+    void shouldSkipSettledGap() {
+        when(changeRepository.findAfter(10L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(change(11, 60), change(13, 30), change(17, 10)));
+        ProductChangeLog.ChangeBatch batch = changeLog.read(10, 10);
+        assertThat(batch.changes()).extracting(ProductChange::getId).containsExactly(11L, 13L, 17L);
+        assertThat(batch.nextToken()).isEqualTo(17);
+        assertThat(batch.hasMore()).isFalse();
+    }
+    @Test
+    @DisplayName("Should cap the batch at the limit and report more")
+    void shouldCapAtLimit() {
+        when(changeRepository.findAfter(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(change(1, 60), change(2, 60), change(3, 60)));
+        ProductChangeLog.ChangeBatch batch = changeLog.read(0, 2);
+        assertThat(batch.changes()).extracting(ProductChange::getId).containsExactly(1L, 2L);
+        assertThat(batch.nextToken()).isEqualTo(2);
+        assertThat(batch.hasMore()).isTrue();
+    }
+    @Test
+    @DisplayName("Should expire tokens that fall before the pruned tail")
+    void shouldExpireTokensBeforeTail() {
+        when(changeRepository.findTail()).thenReturn(100L);
+        assertThatThrownBy(() -> changeLog.read(98, 10)).isInstanceOf(ChangeTokenExpiredException.class);
+        assertThat(changeLog.read(99, 10).nextToken()).isEqualTo(99);
+    }
+    @Test
+    @DisplayName("Should prune from the tail to the retention cutoff in chunks")
+    void shouldPruneInChunks() {
+        when(changeRepository.findTail()).thenReturn(1L);
+        when(changeRepository.findMaxIdBefore(any())).thenReturn(12L);
+        when(changeRepository.deleteByIdRange(anyLong(), anyLong())).thenReturn(5, 5, 2);
+        changeLog.prune();
+        InOrder order = inOrder(changeRepository);
+        order.verify(changeRepository).deleteByIdRange(1L, 5L);
+        order.verify(changeRepository).deleteByIdRange(6L, 10L);
+        order.verify(changeRepository).deleteByIdRange(11L, 12L);
+        verify(changeRepository, times(3)).deleteByIdRange(anyLong(), anyLong());
+    }
+    @Test
+    @DisplayName("Should not prune when nothing is older than the retention window")
+    void shouldSkipPruneWithoutCutoff() {
+        when(changeRepository.findTail()).thenReturn(1L);
+        when(changeRepository.findMaxIdBefore(any())).thenReturn(null);
+        changeLog.prune();
+        verify(changeRepository, never()).deleteByIdRange(anyLong(), anyLong());
+    }
+    private static ProductChange change(long id, long secondsAgo) {
+        return ProductChange.builder()
+                .id(id)
+                .productId(1L)
+                .changeType(ProductChangeType.STOCK)
+                .changedAt(LocalDateTime.now().minusSeconds(secondsAgo))
+                .build();
+    }
+}
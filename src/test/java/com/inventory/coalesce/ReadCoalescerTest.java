@@ -0,0 +1,160 @@
+package com.inventory.coalesce;
+import com.inventory.datasource.CommittedWrites;
+import com.inventory.datasource.ConsistencyTokens;
+import com.inventory.datasource.ReplicaWatermark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+class ReadCoalescerTest {
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ReplicaWatermark replicaWatermark = mock(ReplicaWatermark.class);
+    private final AtomicLong primaryClock = new AtomicLong(5_000L);
+    private final CommittedWrites committedWrites = new CommittedWrites(provider(replicaWatermark));
+    @BeforeEach
+    void setUp() {
+        when(replicaWatermark.primaryNow()).thenAnswer(invocation -> primaryClock.get());
+    }
+    @Test
+    @DisplayName("Should share one execution between concurrent callers of the same key")
+    void shouldShareInFlightExecution() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(transactionManager, committedWrites, 0, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> leader = pool.submit(() -> coalescer.execute("low-stock", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(pool.submit(() -> coalescer.execute("low-stock", () -> {
+                    loads.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            while (coalescer.getShared() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.getExecutions()).isEqualTo(1);
+        assertThat(coalescer.execute("low-stock", () -> "fresh")).isEqualTo("fresh");
+    }
+    @Test
+    @DisplayName("Should reuse completed results within the TTL but never cache failures")
+    void shouldHonourTtlAndNotCacheFailures() {
+        ReadCoalescer coalescer = new ReadCoalescer(transactionManager, committedWrites, 60_000, 100);
+        assertThat(coalescer.execute("products:0", () -> "first")).isEqualTo("first");
+        assertThat(coalescer.execute("products:0", () -> "second")).isEqualTo("first");
+        assertThatThrownBy(() -> coalescer.execute("products:1", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.execute("products:1", () -> "recovered")).isEqualTo("recovered");
+        assertThat(coalescer.getExecutions()).isEqualTo(3);
+    }
+    @Test
+    @DisplayName("Should only share a replica read with callers whose token the replica had already reached")
+    void shouldNotShareStaleReplicaReadWithNewerToken() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(transactionManager, committedWrites, 60_000, 100);
+        assertThat(coalescer.execute("products:0", () -> {
+            ConsistencyTokens.servedFromReplica(1_000L);
+            return "replica";
+        })).isEqualTo("replica");
+        assertThat(withToken(900L, () -> coalescer.execute("products:0", () -> "duplicate"))).isEqualTo("replica");
+        assertThat(withToken(2_000L, () -> coalescer.execute("products:0", () -> "primary"))).isEqualTo("primary");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> coalescer.execute("products:1", () -> {
+                ConsistencyTokens.servedFromReplica(1_000L);
+                started.countDown();
+                await(release);
+                return "replica";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> newer = pool.submit(() -> withToken(2_000L,
+                    () -> coalescer.execute("products:1", () -> "primary")));
+            assertThat(newer.get(1, TimeUnit.SECONDS)).isEqualTo("primary");
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("replica");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(coalescer.getExecutions()).isEqualTo(4);
+        assertThat(coalescer.getShared()).isEqualTo(1);
+    }
+    @Test
+    @DisplayName("Should not share a read that started before a later write committed")
+    void shouldNotShareReadStartedBeforeWrite() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(transactionManager, committedWrites, 60_000, 100);
+        assertThat(coalescer.execute("products:0", () -> "before")).isEqualTo("before");
+        primaryClock.set(6_000L);
+        committedWrites.afterCommit(writeTransaction(), null);
+        assertThat(coalescer.execute("products:0", () -> "after")).isEqualTo("after");
+        assertThat(coalescer.execute("products:0", () -> "duplicate")).isEqualTo("after");
+        assertThat(withToken(7_000L, () -> coalescer.execute("products:0", () -> "newer"))).isEqualTo("newer");
+        assertThat(coalescer.getExecutions()).isEqualTo(3);
+        assertThat(coalescer.getShared()).isEqualTo(1);
+    }
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ReplicaWatermark> provider(ReplicaWatermark watermark) {
+        ObjectProvider<ReplicaWatermark> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(watermark);
+        return provider;
+    }
+    private static TransactionExecution writeTransaction() {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.hasTransaction()).thenReturn(true);
+        return transaction;
+    }
+    private static <T> T withToken(long token, Supplier<T> call) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ConsistencyTokens.HEADER, Long.toString(token));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return call.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory.config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.inventory.dto.InventoryTransactionDTO;
+import com.inventory.dto.PagedResponse;
+import com.inventory.entity.TransactionType;
+import com.inventory.projection.FieldSelection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+@Tag("benchmark")
+class PayloadFormatBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadFormatBenchmarkTest.class);
+    private static final int ROWS = 1000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    @Test
+    @DisplayName("Should report serialization CPU and wire bytes per format for 1k-row transaction pages")
+    void benchmarkTransactionPageFormats() throws IOException {
+        PagedResponse<InventoryTransactionDTO> page = transactionPage();
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", mapper().build());
+        formats.put("cbor", mapper().factory(new CBORFactory()).build());
+        formats.put("smile", mapper().factory(new SmileFactory()).build());
+        Map<String, Integer> rawBytes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper objectMapper = format.getValue();
+            for (int i = 0; i < WARMUP; i++) {
+                gzip(objectMapper.writeValueAsBytes(page));
+            }
+            byte[] body = null;
+            long serializeNanos = 0;
+            long gzipNanos = 0;
+            int gzipped = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = threads.getCurrentThreadCpuTime();
+                body = objectMapper.writeValueAsBytes(page);
+                long serialized = threads.getCurrentThreadCpuTime();
+                gzipped = gzip(body).length;
+                gzipNanos += threads.getCurrentThreadCpuTime() - serialized;
+                serializeNanos += serialized - start;
+            }
+            rawBytes.put(format.getKey(), body.length);
+            logger.info("{} rows as {}: {} bytes ({} gzipped), serialize {} us/op, gzip {} us/op",
+                    ROWS, format.getKey(), body.length, gzipped,
+                    serializeNanos / ITERATIONS / 1000, gzipNanos / ITERATIONS / 1000);
+            assertThat(gzipped).isLessThan(body.length);
+        }
+        assertThat(rawBytes.get("cbor")).isLessThan(rawBytes.get("json"));
+        assertThat(rawBytes.get("smile")).isLessThan(rawBytes.get("json"));
+    }
+    private Jackson2ObjectMapperBuilder mapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldSelection.serializeAll());
+    }
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+    private PagedResponse<InventoryTransactionDTO> transactionPage() {
+        TransactionType[] types = TransactionType.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<InventoryTransactionDTO> content = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long productId = 1 + i % 97;
+            content.add(InventoryTransactionDTO.builder()
+                    .id(100_000L + i)
+                    .productId(productId)
+                    .productName("Product " + productId)
+                    .productSku("SKU-" + String.format("%05d", productId))
+                    .transactionType(types[i % types.length])
+                    .quantity(1 + i % 50)
+                    .referenceNumber(i % 3 == 0 ? "PO-" + (2000 + i / 3) : null)
+                    .notes(i % 5 == 0 ? "Cycle count correction" : null)
+                    .transactionDate(start.plusMinutes(i * 7L))
+                    .createdBy(i % 2 == 0 ? "warehouse" : "admin")
+                    .build());
+        }
+        return PagedResponse.<InventoryTransactionDTO>builder()
+                .content(content)
+                .page(0)
+                .size(ROWS)
+                .totalElements(ROWS * 10L)
+                .totalPages(10)
+                .first(true)
+                .last(false)
+                .build();
+    }
+}
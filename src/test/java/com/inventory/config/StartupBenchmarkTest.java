@@ -0,0 +1,69 @@
+package com.inventory.config;
+import com.inventory.InventoryApplication;
+import com.inventory.entity.Role;
+import com.inventory.entity.User;
+import com.inventory.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import static org.assertj.core.api.Assertions.assertThat;
+@Tag("benchmark")
+class StartupBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmarkTest.class);
+    private static final String PROFILES = System.getProperty("startup.profiles", "test,fast-startup");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    @Test
+    @DisplayName("Should report time to the first successful authenticated request")
+    void benchmarkTimeToFirstSuccessfulRequest() throws IOException, InterruptedException {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryApplication.class)
+                .profiles(PROFILES.split(","))
+                .properties("server.port=0", "inventory.admission.enabled=false")
+                .run()) {
+            long started = System.nanoTime();
+            context.getBean(UserRepository.class).save(User.builder()
+                    .username("startup")
+                    .password("startup")
+                    .email("startup@inventory.com")
+                    .role(Role.VIEWER)
+                    .build());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            int status = firstSuccessfulRequest(port);
+            long firstResponse = System.nanoTime();
+            logger.info("profiles [{}]: context started in {} ms, first successful request after {} ms ({} ms since JVM start)",
+                    PROFILES, (started - start) / 1_000_000, (firstResponse - start) / 1_000_000,
+                    System.currentTimeMillis() - jvmStart);
+            assertThat(status).isEqualTo(200);
+        }
+    }
+    private int firstSuccessfulRequest(int port) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        String credentials = Base64.getEncoder().encodeToString("startup:startup".getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                .header("Authorization", "Basic " + credentials)
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        int status;
+        do {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } while (status != 200 && System.nanoTime() < deadline);
+        return status;
+    }
+}
@@ -2,6 +2,8 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.dto.*;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.projection.FieldSelection;
+import com.inventory.service.interfaces.ProductImportService;
 import com.inventory.service.interfaces.ProductService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -37,6 +39,8 @@ class ProductControllerTest {
         private ObjectMapper objectMapper;
         @MockBean
         private ProductService productService;
+        @MockBean
+        private ProductImportService productImportService;
         private ProductDTO createTestProductDTO() {
                 return ProductDTO.builder()
                                 .id(1L)
@@ -72,7 +76,7 @@ class ProductControllerTest {
                                         .first(true)
                                         .last(true)
                                         .build();
-                        when(productService.findAll(any(Pageable.class))).thenReturn(response);
+                        when(productService.findAll(any(Pageable.class), any(FieldSelection.class))).thenReturn(response);
                         mockMvc.perform(get("/api/products")
                                         .contentType(MediaType.APPLICATION_JSON))
                                         .andExpect(status().isOk())
@@ -82,6 +86,48 @@ class ProductControllerTest {
                                         .andExpect(jsonPath("$.totalElements").value(1));
                 }
                 @Test
+                @WithMockUser
+                @DisplayName("Should return only the requested fields")
+                void shouldReturnOnlyRequestedFields() throws Exception {
+                        PagedResponse<ProductDTO> response = PagedResponse.<ProductDTO>builder()
+                                        .content(List.of(createTestProductDTO()))
+                                        .page(0)
+                                        .size(10)
+                                        .totalElements(1)
+                                        .totalPages(1)
+                                        .first(true)
+                                        .last(true)
+                                        .build();
+                        when(productService.findAll(any(Pageable.class), any(FieldSelection.class))).thenReturn(response);
+                        mockMvc.perform(get("/api/products").param("fields", "id,sku,currentStock"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content[0].sku").value("TEST-001"))
+                                        .andExpect(jsonPath("$.content[0].currentStock").value(100))
+                                        .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                                        .andExpect(jsonPath("$.content[0].categoryName").doesNotExist())
+                                        .andExpect(jsonPath("$.totalElements").value(1));
+                }
+                @Test
+                @WithMockUser
+                @DisplayName("Should negotiate CBOR when requested")
+                void shouldNegotiateCborWhenRequested() throws Exception {
+                        PagedResponse<ProductDTO> response = PagedResponse.<ProductDTO>builder()
+                                        .content(List.of(createTestProductDTO()))
+                                        .totalElements(1)
+                                        .build();
+                        when(productService.findAll(any(Pageable.class), any(FieldSelection.class))).thenReturn(response);
+                        mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_CBOR))
+                                        .andExpect(status().isOk())
+                                        .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+                }
+                @Test
+                @WithMockUser
+                @DisplayName("Should return 400 for unknown field")
+                void shouldReturn400ForUnknownField() throws Exception {
+                        mockMvc.perform(get("/api/products").param("fields", "id,secret"))
+                                        .andExpect(status().isBadRequest());
+                }
+                @Test
                 @DisplayName("Should require authentication")
                 void shouldRequireAuthentication() throws Exception {
                         mockMvc.perform(get("/api/products"))
@@ -174,6 +220,34 @@ class ProductControllerTest {
                 }
         }
         @Nested
+        @DisplayName("POST /api/products/lookup tests")
+        class LookupProductsTests {
+                @Test
+                @WithMockUser(roles = "VIEWER")
+                @DisplayName("Should resolve ids and SKUs and report missing keys")
+                void shouldResolveIdsAndSkusAndReportMissingKeys() throws Exception {
+                        ProductLookupDTO lookupDTO = ProductLookupDTO.builder()
+                                        .ids(List.of(1L, 99L))
+                                        .skus(List.of("TEST-001", "MISSING-001"))
+                                        .build();
+                        ProductLookupResultDTO result = ProductLookupResultDTO.builder()
+                                        .products(List.of(createTestProductDTO()))
+                                        .missingIds(List.of(99L))
+                                        .missingSkus(List.of("MISSING-001"))
+                                        .build();
+                        when(productService.lookup(any(ProductLookupDTO.class))).thenReturn(result);
+                        mockMvc.perform(post("/api/products/lookup")
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(lookupDTO)))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.products[0].sku").value("TEST-001"))
+                                        .andExpect(jsonPath("$.products[0].lowStock").value(false))
+                                        .andExpect(jsonPath("$.missingIds[0]").value(99))
+                                        .andExpect(jsonPath("$.missingSkus[0]").value("MISSING-001"));
+                }
+        }
+        @Nested
         @DisplayName("DELETE /api/products/{id} tests")
         class DeleteProductTests {
                 @Test
@@ -212,7 +286,7 @@ class ProductControllerTest {
                                         .first(true)
                                         .last(true)
                                         .build();
-                        when(productService.searchByName(eq("Test"), any(Pageable.class))).thenReturn(response);
+                        when(productService.searchByName(eq("Test"), any(Pageable.class), any(FieldSelection.class))).thenReturn(response);
                         mockMvc.perform(get("/api/products/search")
                                         .param("name", "Test")
                                         .contentType(MediaType.APPLICATION_JSON))
@@ -234,7 +308,7 @@ class ProductControllerTest {
                                         .reorderLevel(10)
                                         .lowStock(true)
                                         .build();
-                        when(productService.findLowStock()).thenReturn(List.of(lowStockProduct));
+                        when(productService.findLowStock(any(FieldSelection.class))).thenReturn(List.of(lowStockProduct));
                         mockMvc.perform(get("/api/products/low-stock")
                                         .contentType(MediaType.APPLICATION_JSON))
                                         .andExpect(status().isOk())
@@ -0,0 +1,35 @@
+package com.inventory.cyclecount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+class CountFileReaderTest {
+    @Test
+    @DisplayName("Should split a count file into chunks and skip the header and blank lines")
+    void shouldReadInChunks() {
+        CountFileReader reader = new CountFileReader(new StringReader(
+                "\uFEFFsku,quantity\nSKU-1,5\n\n\"SKU-2\", 0\nSKU-3,12\n"), 2);
+        List<CountRejection> rejected = new ArrayList<>();
+        List<CountLine> first = reader.nextChunk(rejected::add);
+        List<CountLine> second = reader.nextChunk(rejected::add);
+        assertThat(first).containsExactly(new CountLine(2, "SKU-1", 5), new CountLine(4, "SKU-2", 0));
+        assertThat(second).containsExactly(new CountLine(5, "SKU-3", 12));
+        assertThat(reader.nextChunk(rejected::add)).isEmpty();
+        assertThat(reader.getLinesRead()).isEqualTo(3);
+        assertThat(rejected).isEmpty();
+    }
+    @Test
+    @DisplayName("Should reject malformed, negative and duplicate lines without stopping")
+    void shouldRejectInvalidLines() {
+        CountFileReader reader = new CountFileReader(new StringReader(
+                "SKU-1,5\nSKU-2\nSKU-3,abc\nSKU-4,-1\nSKU-1,7\nSKU-5,3\n"), 100);
+        List<CountRejection> rejected = new ArrayList<>();
+        List<CountLine> lines = reader.nextChunk(rejected::add);
+        assertThat(lines).extracting(CountLine::sku).containsExactly("SKU-1", "SKU-5");
+        assertThat(rejected).extracting(CountRejection::lineNumber).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(rejected.get(3).reason()).contains("already counted");
+        assertThat(reader.getLinesRead()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,81 @@
+package com.inventory.datasource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+class ReadWriteRoutingDataSourceTest {
+    private final ReplicaWatermark watermark = mock(ReplicaWatermark.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final ReadWriteRoutingDataSource routing =
+            new ReadWriteRoutingDataSource(primary, mock(DataSource.class), watermark);
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        RequestContextHolder.resetRequestAttributes();
+    }
+    @Test
+    @DisplayName("Should route read-only transactions to the replica only when it has caught up to the token")
+    void shouldRouteReadOnlyByToken() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(watermark.canServe(null)).thenReturn(true);
+        when(watermark.canServe(2000L)).thenReturn(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+        request.addHeader(ConsistencyTokens.HEADER, "2000");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+    @Test
+    @DisplayName("Should route writes to the primary and issue a primary-clock token after commit")
+    void shouldIssueTokenAfterWriteCommits() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(primary.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getLong(1)).thenReturn(5_000L);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(routing.getConnection()).isSameAs(connection);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertThat(response.getHeader(ConsistencyTokens.HEADER)).isEqualTo("5000");
+    }
+    @Test
+    @DisplayName("Should not track writes in a synchronization scope without an actual transaction")
+    void shouldNotTrackWritesWithoutTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.inventory.demand;
+import com.inventory.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+class DemandVelocityStoreTest {
+    private static final long DAY = 86_400_000L;
+    private static final long START = 1_700_000_000_000L;
+    @TempDir
+    Path directory;
+    @Test
+    @DisplayName("Should halve the demand rate after one half-life and ignore inbound movements")
+    void shouldDecayRateByHalfLife() {
+        DemandVelocityStore store = store();
+        store.record(1L, TransactionType.STOCK_OUT, 14, 86, 1, START);
+        double initial = store.get(1L, START).dailyVelocity();
+        assertThat(initial).isCloseTo(Math.log(2), within(1e-9));
+        store.record(1L, TransactionType.STOCK_IN, 40, 126, 2, START + DAY);
+        assertThat(store.get(1L, START + 14 * DAY).dailyVelocity()).isCloseTo(initial / 2, within(1e-9));
+        assertThat(store.get(1L, START + 14 * DAY).currentStock()).isEqualTo(126);
+        store.record(1L, TransactionType.STOCK_OUT, 14, 112, 3, START + 14 * DAY);
+        assertThat(store.get(1L, START + 14 * DAY).dailyVelocity()).isCloseTo(initial * 1.5, within(1e-9));
+    }
+    @Test
+    @DisplayName("Should keep the stock level with the highest stock version when movements arrive out of order")
+    void shouldIgnoreOlderStockLevels() {
+        DemandVelocityStore store = store();
+        store.record(1L, TransactionType.STOCK_OUT, 5, 20, 4, START + DAY);
+        store.record(1L, TransactionType.STOCK_OUT, 5, 25, 3, START + 2 * DAY);
+        assertThat(store.get(1L, START + 2 * DAY).currentStock()).isEqualTo(20);
+        store.record(1L, TransactionType.STOCK_IN, 30, 50, 5, START);
+        assertThat(store.get(1L, START + 3 * DAY).currentStock()).isEqualTo(50);
+    }
+    @Test
+    @DisplayName("Should not take stock levels from transfers between locations")
+    void shouldIgnoreTransferStockLevels() {
+        DemandVelocityStore store = store();
+        store.record(1L, TransactionType.STOCK_OUT, 5, 20, 2, START + DAY);
+        store.record(1L, TransactionType.TRANSFER_OUT, 3, 25, 2, START + 2 * DAY);
+        store.record(1L, TransactionType.TRANSFER_IN, 3, 25, 2, START + 2 * DAY);
+        assertThat(store.get(1L, START + 2 * DAY).currentStock()).isEqualTo(20);
+    }
+    @Test
+    @DisplayName("Should list products running out ordered by days of cover")
+    void shouldOrderRunningOutByDaysOfCover() {
+        DemandVelocityStore store = store();
+        store.record(1L, TransactionType.STOCK_OUT, 14, 5, 1, START);
+        store.record(2L, TransactionType.STOCK_OUT, 28, 1, 1, START);
+        store.record(3L, TransactionType.STOCK_OUT, 14, 500, 1, START);
+        store.record(4L, TransactionType.STOCK_IN, 10, 0, 1, START);
+        assertThat(store.findRunningOut(30, START))
+                .extracting(DemandSnapshot::productId)
+                .containsExactly(2L, 1L);
+        store.clear(2L);
+        assertThat(store.findRunningOut(30, START)).extracting(DemandSnapshot::productId).containsExactly(1L);
+    }
+    @Test
+    @DisplayName("Should restore rates and stock levels from a checkpoint")
+    void shouldRoundTripCheckpoint() {
+        DemandVelocityStore store = store();
+        store.record(1L, TransactionType.STOCK_OUT, 14, 30, 7, START);
+        store.record(5000L, TransactionType.STOCK_OUT, 7, 3, 1, START + DAY);
+        store.checkpoint();
+        DemandVelocityStore restored = store();
+        restored.restore();
+        assertThat(restored.get(1L, START + 2 * DAY)).isEqualTo(store.get(1L, START + 2 * DAY));
+        assertThat(restored.get(5000L, START + 2 * DAY)).isEqualTo(store.get(5000L, START + 2 * DAY));
+        assertThat(restored.get(2L, START)).isNull();
+        restored.record(1L, TransactionType.STOCK_OUT, 1, 99, 6, START + DAY);
+        assertThat(restored.get(1L, START).currentStock()).isEqualTo(30);
+    }
+    private DemandVelocityStore store() {
+        return new DemandVelocityStore(14, directory.resolve("demand.bin").toString());
+    }
+}
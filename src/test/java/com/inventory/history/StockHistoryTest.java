@@ -0,0 +1,120 @@
+package com.inventory.history;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerSegmentWriter;
+import com.inventory.entity.Product;
+import com.inventory.entity.StockSnapshot;
+import com.inventory.entity.TransactionType;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+@SuppressWarnings("null")
+class StockHistoryTest {
+    private static final LocalDateTime MARCH = LocalDateTime.of(2023, 3, 1, 0, 0);
+    private final StockSnapshotRepository snapshotRepository = mock(StockSnapshotRepository.class);
+    private final InventoryTransactionRepository transactionRepository = mock(InventoryTransactionRepository.class);
+    private final LedgerArchive emptyArchive = mock(LedgerArchive.class);
+    private final Product product = Product.builder()
+            .id(1L)
+            .currentStock(100)
+            .createdAt(MARCH.minusYears(1))
+            .build();
+    @TempDir
+    Path directory;
+    @Test
+    @DisplayName("Should roll a floor snapshot forward by the movements up to the requested time")
+    void shouldRollFloorSnapshotForward() {
+        LocalDateTime snapshotAt = MARCH.plusDays(10);
+        LocalDateTime asOf = MARCH.plusDays(12);
+        when(snapshotRepository.findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(1L, asOf))
+                .thenReturn(Optional.of(snapshot(snapshotAt, 50)));
+        when(transactionRepository.sumSignedQuantity(1L, snapshotAt, asOf)).thenReturn(-5L);
+        assertThat(history(emptyArchive).stockAt(product, asOf)).isEqualTo(45);
+        verify(snapshotRepository, never()).findFirstByProductIdAndSnapshotAtGreaterThanOrderBySnapshotAtAsc(any(), any());
+    }
+    @Test
+    @DisplayName("Should roll a ceiling snapshot back when no earlier snapshot exists")
+    void shouldRollCeilingSnapshotBack() {
+        LocalDateTime asOf = MARCH.plusDays(2);
+        LocalDateTime snapshotAt = MARCH.plusDays(5);
+        when(snapshotRepository.findFirstByProductIdAndSnapshotAtGreaterThanOrderBySnapshotAtAsc(1L, asOf))
+                .thenReturn(Optional.of(snapshot(snapshotAt, 40)));
+        when(transactionRepository.sumSignedQuantity(1L, asOf, snapshotAt)).thenReturn(10L);
+        assertThat(history(emptyArchive).stockAt(product, asOf)).isEqualTo(30);
+    }
+    @Test
+    @DisplayName("Should roll current stock back when there are no snapshots")
+    void shouldRollCurrentStockBack() {
+        LocalDateTime asOf = MARCH.plusDays(2);
+        when(transactionRepository.sumSignedQuantitySince(1L, asOf)).thenReturn(20L);
+        assertThat(history(emptyArchive).stockAt(product, asOf)).isEqualTo(80);
+    }
+    @Test
+    @DisplayName("Should report zero before the product existed and reject future times")
+    void shouldHandleCreationAndFuture() {
+        assertThat(history(emptyArchive).stockAt(product, product.getCreatedAt().minusDays(1))).isZero();
+        assertThatThrownBy(() -> history(emptyArchive).stockAt(product, LocalDateTime.now().plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    @Test
+    @DisplayName("Should read archived movements before the archive boundary and hot rows after it")
+    void shouldSpanArchiveBoundary() throws Exception {
+        LedgerArchive archive = archiveWithMarch();
+        LocalDateTime snapshotAt = MARCH.plusDays(10);
+        LocalDateTime archivedUntil = MARCH.plusMonths(1);
+        LocalDateTime asOf = archivedUntil.plusDays(9);
+        when(snapshotRepository.findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(1L, asOf))
+                .thenReturn(Optional.of(snapshot(snapshotAt, 100)));
+        when(transactionRepository.sumSignedQuantity(1L, archivedUntil, asOf)).thenReturn(-3L);
+        assertThat(archive.getArchivedUntil()).isEqualTo(archivedUntil);
+        assertThat(history(archive).stockAt(product, asOf)).isEqualTo(110);
+        verify(transactionRepository, never()).sumSignedQuantity(eq(1L), eq(snapshotAt), any());
+    }
+    @Test
+    @DisplayName("Should answer from the archive alone when the window ends before the boundary")
+    void shouldAnswerFromArchiveOnly() throws Exception {
+        LedgerArchive archive = archiveWithMarch();
+        LocalDateTime asOf = MARCH.plusDays(18);
+        when(snapshotRepository.findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(1L, asOf))
+                .thenReturn(Optional.of(snapshot(MARCH.plusDays(10), 100)));
+        assertThat(history(archive).stockAt(product, asOf)).isEqualTo(120);
+        verify(transactionRepository, never()).sumSignedQuantity(any(), any(), any());
+    }
+    private StockHistory history(LedgerArchive archive) {
+        return new StockHistory(snapshotRepository, transactionRepository, mock(ProductRepository.class), archive);
+    }
+    private LedgerArchive archiveWithMarch() throws Exception {
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(directory.resolve("ledger-2023-03.seg"),
+                ArchivedTransaction.toEpochMillis(MARCH), ArchivedTransaction.toEpochMillis(MARCH.plusMonths(1)), 4)) {
+            writer.append(row(1, 1, TransactionType.STOCK_OUT, 5, MARCH.plusDays(4)));
+            writer.append(row(2, 1, TransactionType.STOCK_IN, 20, MARCH.plusDays(14)));
+            writer.append(row(3, 1, TransactionType.STOCK_OUT, 7, MARCH.plusDays(19)));
+            writer.append(row(4, 2, TransactionType.STOCK_IN, 50, MARCH.plusDays(15)));
+            writer.finish();
+        }
+        LedgerArchive archive = new LedgerArchive(directory.toString());
+        archive.load();
+        return archive;
+    }
+    private static ArchivedTransaction row(long id, long productId, TransactionType type, int quantity,
+            LocalDateTime at) {
+        return new ArchivedTransaction(id, productId, type, quantity, null, null, at, "tester");
+    }
+    private static StockSnapshot snapshot(LocalDateTime snapshotAt, int stock) {
+        return StockSnapshot.builder().productId(1L).snapshotAt(snapshotAt).stock(stock).build();
+    }
+}
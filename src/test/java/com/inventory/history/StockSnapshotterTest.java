@@ -0,0 +1,109 @@
+package com.inventory.history;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+@SuppressWarnings("null")
+class StockSnapshotterTest {
+    private static final LocalDateTime SNAPSHOT_AT = LocalDateTime.of(2024, 5, 20, 0, 0);
+    private final StockSnapshotRepository snapshotRepository = mock(StockSnapshotRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LedgerArchive ledgerArchive = mock(LedgerArchive.class);
+    private final ClusterJobLock jobLock = mock(ClusterJobLock.class);
+    private final StockSnapshotter snapshotter = new StockSnapshotter(snapshotRepository, productRepository,
+            ledgerArchive, jobLock, mock(PlatformTransactionManager.class), 10, 30);
+    @BeforeEach
+    void setUp() {
+        when(jobLock.tryRun(anyString(), any())).thenAnswer(invocation ->
+                Optional.of(invocation.<Supplier<?>>getArgument(1).get()));
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenReturn(25L);
+        when(snapshotRepository.findSnapshotTimesBefore(any())).thenReturn(List.of());
+    }
+    @Test
+    @DisplayName("Should roll the previous snapshot forward in product id chunks")
+    void shouldRollForwardFromPreviousSnapshot() {
+        LocalDateTime previousAt = SNAPSHOT_AT.minusDays(1);
+        when(snapshotRepository.findLatestSnapshotAtBefore(SNAPSHOT_AT)).thenReturn(previousAt);
+        when(snapshotRepository.rollForward(eq(previousAt), eq(SNAPSHOT_AT), anyLong(), anyLong())).thenReturn(10, 10, 5);
+        StockSnapshotter.SnapshotRun run = snapshotter.run(SNAPSHOT_AT);
+        assertThat(run.rolledForward()).isTrue();
+        assertThat(run.rows()).isEqualTo(25);
+        verify(snapshotRepository).rollForward(previousAt, SNAPSHOT_AT, 1L, 10L);
+        verify(snapshotRepository).rollForward(previousAt, SNAPSHOT_AT, 11L, 20L);
+        verify(snapshotRepository).rollForward(previousAt, SNAPSHOT_AT, 21L, 25L);
+        verify(snapshotRepository, never()).captureFromCurrent(any(), any(), any());
+    }
+    @Test
+    @DisplayName("Should capture from current stock when there is no previous snapshot")
+    void shouldCaptureWithoutPreviousSnapshot() {
+        when(snapshotRepository.captureFromCurrent(eq(SNAPSHOT_AT), anyLong(), anyLong())).thenReturn(10, 10, 5);
+        StockSnapshotter.SnapshotRun run = snapshotter.run(SNAPSHOT_AT);
+        assertThat(run.rolledForward()).isFalse();
+        assertThat(run.rows()).isEqualTo(25);
+        verify(snapshotRepository).captureFromCurrent(SNAPSHOT_AT, 21L, 25L);
+        verify(snapshotRepository, never()).rollForward(any(), any(), any(), any());
+    }
+    @Test
+    @DisplayName("Should capture from current stock when the previous snapshot predates the archive boundary")
+    void shouldCaptureWhenPreviousSnapshotIsArchived() {
+        when(snapshotRepository.findLatestSnapshotAtBefore(SNAPSHOT_AT)).thenReturn(SNAPSHOT_AT.minusDays(30));
+        when(ledgerArchive.getArchivedUntil()).thenReturn(SNAPSHOT_AT.minusDays(19));
+        StockSnapshotter.SnapshotRun run = snapshotter.run(SNAPSHOT_AT);
+        assertThat(run.rolledForward()).isFalse();
+        verify(snapshotRepository).captureFromCurrent(SNAPSHOT_AT, 1L, 10L);
+        verify(snapshotRepository, never()).rollForward(any(), any(), any(), any());
+    }
+    @Test
+    @DisplayName("Should skip capture when the snapshot already exists")
+    void shouldSkipExistingSnapshot() {
+        when(snapshotRepository.existsBySnapshotAt(SNAPSHOT_AT)).thenReturn(true);
+        assertThat(snapshotter.run(SNAPSHOT_AT).rows()).isZero();
+        verify(snapshotRepository, never()).captureFromCurrent(any(), any(), any());
+        verify(snapshotRepository, never()).rollForward(any(), any(), any(), any());
+    }
+    @Test
+    @DisplayName("Should refuse to run while another instance holds the snapshot job lock")
+    void shouldRefuseWhileLockHeldElsewhere() {
+        doReturn(Optional.empty()).when(jobLock).tryRun(anyString(), any());
+        assertThatThrownBy(() -> snapshotter.run(SNAPSHOT_AT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already in progress");
+        verifyNoInteractions(snapshotRepository);
+    }
+    @Test
+    @DisplayName("Should prune expired daily snapshots but keep month-start snapshots")
+    void shouldPruneDailySnapshotsOnly() {
+        when(snapshotRepository.existsBySnapshotAt(SNAPSHOT_AT)).thenReturn(true);
+        LocalDateTime monthStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime daily = LocalDateTime.of(2024, 4, 2, 0, 0);
+        when(snapshotRepository.findSnapshotTimesBefore(LocalDateTime.of(2024, 4, 20, 0, 0)))
+                .thenReturn(List.of(monthStart, daily));
+        when(snapshotRepository.findMinProductId(daily)).thenReturn(1L);
+        when(snapshotRepository.findMaxProductId(daily)).thenReturn(15L);
+        assertThat(snapshotter.run(SNAPSHOT_AT).prunedSnapshots()).isEqualTo(1);
+        verify(snapshotRepository).deleteBySnapshotAtAndProductIdRange(daily, 1L, 10L);
+        verify(snapshotRepository).deleteBySnapshotAtAndProductIdRange(daily, 11L, 15L);
+        verify(snapshotRepository, never()).deleteBySnapshotAtAndProductIdRange(eq(monthStart), any(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventory.integration;
+import com.inventory.entity.Category;
+import com.inventory.entity.Product;
+import com.inventory.entity.Supplier;
+import com.inventory.location.StockLocations;
+import com.inventory.purge.CatalogPurger;
+import com.inventory.purge.PurgeTotals;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import com.inventory.service.interfaces.CategoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import static org.assertj.core.api.Assertions.assertThat;
+@SpringBootTest(properties = "inventory.purge.enabled=false")
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class CatalogPurgeIntegrationTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+    @Autowired
+    private CatalogPurger purger;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private StockLocations stockLocations;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Category category;
+    private Supplier supplier;
+    private Product doomed;
+    private Product kept;
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Purge Category").build());
+        supplier = supplierRepository.save(Supplier.builder()
+                .companyName("Purge Supplier")
+                .email("purge@supplier.com")
+                .build());
+        doomed = productRepository.save(product("PURGE-DOOMED", category, null));
+        kept = productRepository.save(product("PURGE-KEPT", null, supplier));
+        Long locationId = stockLocations.defaultLocationId();
+        for (Product product : new Product[] {doomed, kept}) {
+            jdbcTemplate.update("INSERT INTO inventory_transactions (product_id, transaction_type, quantity, "
+                    + "transaction_date, created_by) VALUES (?, 'STOCK_IN', 5, ?, 'test')", product.getId(),
+                    Timestamp.valueOf(DAY.atTime(9, 0)));
+            jdbcTemplate.update("INSERT INTO daily_movements (product_id, movement_date, transaction_type, "
+                    + "total_quantity, transaction_count) VALUES (?, ?, 'STOCK_IN', 5, 1)", product.getId(),
+                    Date.valueOf(DAY));
+            jdbcTemplate.update("INSERT INTO stock_snapshots (product_id, snapshot_at, stock) VALUES (?, ?, 5)",
+                    product.getId(), Timestamp.valueOf(DAY.atStartOfDay()));
+            jdbcTemplate.update("INSERT INTO location_stock (product_id, location_id, quantity) VALUES (?, ?, 5)",
+                    product.getId(), locationId);
+        }
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM location_stock");
+        jdbcTemplate.update("DELETE FROM stock_snapshots");
+        jdbcTemplate.update("DELETE FROM daily_movements");
+        jdbcTemplate.update("DELETE FROM inventory_transactions");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories WHERE id = ?", category.getId());
+        jdbcTemplate.update("DELETE FROM suppliers WHERE id = ?", supplier.getId());
+    }
+    @Test
+    @DisplayName("Should purge soft-deleted products with their dependents and keep catalog entries still in use")
+    void shouldPurgeDeletedProductsAndKeepReferencedEntries() {
+        categoryService.delete(category.getId());
+        jdbcTemplate.update("UPDATE suppliers SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", supplier.getId());
+        PurgeTotals totals = purger.purge();
+        assertThat(totals.products()).isEqualTo(1);
+        assertThat(totals.categories()).isEqualTo(1);
+        assertThat(totals.suppliers()).isZero();
+        assertThat(totals.rows()).isEqualTo(6);
+        for (String table : new String[] {"inventory_transactions", "daily_movements", "stock_snapshots",
+                "location_stock"}) {
+            assertThat(count("SELECT COUNT(*) FROM " + table + " WHERE product_id = ?", doomed.getId()))
+                    .as(table).isZero();
+            assertThat(count("SELECT COUNT(*) FROM " + table + " WHERE product_id = ?", kept.getId()))
+                    .as(table).isEqualTo(1);
+        }
+        assertThat(count("SELECT COUNT(*) FROM products WHERE id = ?", doomed.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM products WHERE id = ?", kept.getId())).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM categories WHERE id = ?", category.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM suppliers WHERE id = ?", supplier.getId())).isEqualTo(1);
+        assertThat(purger.purge()).isEqualTo(PurgeTotals.EMPTY);
+    }
+    private Long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+    private static Product product(String sku, Category category, Supplier supplier) {
+        return Product.builder()
+                .name(sku)
+                .sku(sku)
+                .category(category)
+                .supplier(supplier)
+                .unitPrice(new BigDecimal("4.00"))
+                .currentStock(5)
+                .reorderLevel(1)
+                .build();
+    }
+}
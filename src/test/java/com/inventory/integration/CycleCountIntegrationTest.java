@@ -0,0 +1,139 @@
+package com.inventory.integration;
+import com.inventory.cyclecount.CountRejection;
+import com.inventory.cyclecount.CycleCountApplier;
+import com.inventory.entity.LocationStock;
+import com.inventory.entity.Product;
+import com.inventory.event.StockMovementEvent;
+import com.inventory.location.StockLocations;
+import com.inventory.repository.LocationStockRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.InventoryNotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@SuppressWarnings("null")
+class CycleCountIntegrationTest {
+    @Autowired
+    private CycleCountApplier applier;
+    @Autowired
+    private StockLocations stockLocations;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private LocationStockRepository locationStockRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEvents events;
+    @MockBean
+    private InventoryNotificationService notificationService;
+    private Long mainId;
+    private Product shelved;
+    private Product unallocated;
+    private Product matching;
+    @BeforeEach
+    void setUp() {
+        mainId = stockLocations.defaultLocationId();
+        shelved = productRepository.save(product("COUNT-SHELVED", 20, 18));
+        unallocated = productRepository.save(product("COUNT-UNALLOCATED", 10, 2));
+        matching = productRepository.save(product("COUNT-MATCHING", 7, 2));
+        locationStockRepository.save(level(shelved, 20));
+        locationStockRepository.save(level(matching, 7));
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM daily_movements");
+        jdbcTemplate.update("DELETE FROM inventory_transactions");
+        jdbcTemplate.update("DELETE FROM location_stock");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+    @Test
+    @DisplayName("Should adjust counted differences, adopt unallocated stock and reject unknown SKUs")
+    void shouldApplyCountFile() {
+        CycleCountApplier.CycleCountRun run = applier.apply(new StringReader(
+                "sku,quantity\nCOUNT-SHELVED,15\nCOUNT-UNALLOCATED,12\nCOUNT-MATCHING,7\nCOUNT-MISSING,4\n"),
+                null, "CC-1", "counter");
+        assertThat(run.linesRead()).isEqualTo(4);
+        assertThat(run.totals().productsCounted()).isEqualTo(3);
+        assertThat(run.totals().adjustments()).isEqualTo(2);
+        assertThat(run.totals().netAdjustment()).isEqualTo(-3);
+        assertThat(run.rejections()).extracting(CountRejection::lineNumber, CountRejection::sku, CountRejection::reason)
+                .containsExactly(tuple(5L, "COUNT-MISSING", "Unknown SKU"));
+        assertThat(locationLevel(shelved)).isEqualTo(15);
+        assertThat(locationLevel(unallocated)).isEqualTo(12);
+        assertThat(locationLevel(matching)).isEqualTo(7);
+        assertThat(currentStock(shelved)).isEqualTo(15);
+        assertThat(currentStock(unallocated)).isEqualTo(12);
+        assertThat(currentStock(matching)).isEqualTo(7);
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList("SELECT product_id, transaction_type, quantity, "
+                + "reference_number, location_id, created_by FROM inventory_transactions ORDER BY product_id");
+        assertThat(ledger).extracting(row -> ((Number) row.get("PRODUCT_ID")).longValue(),
+                row -> row.get("TRANSACTION_TYPE"), row -> ((Number) row.get("QUANTITY")).intValue(),
+                row -> row.get("REFERENCE_NUMBER"), row -> ((Number) row.get("LOCATION_ID")).longValue(),
+                row -> row.get("CREATED_BY"))
+                .containsExactly(
+                        tuple(shelved.getId(), "ADJUSTMENT", -5, "CC-1", mainId, "counter"),
+                        tuple(unallocated.getId(), "ADJUSTMENT", 2, "CC-1", mainId, "counter"));
+        assertThat(jdbcTemplate.queryForList("SELECT product_id, total_quantity, transaction_count FROM daily_movements "
+                + "WHERE movement_date = ? AND transaction_type = 'ADJUSTMENT' ORDER BY product_id",
+                Date.valueOf(LocalDate.now())))
+                .extracting(row -> ((Number) row.get("PRODUCT_ID")).longValue(),
+                        row -> ((Number) row.get("TOTAL_QUANTITY")).longValue(),
+                        row -> ((Number) row.get("TRANSACTION_COUNT")).longValue())
+                .containsExactly(tuple(shelved.getId(), -5L, 1L), tuple(unallocated.getId(), 2L, 1L));
+        assertThat(events.stream(StockMovementEvent.class))
+                .extracting(StockMovementEvent::productId, StockMovementEvent::previousStock,
+                        StockMovementEvent::newStock, StockMovementEvent::stockVersion)
+                .containsExactlyInAnyOrder(tuple(shelved.getId(), 20, 15, 1L), tuple(unallocated.getId(), 10, 12, 1L));
+        verify(notificationService).notifyLowStock(shelved.getId(), shelved.getName(), 15, 18);
+        verify(notificationService, times(1)).notifyLowStock(anyLong(), anyString(), anyInt(), anyInt());
+    }
+    private Integer locationLevel(Product product) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM location_stock WHERE product_id = ? AND location_id = ?",
+                Integer.class, product.getId(), mainId);
+    }
+    private Integer currentStock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT current_stock FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+    private LocationStock level(Product product, int quantity) {
+        return LocationStock.builder()
+                .productId(product.getId())
+                .locationId(mainId)
+                .quantity(quantity)
+                .build();
+    }
+    private static Product product(String sku, int stock, int reorderLevel) {
+        return Product.builder()
+                .name(sku)
+                .sku(sku)
+                .unitPrice(new BigDecimal("2.00"))
+                .currentStock(stock)
+                .reorderLevel(reorderLevel)
+                .build();
+    }
+}
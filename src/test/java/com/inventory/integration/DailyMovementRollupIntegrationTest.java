@@ -0,0 +1,135 @@
+package com.inventory.integration;
+import com.inventory.archive.LedgerArchiver;
+import com.inventory.dto.DailyMovementDTO;
+import com.inventory.dto.RollupBackfillResultDTO;
+import com.inventory.entity.Product;
+import com.inventory.entity.TransactionType;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.service.interfaces.ReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+@SpringBootTest(properties = {
+        "inventory.rollup.backfill-chunk-size=2",
+        "inventory.archive.directory=target/archive-rollup-test"
+})
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class DailyMovementRollupIntegrationTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate ARCHIVED_DAY = LocalDate.of(2020, 1, 10);
+    @Autowired
+    private DailyMovementRepository dailyMovementRepository;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private LedgerArchiver archiver;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private Product first;
+    private Product second;
+    private Product third;
+    @BeforeAll
+    static void clearArchiveDirectory() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("target/archive-rollup-test"));
+    }
+    @BeforeEach
+    void setUp() {
+        first = productRepository.save(product("ROLLUP-1"));
+        second = productRepository.save(product("ROLLUP-2"));
+        third = productRepository.save(product("ROLLUP-3"));
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_segments");
+        jdbcTemplate.update("DELETE FROM daily_movements");
+        jdbcTemplate.update("DELETE FROM inventory_transactions");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+    @Test
+    @DisplayName("Should add repeated movements for the same day and type into one rollup row")
+    void shouldUpsertIntoExistingRow() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dailyMovementRepository.recordMovement(first.getId(), DAY, "STOCK_IN", 5);
+            dailyMovementRepository.recordMovement(first.getId(), DAY, "STOCK_IN", 7);
+            dailyMovementRepository.recordMovement(first.getId(), DAY, "STOCK_OUT", 3);
+            dailyMovementRepository.recordMovement(first.getId(), DAY.plusDays(1), "STOCK_IN", 2);
+        });
+        assertThat(dailyMovementRepository.findProductSeries(first.getId(), DAY, DAY.plusDays(1)))
+                .extracting(DailyMovementDTO::getDate, DailyMovementDTO::getTransactionType,
+                        DailyMovementDTO::getQuantity, DailyMovementDTO::getTransactionCount)
+                .containsExactly(
+                        tuple(DAY, TransactionType.STOCK_IN, 12L, 2L),
+                        tuple(DAY, TransactionType.STOCK_OUT, 3L, 1L),
+                        tuple(DAY.plusDays(1), TransactionType.STOCK_IN, 2L, 1L));
+    }
+    @Test
+    @DisplayName("Should rebuild the rollup from the ledger in product id chunks, replacing stale rows")
+    void shouldBackfillInChunks() {
+        insert(first, "STOCK_IN", 10, DAY);
+        insert(first, "STOCK_IN", 4, DAY);
+        insert(second, "STOCK_OUT", 6, DAY);
+        insert(third, "STOCK_IN", 9, DAY.plusDays(2));
+        jdbcTemplate.update("INSERT INTO daily_movements (product_id, movement_date, transaction_type, "
+                + "total_quantity, transaction_count) VALUES (?, ?, 'STOCK_IN', 999, 99)", first.getId(), DAY);
+        RollupBackfillResultDTO result = reportService.backfillDailyMovements();
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(result.getRowsWritten()).isEqualTo(3);
+        assertThat(dailyMovementRepository.findProductSeries(first.getId(), DAY, DAY))
+                .extracting(DailyMovementDTO::getQuantity, DailyMovementDTO::getTransactionCount)
+                .containsExactly(tuple(14L, 2L));
+        assertThat(dailyMovementRepository.findProductSeries(second.getId(), DAY, DAY))
+                .extracting(DailyMovementDTO::getTransactionType, DailyMovementDTO::getQuantity)
+                .containsExactly(tuple(TransactionType.STOCK_OUT, 6L));
+        assertThat(dailyMovementRepository.findProductSeries(third.getId(), DAY, DAY.plusDays(2)))
+                .extracting(DailyMovementDTO::getDate, DailyMovementDTO::getQuantity)
+                .containsExactly(tuple(DAY.plusDays(2), 9L));
+    }
+    @Test
+    @DisplayName("Should keep rollup rows for archived days when the backfill rebuilds from the hot ledger")
+    void shouldKeepArchivedDaysOnBackfill() {
+        insert(first, "STOCK_IN", 8, ARCHIVED_DAY);
+        insert(first, "STOCK_IN", 3, DAY);
+        jdbcTemplate.update("INSERT INTO daily_movements (product_id, movement_date, transaction_type, "
+                + "total_quantity, transaction_count) VALUES (?, ?, 'STOCK_IN', 8, 1)", first.getId(), ARCHIVED_DAY);
+        assertThat(archiver.run(LocalDate.of(2020, 2, 15)).rowsPurged()).isEqualTo(1);
+        reportService.backfillDailyMovements();
+        assertThat(dailyMovementRepository.findProductSeries(first.getId(), ARCHIVED_DAY, DAY))
+                .extracting(DailyMovementDTO::getDate, DailyMovementDTO::getQuantity)
+                .containsExactly(tuple(ARCHIVED_DAY, 8L), tuple(DAY, 3L));
+    }
+    private void insert(Product product, String type, int quantity, LocalDate day) {
+        jdbcTemplate.update("INSERT INTO inventory_transactions (product_id, transaction_type, quantity, "
+                + "transaction_date, created_by) VALUES (?, ?, ?, ?, 'test')",
+                product.getId(), type, quantity, Timestamp.valueOf(day.atTime(10, 30)));
+    }
+    private static Product product(String sku) {
+        return Product.builder()
+                .name(sku)
+                .sku(sku)
+                .unitPrice(new BigDecimal("1.50"))
+                .currentStock(0)
+                .reorderLevel(5)
+                .build();
+    }
+}
@@ -193,6 +193,43 @@ class InventoryIntegrationTest {
                 }
         }
         @Nested
+        @DisplayName("Soft Delete Integration Tests")
+        class SoftDeleteTests {
+                @Test
+                @WithMockUser(roles = "ADMIN")
+                @DisplayName("Should hide a deleted product and free its SKU")
+                void shouldHideDeletedProductAndFreeSku() throws Exception {
+                        mockMvc.perform(post("/api/inventory/stock-in")
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(StockAdjustmentDTO.builder()
+                                                        .productId(testProduct.getId())
+                                                        .quantity(5)
+                                                        .build())))
+                                        .andExpect(status().isOk());
+                        mockMvc.perform(delete("/api/products/" + testProduct.getId())
+                                        .with(csrf()))
+                                        .andExpect(status().isNoContent());
+                        mockMvc.perform(get("/api/products/" + testProduct.getId()))
+                                        .andExpect(status().isNotFound());
+                        mockMvc.perform(get("/api/inventory/transactions"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.totalElements").value(0));
+                        ProductCreateDTO createDTO = ProductCreateDTO.builder()
+                                        .name("Replacement Product")
+                                        .sku("INT-TEST-001")
+                                        .unitPrice(new BigDecimal("19.99"))
+                                        .build();
+                        mockMvc.perform(post("/api/products")
+                                        .with(csrf())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(createDTO)))
+                                        .andExpect(status().isCreated());
+                        assertThat(productRepository.findBySku("INT-TEST-001")).hasValueSatisfying(
+                                        product -> assertThat(product.getId()).isNotEqualTo(testProduct.getId()));
+                }
+        }
+        @Nested
         @DisplayName("Search Integration Tests")
         class SearchTests {
                 @Test
@@ -0,0 +1,120 @@
+package com.inventory.integration;
+import com.inventory.archive.ArchiveFilter;
+import com.inventory.archive.ArchivedTransaction;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerArchiver;
+import com.inventory.archive.LedgerSegmentRegistry;
+import com.inventory.entity.Product;
+import com.inventory.reconciliation.StockReconciler;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+@SpringBootTest(properties = {
+        "inventory.archive.directory=target/archive-integration-test",
+        "inventory.archive.export-batch-size=2"
+})
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class LedgerArchiveIntegrationTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2020, 1, 1, 0, 0);
+    @Autowired
+    private LedgerArchiver archiver;
+    @Autowired
+    private LedgerArchive archive;
+    @Autowired
+    private LedgerSegmentRegistry segmentRegistry;
+    @Autowired
+    private StockReconciler reconciler;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Product first;
+    private Product second;
+    @BeforeAll
+    static void clearArchiveDirectory() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("target/archive-integration-test"));
+    }
+    @BeforeEach
+    void setUp() {
+        first = productRepository.save(product("ARCHIVE-1"));
+        second = productRepository.save(product("ARCHIVE-2"));
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_segments");
+        jdbcTemplate.update("DELETE FROM inventory_transactions");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+    @Test
+    @DisplayName("Should export a month in keyset batches, register the segment and purge its rows")
+    void shouldArchiveAndRegisterMonth() {
+        insert(second, JANUARY.plusDays(3), 4);
+        insert(first, JANUARY.plusDays(5), 1);
+        insert(first, JANUARY.plusDays(2), 2);
+        insert(second, JANUARY.plusDays(3), 3);
+        insert(first, JANUARY.plusDays(2), 5);
+        insert(first, JANUARY.plusMonths(2), 6);
+        LedgerArchiver.ArchiveRun run = archiver.run(LocalDate.of(2020, 2, 15));
+        assertThat(run.segmentsWritten()).isEqualTo(1);
+        assertThat(run.rowsArchived()).isEqualTo(5);
+        assertThat(run.rowsPurged()).isEqualTo(5);
+        assertThat(archive.findSegment(JANUARY)).hasValueSatisfying(segment -> {
+            assertThat(segment.read(ArchiveFilter.byProduct(first.getId())))
+                    .extracting(ArchivedTransaction::quantity).containsExactly(2, 5, 1);
+            assertThat(segment.read(ArchiveFilter.byProduct(second.getId())))
+                    .extracting(ArchivedTransaction::quantity).containsExactly(4, 3);
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT row_count FROM ledger_segments WHERE window_start = ?",
+                Long.class, ArchivedTransaction.toEpochMillis(JANUARY))).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT quantity FROM inventory_transactions", Integer.class))
+                .containsExactly(6);
+        assertThat(segmentRegistry.findMissingSegments()).isEmpty();
+    }
+    @Test
+    @DisplayName("Should refuse to purge or correct when a registered segment is missing locally")
+    void shouldRefuseWhenSegmentMissing() {
+        long windowStart = ArchivedTransaction.toEpochMillis(JANUARY.minusYears(5));
+        jdbcTemplate.update("INSERT INTO ledger_segments (window_start, window_end, row_count, min_id, max_id) "
+                + "VALUES (?, ?, 10, 1, 10)", windowStart, ArchivedTransaction.toEpochMillis(JANUARY.minusYears(5)
+                .plusMonths(1)));
+        insert(first, JANUARY.plusDays(1), 7);
+        assertThat(segmentRegistry.findMissingSegments()).containsExactly(windowStart);
+        assertThatThrownBy(() -> archiver.run(LocalDate.of(2020, 3, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("inventory.archive.directory");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_transactions", Long.class))
+                .isEqualTo(1);
+        assertThatThrownBy(() -> reconciler.run(true)).isInstanceOf(IllegalStateException.class);
+        assertThat(reconciler.run(false).corrected()).isFalse();
+    }
+    private void insert(Product product, LocalDateTime date, int quantity) {
+        jdbcTemplate.update("INSERT INTO inventory_transactions (product_id, transaction_type, quantity, "
+                + "transaction_date, created_by) VALUES (?, 'STOCK_IN', ?, ?, 'test')",
+                product.getId(), quantity, Timestamp.valueOf(date));
+    }
+    private static Product product(String sku) {
+        return Product.builder()
+                .name(sku)
+                .sku(sku)
+                .unitPrice(new BigDecimal("2.00"))
+                .currentStock(0)
+                .reorderLevel(5)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.inventory.integration;
+import com.inventory.catalog.ImportFormat;
+import com.inventory.catalog.ImportRowError;
+import com.inventory.catalog.ProductImporter;
+import com.inventory.entity.Category;
+import com.inventory.entity.Product;
+import com.inventory.location.StockLocations;
+import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+@SpringBootTest(properties = "inventory.product-import.chunk-size=5")
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class ProductImportIntegrationTest {
+    @Autowired
+    private ProductImporter importer;
+    @Autowired
+    private StockLocations stockLocations;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Category tools;
+    private Product changed;
+    @BeforeEach
+    void setUp() {
+        tools = categoryRepository.save(Category.builder().name("Import Tools").build());
+        changed = productRepository.save(product("IMP-CHANGED", "Changed", "5.00"));
+        productRepository.save(product("IMP-SAME", "Same", "3.00"));
+        jdbcTemplate.update("INSERT INTO products (name, sku, unit_price, current_stock, reorder_level, deleted_at) "
+                + "VALUES ('Ghost', 'IMP-GHOST', 1.00, 0, 10, CURRENT_TIMESTAMP)");
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM daily_movements");
+        jdbcTemplate.update("DELETE FROM inventory_transactions");
+        jdbcTemplate.update("DELETE FROM location_stock");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories WHERE id = ?", tools.getId());
+    }
+    @Test
+    @DisplayName("Should create, update and skip unchanged rows, report bad rows and roll back a failing chunk")
+    void shouldImportMixedCsv() {
+        ProductImporter.ProductImportRun run = importer.importProducts(ImportFormat.CSV, new StringReader(
+                "sku,name,unitPrice,category,initialStock\n"
+                        + "IMP-NEW,New widget,4.50,Import Tools,7\n"
+                        + "IMP-CHANGED,,6.00,,\n"
+                        + "IMP-SAME,Same,3.00,,\n"
+                        + "IMP-BADCAT,Bad category,1.00,Nowhere,\n"
+                        + "IMP-NOPRICE,No price,,,\n"
+                        + "IMP-GHOST,Ghost again,2.00,,\n"
+                        + "IMP-LOST,Lost with its chunk,2.00,,3\n"), "importer");
+        assertThat(run.rowsRead()).isEqualTo(7);
+        assertThat(run.totals().created()).isEqualTo(1);
+        assertThat(run.totals().updated()).isEqualTo(1);
+        assertThat(run.totals().unchanged()).isEqualTo(1);
+        assertThat(run.failed()).isEqualTo(4);
+        assertThat(run.errors()).extracting(ImportRowError::lineNumber, ImportRowError::sku)
+                .containsExactly(tuple(5L, "IMP-BADCAT"), tuple(6L, "IMP-NOPRICE"), tuple(7L, "IMP-GHOST"),
+                        tuple(8L, "IMP-LOST"));
+        assertThat(run.errors().get(0).message()).contains("Unknown category");
+        assertThat(run.errors().get(1).message()).contains("Unit price is required");
+        assertThat(run.errors().subList(2, 4)).allSatisfy(error ->
+                assertThat(error.message()).startsWith("Chunk rolled back"));
+        Map<String, Object> created = jdbcTemplate.queryForMap("SELECT id, name, unit_price, category_id, "
+                + "current_stock FROM products WHERE sku = 'IMP-NEW'");
+        assertThat(created.get("NAME")).isEqualTo("New widget");
+        assertThat((BigDecimal) created.get("UNIT_PRICE")).isEqualByComparingTo("4.50");
+        assertThat(((Number) created.get("CATEGORY_ID")).longValue()).isEqualTo(tools.getId());
+        assertThat(((Number) created.get("CURRENT_STOCK")).intValue()).isEqualTo(7);
+        long createdId = ((Number) created.get("ID")).longValue();
+        assertThat(jdbcTemplate.queryForObject("SELECT quantity FROM location_stock WHERE product_id = ? "
+                + "AND location_id = ?", Integer.class, createdId, stockLocations.defaultLocationId())).isEqualTo(7);
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList("SELECT product_id, transaction_type, quantity, "
+                + "created_by FROM inventory_transactions");
+        assertThat(ledger).extracting(row -> ((Number) row.get("PRODUCT_ID")).longValue(),
+                row -> row.get("TRANSACTION_TYPE"), row -> ((Number) row.get("QUANTITY")).intValue(),
+                row -> row.get("CREATED_BY"))
+                .containsExactly(tuple(createdId, "ADJUSTMENT", 7, "importer"));
+        assertThat(jdbcTemplate.queryForObject("SELECT unit_price FROM products WHERE id = ?", BigDecimal.class,
+                changed.getId())).isEqualByComparingTo("6.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM products WHERE id = ?", String.class,
+                changed.getId())).isEqualTo("Changed");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE sku IN "
+                + "('IMP-BADCAT', 'IMP-NOPRICE', 'IMP-LOST')", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM products WHERE sku = 'IMP-GHOST'", String.class))
+                .isEqualTo("Ghost");
+    }
+    private static Product product(String sku, String name, String price) {
+        return Product.builder()
+                .name(name)
+                .sku(sku)
+                .unitPrice(new BigDecimal(price))
+                .currentStock(0)
+                .reorderLevel(10)
+                .build();
+    }
+}
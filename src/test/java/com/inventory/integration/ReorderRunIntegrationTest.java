@@ -0,0 +1,118 @@
+package com.inventory.integration;
+import com.inventory.entity.Product;
+import com.inventory.entity.Supplier;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.reorder.ReorderSuggestionEngine;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+@SpringBootTest
+@ActiveProfiles("test")
+@SuppressWarnings("null")
+class ReorderRunIntegrationTest {
+    @Autowired
+    private ReorderSuggestionEngine engine;
+    @Autowired
+    private ClusterJobLock jobLock;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Supplier lowSupplier;
+    private Supplier stockedSupplier;
+    @BeforeEach
+    void setUp() {
+        lowSupplier = supplierRepository.save(Supplier.builder()
+                .companyName("Low Supplier")
+                .email("low@supplier.com")
+                .build());
+        stockedSupplier = supplierRepository.save(Supplier.builder()
+                .companyName("Stocked Supplier")
+                .email("stocked@supplier.com")
+                .build());
+        productRepository.save(product("REORDER-LOW", lowSupplier, 2));
+        productRepository.save(product("REORDER-OK", stockedSupplier, 100));
+    }
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM purchase_order_draft_lines");
+        jdbcTemplate.update("DELETE FROM purchase_order_drafts");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM suppliers");
+    }
+    @Test
+    @DisplayName("Should publish drafts for suppliers with suggestions and replace only finished earlier runs")
+    void shouldReplacePublishedRunsButKeepInFlightDrafts() {
+        ReorderSuggestionEngine.ReorderRun first = engine.run();
+        assertThat(first.draftsCreated()).isEqualTo(1);
+        assertThat(drafts()).singleElement().satisfies(draft -> {
+            assertThat(draft.get("RUN_ID")).isEqualTo(first.runId());
+            assertThat(draft.get("STATUS")).isEqualTo("DRAFT");
+            assertThat(((Number) draft.get("SUPPLIER_ID")).longValue()).isEqualTo(lowSupplier.getId());
+            assertThat(((Number) draft.get("LINE_COUNT")).intValue()).isEqualTo(1);
+            assertThat(((Number) draft.get("TOTAL_QUANTITY")).longValue()).isEqualTo(18);
+        });
+        jdbcTemplate.update("INSERT INTO purchase_order_drafts (supplier_id, status, run_id, line_count, "
+                + "total_quantity, estimated_cost, generated_at) VALUES (?, 'GENERATING', 'in-flight', 0, 0, 0, "
+                + "CURRENT_TIMESTAMP)", stockedSupplier.getId());
+        ReorderSuggestionEngine.ReorderRun second = engine.run();
+        assertThat(drafts()).extracting(draft -> draft.get("RUN_ID"))
+                .containsExactlyInAnyOrder(second.runId(), "in-flight");
+    }
+    @Test
+    @DisplayName("Should refuse to start while another run holds the cluster lock")
+    void shouldRefuseConcurrentRun() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Boolean>> holder = CompletableFuture.supplyAsync(() ->
+                jobLock.tryRun("reorder-suggestions", () -> {
+                    locked.countDown();
+                    try {
+                        return release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            assertThatThrownBy(engine::run).isInstanceOf(IllegalStateException.class);
+            assertThat(drafts()).isEmpty();
+        } finally {
+            release.countDown();
+        }
+        assertThat(holder.get(10, TimeUnit.SECONDS)).contains(true);
+        assertThat(engine.run().draftsCreated()).isEqualTo(1);
+    }
+    private List<Map<String, Object>> drafts() {
+        return jdbcTemplate.queryForList("SELECT * FROM purchase_order_drafts ORDER BY id");
+    }
+    private static Product product(String sku, Supplier supplier, int stock) {
+        return Product.builder()
+                .name(sku)
+                .sku(sku)
+                .supplier(supplier)
+                .unitPrice(new BigDecimal("3.00"))
+                .currentStock(stock)
+                .reorderLevel(10)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.monitoring;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+class QueryStatisticsCollectorTest {
+    @Test
+    @DisplayName("Should keep only the newest entries in the slow query ring buffer")
+    void shouldKeepNewestEntriesInRingBuffer() {
+        SlowQueryLog log = new SlowQueryLog(3);
+        for (int i = 1; i <= 5; i++) {
+            log.add(new SlowQuery("select " + i, 0, i, "GET /api/products", LocalDateTime.now()));
+        }
+        List<SlowQuery> snapshot = log.snapshot();
+        assertThat(snapshot).extracting(SlowQuery::getSql)
+                .containsExactly("select 5", "select 4", "select 3");
+        assertThat(log.totalCaptured()).isEqualTo(5);
+    }
+    @Test
+    @DisplayName("Should normalize whitespace and collapse IN lists into a single shape")
+    void shouldNormalizeQueryShape() {
+        String sql = "select p.id\n  from products p where p.id in (?, ?,?) and p.sku = '?'";
+        assertThat(QueryStatisticsCollector.normalize(sql))
+                .isEqualTo("select p.id from products p where p.id in (?...) and p.sku = '?'");
+        assertThat(QueryStatisticsCollector.countParameters(sql)).isEqualTo(3);
+    }
+    @Test
+    @DisplayName("Should record statements and capture slow ones only for sampled requests")
+    void shouldCaptureSlowQueriesForSampledRequests() {
+        SlowQueryExplainer explainer = mock(SlowQueryExplainer.class);
+        QueryStatisticsCollector collector = new QueryStatisticsCollector(explainer, true, 1.0, 0, 10, 10);
+        assertThat(collector.beginRequest()).isTrue();
+        collector.describeRequest("GET /api/products");
+        collector.onStatementPrepared("select * from products where id = ?");
+        collector.onStatementStart();
+        collector.onStatementEnd();
+        collector.endRequest("GET /api/products", 1_000_000);
+        assertThat(collector.getSampledRequests()).isEqualTo(1);
+        assertThat(collector.getEndpoints().get("GET /api/products").getQueries()).isEqualTo(1);
+        assertThat(collector.getSlowQueries().snapshot()).hasSize(1);
+        verify(explainer).explainAsync(anyString(), any(SlowQuery.class));
+        QueryStatisticsCollector disabled = new QueryStatisticsCollector(explainer, true, 0.0, 0, 10, 10);
+        assertThat(disabled.beginRequest()).isFalse();
+    }
+    @Test
+    @DisplayName("Should not explain parameterized queries whose bind values were not captured")
+    void shouldSkipExplainForParameterizedQueries() {
+        DataSource dataSource = mock(DataSource.class);
+        SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, true);
+        SlowQuery query = new SlowQuery("select * from products where id = ?", 1, 1, "GET /api/products",
+                LocalDateTime.now());
+        explainer.explainAsync("select * from products where id = ?", query);
+        explainer.shutdown();
+        assertThat(query.getPlan()).startsWith("Not explained").contains("bind parameter values");
+        verifyNoInteractions(dataSource);
+    }
+}
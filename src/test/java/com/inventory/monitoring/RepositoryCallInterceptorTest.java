@@ -0,0 +1,78 @@
+package com.inventory.monitoring;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+@SuppressWarnings("null")
+class RepositoryCallInterceptorTest {
+    private static final String EVENT_NAME = "com.inventory.RepositoryCall";
+    private final RepositoryCallInterceptor interceptor = new RepositoryCallInterceptor("ProductRepository");
+    @TempDir
+    Path directory;
+    @Test
+    @DisplayName("Should proceed without building an event when no recording is active")
+    void shouldPassThroughWithoutRecording() throws Throwable {
+        MethodInvocation invocation = invocation();
+        when(invocation.proceed()).thenReturn("result");
+        assertThat(interceptor.invoke(invocation)).isEqualTo("result");
+        verify(invocation).proceed();
+        verify(invocation, never()).getMethod();
+    }
+    @Test
+    @DisplayName("Should emit a repository call event while a recording is active")
+    void shouldEmitEventWhileRecording() throws Throwable {
+        MethodInvocation invocation = invocation();
+        when(invocation.proceed()).thenReturn("result");
+        List<RecordedEvent> events = record(() -> assertThat(interceptor.invoke(invocation)).isEqualTo("result"));
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("repository")).isEqualTo("ProductRepository");
+        assertThat(events.get(0).getString("method")).isEqualTo("findById");
+        assertThat(events.get(0).getBoolean("failed")).isFalse();
+    }
+    @Test
+    @DisplayName("Should mark the event as failed and rethrow when the call throws")
+    void shouldRecordFailedCalls() throws Throwable {
+        MethodInvocation invocation = invocation();
+        when(invocation.proceed()).thenThrow(new IllegalStateException("boom"));
+        List<RecordedEvent> events = record(() -> assertThatThrownBy(() -> interceptor.invoke(invocation))
+                .isInstanceOf(IllegalStateException.class));
+        assertThat(events).singleElement().satisfies(event -> assertThat(event.getBoolean("failed")).isTrue());
+    }
+    private List<RecordedEvent> record(RecordedAction action) throws Throwable {
+        Path file = directory.resolve("repository-calls.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+    }
+    private static MethodInvocation invocation() throws NoSuchMethodException {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Lookup.class.getMethod("findById", Long.class));
+        return invocation;
+    }
+    interface Lookup {
+        Object findById(Long id);
+    }
+    @FunctionalInterface
+    interface RecordedAction {
+        void run() throws Throwable;
+    }
+}
@@ -0,0 +1,143 @@
+package com.inventory.reconciliation;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.archive.LedgerSegmentRegistry;
+import com.inventory.entity.Product;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+@SuppressWarnings("null")
+class StockReconcilerTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 6, 15, 9, 0);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final InventoryTransactionRepository transactionRepository = mock(InventoryTransactionRepository.class);
+    private final LedgerArchive ledgerArchive = mock(LedgerArchive.class);
+    private final LedgerSegmentRegistry segmentRegistry = mock(LedgerSegmentRegistry.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ClusterJobLock jobLock = mock(ClusterJobLock.class);
+    private final StockReconciler reconciler = new StockReconciler(productRepository, transactionRepository,
+            mock(DailyMovementRepository.class), ledgerArchive, segmentRegistry, jobLock,
+            mock(ApplicationEventPublisher.class), jdbcTemplate, mock(PlatformTransactionManager.class),
+            100, 1, 500, false);
+    @BeforeEach
+    void setUp() {
+        when(jobLock.tryRun(anyString(), any())).thenAnswer(invocation ->
+                Optional.of(invocation.<Supplier<?>>getArgument(1).get()));
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenReturn(3L);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            invocation.<GeneratedKeyHolder>getArgument(1).getKeyList().add(Map.of("id", 900L));
+            return 1;
+        });
+    }
+    @AfterEach
+    void tearDown() {
+        reconciler.shutdown();
+    }
+    @Test
+    @DisplayName("Should report products whose stock differs from the ledger without correcting")
+    void shouldReportDiscrepancies() {
+        when(productRepository.findLedgerBalances(1L, 3L)).thenReturn(List.of(
+                new LedgerBalance(1L, "SKU-1", 10, 10L),
+                new LedgerBalance(2L, "SKU-2", 15, 12L),
+                new LedgerBalance(3L, "SKU-3", null, 4L)));
+        StockReconciler.ReconciliationRun run = reconciler.run(false);
+        assertThat(run.corrected()).isFalse();
+        assertThat(run.totals().productsChecked()).isEqualTo(3);
+        assertThat(run.totals().discrepancies()).isEqualTo(2);
+        assertThat(run.totals().netDifference()).isEqualTo(-1);
+        assertThat(run.totals().correctionsWritten()).isZero();
+        assertThat(run.discrepancies()).extracting(StockDiscrepancy::productId, StockDiscrepancy::difference)
+                .containsExactly(tuple(2L, 3L), tuple(3L, -4L));
+        verify(productRepository, never()).findByIdForUpdate(any());
+        verify(segmentRegistry, never()).requireComplete(anyString());
+    }
+    @Test
+    @DisplayName("Should re-check each product under its row lock before writing a correction")
+    void shouldRecheckUnderLock() throws Exception {
+        when(productRepository.findLedgerBalances(1L, 3L)).thenReturn(List.of(
+                new LedgerBalance(1L, "SKU-1", 15, 12L),
+                new LedgerBalance(2L, "SKU-2", 20, 18L)));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product(1L, 15)));
+        when(transactionRepository.sumSignedQuantityByProduct(1L)).thenReturn(15L);
+        when(productRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(product(2L, 21)));
+        when(transactionRepository.sumSignedQuantityByProduct(2L)).thenReturn(18L);
+        StockReconciler.ReconciliationRun run = reconciler.run(true);
+        assertThat(run.totals().discrepancies()).isEqualTo(2);
+        assertThat(run.totals().correctionsWritten()).isEqualTo(1);
+        PreparedStatement statement = writtenCorrection();
+        verify(statement).setLong(1, 2L);
+        verify(statement).setInt(2, 3);
+        verify(segmentRegistry, times(2)).requireComplete(anyString());
+    }
+    @Test
+    @DisplayName("Should date corrections at the archive boundary when it is after product creation")
+    void shouldDateCorrectionAtArchiveBoundary() throws Exception {
+        LocalDateTime archivedUntil = CREATED_AT.plusMonths(3);
+        when(ledgerArchive.getArchivedUntil()).thenReturn(archivedUntil);
+        when(productRepository.findLedgerBalancesSince(1L, 3L, archivedUntil))
+                .thenReturn(List.of(new LedgerBalance(1L, "SKU-1", 8, 5L)));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product(1L, 8)));
+        when(transactionRepository.sumSignedQuantitySince(1L, archivedUntil)).thenReturn(5L);
+        reconciler.run(true);
+        verify(writtenCorrection()).setTimestamp(5, Timestamp.valueOf(archivedUntil));
+    }
+    @Test
+    @DisplayName("Should date corrections at product creation when it is after the archive boundary")
+    void shouldDateCorrectionAtCreation() throws Exception {
+        LocalDateTime archivedUntil = CREATED_AT.minusMonths(3);
+        when(ledgerArchive.getArchivedUntil()).thenReturn(archivedUntil);
+        when(productRepository.findLedgerBalancesSince(1L, 3L, archivedUntil))
+                .thenReturn(List.of(new LedgerBalance(1L, "SKU-1", 8, 5L)));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product(1L, 8)));
+        when(transactionRepository.sumSignedQuantitySince(1L, archivedUntil)).thenReturn(5L);
+        reconciler.run(true);
+        verify(writtenCorrection()).setTimestamp(5, Timestamp.valueOf(CREATED_AT));
+    }
+    private PreparedStatement writtenCorrection() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).update(creator.capture(), any(KeyHolder.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(statement);
+        creator.getValue().createPreparedStatement(connection);
+        return statement;
+    }
+    private static Product product(Long id, int stock) {
+        return Product.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .currentStock(stock)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+}
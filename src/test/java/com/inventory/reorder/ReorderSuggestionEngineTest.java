@@ -0,0 +1,59 @@
+package com.inventory.reorder;
+import com.inventory.lock.ClusterJobLock;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.PurchaseOrderDraftRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+class ReorderSuggestionEngineTest {
+    private final ReorderSuggestionEngine engine = engine(30, 30);
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+    @Test
+    @DisplayName("Should order up to the reorder level plus the larger of forecast and reorder level")
+    void shouldOrderUpToLevelPlusForecast() {
+        assertThat(engine.suggest(candidate(5, 10), 0).suggestedQuantity()).isEqualTo(15);
+        assertThat(engine.suggest(candidate(50, 10), 60).suggestedQuantity()).isEqualTo(20);
+        ReorderSuggestionEngine longCover = engine(60, 30);
+        try {
+            assertThat(longCover.suggest(candidate(5, 10), 10).suggestedQuantity()).isEqualTo(25);
+        } finally {
+            longCover.shutdown();
+        }
+    }
+    @Test
+    @DisplayName("Should not suggest when stock is above the reorder level and covers the forecast")
+    void shouldSkipWellStockedProducts() {
+        assertThat(engine.suggest(candidate(25, 10), 0)).isNull();
+        assertThat(engine.suggest(candidate(60, 10), 60)).isNull();
+    }
+    @Test
+    @DisplayName("Should treat a missing reorder level or stock as zero")
+    void shouldTreatMissingValuesAsZero() {
+        assertThat(engine.suggest(candidate(0, null), 0)).isNull();
+        assertThat(engine.suggest(candidate(3, null), 12).suggestedQuantity()).isEqualTo(9);
+        assertThat(engine.suggest(candidate(null, 4), 0).suggestedQuantity()).isEqualTo(8);
+    }
+    @Test
+    @DisplayName("Should cap the suggested quantity at the largest integer")
+    void shouldCapHugeForecasts() {
+        assertThat(engine.suggest(candidate(0, 10), Long.MAX_VALUE / 60).suggestedQuantity())
+                .isEqualTo(Integer.MAX_VALUE);
+    }
+    private static ReorderCandidate candidate(Integer stock, Integer reorderLevel) {
+        return new ReorderCandidate(1L, "SKU-1", 1L, stock, reorderLevel, new BigDecimal("2.50"));
+    }
+    private static ReorderSuggestionEngine engine(int coverDays, int outflowWindowDays) {
+        return new ReorderSuggestionEngine(mock(ProductRepository.class), mock(DailyMovementRepository.class),
+                mock(PurchaseOrderDraftRepository.class), mock(JdbcTemplate.class), mock(ClusterJobLock.class),
+                mock(PlatformTransactionManager.class), 2000, 1, outflowWindowDays, coverDays);
+    }
+}
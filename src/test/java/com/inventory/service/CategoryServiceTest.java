@@ -3,6 +3,8 @@ import com.inventory.dto.CategoryCreateDTO;
 import com.inventory.dto.CategoryDTO;
 import com.inventory.dto.CategoryUpdateDTO;
 import com.inventory.entity.Category;
+import com.inventory.event.CatalogEntryDeletedEvent;
+import com.inventory.event.ProductStateChangedEvent;
 import com.inventory.exception.DuplicateResourceException;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.repository.CategoryRepository;
@@ -15,10 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("null")
@@ -27,6 +33,8 @@ class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private CategoryServiceImpl categoryService;
     private Category testCategory;
@@ -106,12 +114,17 @@ class CategoryServiceTest {
         verify(categoryRepository).save(any(Category.class));
     }
     @Test
-    @DisplayName("Should delete category successfully")
+    @DisplayName("Should soft delete category and its products without loading them")
     void shouldDeleteCategorySuccessfully() {
         when(categoryRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(categoryRepository).deleteById(1L);
+        when(productRepository.findIdsByCategoryId(1L)).thenReturn(List.of(10L, 11L));
         categoryService.delete(1L);
-        verify(categoryRepository).deleteById(1L);
+        verify(productRepository).softDeleteByCategoryId(eq(1L), any(LocalDateTime.class));
+        verify(categoryRepository).softDelete(eq(1L), any(LocalDateTime.class));
+        verify(categoryRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(ProductStateChangedEvent.deleted(10L));
+        verify(eventPublisher).publishEvent(ProductStateChangedEvent.deleted(11L));
+        verify(eventPublisher).publishEvent(CatalogEntryDeletedEvent.category(1L, 2));
     }
     @Test
     @DisplayName("Should throw exception when deleting non-existent category")
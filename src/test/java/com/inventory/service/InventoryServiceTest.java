@@ -1,11 +1,23 @@
 ﻿package com.inventory.service;
+import com.inventory.archive.LedgerArchive;
+import com.inventory.coalesce.ReadCoalescer;
 import com.inventory.dto.ProductDTO;
 import com.inventory.dto.StockAdjustmentDTO;
+import com.inventory.dto.StockTransferDTO;
+import com.inventory.dto.StockTransferResultDTO;
 import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
+import com.inventory.entity.LocationStock;
 import com.inventory.entity.Product;
+import com.inventory.entity.TransactionType;
 import com.inventory.exception.InsufficientStockException;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.location.LocationKey;
+import com.inventory.location.StockLocations;
+import com.inventory.location.StockTransferWriter;
+import com.inventory.repository.DailyMovementRepository;
 import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.LocationStockRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.service.impl.InventoryServiceImpl;
 import com.inventory.service.interfaces.InventoryNotificationService;
@@ -14,16 +26,24 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Supplier;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,12 +58,27 @@ class InventoryServiceTest {
         @Mock
         private InventoryNotificationService notificationService;
         @Mock
+        private DailyMovementRepository dailyMovementRepository;
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+        @Mock
+        private LedgerArchive ledgerArchive;
+        @Mock
+        private LocationStockRepository locationStockRepository;
+        @Mock
+        private StockLocations stockLocations;
+        @Mock
+        private StockTransferWriter stockTransferWriter;
+        @Mock
+        private ReadCoalescer readCoalescer;
+        @Mock
         private SecurityContext securityContext;
         @Mock
         private Authentication authentication;
         @InjectMocks
         private InventoryServiceImpl inventoryService;
         private Product testProduct;
+        private Location mainLocation;
         @BeforeEach
         void setUp() {
                 testProduct = Product.builder()
@@ -54,10 +89,19 @@ class InventoryServiceTest {
                                 .currentStock(100)
                                 .reorderLevel(10)
                                 .build();
+                mainLocation = Location.builder().id(1L).code("MAIN").name("Main warehouse").build();
                 SecurityContextHolder.setContext(securityContext);
                 lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
                 lenient().when(authentication.getName()).thenReturn("testuser");
         }
+        private void stubTotalUpdate() {
+                when(productRepository.adjustCurrentStock(eq(1L), anyInt(), any(LocalDateTime.class)))
+                                .thenAnswer(invocation -> {
+                                        int delta = invocation.getArgument(1);
+                                        testProduct.setCurrentStock(testProduct.getCurrentStock() + delta);
+                                        return 1;
+                                });
+        }
         @Nested
         @DisplayName("Stock In tests")
         class StockInTests {
@@ -71,13 +115,19 @@ class InventoryServiceTest {
                                         .notes("Test stock in")
                                         .build();
                         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-                        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+                        when(stockLocations.resolve(null)).thenReturn(mainLocation);
+                        stubTotalUpdate();
                         when(transactionRepository.save(any(InventoryTransaction.class)))
                                         .thenReturn(new InventoryTransaction());
                         ProductDTO result = inventoryService.addStock(dto);
                         assertThat(result).isNotNull();
                         assertThat(testProduct.getCurrentStock()).isEqualTo(150);
+                        verify(locationStockRepository).addQuantity(1L, 1L, 50);
                         verify(transactionRepository).save(any(InventoryTransaction.class));
+                        InOrder order = inOrder(dailyMovementRepository, productRepository);
+                        order.verify(dailyMovementRepository).recordMovement(
+                                        eq(1L), any(LocalDate.class), eq("STOCK_IN"), eq(50L));
+                        order.verify(productRepository).adjustCurrentStock(eq(1L), eq(50), any(LocalDateTime.class));
                         verify(notificationService).notifyStockUpdate(
                                         eq(1L), eq("Test Product"), eq(100), eq(150), eq("STOCK_IN"));
                 }
@@ -106,13 +156,17 @@ class InventoryServiceTest {
                                         .notes("Test stock out")
                                         .build();
                         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-                        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+                        when(stockLocations.resolve(null)).thenReturn(mainLocation);
+                        when(locationStockRepository.removeQuantity(1L, 1L, 30)).thenReturn(1);
+                        stubTotalUpdate();
                         when(transactionRepository.save(any(InventoryTransaction.class)))
                                         .thenReturn(new InventoryTransaction());
                         ProductDTO result = inventoryService.removeStock(dto);
                         assertThat(result).isNotNull();
                         assertThat(testProduct.getCurrentStock()).isEqualTo(70);
                         verify(transactionRepository).save(any(InventoryTransaction.class));
+                        verify(dailyMovementRepository).recordMovement(
+                                        eq(1L), any(LocalDate.class), eq("STOCK_OUT"), eq(30L));
                 }
                 @Test
                 @DisplayName("Should throw exception for insufficient stock")
@@ -123,9 +177,13 @@ class InventoryServiceTest {
                                         .quantity(50)
                                         .build();
                         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+                        when(stockLocations.resolve(null)).thenReturn(mainLocation);
+                        when(locationStockRepository.removeQuantity(1L, 1L, 50)).thenReturn(0);
+                        when(locationStockRepository.findQuantity(1L, 1L)).thenReturn(Optional.of(20));
                         assertThatThrownBy(() -> inventoryService.removeStock(dto))
                                         .isInstanceOf(InsufficientStockException.class)
                                         .hasMessageContaining("Insufficient stock");
+                        verify(productRepository, never()).adjustCurrentStock(any(), anyInt(), any());
                 }
                 @Test
                 @DisplayName("Should notify for low stock after stock out")
@@ -137,10 +195,9 @@ class InventoryServiceTest {
                                         .quantity(10)
                                         .build();
                         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-                        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
-                                Product p = invocation.getArgument(0);
-                                return p;
-                        });
+                        when(stockLocations.resolve(null)).thenReturn(mainLocation);
+                        when(locationStockRepository.removeQuantity(1L, 1L, 10)).thenReturn(1);
+                        stubTotalUpdate();
                         when(transactionRepository.save(any(InventoryTransaction.class)))
                                         .thenReturn(new InventoryTransaction());
                         inventoryService.removeStock(dto);
@@ -164,6 +221,8 @@ class InventoryServiceTest {
                                         .build();
                         when(productRepository.findLowStockProducts())
                                         .thenReturn(Arrays.asList(lowStockProduct));
+                        when(readCoalescer.execute(eq("inventory:low-stock:*"), any()))
+                                        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
                         List<ProductDTO> result = inventoryService.getLowStockProducts();
                         assertThat(result).hasSize(1);
                         assertThat(result.get(0).getName()).isEqualTo("Low Stock Product");
@@ -179,4 +238,71 @@ class InventoryServiceTest {
                         assertThat(result).isTrue();
                 }
         }
+        @Nested
+        @DisplayName("Transfer tests")
+        class TransferTests {
+                private Location eastLocation;
+                @BeforeEach
+                void setUp() {
+                        eastLocation = Location.builder().id(2L).code("EAST").name("East warehouse").build();
+                }
+                @Test
+                @DisplayName("Should net transfers and apply location deltas in lock order")
+                @SuppressWarnings("unchecked")
+                void shouldApplyDeltasInLockOrder() {
+                        Product otherProduct = Product.builder().id(2L).name("Other").sku("TEST-002").currentStock(40).build();
+                        when(productRepository.findAllById(any())).thenReturn(List.of(otherProduct, testProduct));
+                        when(stockLocations.resolveAll(any())).thenReturn(Map.of(1L, mainLocation, 2L, eastLocation));
+                        when(locationStockRepository.findAllocatedProductIds(any())).thenReturn(List.of(1L, 2L));
+                        StockTransferResultDTO result = inventoryService.transferStock(List.of(
+                                        transfer(2L, 2L, 1L, 5),
+                                        transfer(1L, 1L, 2L, 30),
+                                        transfer(1L, 2L, 1L, 10)));
+                        ArgumentCaptor<SortedMap<LocationKey, Integer>> deltas = ArgumentCaptor.forClass(SortedMap.class);
+                        verify(stockTransferWriter).applyLevels(deltas.capture());
+                        assertThat(deltas.getValue().keySet()).containsExactly(
+                                        new LocationKey(1L, 1L), new LocationKey(1L, 2L),
+                                        new LocationKey(2L, 1L), new LocationKey(2L, 2L));
+                        assertThat(deltas.getValue().values()).containsExactly(-20, 20, 5, -5);
+                        ArgumentCaptor<List<InventoryTransaction>> ledger = ArgumentCaptor.forClass(List.class);
+                        verify(stockTransferWriter).insertLedger(ledger.capture());
+                        assertThat(ledger.getValue()).extracting(InventoryTransaction::getTransactionType)
+                                        .containsExactly(TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN,
+                                                        TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN,
+                                                        TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN);
+                        verify(locationStockRepository, never()).adoptUnallocatedStock(any(), any());
+                        verify(productRepository, never()).adjustCurrentStock(any(), anyInt(), any());
+                        assertThat(result.getTransfers()).isEqualTo(3);
+                        assertThat(result.getQuantity()).isEqualTo(45);
+                        assertThat(result.getLedgerEntries()).isEqualTo(6);
+                }
+                @Test
+                @DisplayName("Should reject transfer when source location would go negative")
+                void shouldRejectOverdrawnTransfer() {
+                        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct));
+                        when(stockLocations.resolveAll(any())).thenReturn(Map.of(1L, mainLocation, 2L, eastLocation));
+                        when(locationStockRepository.findAllocatedProductIds(any())).thenReturn(List.of(1L));
+                        when(locationStockRepository.findOverdrawn(any())).thenReturn(List.of(
+                                        LocationStock.builder().productId(1L).locationId(2L).quantity(-15).build()));
+                        assertThatThrownBy(() -> inventoryService.transferStock(transfer(1L, 2L, 1L, 20)))
+                                        .isInstanceOf(InsufficientStockException.class)
+                                        .hasMessageContaining("Requested: 20, Available: 5");
+                        verify(stockTransferWriter, never()).insertLedger(any());
+                }
+                @Test
+                @DisplayName("Should reject transfer into the same location")
+                void shouldRejectSameLocationTransfer() {
+                        assertThatThrownBy(() -> inventoryService.transferStock(transfer(1L, 1L, 1L, 5)))
+                                        .isInstanceOf(IllegalArgumentException.class);
+                        verifyNoInteractions(stockTransferWriter);
+                }
+                private StockTransferDTO transfer(Long productId, Long from, Long to, int quantity) {
+                        return StockTransferDTO.builder()
+                                        .productId(productId)
+                                        .fromLocationId(from)
+                                        .toLocationId(to)
+                                        .quantity(quantity)
+                                        .build();
+                }
+        }
 }
@@ -1,13 +1,26 @@
 ﻿package com.inventory.service;
+import com.inventory.catalog.SkuIndex;
+import com.inventory.changes.ProductChangeLog;
+import com.inventory.coalesce.ReadCoalescer;
 import com.inventory.dto.ProductCreateDTO;
 import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductLookupDTO;
+import com.inventory.dto.ProductLookupResultDTO;
 import com.inventory.dto.ProductUpdateDTO;
 import com.inventory.entity.Category;
+import com.inventory.entity.InventoryTransaction;
+import com.inventory.entity.Location;
 import com.inventory.entity.Product;
 import com.inventory.entity.Supplier;
+import com.inventory.event.ProductStateChangedEvent;
 import com.inventory.exception.DuplicateResourceException;
 import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.history.StockHistory;
+import com.inventory.location.StockLocations;
 import com.inventory.repository.CategoryRepository;
+import com.inventory.repository.DailyMovementRepository;
+import com.inventory.repository.InventoryTransactionRepository;
+import com.inventory.repository.LocationStockRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.SupplierRepository;
 import com.inventory.service.impl.ProductServiceImpl;
@@ -19,11 +32,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("null")
@@ -34,6 +53,24 @@ class ProductServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private SupplierRepository supplierRepository;
+    @Mock
+    private InventoryTransactionRepository transactionRepository;
+    @Mock
+    private DailyMovementRepository dailyMovementRepository;
+    @Mock
+    private StockHistory stockHistory;
+    @Mock
+    private ProductChangeLog productChangeLog;
+    @Mock
+    private LocationStockRepository locationStockRepository;
+    @Mock
+    private StockLocations stockLocations;
+    @Mock
+    private ReadCoalescer readCoalescer;
+    @Mock
+    private SkuIndex skuIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private ProductServiceImpl productService;
     private Product testProduct;
@@ -62,6 +99,8 @@ class ProductServiceTest {
                 .currentStock(100)
                 .reorderLevel(10)
                 .build();
+        lenient().when(skuIndex.exists(any(), any())).thenAnswer(invocation ->
+                invocation.<Predicate<String>>getArgument(1).test(invocation.getArgument(0)));
     }
     @Nested
     @DisplayName("findById tests")
@@ -111,11 +150,15 @@ class ProductServiceTest {
                 p.setId(2L);
                 return p;
             });
+            when(stockLocations.resolve(null)).thenReturn(Location.builder().id(1L).code("MAIN").build());
             ProductDTO result = productService.create(createDTO);
             assertThat(result).isNotNull();
             assertThat(result.getName()).isEqualTo("New Product");
             assertThat(result.getSku()).isEqualTo("NEW-001");
             verify(productRepository).save(any(Product.class));
+            verify(transactionRepository).save(any(InventoryTransaction.class));
+            verify(dailyMovementRepository).recordMovement(eq(2L), any(LocalDate.class), eq("ADJUSTMENT"), eq(50L));
+            verify(locationStockRepository).addQuantity(2L, 1L, 50);
         }
         @Test
         @DisplayName("Should throw exception for duplicate SKU")
@@ -183,20 +226,34 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should delete product successfully")
         void shouldDeleteProductSuccessfully() {
-            when(productRepository.existsById(1L)).thenReturn(true);
-            doNothing().when(productRepository).deleteById(1L);
+            when(productRepository.softDelete(eq(1L), any(LocalDateTime.class))).thenReturn(1);
             productService.delete(1L);
-            verify(productRepository).deleteById(1L);
+            verify(productRepository, never()).deleteById(any());
+            verify(eventPublisher).publishEvent(ProductStateChangedEvent.deleted(1L));
         }
         @Test
         @DisplayName("Should throw exception when deleting non-existent product")
         void shouldThrowExceptionWhenDeletingNonExistentProduct() {
-            when(productRepository.existsById(999L)).thenReturn(false);
+            when(productRepository.softDelete(eq(999L), any(LocalDateTime.class))).thenReturn(0);
             assertThatThrownBy(() -> productService.delete(999L))
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
     @Nested
+    @DisplayName("lookup tests")
+    class LookupTests {
+        @Test
+        @DisplayName("Should match SKUs the way the database collation does")
+        void shouldMatchSkusIgnoringCaseAndTrailingSpaces() {
+            when(productRepository.findAllWithRelationsBySkuIn(any())).thenReturn(List.of(testProduct));
+            ProductLookupResultDTO result = productService.lookup(ProductLookupDTO.builder()
+                    .skus(List.of("test-001", "TEST-001 ", "MISSING-1"))
+                    .build());
+            assertThat(result.getProducts()).extracting(ProductDTO::getId).containsExactly(1L);
+            assertThat(result.getMissingSkus()).containsExactly("MISSING-1");
+        }
+    }
+    @Nested
     @DisplayName("Low stock tests")
     class LowStockTests {
         @Test
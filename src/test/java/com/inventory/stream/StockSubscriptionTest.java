@@ -0,0 +1,104 @@
+package com.inventory.stream;
+import com.inventory.dto.StockLevelDTO;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+class StockSubscriptionTest {
+    @Test
+    @DisplayName("Should keep only the latest pending update per product")
+    void shouldCoalescePendingUpdatesPerProduct() {
+        StockSubscription subscription = new StockSubscription(new SseEmitter(), null, null);
+        assertThat(subscription.enqueue(update(1L, 5))).isTrue();
+        assertThat(subscription.enqueue(update(1L, 6))).isFalse();
+        assertThat(subscription.enqueue(update(1L, 7))).isFalse();
+        assertThat(subscription.enqueue(update(2L, 1))).isFalse();
+        assertThat(subscription.pendingCount()).isEqualTo(2);
+        StockLevelDTO first = subscription.poll();
+        StockLevelDTO second = subscription.poll();
+        assertThat(subscription.poll()).isNull();
+        StockLevelDTO latest = first.getProductId() == 1L ? first : second;
+        assertThat(latest.getCurrentStock()).isEqualTo(7);
+        assertThat(subscription.release()).isFalse();
+        assertThat(subscription.enqueue(update(1L, 8))).isTrue();
+    }
+    @Test
+    @DisplayName("Should drop updates older than the stock version already pending or sent")
+    void shouldDropOutOfOrderUpdates() {
+        StockSubscription subscription = new StockSubscription(new SseEmitter(), null, null);
+        assertThat(subscription.enqueue(versioned(1L, 9, 4L))).isTrue();
+        assertThat(subscription.enqueue(versioned(1L, 12, 3L))).isFalse();
+        assertThat(subscription.poll().getCurrentStock()).isEqualTo(9);
+        assertThat(subscription.release()).isFalse();
+        assertThat(subscription.enqueue(versioned(1L, 12, 3L))).isFalse();
+        assertThat(subscription.pendingCount()).isZero();
+        assertThat(subscription.enqueue(versioned(1L, 9, 4L))).isTrue();
+        assertThat(subscription.poll().getCurrentStock()).isEqualTo(9);
+        subscription.release();
+        assertThat(subscription.enqueue(StockLevelDTO.builder().productId(1L).deleted(true).build())).isTrue();
+        assertThat(subscription.poll().isDeleted()).isTrue();
+        subscription.release();
+        assertThat(subscription.enqueue(versioned(1L, 3, 5L))).isFalse();
+    }
+    @Test
+    @DisplayName("Should match product filters and both sides of a category move")
+    void shouldMatchProductAndCategoryFilters() {
+        ProductState before = new ProductState(1L, "SKU-1", 10L, null, BigDecimal.ONE, 4, 1, 1L);
+        ProductState after = new ProductState(1L, "SKU-1", 11L, null, BigDecimal.ONE, 3, 1, 2L);
+        ProductStateChangedEvent moved = ProductStateChangedEvent.changed(before, after);
+        assertThat(new StockSubscription(new SseEmitter(), 1L, null).matches(moved)).isTrue();
+        assertThat(new StockSubscription(new SseEmitter(), 2L, null).matches(moved)).isFalse();
+        assertThat(new StockSubscription(new SseEmitter(), null, 10L).matches(moved)).isTrue();
+        assertThat(new StockSubscription(new SseEmitter(), null, 11L).matches(moved)).isTrue();
+        assertThat(new StockSubscription(new SseEmitter(), null, 12L).matches(moved)).isFalse();
+    }
+    @Test
+    @DisplayName("Should report a send as stalled only while it is in progress past the timeout")
+    void shouldDetectStalledSend() {
+        StockSubscription subscription = new StockSubscription(new SseEmitter(), null, null);
+        long now = System.currentTimeMillis();
+        assertThat(subscription.isStalled(now + 60_000, 1000)).isFalse();
+        subscription.beginSend();
+        assertThat(subscription.isStalled(System.currentTimeMillis(), 1000)).isFalse();
+        assertThat(subscription.isStalled(System.currentTimeMillis() + 2000, 1000)).isTrue();
+        subscription.endSend();
+        assertThat(subscription.isStalled(System.currentTimeMillis() + 2000, 1000)).isFalse();
+    }
+    @Test
+    @DisplayName("Should interrupt a blocked sender when abandoned without leaking the interrupt")
+    void shouldInterruptBlockedSenderOnAbandon() throws Exception {
+        StockSubscription subscription = new StockSubscription(new SseEmitter(), null, null);
+        CountDownLatch sending = new CountDownLatch(1);
+        CompletableFuture<Boolean> sender = CompletableFuture.supplyAsync(() -> {
+            subscription.beginSend();
+            sending.countDown();
+            try {
+                Thread.sleep(10_000);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            } finally {
+                subscription.endSend();
+            }
+        });
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        subscription.abandon();
+        assertThat(sender.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscription.isAbandoned()).isTrue();
+        subscription.abandon();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+    private StockLevelDTO update(Long productId, int stock) {
+        return StockLevelDTO.builder().productId(productId).currentStock(stock).build();
+    }
+    private StockLevelDTO versioned(Long productId, int stock, Long version) {
+        return StockLevelDTO.builder().productId(productId).currentStock(stock).stockVersion(version).build();
+    }
+}
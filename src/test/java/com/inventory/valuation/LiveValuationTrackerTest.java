@@ -0,0 +1,48 @@
+package com.inventory.valuation;
+import com.inventory.event.ProductState;
+import com.inventory.event.ProductStateChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+class LiveValuationTrackerTest {
+    @Test
+    @DisplayName("Should combine chunk totals exactly per category and supplier")
+    void shouldCombineTotalsExactly() {
+        ValuationTotals left = new ValuationTotals();
+        left.add(new ValuationRow(1L, 10L, 20L, new BigDecimal("0.10"), 3));
+        ValuationTotals right = new ValuationTotals();
+        right.add(new ValuationRow(2L, 10L, null, new BigDecimal("0.20"), 1));
+        ValuationTotals combined = left.combine(right);
+        assertThat(combined.getCategories().get(10L).value()).isEqualByComparingTo("0.50");
+        assertThat(combined.getSuppliers().get(ValuationTotals.UNASSIGNED).units()).isEqualTo(1);
+        assertThat(combined.grandTotal().productCount()).isEqualTo(2);
+    }
+    @Test
+    @DisplayName("Should apply product changes incrementally after the initial resync")
+    @SuppressWarnings("unchecked")
+    void shouldApplyChangesIncrementally() {
+        ValuationEngine engine = mock(ValuationEngine.class);
+        when(engine.scan(any())).thenAnswer(invocation -> {
+            Consumer<ValuationRow> visitor = invocation.getArgument(0);
+            List.of(new ValuationRow(1L, 10L, 20L, new BigDecimal("5.00"), 4),
+                    new ValuationRow(2L, 11L, 20L, new BigDecimal("1.50"), 2)).forEach(visitor);
+            return new ValuationTotals();
+        });
+        LiveValuationTracker tracker = new LiveValuationTracker(engine);
+        assertThat(tracker.snapshot().grandTotal().value()).isEqualByComparingTo("23.00");
+        ProductState before = new ProductState(1L, "SKU-1", 10L, 20L, new BigDecimal("5.00"), 4, 1, 3L);
+        ProductState after = new ProductState(1L, "SKU-1", 11L, 20L, new BigDecimal("6.00"), 1, 1, 4L);
+        tracker.onProductStateChanged(ProductStateChangedEvent.changed(before, after));
+        tracker.onProductStateChanged(ProductStateChangedEvent.deleted(2L));
+        ValuationTotals totals = tracker.snapshot();
+        assertThat(totals.getCategories()).containsOnlyKeys(11L);
+        assertThat(totals.getCategories().get(11L).value()).isEqualByComparingTo("6.00");
+        assertThat(totals.getSuppliers().get(20L).productCount()).isEqualTo(1);
+        verify(engine, times(1)).scan(any());
+    }
+}